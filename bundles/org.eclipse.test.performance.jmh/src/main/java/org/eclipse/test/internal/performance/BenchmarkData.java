@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
+
+/**
+ * Synthetic measurements shaped like those of an {@link OSPerformanceMeter} on Linux, for the benchmarks.
+ */
+final class BenchmarkData {
+
+    /** The counters {@link PerformanceMonitorLinux} records for each snapshot, in the order they are used. */
+    static final Dim[] DIMENSIONS = { InternalDimensions.SYSTEM_TIME, InternalDimensions.CPU_TIME,
+            InternalDimensions.USED_JAVA_HEAP, InternalDimensions.WORKING_SET, InternalDimensions.KERNEL_TIME,
+            InternalDimensions.ELAPSED_PROCESS, InternalDimensions.HARD_PAGE_FAULTS, InternalDimensions.SOFT_PAGE_FAULTS,
+            InternalDimensions.TRS, InternalDimensions.DRS, InternalDimensions.LRS, InternalDimensions.IO_READ_BYTES,
+            InternalDimensions.IO_WRITE_BYTES, InternalDimensions.IO_READ_CALLS, InternalDimensions.IO_WRITE_CALLS,
+            InternalDimensions.VOLUNTARY_CONTEXT_SWITCHES, InternalDimensions.INVOLUNTARY_CONTEXT_SWITCHES,
+            InternalDimensions.CGROUP_CPU_TIME, InternalDimensions.CGROUP_THROTTLED_PERIODS,
+            InternalDimensions.CGROUP_THROTTLED_TIME, InternalDimensions.CGROUP_MEMORY_CURRENT,
+            InternalDimensions.CGROUP_MEMORY_PEAK };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Answers the before and after data points of the measurements of a sample, with increasing counters.
+     *
+     * @param dimensions
+     *            the number of dimensions, at most {@link #DIMENSIONS}<code>.length</code>
+     * @param measurements
+     *            the number of measurements
+     * @param seed
+     *            the seed of the values
+     * @return the data points
+     */
+    static DataPoint[] createDataPoints(int dimensions, int measurements, long seed) {
+        Random random = new Random(seed);
+        long[] counters = new long[dimensions];
+        for (int d = 0; d < dimensions; d++)
+            counters[d] = 1000000 + random.nextInt(1000000);
+        DataPoint[] dataPoints = new DataPoint[2 * measurements];
+        for (int m = 0; m < measurements; m++) {
+            dataPoints[2 * m] = createDataPoint(InternalPerformanceMeter.BEFORE, counters, dimensions);
+            for (int d = 0; d < dimensions; d++)
+                counters[d] += 100 + random.nextInt(20);
+            dataPoints[2 * m + 1] = createDataPoint(InternalPerformanceMeter.AFTER, counters, dimensions);
+        }
+        return dataPoints;
+    }
+
+    private static DataPoint createDataPoint(int step, long[] counters, int dimensions) {
+        Map<Dim, Scalar> scalars = new HashMap<>();
+        for (int d = 0; d < dimensions; d++)
+            scalars.put(DIMENSIONS[d], new Scalar(DIMENSIONS[d], counters[d]));
+        return new DataPoint(step, scalars);
+    }
+
+    /**
+     * Answers a sample of synthetic measurements.
+     *
+     * @param scenario
+     *            the scenario
+     * @param dimensions
+     *            the number of dimensions
+     * @param measurements
+     *            the number of measurements
+     * @param seed
+     *            the seed of the values
+     * @return the sample
+     */
+    static Sample createSample(String scenario, int dimensions, int measurements, long seed) {
+        return new Sample(scenario, System.currentTimeMillis(), new HashMap<String, String>(),
+                createDataPoints(dimensions, measurements, seed));
+    }
+}
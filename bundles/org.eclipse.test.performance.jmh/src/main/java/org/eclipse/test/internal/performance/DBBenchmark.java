@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.db.Scenario;
+import org.eclipse.test.internal.performance.db.TimeSeries;
+import org.eclipse.test.internal.performance.db.Variations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of storing a sample with {@link DB#store(Variations, Sample)}, and of reading the data points of a build
+ * and the time series of a scenario over a series of builds, against an embedded Derby database in a temporary
+ * directory. The database holds a sample of every build of the series; samples stored by the benchmark go to another
+ * scenario and are deleted after each iteration, so that the queries read the same data in every iteration and the
+ * database does not grow with the number of stores. The machine calibration is turned off, so that it does not run
+ * before the first sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DBBenchmark {
+
+    private static final String SCENARIO       = "org.eclipse.test.performance.jmh.DBBenchmark#query"; //$NON-NLS-1$
+    private static final String STORE_SCENARIO = "org.eclipse.test.performance.jmh.DBBenchmark#store"; //$NON-NLS-1$
+    private static final String CONFIG         = "jmh";                                                 //$NON-NLS-1$
+
+    private static final String STORED_SAMPLES = "select SAMPLE.ID from SAMPLE, SCENARIO where SAMPLE.SCENARIO_ID = SCENARIO.ID " //$NON-NLS-1$
+            + "and SCENARIO.NAME = ?"; //$NON-NLS-1$
+
+    /** Deletes the samples stored by {@link #store()}, and the rows that reference them. */
+    private static final String[] DELETE_STORED_SAMPLES = {
+            "delete from SCALAR where DATAPOINT_ID in (select ID from DATAPOINT where SAMPLE_ID in (" + STORED_SAMPLES + "))", //$NON-NLS-1$ //$NON-NLS-2$
+            "delete from SAMPLEDATA where SAMPLE_ID in (" + STORED_SAMPLES + ")",  //$NON-NLS-1$ //$NON-NLS-2$
+            "delete from CALIBRATION where SAMPLE_ID in (" + STORED_SAMPLES + ")", //$NON-NLS-1$ //$NON-NLS-2$
+            "delete from DATAPOINT where SAMPLE_ID in (" + STORED_SAMPLES + ")",   //$NON-NLS-1$ //$NON-NLS-2$
+            "delete from SAMPLE where ID in (" + STORED_SAMPLES + ")" };           //$NON-NLS-1$ //$NON-NLS-2$
+
+    /** The number of builds in the database. */
+    @Param({ "10", "100" })
+    public int                  builds;
+
+    /** The number of measurements of each sample. */
+    @Param({ "10" })
+    public int                  measurements;
+
+    private Path                fDirectory;
+    private Variations          fLatestBuild;
+    private Variations          fAllBuilds;
+    private Variations          fStoreBuild;
+    private Sample              fStoreSample;
+
+    @Setup
+    public void setUp() throws IOException {
+        fDirectory = Files.createTempDirectory("perfdb"); //$NON-NLS-1$
+        System.setProperty(MachineCalibration.CALIBRATION_PROPERTY, Boolean.FALSE.toString());
+        System.setProperty(PerformanceTestPlugin.ECLIPSE_PERF_DBLOC, fDirectory.toString());
+
+        int dimensions = BenchmarkData.DIMENSIONS.length;
+        for (int b = 0; b < builds; b++) {
+            fLatestBuild = getVariations(getBuildName(b));
+            if (!DB.store(fLatestBuild, BenchmarkData.createSample(SCENARIO, dimensions, measurements, b)))
+                throw new IllegalStateException("cannot store samples in " + fDirectory); //$NON-NLS-1$
+        }
+        fAllBuilds = getVariations("%"); //$NON-NLS-1$
+        fStoreBuild = getVariations(getBuildName(builds));
+        fStoreSample = BenchmarkData.createSample(STORE_SCENARIO, dimensions, measurements, builds);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteStoredSamples() throws SQLException {
+        Connection connection = DB.getConnection();
+        for (String sql : DELETE_STORED_SAMPLES) {
+            try (PreparedStatement delete = connection.prepareStatement(sql)) {
+                delete.setString(1, STORE_SCENARIO);
+                delete.executeUpdate();
+            }
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DB.shutdown();
+        System.clearProperty(PerformanceTestPlugin.ECLIPSE_PERF_DBLOC);
+        try (Stream<Path> files = Files.walk(fDirectory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static Variations getVariations(String build) {
+        Variations variations = new Variations();
+        variations.put(PerformanceTestPlugin.CONFIG, CONFIG);
+        variations.put(PerformanceTestPlugin.BUILD, build);
+        return variations;
+    }
+
+    private static String getBuildName(int build) {
+        return String.format("I20260101-%04d", Integer.valueOf(build)); //$NON-NLS-1$
+    }
+
+    @Benchmark
+    public boolean store() {
+        return DB.store(fStoreBuild, fStoreSample);
+    }
+
+    @Benchmark
+    public DataPoint[] queryDataPoints() {
+        return DB.queryDataPoints(fLatestBuild, SCENARIO, null);
+    }
+
+    @Benchmark
+    public TimeSeries queryTimeSeries() {
+        Scenario[] scenarios = DB.queryScenarios(fAllBuilds, SCENARIO, PerformanceTestPlugin.BUILD, null);
+        return scenarios[0].getTimeSeries(InternalDimensions.CPU_TIME);
+    }
+}
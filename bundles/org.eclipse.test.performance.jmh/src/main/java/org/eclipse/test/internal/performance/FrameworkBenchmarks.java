@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.eclipse.test.internal.performance.db.Report;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of the overhead of the framework, {@link MeterBenchmark}, {@link StatisticsBenchmark} and
+ * {@link DBBenchmark}, with the GC profiler, which reports the bytes allocated per operation, and compares the results
+ * with a baseline. Times depend on the machine, so a baseline is recorded on the machine that checks against it:
+ *
+ * <pre>
+ * java -jar benchmarks.jar -record baseline.properties
+ * java -jar benchmarks.jar -baseline baseline.properties [-tolerance 15] [-allocationTolerance 5] [regexp...]
+ * </pre>
+ *
+ * The second run fails with exit code 1 if a benchmark takes more time or allocates more bytes per operation than the
+ * baseline by more than the tolerance, in percent. The regular expressions select the benchmarks to run, all by
+ * default. The results are also written to <code>jmh-result.json</code> for the JMH tools.
+ */
+public class FrameworkBenchmarks {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm"; //$NON-NLS-1$
+    /** the allocation per operation that is noise, in bytes */
+    private static final double ALLOCATION_SLACK = 16;
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String baseline = null, record = null;
+        double tolerance = 15, allocationTolerance = 5;
+        List<String> includes = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 < args.length && "-baseline".equals(arg)) //$NON-NLS-1$
+                baseline = args[++i];
+            else if (i + 1 < args.length && "-record".equals(arg)) //$NON-NLS-1$
+                record = args[++i];
+            else if (i + 1 < args.length && "-tolerance".equals(arg)) //$NON-NLS-1$
+                tolerance = Double.parseDouble(args[++i]);
+            else if (i + 1 < args.length && "-allocationTolerance".equals(arg)) //$NON-NLS-1$
+                allocationTolerance = Double.parseDouble(args[++i]);
+            else
+                includes.add(arg);
+        }
+        if (includes.isEmpty()) {
+            includes.add(MeterBenchmark.class.getName());
+            includes.add(StatisticsBenchmark.class.getName());
+            includes.add(DBBenchmark.class.getName());
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class).resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json"); //$NON-NLS-1$
+        for (String include : includes)
+            options.include(include);
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        Properties current = new Properties();
+        for (RunResult result : results)
+            current.setProperty(getKey(result.getParams()),
+                    result.getPrimaryResult().getScore() + " " + getAllocation(result)); //$NON-NLS-1$
+        if (record != null) {
+            try (OutputStream os = new FileOutputStream(record)) {
+                current.store(os, "FrameworkBenchmarks baseline: time per operation and bytes allocated per operation"); //$NON-NLS-1$
+            }
+        }
+        if (baseline != null) {
+            Properties reference = new Properties();
+            try (InputStream is = new FileInputStream(baseline)) {
+                reference.load(is);
+            }
+            if (compare(reference, current, tolerance, allocationTolerance) > 0)
+                System.exit(1);
+        }
+    }
+
+    /*
+     * The benchmark and its parameters, e.g. org...DBBenchmark.store:builds=10:measurements=10
+     */
+    private static String getKey(BenchmarkParams params) {
+        StringBuilder key = new StringBuilder(params.getBenchmark());
+        for (String name : new TreeSet<>(params.getParamsKeys()))
+            key.append(':').append(name).append('=').append(params.getParam(name));
+        return key.toString();
+    }
+
+    private static double getAllocation(RunResult result) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(ALLOCATION))
+                return entry.getValue().getScore();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Prints the changes to the baseline.
+     *
+     * @return the number of regressions
+     */
+    static int compare(Properties baseline, Properties current, double tolerance, double allocationTolerance) {
+        Report report = new Report(2);
+        report.addCell("benchmark"); //$NON-NLS-1$
+        report.addCellRight("time"); //$NON-NLS-1$
+        report.addCellRight("change"); //$NON-NLS-1$
+        report.addCellRight("bytes/op"); //$NON-NLS-1$
+        report.addCellRight("change"); //$NON-NLS-1$
+        report.addCell(""); //$NON-NLS-1$
+        report.nextRow();
+        int regressions = 0;
+        for (String key : new TreeSet<>(current.stringPropertyNames())) {
+            double[] values = parse(current.getProperty(key));
+            String reference = baseline.getProperty(key);
+            report.addCell(key);
+            report.addCellRight(format(values[0]));
+            if (reference == null) {
+                report.addCellRight(""); //$NON-NLS-1$
+                report.addCellRight(format(values[1]));
+                report.addCellRight(""); //$NON-NLS-1$
+                report.addCell("no baseline"); //$NON-NLS-1$
+                report.nextRow();
+                continue;
+            }
+            double[] referenceValues = parse(reference);
+            boolean slower = values[0] > referenceValues[0] * (1 + tolerance / 100);
+            boolean allocates = values[1] > referenceValues[1] * (1 + allocationTolerance / 100) + ALLOCATION_SLACK;
+            report.addCellRight(formatChange(values[0], referenceValues[0]));
+            report.addCellRight(format(values[1]));
+            report.addCellRight(formatChange(values[1], referenceValues[1]));
+            report.addCell(slower || allocates ? "REGRESSION" : ""); //$NON-NLS-1$ //$NON-NLS-2$
+            report.nextRow();
+            if (slower || allocates)
+                regressions++;
+        }
+        report.print(System.out);
+        System.out.println(regressions + " regressions"); //$NON-NLS-1$
+        return regressions;
+    }
+
+    private static double[] parse(String value) {
+        String[] values = value.split(" "); //$NON-NLS-1$
+        return new double[] { Double.parseDouble(values[0]), values.length > 1 ? Double.parseDouble(values[1]) : Double.NaN };
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", Double.valueOf(value)); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static String formatChange(double value, double reference) {
+        if (Double.isNaN(value) || Double.isNaN(reference) || reference == 0)
+            return ""; //$NON-NLS-1$
+        return String.format(Locale.ROOT, "%+.1f%%", Double.valueOf((value - reference) / reference * 100)); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Scalar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of a measurement window: {@link OSPerformanceMeter#start()} and {@link OSPerformanceMeter#stop()}, and the
+ * snapshot of the operating system counters each of them takes, which is what runs inside every measured window.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeterBenchmark {
+
+    // the windows measured with one meter
+    private static final int   WINDOWS = 100;
+
+    private PerformanceMonitor fMonitor;
+
+    @Setup(Level.Trial)
+    public void setUpMonitor() {
+        fMonitor = PerformanceMonitor.getPerformanceMonitor();
+    }
+
+    /*
+     * A meter keeps the data points of all its windows, so each invocation measures a bounded batch of windows with a
+     * new meter; creating and disposing it is spread over the windows. Per invocation setup instead would add the
+     * timestamps of JMH to a window of a few microseconds.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WINDOWS)
+    public OSPerformanceMeter startStop() {
+        OSPerformanceMeter meter = new OSPerformanceMeter("MeterBenchmark"); //$NON-NLS-1$
+        try {
+            for (int i = 0; i < WINDOWS; i++) {
+                meter.start();
+                meter.stop();
+            }
+        } finally {
+            meter.dispose();
+        }
+        return meter;
+    }
+
+    @Benchmark
+    public Map<Dim, Scalar> snapshot() {
+        Map<Dim, Scalar> scalars = new HashMap<>();
+        fMonitor.collectOperatingSystemCounters(scalars);
+        return scalars;
+    }
+}
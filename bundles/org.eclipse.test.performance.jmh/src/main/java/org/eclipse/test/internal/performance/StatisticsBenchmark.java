@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.eval.StatisticsSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of the statistics of a sample, as computed when a sample is committed, stored and evaluated: a new
+ * {@link StatisticsSession} of the measured data points, asked for the average and standard deviation of every
+ * dimension.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    /** The number of dimensions: a few custom ones, or all counters of an OS meter. */
+    @Param({ "6", "22" })
+    public int         dimensions;
+
+    /** The number of measurements of the sample. */
+    @Param({ "10", "100" })
+    public int         measurements;
+
+    private DataPoint[] fDataPoints;
+    private Dim[]       fDimensions;
+
+    @Setup
+    public void setUp() {
+        fDataPoints = BenchmarkData.createDataPoints(dimensions, measurements, 42);
+        fDimensions = fDataPoints[0].getDimensions();
+    }
+
+    @Benchmark
+    public double statistics() {
+        StatisticsSession session = new StatisticsSession(fDataPoints);
+        double sum = 0;
+        for (Dim dimension : fDimensions)
+            sum += session.getAverage(dimension) + session.getStddev(dimension);
+        return sum;
+    }
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import org.eclipse.test.internal.performance.eval.StatisticsUtil;
+import org.eclipse.test.performance.PerformanceMeter;
+
+/**
+ * Repeats an operation until its measurements are good enough, instead of a fixed number of times.
+ * <ol>
+ * <li>Warmup: the operation is run without measuring until the coefficient of variation (standard deviation / mean) of
+ * the elapsed times of the last {@link #WINDOW_PROPERTY} runs is at most {@link #STEADY_STATE_PROPERTY}, or half of the
+ * time budget is used up.</li>
+ * <li>Sampling: the operation is measured with the performance meter until the half width of the 95% confidence interval
+ * of the mean elapsed time is at most {@link #PRECISION_PROPERTY} of the mean, or the time budget is used up. At least
+ * {@link #MIN_SAMPLES} and at most {@link #MAX_SAMPLES} measurements are taken.</li>
+ * </ol>
+ * The elapsed times that drive these decisions are taken with {@link System#nanoTime()} around the operation only; the
+ * meter records its usual dimensions.
+ */
+public class AdaptiveSampler {
+
+    /** The number of runs the steady state is judged on, default 5. */
+    public static final String WINDOW_PROPERTY        = "eclipse.perf.adaptive.window";      //$NON-NLS-1$
+    /** The coefficient of variation that counts as steady state, default 0.05. */
+    public static final String STEADY_STATE_PROPERTY  = "eclipse.perf.adaptive.steadyState"; //$NON-NLS-1$
+    /** The targeted confidence interval half width relative to the mean, default 0.02. */
+    public static final String PRECISION_PROPERTY     = "eclipse.perf.adaptive.precision";   //$NON-NLS-1$
+    /** The time budget for warmup and sampling, in milliseconds, default 60000. */
+    public static final String BUDGET_PROPERTY        = "eclipse.perf.adaptive.budget";      //$NON-NLS-1$
+
+    /** The minimum number of measurements. */
+    public static final int    MIN_SAMPLES            = 5;
+    /** The maximum number of measurements, which bounds the size of the sample for very short operations. */
+    public static final int    MAX_SAMPLES            = 10000;
+
+    private static final int    DEFAULT_WINDOW        = 5;
+    private static final double DEFAULT_STEADY_STATE  = 0.05;
+    private static final double DEFAULT_PRECISION     = 0.02;
+    private static final long   DEFAULT_BUDGET        = 60000;
+
+    private final int          fWindow;
+    private final double       fSteadyState;
+    private final double       fPrecision;
+    private final long         fBudgetNanos;
+
+    private int                fWarmupRuns;
+    private boolean            fSteady;
+    private int                fSamples;
+    private double             fMean;
+    private double             fHalfWidth;
+
+    /**
+     * Creates a sampler configured by the system properties.
+     */
+    public AdaptiveSampler() {
+        this(Integer.getInteger(WINDOW_PROPERTY, DEFAULT_WINDOW).intValue(), getDouble(STEADY_STATE_PROPERTY, DEFAULT_STEADY_STATE),
+                getDouble(PRECISION_PROPERTY, DEFAULT_PRECISION), Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET).longValue());
+    }
+
+    /**
+     * @param window
+     *            the number of runs the steady state is judged on
+     * @param steadyState
+     *            the coefficient of variation that counts as steady state
+     * @param precision
+     *            the targeted confidence interval half width relative to the mean
+     * @param budgetMillis
+     *            the time budget for warmup and sampling, in milliseconds
+     */
+    public AdaptiveSampler(int window, double steadyState, double precision, long budgetMillis) {
+        fWindow = Math.max(2, window);
+        fSteadyState = steadyState;
+        fPrecision = precision;
+        fBudgetNanos = budgetMillis * 1000000;
+    }
+
+    private static double getDouble(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                PerformanceTestPlugin.logWarning("ignoring " + property + "=" + value + ", not a number"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Warms up and then measures the operation with the performance meter. The meter is neither committed nor disposed.
+     *
+     * @param meter
+     *            the performance meter
+     * @param operation
+     *            the operation to measure
+     * @return the number of measurements taken
+     */
+    public int run(PerformanceMeter meter, Runnable operation) {
+        long start = System.nanoTime();
+        long deadline = start + fBudgetNanos;
+        warmup(operation, start + fBudgetNanos / 2);
+
+        // Welford's online mean and variance
+        fSamples = 0;
+        fMean = 0;
+        fHalfWidth = Double.POSITIVE_INFINITY;
+        double m2 = 0;
+        do {
+            meter.start();
+            long before = System.nanoTime();
+            operation.run();
+            long elapsed = System.nanoTime() - before;
+            meter.stop();
+
+            fSamples++;
+            double delta = elapsed - fMean;
+            fMean += delta / fSamples;
+            m2 += delta * (elapsed - fMean);
+            if (fSamples > 1) {
+                double stderr = Math.sqrt(m2 / (fSamples - 1) / fSamples);
+                fHalfWidth = StatisticsUtil.getStudentsT(fSamples - 1, StatisticsUtil.T95) * stderr;
+            }
+        } while (fSamples < MIN_SAMPLES || !isPrecise() && fSamples < MAX_SAMPLES && System.nanoTime() - deadline < 0);
+
+        if (!isPrecise())
+            PerformanceTestPlugin.logWarning("stopped after " + fSamples + " measurements, the 95% confidence interval is +/-" //$NON-NLS-1$ //$NON-NLS-2$
+                    + Math.round(100 * fHalfWidth / fMean) + "% of the mean"); //$NON-NLS-1$
+        return fSamples;
+    }
+
+    private void warmup(Runnable operation, long deadline) {
+        long[] window = new long[fWindow];
+        fWarmupRuns = 0;
+        fSteady = false;
+        do {
+            long before = System.nanoTime();
+            operation.run();
+            window[fWarmupRuns++ % fWindow] = System.nanoTime() - before;
+            if (fWarmupRuns >= fWindow && getCoefficientOfVariation(window) <= fSteadyState) {
+                fSteady = true;
+                return;
+            }
+        } while (System.nanoTime() - deadline < 0);
+        PerformanceTestPlugin.logWarning("no steady state after " + fWarmupRuns + " warmup runs"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static double getCoefficientOfVariation(long[] values) {
+        double sum = 0;
+        for (long value : values)
+            sum += value;
+        double mean = sum / values.length;
+        if (mean == 0)
+            return 0;
+        double squares = 0;
+        for (long value : values)
+            squares += (value - mean) * (value - mean);
+        return Math.sqrt(squares / (values.length - 1)) / mean;
+    }
+
+    private boolean isPrecise() {
+        return fHalfWidth <= fPrecision * fMean;
+    }
+
+    /**
+     * @return the number of unmeasured warmup runs of the last {@link #run(PerformanceMeter, Runnable)}
+     */
+    public int getWarmupRuns() {
+        return fWarmupRuns;
+    }
+
+    /**
+     * @return whether the last warmup reached the steady state
+     */
+    public boolean isSteady() {
+        return fSteady;
+    }
+
+    /**
+     * @return the number of measurements of the last {@link #run(PerformanceMeter, Runnable)}
+     */
+    public int getSamples() {
+        return fSamples;
+    }
+
+    /**
+     * @return the half width of the 95% confidence interval of the mean elapsed time relative to the mean
+     */
+    public double getRelativeHalfWidth() {
+        return fMean > 0 ? fHalfWidth / fMean : 0;
+    }
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
+
+/**
+ * Performance meter for units of work done concurrently by many threads, like the jobs of an indexer or a build. Each
+ * thread calls {@link #start()} and {@link #stop()} around each of its units of work; the calls of a thread go to a
+ * recorder of its own, so measuring needs neither locks nor shared writes. The recorders are merged into one sample
+ * when the sample is requested.
+ * <p>
+ * Every unit of work is a measurement with its {@link InternalDimensions#LATENCY} and, if the VM supports it,
+ * {@link InternalDimensions#THREAD_CPU_TIME}. The aggregate {@link InternalDimensions#THROUGHPUT} over the time from the
+ * first start to the last stop, and the number of {@link InternalDimensions#WORKER_THREADS}, are the same for all
+ * measurements. The verbose output breaks the latencies down by thread.
+ * </p>
+ * <p>
+ * {@link #commit()} must only be called after all threads have stopped measuring and the caller has synchronized with
+ * them, e.g. by joining them or by awaiting the termination of their executor. Phases and performance counters are not
+ * recorded by this meter, since they cannot be attributed to the concurrent units of work.
+ * </p>
+ */
+public class ConcurrentPerformanceMeter extends InternalPerformanceMeter {
+
+    private static final int                     INITIAL_CAPACITY = 64;
+
+    private final long                           fStartDate;
+    private final ThreadMXBean                   fThreadBean;
+    private final ConcurrentLinkedQueue<Recorder> fRecorders      = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Recorder>          fRecorder        = ThreadLocal.withInitial(this::createRecorder);
+
+    /**
+     * @param scenarioId
+     *            the scenario id
+     */
+    public ConcurrentPerformanceMeter(String scenarioId) {
+        super(scenarioId);
+        fStartDate = System.currentTimeMillis();
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean.isCurrentThreadCpuTimeSupported()) {
+            if (!threadBean.isThreadCpuTimeEnabled())
+                threadBean.setThreadCpuTimeEnabled(true);
+            fThreadBean = threadBean;
+        } else
+            fThreadBean = null;
+    }
+
+    @Override
+    public void dispose() {
+        fRecorders.clear();
+        fRecorder.remove();
+        super.dispose();
+    }
+
+    private Recorder createRecorder() {
+        Recorder recorder = new Recorder(Thread.currentThread().getName());
+        fRecorders.add(recorder);
+        return recorder;
+    }
+
+    @Override
+    public void start() {
+        fRecorder.get().start(fThreadBean);
+    }
+
+    @Override
+    public void stop() {
+        fRecorder.get().stop(fThreadBean);
+    }
+
+    @Override
+    public void beginPhase(String name) {
+        // phases of concurrent units of work are not recorded
+    }
+
+    @Override
+    public void endPhase() {
+        // phases of concurrent units of work are not recorded
+    }
+
+    @Override
+    public Sample getSample() {
+        Recorder[] recorders = getRecorders();
+        if (recorders.length == 0)
+            return null;
+
+        int units = 0;
+        long first = Long.MAX_VALUE, last = Long.MIN_VALUE;
+        for (Recorder recorder : recorders) {
+            units += recorder.fCount;
+            first = Math.min(first, recorder.fStarts[0]);
+            last = Math.max(last, recorder.fStarts[recorder.fCount - 1] + recorder.fElapsed[recorder.fCount - 1]);
+        }
+        long throughput = last > first ? Math.round(units * 1000000000.0 / (last - first)) : 0;
+
+        DataPoint[] dataPoints = new DataPoint[2 * units];
+        int i = 0;
+        for (Recorder recorder : recorders) {
+            for (int unit = 0; unit < recorder.fCount; unit++) {
+                long cpuTime = fThreadBean != null ? recorder.fCpuTimes[unit] : -1;
+                dataPoints[i++] = createDataPoint(BEFORE, 0, cpuTime < 0 ? -1 : 0, 0, 0);
+                dataPoints[i++] = createDataPoint(AFTER, recorder.fElapsed[unit], cpuTime, throughput, recorders.length);
+            }
+        }
+
+        Map<String, String> properties = new HashMap<>();
+        PerformanceMonitor.getPerformanceMonitor().collectGlobalPerformanceInfo(properties);
+        return new Sample(getScenarioName(), fStartDate, properties, dataPoints);
+    }
+
+    private static DataPoint createDataPoint(int step, long latency, long cpuTime, long throughput, int threads) {
+        Map<Dim, Scalar> scalars = new HashMap<>();
+        scalars.put(InternalDimensions.LATENCY, new Scalar(InternalDimensions.LATENCY, latency));
+        if (cpuTime >= 0)
+            scalars.put(InternalDimensions.THREAD_CPU_TIME, new Scalar(InternalDimensions.THREAD_CPU_TIME, cpuTime));
+        scalars.put(InternalDimensions.THROUGHPUT, new Scalar(InternalDimensions.THROUGHPUT, throughput));
+        scalars.put(InternalDimensions.WORKER_THREADS, new Scalar(InternalDimensions.WORKER_THREADS, threads));
+        return new DataPoint(step, scalars);
+    }
+
+    /*
+     * Answer the recorders with at least one completed unit of work.
+     */
+    private Recorder[] getRecorders() {
+        List<Recorder> recorders = new ArrayList<>();
+        for (Recorder recorder : fRecorders) {
+            if (recorder.fCount > 0)
+                recorders.add(recorder);
+        }
+        return recorders.toArray(new Recorder[recorders.size()]);
+    }
+
+    @Override
+    protected void printDetails(PrintStream ps) {
+        Recorder[] recorders = getRecorders();
+        NumberFormat format = NumberFormat.getNumberInstance();
+        format.setMinimumFractionDigits(3);
+        format.setMaximumFractionDigits(3);
+        StringBuffer header = new StringBuffer("  Latency by thread (ms):"); //$NON-NLS-1$
+        pad(header, 30, "units"); //$NON-NLS-1$
+        pad(header, 42, "mean"); //$NON-NLS-1$
+        pad(header, 54, "P50"); //$NON-NLS-1$
+        pad(header, 66, "P90"); //$NON-NLS-1$
+        pad(header, 78, "max"); //$NON-NLS-1$
+        ps.println(header);
+        for (Recorder recorder : recorders) {
+            int n = recorder.fCount;
+            long[] sorted = Arrays.copyOf(recorder.fElapsed, n);
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long elapsed : sorted)
+                sum += elapsed;
+            StringBuffer line = new StringBuffer("    "); //$NON-NLS-1$
+            line.append(recorder.fThreadName);
+            pad(line, 30, Integer.toString(n));
+            pad(line, 42, format.format(sum / 1000000.0 / n));
+            pad(line, 54, format.format(percentile(sorted, 0.5) / 1000000.0));
+            pad(line, 66, format.format(percentile(sorted, 0.9) / 1000000.0));
+            pad(line, 78, format.format(sorted[n - 1] / 1000000.0));
+            ps.println(line);
+        }
+        super.printDetails(ps);
+    }
+
+    private static void pad(StringBuffer line, int column, String value) {
+        line.append(' ');
+        while (line.length() + value.length() < column)
+            line.append(' ');
+        line.append(value);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    /**
+     * The units of work of one thread. Only that thread writes to it; the sample is made after the threads synchronized
+     * with the committing thread.
+     */
+    private static class Recorder {
+
+        final String fThreadName;
+        long[]       fStarts   = new long[INITIAL_CAPACITY];
+        long[]       fElapsed  = new long[INITIAL_CAPACITY];
+        long[]       fCpuTimes = new long[INITIAL_CAPACITY];
+        int          fCount;
+        boolean      fRunning;
+
+        Recorder(String threadName) {
+            fThreadName = threadName;
+        }
+
+        void start(ThreadMXBean threadBean) {
+            if (fRunning)
+                throw new IllegalStateException("start() called twice without stop() on thread " + fThreadName); //$NON-NLS-1$
+            if (fCount == fStarts.length) {
+                fStarts = Arrays.copyOf(fStarts, 2 * fCount);
+                fElapsed = Arrays.copyOf(fElapsed, 2 * fCount);
+                fCpuTimes = Arrays.copyOf(fCpuTimes, 2 * fCount);
+            }
+            fRunning = true;
+            fCpuTimes[fCount] = threadBean != null ? threadBean.getCurrentThreadCpuTime() : 0;
+            fStarts[fCount] = System.nanoTime();
+        }
+
+        void stop(ThreadMXBean threadBean) {
+            long now = System.nanoTime();
+            if (!fRunning)
+                throw new IllegalStateException("stop() called without start() on thread " + fThreadName); //$NON-NLS-1$
+            fElapsed[fCount] = now - fStarts[fCount];
+            if (threadBean != null)
+                fCpuTimes[fCount] = threadBean.getCurrentThreadCpuTime() - fCpuTimes[fCount];
+            fRunning = false;
+            fCount++;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.db.SampleCodec;
+import org.eclipse.test.internal.performance.db.Variations;
+
+import junit.framework.Test;
+import junit.framework.TestResult;
+import junit.framework.TestSuite;
+
+/**
+ * Runs each performance test in a freshly forked JVM, so that the JIT profile, the heap and the classes loaded by one
+ * test do not affect the next one. A test is a test class, or a single test method given as
+ * <code>class#method</code>.
+ * <p>
+ * The forks are started with the JVM options and class path of this JVM, but without a database of their own: a forked JVM sends each committed sample to its standard output, encoded by {@link SampleCodec}, and
+ * this JVM stores them. Everything the tests print goes to the standard error of the fork, which is inherited. System
+ * properties set programmatically in this JVM are not passed on.
+ * </p>
+ * <p>
+ * By default the forks run one after the other. With {@link #CPUS_PROPERTY} they run in parallel, one per CPU set, each
+ * pinned to its set with <code>taskset</code>; the sets should not overlap.
+ * </p>
+ * <p>
+ * As an application, the arguments are the tests to run; the exit code is 0 if all of them passed.
+ * </p>
+ */
+public class ForkedScenarioRunner {
+
+    /** Set in a forked JVM; its samples are sent to the standard output instead of being stored. */
+    public static final String      FORKED_PROPERTY = "eclipse.perf.forked";     //$NON-NLS-1$
+    /**
+     * The CPU sets to pin the forks to, separated by semicolons, in the syntax of <code>taskset -c</code>, e.g.
+     * <code>0-1;2-3</code>. As many forks run in parallel as there are sets. Not set by default.
+     */
+    public static final String      CPUS_PROPERTY   = "eclipse.perf.fork.cpus";  //$NON-NLS-1$
+
+    private static DataOutputStream fgPipe;
+
+    private static final class Fork {
+
+        final String       fTest;
+        final List<Sample> fSamples = new ArrayList<>();
+        int                fStatus  = -1;
+
+        Fork(String test) {
+            fTest = test;
+        }
+    }
+
+    private final String[] fCpuSets;
+
+    /**
+     * Creates a runner configured by the system properties.
+     */
+    public ForkedScenarioRunner() {
+        this(getCpuSets());
+    }
+
+    /**
+     * @param cpuSets
+     *            the CPU sets to pin the forks to, one fork per set at a time, or <code>null</code> to run one unpinned
+     *            fork at a time
+     */
+    public ForkedScenarioRunner(String[] cpuSets) {
+        fCpuSets = cpuSets != null && cpuSets.length > 0 ? cpuSets : new String[] { null };
+    }
+
+    private static String[] getCpuSets() {
+        String value = System.getProperty(CPUS_PROPERTY);
+        if (value == null || value.trim().length() == 0)
+            return null;
+        List<String> sets = new ArrayList<>();
+        for (String set : value.split(";")) { //$NON-NLS-1$
+            if (set.trim().length() > 0)
+                sets.add(set.trim());
+        }
+        return sets.toArray(new String[sets.size()]);
+    }
+
+    /**
+     * Answers whether this JVM is a fork whose samples are sent to the JVM that forked it.
+     *
+     * @return <code>true</code> if this JVM is a fork
+     */
+    public static boolean isForked() {
+        return fgPipe != null;
+    }
+
+    /**
+     * Sends a sample to the JVM that forked this one.
+     *
+     * @param sample
+     *            the sample
+     * @return <code>true</code> if the sample was sent, <code>false</code> if this JVM is no fork or sending failed
+     */
+    public static synchronized boolean send(Sample sample) {
+        if (fgPipe == null)
+            return false;
+        try {
+            SampleCodec.write(fgPipe, sample);
+            fgPipe.flush();
+            return true;
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+            return false;
+        }
+    }
+
+    /**
+     * Runs each test in a forked JVM and stores the samples the forks send, in the order of the tests.
+     *
+     * @param tests
+     *            the tests, test classes or <code>class#method</code>
+     * @return the number of tests that failed, including forks that could not be run
+     */
+    public int run(String[] tests) {
+        BlockingQueue<String> cpuSets = new ArrayBlockingQueue<>(fCpuSets.length);
+        for (String cpuSet : fCpuSets)
+            cpuSets.add(cpuSet != null ? cpuSet : ""); //$NON-NLS-1$
+
+        ExecutorService executor = Executors.newFixedThreadPool(fCpuSets.length);
+        List<Future<Fork>> futures = new ArrayList<>();
+        AtomicInteger queued = new AtomicInteger(tests.length);
+        MetricsExporter.setQueuedTests(tests.length);
+        for (String test : tests) {
+            futures.add(executor.submit(() -> {
+                String cpuSet = cpuSets.take();
+                MetricsExporter.setQueuedTests(queued.decrementAndGet());
+                try {
+                    return fork(test, cpuSet.length() > 0 ? cpuSet : null);
+                } finally {
+                    cpuSets.add(cpuSet);
+                }
+            }));
+        }
+        executor.shutdown();
+
+        // the database connection is shared, so the samples are stored on this thread
+        Variations variations = PerformanceTestPlugin.getVariations();
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            Fork fork;
+            try {
+                fork = futures.get(i).get();
+            } catch (ExecutionException e) {
+                PerformanceTestPlugin.log(e.getCause());
+                failed++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                return failed + futures.size() - i;
+            }
+            for (Sample sample : fork.fSamples) {
+                sample = SampleCodec.resolveCustomDimensions(sample);
+                MetricsExporter.sampleCommitted(sample);
+                if (variations != null)
+                    store(variations, sample);
+            }
+            if (fork.fStatus != 0) {
+                PerformanceTestPlugin.logWarning("forked test '" + fork.fTest + "' failed with status " + fork.fStatus); //$NON-NLS-1$ //$NON-NLS-2$
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Stores a sample sent by a fork, on the thread that {@link #run(String[]) runs} the tests.
+     *
+     * @param variations
+     *            used to tag the sample in the database
+     * @param sample
+     *            the sample
+     */
+    protected void store(Variations variations, Sample sample) {
+        DB.store(variations, sample);
+    }
+
+    private static Fork fork(String test, String cpuSet) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        if (cpuSet != null) {
+            command.add("taskset"); //$NON-NLS-1$
+            command.add("-c"); //$NON-NLS-1$
+            command.add(cpuSet);
+        }
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            // the forks must not open the database, and would compete for the debug port
+            if (!argument.startsWith("-D" + PerformanceTestPlugin.ECLIPSE_PERF_DBLOC + '=') //$NON-NLS-1$
+                    && !argument.startsWith("-D" + FORKED_PROPERTY + '=') && !argument.startsWith("-agentlib:jdwp")) //$NON-NLS-1$ //$NON-NLS-2$
+                command.add(argument);
+        }
+        command.add("-D" + FORKED_PROPERTY + "=true"); //$NON-NLS-1$ //$NON-NLS-2$
+        command.add("-cp"); //$NON-NLS-1$
+        command.add(System.getProperty("java.class.path")); //$NON-NLS-1$
+        command.add(ForkedScenarioRunner.class.getName());
+        command.add(test);
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        builder.redirectInput(ProcessBuilder.Redirect.INHERIT);
+        Process process = builder.start();
+
+        Fork fork = new Fork(test);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+            int[] status = { -1 };
+            Sample sample;
+            while ((sample = SampleCodec.read(in, status)) != null)
+                fork.fSamples.add(sample);
+            fork.fStatus = status[0];
+        } catch (EOFException e) {
+            PerformanceTestPlugin.logError("forked test '" + test + "' ended without result"); //$NON-NLS-1$ //$NON-NLS-2$
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+            process.destroy(); // it would block on the full pipe
+        } finally {
+            int exitValue = process.waitFor();
+            if (fork.fStatus == 0 && exitValue != 0)
+                fork.fStatus = exitValue;
+        }
+        return fork;
+    }
+
+    /*
+     * Runs the test in this forked JVM; the standard output becomes the pipe to the forking JVM.
+     */
+    private static int runForked(String test) throws Exception {
+        fgPipe = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+
+        TestResult result = junit.textui.TestRunner.run(createTest(test));
+        int status = result.wasSuccessful() ? 0 : 1;
+        synchronized (ForkedScenarioRunner.class) {
+            SampleCodec.writeEnd(fgPipe, status);
+            fgPipe.flush();
+        }
+        return status;
+    }
+
+    private static Test createTest(String test) throws Exception {
+        int hash = test.indexOf('#');
+        Class<?> testClass = Class.forName(hash >= 0 ? test.substring(0, hash) : test);
+        if (hash >= 0)
+            return TestSuite.createTest(testClass, test.substring(hash + 1));
+        try {
+            Method suite = testClass.getMethod("suite"); //$NON-NLS-1$
+            return (Test) suite.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return new TestSuite(testClass);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int status;
+        if (Boolean.getBoolean(FORKED_PROPERTY))
+            status = runForked(args[0]);
+        else
+            status = new ForkedScenarioRunner().run(args) == 0 ? 0 : 1;
+        // threads left behind by a test must not keep the JVM alive
+        System.exit(status);
+    }
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+/**
+ * Records the garbage collection pauses that overlap the measurements of a performance meter, see
+ * {@link InternalPerformanceMeter#GC_POLICY_PROPERTY}.
+ * <p>
+ * The pauses are reported by the GC notifications of the platform MXBeans of all collectors except the concurrent ones,
+ * whose cycles do not stop the application. A pause is attributed to a measurement by the sequence number of its
+ * collection: the collection counts of the collectors are read when a measurement starts and stops. The notifications
+ * arrive asynchronously, often tens of milliseconds after a collection, so only the counts are recorded while
+ * measuring, and the pauses are attributed when the sample is committed, once their notifications have arrived.
+ * </p>
+ */
+class GcRecorder {
+
+    static final String         POLICY_NONE     = "none";     //$NON-NLS-1$
+    static final String         POLICY_EXCLUDE  = "exclude";  //$NON-NLS-1$
+    static final String         POLICY_SUBTRACT = "subtract"; //$NON-NLS-1$
+
+    /** the most pauses remembered; older ones are forgotten */
+    private static final int    MAX_PAUSES      = 4096;
+    /** the longest time to wait for outstanding notifications, in milliseconds */
+    private static final long   NOTIFICATION_TIMEOUT = 1000;
+
+    private static boolean      fgInitialized;
+    private static boolean      fgUnavailable;
+    private static GarbageCollectorMXBean[] fgBeans = new GarbageCollectorMXBean[0];
+    /** the sequence number of the last notified collection of each collector */
+    private static long[]       fgLastIds       = new long[0];
+    /** the collector, sequence number and duration in milliseconds of each remembered pause */
+    private static long[]       fgPauses        = new long[3 * MAX_PAUSES];
+    private static int          fgPauseCount;
+
+    /** the collection counts of the collectors when each measurement started and stopped */
+    private long[]              fCounts         = new long[0];
+    private int                 fWindowCount;
+
+    /**
+     * Answer whether the pauses can be recorded in this VM, registering the listeners on the first call.
+     *
+     * @return <code>true</code> if the garbage collectors of this VM send notifications
+     */
+    static synchronized boolean isAvailable() {
+        if (!fgInitialized) {
+            fgInitialized = true;
+            try {
+                List<GarbageCollectorMXBean> beans = new ArrayList<>();
+                for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                    String name = bean.getName();
+                    if (name.indexOf("Concurrent") >= 0 || name.indexOf("Cycles") >= 0) //$NON-NLS-1$ //$NON-NLS-2$
+                        continue;
+                    if (bean instanceof NotificationEmitter)
+                        beans.add(bean);
+                }
+                fgBeans = beans.toArray(new GarbageCollectorMXBean[beans.size()]);
+                fgLastIds = new long[fgBeans.length];
+                for (int i = 0; i < fgBeans.length; i++) {
+                    fgLastIds[i] = fgBeans[i].getCollectionCount();
+                    final int collector = i;
+                    ((NotificationEmitter) fgBeans[i]).addNotificationListener(
+                            (notification, handback) -> handleNotification(collector, notification), null, null);
+                }
+            } catch (LinkageError | SecurityException e) {
+                PerformanceTestPlugin.logWarning("cannot record GC pauses: " + e); //$NON-NLS-1$
+                fgUnavailable = true;
+            }
+        }
+        return !fgUnavailable;
+    }
+
+    private static void handleNotification(int collector, Notification notification) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+            return;
+        GcInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo();
+        synchronized (GcRecorder.class) {
+            fgLastIds[collector] = Math.max(fgLastIds[collector], info.getId());
+            int slot = 3 * (fgPauseCount++ % MAX_PAUSES);
+            fgPauses[slot] = collector;
+            fgPauses[slot + 1] = info.getId();
+            fgPauses[slot + 2] = info.getDuration();
+            GcRecorder.class.notifyAll();
+        }
+    }
+
+    /*
+     * Waits until the notifications of the collections up to the given counts have arrived.
+     */
+    private static synchronized void awaitNotifications(long[] counts, int offset) {
+        long deadline = System.currentTimeMillis() + NOTIFICATION_TIMEOUT;
+        for (int i = 0; i < fgBeans.length; i++) {
+            while (fgLastIds[i] < counts[offset + i]) {
+                long timeout = deadline - System.currentTimeMillis();
+                if (timeout <= 0) {
+                    PerformanceTestPlugin.logWarning("missing notifications of garbage collections"); //$NON-NLS-1$
+                    return;
+                }
+                try {
+                    GcRecorder.class.wait(timeout);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void recordCounts(int offset) {
+        if (offset + fgBeans.length > fCounts.length)
+            fCounts = Arrays.copyOf(fCounts, Math.max(2 * fCounts.length, 16 * fgBeans.length));
+        for (int i = 0; i < fgBeans.length; i++)
+            fCounts[offset + i] = fgBeans[i].getCollectionCount();
+    }
+
+    synchronized void started() {
+        recordCounts(2 * fWindowCount * fgBeans.length);
+    }
+
+    synchronized void stopped() {
+        recordCounts((2 * fWindowCount + 1) * fgBeans.length);
+        fWindowCount++;
+    }
+
+    /**
+     * Answer the sample with the pauses during each measurement, after applying the policy.
+     *
+     * @param sample
+     *            the sample of the measurements
+     * @param policy
+     *            the GC policy, one of "none", "exclude" or "subtract"
+     * @return the sample with the GC dimensions added, or the given sample if nothing was measured
+     */
+    synchronized Sample addDimensions(Sample sample, String policy) {
+        if (fWindowCount == 0)
+            return sample;
+        int collectors = fgBeans.length;
+        awaitNotifications(fCounts, (2 * fWindowCount - 1) * collectors);
+
+        long[] pauseTimes = new long[fWindowCount];
+        long[] pauseCounts = new long[fWindowCount];
+        synchronized (GcRecorder.class) {
+            int count = Math.min(fgPauseCount, MAX_PAUSES);
+            for (int m = 0; m < fWindowCount; m++) {
+                for (int i = 0; i < count; i++) {
+                    int collector = (int) fgPauses[3 * i];
+                    long id = fgPauses[3 * i + 1];
+                    if (id > fCounts[2 * m * collectors + collector] && id <= fCounts[(2 * m + 1) * collectors + collector]) {
+                        pauseTimes[m] += fgPauses[3 * i + 2];
+                        pauseCounts[m]++;
+                    }
+                }
+            }
+        }
+
+        DataPoint[] dataPoints = sample.getDataPoints();
+        if (dataPoints.length != 2 * fWindowCount) {
+            PerformanceTestPlugin.logWarning("cannot match the GC pauses of '" + sample.getScenarioID() //$NON-NLS-1$
+                    + "' with its measurements"); //$NON-NLS-1$
+            return sample;
+        }
+
+        int policyValue = 0;
+        int excluded = 0;
+        if (POLICY_EXCLUDE.equals(policy)) {
+            policyValue = 1;
+            List<DataPoint> kept = new ArrayList<>();
+            List<Integer> keptMeasurements = new ArrayList<>();
+            for (int m = 0; m < fWindowCount; m++) {
+                if (pauseCounts[m] == 0) {
+                    kept.add(dataPoints[2 * m]);
+                    kept.add(dataPoints[2 * m + 1]);
+                    keptMeasurements.add(Integer.valueOf(m));
+                }
+            }
+            if (keptMeasurements.isEmpty()) {
+                PerformanceTestPlugin.logWarning("all measurements of '" + sample.getScenarioID() //$NON-NLS-1$
+                        + "' overlap GC pauses; none excluded"); //$NON-NLS-1$
+            } else if (keptMeasurements.size() < fWindowCount) {
+                excluded = fWindowCount - keptMeasurements.size();
+                dataPoints = kept.toArray(new DataPoint[kept.size()]);
+                long[] times = new long[keptMeasurements.size()];
+                long[] counts = new long[keptMeasurements.size()];
+                for (int i = 0; i < times.length; i++) {
+                    times[i] = pauseTimes[keptMeasurements.get(i).intValue()];
+                    counts[i] = pauseCounts[keptMeasurements.get(i).intValue()];
+                }
+                pauseTimes = times;
+                pauseCounts = counts;
+            }
+        } else if (POLICY_SUBTRACT.equals(policy)) {
+            // the elapsed times are kept as measured, and the pauses subtracted when they are evaluated
+            policyValue = 2;
+        } else if (!POLICY_NONE.equals(policy)) {
+            PerformanceTestPlugin.logWarning("unknown GC policy '" + policy + "', using '" + POLICY_NONE + '\''); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        int measurements = pauseTimes.length;
+        long[] policies = new long[measurements];
+        long[] exclusions = new long[measurements];
+        Arrays.fill(policies, policyValue);
+        Arrays.fill(exclusions, excluded);
+        Dim[] dimensions = { InternalDimensions.GC_PAUSE_TIME, InternalDimensions.GC_PAUSE_COUNT, InternalDimensions.GC_POLICY,
+                InternalDimensions.GC_EXCLUDED_MEASUREMENTS };
+        Sample result = InternalPerformanceMeter.addMeasurementDimensions(new Sample(sample, dataPoints), dimensions,
+                new long[][] { pauseTimes, pauseCounts, policies, exclusions }, measurements);
+        return result != null ? result : sample;
+    }
+}
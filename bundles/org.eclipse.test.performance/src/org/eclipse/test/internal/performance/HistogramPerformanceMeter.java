@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.PrintStream;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.LatencyHistogram;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
+
+/**
+ * Performance meter for the latency distribution of many short operations, like content assist requests, where the
+ * tail matters more than the mean. Each {@link #start()}/{@link #stop()} pair records the elapsed time into a
+ * {@link LatencyHistogram}, which takes fixed memory and does not allocate, so that millions of iterations can be
+ * measured without disturbing them.
+ * <p>
+ * The sample has a single measurement with the percentiles {@link InternalDimensions#LATENCY_P50},
+ * {@link InternalDimensions#LATENCY_P90}, {@link InternalDimensions#LATENCY_P99}, {@link InternalDimensions#LATENCY_P999}
+ * and {@link InternalDimensions#LATENCY_MAX} of the latencies, and their number as
+ * {@link InternalDimensions#INVOCATION_COUNT}. The histogram itself is attached to the sample and stored with it, so
+ * that percentiles can be compared over all stored samples, see
+ * {@link org.eclipse.test.internal.performance.eval.PercentileBandChecker}.
+ * </p>
+ * <p>
+ * Not thread-safe. Phases, performance counters, profiling and GC pauses are not recorded by this meter, since they
+ * would cost more than the operations measured.
+ * </p>
+ */
+public class HistogramPerformanceMeter extends InternalPerformanceMeter {
+
+    private static final double[] PERCENTILES           = { 50, 90, 99, 99.9, 100 };
+    private static final Dim[]    PERCENTILE_DIMENSIONS = { InternalDimensions.LATENCY_P50, InternalDimensions.LATENCY_P90,
+            InternalDimensions.LATENCY_P99, InternalDimensions.LATENCY_P999, InternalDimensions.LATENCY_MAX };
+    private static final String[] PERCENTILE_LABELS     = { "P50", "P90", "P99", "P99.9", "max" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+    private final long             fStartDate;
+    private final LatencyHistogram fHistogram           = new LatencyHistogram();
+    private long                   fStartNanos;
+    private boolean                fRunning;
+
+    /**
+     * @param scenarioId
+     *            the scenario id
+     */
+    public HistogramPerformanceMeter(String scenarioId) {
+        super(scenarioId);
+        fStartDate = System.currentTimeMillis();
+    }
+
+    @Override
+    public void start() {
+        if (fRunning)
+            throw new IllegalStateException("start() called twice without stop()"); //$NON-NLS-1$
+        fRunning = true;
+        fStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void stop() {
+        long now = System.nanoTime();
+        if (!fRunning)
+            throw new IllegalStateException("stop() called without start()"); //$NON-NLS-1$
+        fRunning = false;
+        fHistogram.record(now - fStartNanos);
+    }
+
+    /**
+     * Records a latency measured by the caller, e.g. taken from an event.
+     *
+     * @param nanos
+     *            the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        fHistogram.record(nanos);
+    }
+
+    /**
+     * @return the histogram of the latencies recorded so far
+     */
+    public LatencyHistogram getHistogram() {
+        return fHistogram;
+    }
+
+    @Override
+    public void beginPhase(String name) {
+        // phases of single operations are not recorded
+    }
+
+    @Override
+    public void endPhase() {
+        // phases of single operations are not recorded
+    }
+
+    /**
+     * Answer the percentile a latency dimension of this meter stands for.
+     *
+     * @param dimension
+     *            the dimension
+     * @return the percentile between 0 and 100, or <code>NaN</code> if the dimension is no percentile of the latencies
+     */
+    public static double getPercentile(Dim dimension) {
+        for (int i = 0; i < PERCENTILE_DIMENSIONS.length; i++) {
+            if (PERCENTILE_DIMENSIONS[i] == dimension)
+                return PERCENTILES[i];
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public Sample getSample() {
+        if (fHistogram.getCount() == 0)
+            return null;
+        Map<Dim, Scalar> before = new HashMap<>();
+        Map<Dim, Scalar> after = new HashMap<>();
+        for (int i = 0; i < PERCENTILE_DIMENSIONS.length; i++) {
+            Dim dimension = PERCENTILE_DIMENSIONS[i];
+            before.put(dimension, new Scalar(dimension, 0));
+            after.put(dimension, new Scalar(dimension, fHistogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        before.put(InternalDimensions.INVOCATION_COUNT, new Scalar(InternalDimensions.INVOCATION_COUNT, 0));
+        after.put(InternalDimensions.INVOCATION_COUNT, new Scalar(InternalDimensions.INVOCATION_COUNT, fHistogram.getCount()));
+        DataPoint[] dataPoints = { new DataPoint(BEFORE, before), new DataPoint(AFTER, after) };
+
+        Map<String, String> properties = new HashMap<>();
+        PerformanceMonitor.getPerformanceMonitor().collectGlobalPerformanceInfo(properties);
+        Sample sample = new Sample(getScenarioName(), fStartDate, properties, dataPoints);
+        sample.setHistogram(fHistogram.copy());
+        return sample;
+    }
+
+    @Override
+    protected void printDetails(PrintStream ps) {
+        NumberFormat format = NumberFormat.getNumberInstance();
+        format.setMinimumFractionDigits(3);
+        format.setMaximumFractionDigits(3);
+        ps.println("  Latency (ms) of " + fHistogram.getCount() + " operations:"); //$NON-NLS-1$ //$NON-NLS-2$
+        StringBuffer line = new StringBuffer("    mean " + format.format(fHistogram.getMean() / 1000000.0)); //$NON-NLS-1$
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            line.append(", ").append(PERCENTILE_LABELS[i]).append(' '); //$NON-NLS-1$
+            line.append(format.format(fHistogram.getValueAtPercentile(PERCENTILES[i]) / 1000000.0));
+        }
+        ps.println(line);
+        super.printDetails(ps);
+    }
+}
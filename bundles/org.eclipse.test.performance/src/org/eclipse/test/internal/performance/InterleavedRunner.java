@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.util.Random;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+/**
+ * Measures a baseline and a candidate implementation of a scenario in the same JVM, interleaved: each round runs both
+ * once, in random order, each with its own performance meter. The i-th measurements of the two meters thus form a pair
+ * taken under the same machine conditions, which {@link org.eclipse.test.internal.performance.eval.PairedComparison}
+ * compares. The random order keeps effects of running first or second, like caches warmed by the other operation, out of
+ * the mean difference.
+ * <p>
+ * Before measuring, both operations are run {@link #WARMUP_PROPERTY} times, alternately and without measuring.
+ * </p>
+ */
+public class InterleavedRunner {
+
+    /** The number of measured pairs, default 20. */
+    public static final String PAIRS_PROPERTY  = "eclipse.perf.interleaved.pairs";  //$NON-NLS-1$
+    /** The number of unmeasured runs of each operation before the first pair, default 5. */
+    public static final String WARMUP_PROPERTY = "eclipse.perf.interleaved.warmup"; //$NON-NLS-1$
+    /** The seed of the random order, random by default. */
+    public static final String SEED_PROPERTY   = "eclipse.perf.interleaved.seed";   //$NON-NLS-1$
+
+    private static final int   DEFAULT_PAIRS   = 20;
+    private static final int   DEFAULT_WARMUP  = 5;
+
+    private final int          fPairs;
+    private final int          fWarmup;
+    private final Random       fRandom;
+    private int                fCandidateFirst;
+
+    /**
+     * Creates a runner configured by the system properties.
+     */
+    public InterleavedRunner() {
+        this(Integer.getInteger(PAIRS_PROPERTY, DEFAULT_PAIRS).intValue(), Integer.getInteger(WARMUP_PROPERTY, DEFAULT_WARMUP).intValue(),
+                Long.getLong(SEED_PROPERTY, System.nanoTime()).longValue());
+    }
+
+    /**
+     * @param pairs
+     *            the number of measured pairs, at least 2
+     * @param warmup
+     *            the number of unmeasured runs of each operation
+     * @param seed
+     *            the seed of the random order
+     */
+    public InterleavedRunner(int pairs, int warmup, long seed) {
+        fPairs = Math.max(2, pairs);
+        fWarmup = Math.max(0, warmup);
+        fRandom = new Random(seed);
+    }
+
+    /**
+     * Warms up and then measures the baseline and the candidate in pairs. The meters are neither committed nor disposed.
+     *
+     * @param baselineMeter
+     *            the performance meter of the baseline
+     * @param baseline
+     *            the baseline operation
+     * @param candidateMeter
+     *            the performance meter of the candidate
+     * @param candidate
+     *            the candidate operation
+     * @return the number of measured pairs
+     */
+    public int run(PerformanceMeter baselineMeter, Runnable baseline, PerformanceMeter candidateMeter, Runnable candidate) {
+        for (int i = 0; i < fWarmup; i++) {
+            baseline.run();
+            candidate.run();
+        }
+
+        fCandidateFirst = 0;
+        for (int i = 0; i < fPairs; i++) {
+            if (fRandom.nextBoolean()) {
+                fCandidateFirst++;
+                measure(candidateMeter, candidate);
+                measure(baselineMeter, baseline);
+            } else {
+                measure(baselineMeter, baseline);
+                measure(candidateMeter, candidate);
+            }
+        }
+        return fPairs;
+    }
+
+    private static void measure(PerformanceMeter meter, Runnable operation) {
+        meter.start();
+        operation.run();
+        meter.stop();
+    }
+
+    /**
+     * @return the number of pairs of the last {@link #run} in which the candidate ran first
+     */
+    public int getCandidateFirst() {
+        return fCandidateFirst;
+    }
+}
@@ -33,6 +33,50 @@ public interface InternalDimensions {
     Dim PHYSICAL_TOTAL = new Dim(24, Unit.BYTE), // the amount of physical memory in bytes. "Physical Memory"
             SYSTEM_CACHE = new Dim(26, Unit.BYTE); // the amount of system cache memory in bytes. "System Cache"
 
+    // Sampled while measuring (SamplingPerformanceMeter):
+    Dim PEAK_WORKING_SET = new Dim(64, Unit.BYTE), // the largest working set sampled. "Peak Working Set"
+            MEAN_WORKING_SET = new Dim(65, Unit.BYTE), // the average working set sampled. "Mean Working Set"
+            P90_WORKING_SET = new Dim(66, Unit.BYTE), // the 90th percentile of the working set samples. "Working Set P90"
+            PEAK_JAVA_HEAP = new Dim(67, Unit.BYTE), // the largest used Java heap sampled. "Peak Java Heap"
+            MEAN_JAVA_HEAP = new Dim(68, Unit.BYTE), // the average used Java heap sampled. "Mean Java Heap"
+            P90_JAVA_HEAP = new Dim(69, Unit.BYTE), // the 90th percentile of the used Java heap samples. "Java Heap P90"
+            PEAK_CPU_LOAD = new Dim(70), // the highest CPU load sampled, in percent of one CPU. "Peak CPU Load"
+            MEAN_CPU_LOAD = new Dim(71), // the average CPU load sampled, in percent of one CPU. "Mean CPU Load"
+            P90_CPU_LOAD = new Dim(72); // the 90th percentile of the CPU load samples, in percent of one CPU. "CPU Load P90"
+
+    // Summarized from a Java Flight Recording (see InternalPerformanceMeter.JFR_PROPERTY):
+    Dim JFR_GC_PAUSE_TIME = new Dim(73, Unit.SECOND, 1000), // the sum of the GC pauses. "GC Pause Time"
+            JFR_GC_COUNT = new Dim(74), // the number of garbage collections. "GC Count"
+            JFR_ALLOCATED_BYTES = new Dim(75, Unit.BYTE), // the bytes allocated, as estimated by JFR. "Allocated Bytes"
+            JFR_EXECUTION_SAMPLES = new Dim(76); // the number of execution samples taken by JFR. "Execution Samples"
+
+    // Units of work measured concurrently (ConcurrentPerformanceMeter):
+    Dim LATENCY = new Dim(77, Unit.SECOND, 1000000000), // the elapsed time of a unit of work, in nanoseconds. "Latency"
+            THREAD_CPU_TIME = new Dim(78, Unit.SECOND, 1000000000), // the CPU time of the thread doing a unit of work, in
+                                                                     // nanoseconds. "Thread CPU Time"
+            THROUGHPUT = new Dim(79), // the units of work or operations completed per second. "Throughput"
+            WORKER_THREADS = new Dim(80); // the number of threads that did units of work. "Worker Threads"
+
+    // Operations run for a fixed duration (ThroughputPerformanceMeter), see also THROUGHPUT and INVOCATION_COUNT:
+    Dim OPERATIONS_PER_CPU_SECOND = new Dim(81), // the operations completed per second of CPU time. "Operations per CPU Second"
+            ALLOCATION_PER_OPERATION = new Dim(82, Unit.BYTE); // the bytes allocated per operation. "Allocation per Operation"
+
+    // GC pauses overlapping a measurement (see InternalPerformanceMeter.GC_POLICY_PROPERTY):
+    Dim GC_PAUSE_TIME = new Dim(83, Unit.SECOND, 1000), // the overlapping GC pause time. "Overlapping GC Pause Time"
+            GC_PAUSE_COUNT = new Dim(84), // the number of overlapping GC pauses. "Overlapping GC Pauses"
+            GC_POLICY = new Dim(85), // 0 none, 1 exclude, 2 subtract. "GC Policy"
+            GC_EXCLUDED_MEASUREMENTS = new Dim(86); // the number of measurements excluded. "GC Excluded Measurements"
+
+    // Percentiles of the latencies recorded in a histogram (HistogramPerformanceMeter), in nanoseconds:
+    Dim LATENCY_P50 = new Dim(87, Unit.SECOND, 1000000000), // the median latency. "Latency P50"
+            LATENCY_P90 = new Dim(88, Unit.SECOND, 1000000000), // the 90th percentile of the latencies. "Latency P90"
+            LATENCY_P99 = new Dim(89, Unit.SECOND, 1000000000), // the 99th percentile of the latencies. "Latency P99"
+            LATENCY_P999 = new Dim(90, Unit.SECOND, 1000000000), // the 99.9th percentile of the latencies. "Latency P99.9"
+            LATENCY_MAX = new Dim(91, Unit.SECOND, 1000000000); // the largest latency. "Latency Max"
+
+    // Elapsed time of short operations (SystemTimePerformanceMeter with nanosecond resolution):
+    Dim NANO_TIME = new Dim(92, Unit.SECOND, 1000000000); // System.nanoTime. "Nano Time"
+
     // Windows:
     // OS Counters:
     Dim COMITTED       = new Dim(7, Unit.BYTE), // "Committed"
@@ -66,7 +110,14 @@ public interface InternalDimensions {
             SOFT_PAGE_FAULTS = new Dim(43), // the number of soft page faults. A page was not fetched from disk. "Soft Page Faults"
             TRS = new Dim(44, Unit.BYTE), // the amount of memory in bytes occupied by text (i.e. code). "Text Size"
             DRS = new Dim(45, Unit.BYTE), // the amount of memory in bytes occupied by data or stack. "Data Size"
-            LRS = new Dim(46, Unit.BYTE); // the amount of memory in bytes occupied by shared code. "Library Size"
+            LRS = new Dim(46, Unit.BYTE), // the amount of memory in bytes occupied by shared code. "Library Size"
+            IO_READ_BYTES = new Dim(53, Unit.BYTE), // bytes fetched from the storage layer. From /proc/self/io. "IO Read Bytes"
+            IO_WRITE_BYTES = new Dim(54, Unit.BYTE), // bytes sent to the storage layer. From /proc/self/io. "IO Write Bytes"
+            IO_READ_CALLS = new Dim(55), // the number of read system calls. From /proc/self/io. "IO Read Calls"
+            IO_WRITE_CALLS = new Dim(56), // the number of write system calls. From /proc/self/io. "IO Write Calls"
+            VOLUNTARY_CONTEXT_SWITCHES = new Dim(57), // the number of voluntary context switches. "Voluntary Context Switches"
+            INVOLUNTARY_CONTEXT_SWITCHES = new Dim(58); // the number of involuntary context switches. "Involuntary Context
+                                                        // Switches"
 
     // OS Info:
     Dim USED_LINUX_MEM   = new Dim(48, Unit.BYTE), // the amount of memory that Linux reports is used. From /proc/meminfo.
@@ -76,6 +127,17 @@ public interface InternalDimensions {
             BUFFERS_LINUX = new Dim(50, Unit.BYTE); // the amount of memory that Linux reports is used by buffers. From
                                                     // /proc/meminfo. "Buffers Memory"
 
+    // Linux cgroup v2 (containers):
+    // OS Counters:
+    Dim CGROUP_CPU_TIME  = new Dim(59, Unit.SECOND, 1000), // the CPU time used by the cgroup, from cpu.stat usage_usec. "Cgroup CPU Time"
+            CGROUP_THROTTLED_PERIODS = new Dim(60), // the number of periods the cgroup was throttled, from cpu.stat nr_throttled.
+                                                    // "Cgroup Throttled Periods"
+            CGROUP_THROTTLED_TIME = new Dim(61, Unit.SECOND, 1000), // the time the cgroup was throttled, from cpu.stat
+                                                                    // throttled_usec. "Cgroup Throttled Time"
+            CGROUP_MEMORY_CURRENT = new Dim(62, Unit.BYTE), // the memory charged to the cgroup, from memory.current. "Cgroup Memory"
+            CGROUP_MEMORY_PEAK = new Dim(63, Unit.BYTE); // the peak memory charged to the cgroup, from memory.peak. "Cgroup Memory
+                                                         // Peak"
+
     // Mac:
     // OS Counters:
     // OS Info:
@@ -13,25 +13,34 @@
 
 package org.eclipse.test.internal.performance;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.text.MessageFormat;
 import java.text.NumberFormat;
+import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.test.Screenshots;
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
 import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
 import org.eclipse.test.internal.performance.db.DB;
 import org.eclipse.test.internal.performance.db.Variations;
 import org.eclipse.test.internal.performance.eval.StatisticsSession;
 import org.eclipse.test.internal.performance.eval.StatisticsUtil;
 import org.eclipse.test.internal.performance.eval.StatisticsUtil.Percentile;
 import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceCounter;
 import org.eclipse.test.performance.PerformanceMeter;
 
 public abstract class InternalPerformanceMeter extends PerformanceMeter {
@@ -53,6 +62,26 @@ public abstract class InternalPerformanceMeter extends PerformanceMeter {
 
     protected static final String VERBOSE_PERFORMANCE_METER_PROPERTY = "InternalPrintPerformanceResults"; //$NON-NLS-1$
 
+    /**
+     * If set, a Java Flight Recording of all measurements of a meter is written to <code>&lt;scenario&gt;.jfr</code> in
+     * the results directory, together with a summary of its GC pauses, allocation sites and hot methods. The value is the
+     * name of the JFR configuration to use, "true" or an empty value select "profile".
+     */
+    public static final String    JFR_PROPERTY                       = "eclipse.perf.jfr";                //$NON-NLS-1$
+
+    /**
+     * If set, the garbage collection pauses that overlap each measurement are recorded as
+     * {@link InternalDimensions#GC_PAUSE_TIME} and {@link InternalDimensions#GC_PAUSE_COUNT}. The value decides what
+     * happens to the measurements they affect: "none" keeps them, "exclude" drops them from the sample unless all are
+     * affected, and "subtract" keeps them too, but subtracts the pause time from the elapsed times when they are evaluated,
+     * see {@link StatisticsSession#excludesGcPauses(Dim)}. The decision is recorded as {@link InternalDimensions#GC_POLICY}
+     * and {@link InternalDimensions#GC_EXCLUDED_MEASUREMENTS}.
+     */
+    public static final String    GC_POLICY_PROPERTY                 = "eclipse.perf.gcPolicy";           //$NON-NLS-1$
+
+    private static boolean        fgJfrUnavailable;
+    private static boolean        fgGcUnavailable;
+
     private String                fScenarioId;
 
     private String                fShortName;
@@ -60,6 +89,12 @@ public abstract class InternalPerformanceMeter extends PerformanceMeter {
     private boolean               fSummaryIsGlobal;
     private int                   fCommentType;
     private String                fComment;
+    private JfrProfiler           fProfiler;
+    private final Map<String, PerformanceCounter> fCounters = new LinkedHashMap<>();
+    private PerformanceCounter[]  fRecordedCounters;
+    private Dim[]                 fRecordedDimensions;
+    private final PhaseRecorder   fPhases                            = new PhaseRecorder();
+    private GcRecorder            fGcRecorder;
 
     public InternalPerformanceMeter(String scenarioId) {
         fScenarioId = scenarioId;
@@ -67,11 +102,106 @@ public abstract class InternalPerformanceMeter extends PerformanceMeter {
 
     @Override
     public void dispose() {
+        if (fProfiler != null) {
+            fProfiler.close();
+            fProfiler = null;
+        }
         fScenarioId = null;
     }
 
     public abstract Sample getSample();
 
+    /**
+     * Answer the number of measured iterations during which the cgroup of the test process was CPU throttled, i.e. the
+     * number of before/after pairs whose {@link InternalDimensions#CGROUP_THROTTLED_PERIODS} increased.
+     * 
+     * @param dataPoints
+     *            the data points of a sample
+     * @return the number of throttled iterations, 0 if none or if throttling is not measured
+     */
+    public static int getThrottledIterations(DataPoint[] dataPoints) {
+        int throttled = 0;
+        for (int i = 0; i < dataPoints.length - 1; i++) {
+            DataPoint before = dataPoints[i];
+            DataPoint after = dataPoints[i + 1];
+            if (before.getStep() != BEFORE || after.getStep() != AFTER)
+                continue;
+            Scalar b = before.getScalar(InternalDimensions.CGROUP_THROTTLED_PERIODS);
+            Scalar a = after.getScalar(InternalDimensions.CGROUP_THROTTLED_PERIODS);
+            if (b != null && a != null && a.getMagnitude() > b.getMagnitude())
+                throttled++;
+            i++;
+        }
+        return throttled;
+    }
+
+    /**
+     * Answer the data points of a sample without the measured iterations during which the cgroup of the test process
+     * was CPU throttled, see {@link #getThrottledIterations(DataPoint[])}.
+     * 
+     * @param dataPoints
+     *            the data points of a sample
+     * @return the data points of the iterations that were not throttled
+     */
+    public static DataPoint[] removeThrottledIterations(DataPoint[] dataPoints) {
+        List<DataPoint> kept = new ArrayList<>(dataPoints.length);
+        for (int i = 0; i < dataPoints.length; i++) {
+            DataPoint before = dataPoints[i];
+            if (i + 1 < dataPoints.length && before.getStep() == BEFORE && dataPoints[i + 1].getStep() == AFTER) {
+                DataPoint after = dataPoints[++i];
+                Scalar b = before.getScalar(InternalDimensions.CGROUP_THROTTLED_PERIODS);
+                Scalar a = after.getScalar(InternalDimensions.CGROUP_THROTTLED_PERIODS);
+                if (b != null && a != null && a.getMagnitude() > b.getMagnitude())
+                    continue;
+                kept.add(before);
+                kept.add(after);
+            } else {
+                kept.add(before);
+            }
+        }
+        return kept.toArray(new DataPoint[kept.size()]);
+    }
+
+    /**
+     * Answer a copy of the sample with additional dimensions. The before data point of each measurement gets 0 and the after
+     * data point the measured value, so that the usual after - before delta yields the value.
+     * 
+     * @param sample
+     *            the sample
+     * @param dimensions
+     *            the additional dimensions
+     * @param values
+     *            <code>values[d][m]</code> is the value of <code>dimensions[d]</code> in measurement <code>m</code>
+     * @param measurements
+     *            the number of measurements the values are for
+     * @return the new sample, or <code>null</code> if the data points of the sample are not that many before/after pairs
+     */
+    static Sample addMeasurementDimensions(Sample sample, Dim[] dimensions, long[][] values, int measurements) {
+        DataPoint[] dataPoints = sample.getDataPoints();
+        if (dataPoints.length != 2 * measurements)
+            return null;
+        DataPoint[] result = new DataPoint[dataPoints.length];
+        for (int m = 0; m < measurements; m++) {
+            DataPoint before = dataPoints[2 * m];
+            DataPoint after = dataPoints[2 * m + 1];
+            if (before.getStep() != BEFORE || after.getStep() != AFTER)
+                return null;
+            Map<Dim, Scalar> beforeScalars = new HashMap<>();
+            Map<Dim, Scalar> afterScalars = new HashMap<>();
+            for (Scalar scalar : before.getScalars())
+                beforeScalars.put(scalar.getDimension(), scalar);
+            for (Scalar scalar : after.getScalars())
+                afterScalars.put(scalar.getDimension(), scalar);
+            for (int d = 0; d < dimensions.length; d++) {
+                beforeScalars.put(dimensions[d], new Scalar(dimensions[d], 0));
+                afterScalars.put(dimensions[d], new Scalar(dimensions[d], values[d][m]));
+            }
+            result[2 * m] = new DataPoint(BEFORE, beforeScalars);
+            result[2 * m + 1] = new DataPoint(AFTER, afterScalars);
+        }
+        return new Sample(sample, result);
+    }
+
     /**
      * Answer the scenario ID.
      * 
@@ -81,9 +211,153 @@ public abstract class InternalPerformanceMeter extends PerformanceMeter {
         return fScenarioId;
     }
 
+    /**
+     * Adds a counter to be recorded with each measurement. If there already is a counter with the same name, that one is
+     * answered instead. The dimension of the counter is resolved here, since that may add it to the database, which must
+     * not happen while measuring.
+     * 
+     * @param counter
+     *            the new counter
+     * @return the counter that is recorded under the name of the given counter
+     * @throws IllegalStateException
+     *             if the meter has already started measuring
+     */
+    public synchronized PerformanceCounter addCounter(PerformanceCounter counter) {
+        PerformanceCounter existing = fCounters.get(counter.getName());
+        if (existing != null)
+            return existing;
+        if (fRecordedCounters != null)
+            throw new IllegalStateException("counter '" + counter.getName() + "' created after the first measurement of '" //$NON-NLS-1$ //$NON-NLS-2$
+                    + getScenarioName() + "'"); //$NON-NLS-1$
+        counter.getDimension();
+        fCounters.put(counter.getName(), counter);
+        return counter;
+    }
+
+    /**
+     * Subclasses call this for each snapshot to record the current values of the counters. The set of counters is fixed with
+     * the first call, so that all snapshots have the same dimensions.
+     * 
+     * @param scalars
+     *            the scalars of the snapshot
+     */
+    protected void collectCounters(Map<Dim, Scalar> scalars) {
+        PerformanceCounter[] counters;
+        Dim[] dimensions;
+        synchronized (this) {
+            if (fRecordedCounters == null) {
+                fRecordedCounters = fCounters.values().toArray(new PerformanceCounter[fCounters.size()]);
+                fRecordedDimensions = new Dim[fRecordedCounters.length];
+                for (int i = 0; i < fRecordedCounters.length; i++)
+                    fRecordedDimensions[i] = (Dim) fRecordedCounters[i].getDimension();
+            }
+            counters = fRecordedCounters;
+            dimensions = fRecordedDimensions;
+        }
+        for (int i = 0; i < counters.length; i++)
+            scalars.put(dimensions[i], new Scalar(dimensions[i], counters[i].getValue()));
+    }
+
     @Override
-    public void commit() {
+    public void beginPhase(String name) {
+        fPhases.begin(name);
+    }
+
+    @Override
+    public void endPhase() {
+        fPhases.end();
+    }
+
+    /**
+     * Subclasses call this at the beginning of each measurement, before taking the first snapshot. It starts the timing of
+     * the phases and, if requested by {@link #JFR_PROPERTY}, the profiling.
+     */
+    protected void measurementStarted() {
+        if (fProfiler == null && !fgJfrUnavailable && System.getProperty(JFR_PROPERTY) != null)
+            startProfiling(System.getProperty(JFR_PROPERTY));
+        if (fProfiler != null)
+            fProfiler.started();
+        if (fGcRecorder == null && !fgGcUnavailable && System.getProperty(GC_POLICY_PROPERTY) != null)
+            startGcRecording();
+        if (fGcRecorder != null)
+            fGcRecorder.started();
+        MetricsExporter.scenarioStarted(fScenarioId);
+        fPhases.started();
+    }
+
+    /**
+     * Subclasses call this at the end of each measurement, after taking the last snapshot.
+     */
+    protected void measurementStopped() {
+        fPhases.stopped(getScenarioName());
+        if (fGcRecorder != null)
+            fGcRecorder.stopped();
+        if (fProfiler != null)
+            fProfiler.stopped();
+    }
+
+    private void startGcRecording() {
+        try {
+            if (GcRecorder.isAvailable())
+                fGcRecorder = new GcRecorder();
+            else
+                fgGcUnavailable = true;
+        } catch (LinkageError e) {
+            // no com.sun.management in this VM
+            PerformanceTestPlugin.logWarning("cannot record GC pauses: " + e); //$NON-NLS-1$
+            fgGcUnavailable = true;
+        }
+    }
+
+    private void startProfiling(String configuration) {
+        if (configuration.length() == 0 || "true".equals(configuration)) //$NON-NLS-1$
+            configuration = "profile"; //$NON-NLS-1$
+        try {
+            fProfiler = new JfrProfiler(getScenarioName(), configuration);
+        } catch (IOException | ParseException e) {
+            PerformanceTestPlugin.log(e);
+            fgJfrUnavailable = true;
+        } catch (LinkageError | IllegalStateException | SecurityException e) {
+            // no flight recorder in this VM
+            PerformanceTestPlugin.logWarning("cannot start a flight recording: " + e); //$NON-NLS-1$
+            fgJfrUnavailable = true;
+        }
+    }
+
+    /**
+     * Answer a file in the results directory that is named after the scenario.
+     * 
+     * @param extension
+     *            the file name extension, including the dot
+     * @return the file
+     */
+    protected File getResultsFile(String extension) {
+        String name = getScenarioName().replaceAll("[^\\w.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+        return new File(Screenshots.getResultsDirectory(), name + extension);
+    }
+
+    /**
+     * Answer the sample to commit: the sample of the measurements with the dimensions recorded alongside them, i.e. the
+     * profile summary, the times of the phases and the GC pauses. Ends the profiling.
+     * 
+     * @return the sample or <code>null</code>
+     */
+    protected Sample getCommittedSample() {
         Sample sample = getSample();
+        if (sample != null && fProfiler != null) {
+            sample = fProfiler.finish(sample, getResultsFile(".jfr"), getResultsFile(".jfr.txt")); //$NON-NLS-1$ //$NON-NLS-2$
+            fProfiler = null;
+        }
+        if (sample != null && fPhases.hasPhases())
+            sample = fPhases.addDimensions(sample);
+        if (sample != null && fGcRecorder != null)
+            sample = fGcRecorder.addDimensions(sample, System.getProperty(GC_POLICY_PROPERTY));
+        return sample;
+    }
+
+    @Override
+    public void commit() {
+        Sample sample = getCommittedSample();
         if (sample != null) {
             if (fSummaryDimensions != null) {
                 sample.tagAsSummary(fSummaryIsGlobal, fShortName, fSummaryDimensions, fCommentType, fComment);
@@ -91,8 +365,13 @@ public abstract class InternalPerformanceMeter extends PerformanceMeter {
                 sample.setComment(this.fCommentType, this.fComment);
             }
             Variations variations = PerformanceTestPlugin.getVariations();
-            if (variations != null)
-                DB.store(variations, sample);
+            if (ForkedScenarioRunner.isForked())
+                ForkedScenarioRunner.send(sample);
+            else {
+                MetricsExporter.sampleCommitted(sample);
+                if (variations != null)
+                    DB.store(variations, sample);
+            }
             if (!DB.isActive() || System.getProperty(VERBOSE_PERFORMANCE_METER_PROPERTY) != null) {
                 printSample(System.out, sample);
                 // printSampleCSV(System.out, sample);
@@ -170,11 +449,29 @@ public abstract class InternalPerformanceMeter extends PerformanceMeter {
                     }
                     ps.println();
                 }
+
+                printDetails(ps);
+
+                int throttled = getThrottledIterations(dataPoints);
+                if (throttled > 0)
+                    ps.println("  Throttled by the cgroup CPU limit in " + throttled + " of " + n + " samples"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
             }
         }
         ps.println();
     }
 
+    /**
+     * Prints details of the measurements after the statistics of the dimensions. The default implementation prints the
+     * breakdown of the phases, if any.
+     * 
+     * @param ps
+     *            the stream to print to
+     */
+    protected void printDetails(PrintStream ps) {
+        if (fPhases.hasPhases())
+            fPhases.print(ps);
+    }
+
     private String checkSampleSize(StatisticsSession s, Sample sample, Dim dimension) throws CoreException {
         long sampleSize = s.getCount(dimension);
         double stdev = s.getStddev(dimension);
@@ -0,0 +1,375 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+
+/**
+ * Records a Java Flight Recording for all measurements of a performance meter, see
+ * {@link InternalPerformanceMeter#JFR_PROPERTY}. At the end the recording is dumped to the results directory and
+ * summarized: the GC pauses, the allocated bytes and the number of execution samples of each measurement are added as
+ * dimensions, and the top allocation sites and hot methods are written to a text file next to the recording.
+ * <p>
+ * The bundle requires Java 8, where <code>jdk.jfr</code> is only available from 8u262 on and not part of the Java 8
+ * API, so this class uses it reflectively; callers have to expect a {@link LinkageError} on VMs without it.
+ * </p>
+ */
+class JfrProfiler {
+
+    private static final int      TOP_COUNT         = 10;
+
+    private static final Dim[]    DIMENSIONS        = { InternalDimensions.JFR_GC_PAUSE_TIME, InternalDimensions.JFR_GC_COUNT,
+            InternalDimensions.JFR_ALLOCATED_BYTES, InternalDimensions.JFR_EXECUTION_SAMPLES };
+
+    private static final int      GC_PAUSE          = 0;
+    private static final int      GC_COUNT          = 1;
+    private static final int      ALLOCATED_SAMPLED = 2;
+    private static final int      EXECUTION_SAMPLES = 3;
+    private static final int      ALLOCATED_TLAB    = 4;
+    private static final int      COUNTERS          = 5;
+
+    private final Object          fRecording;
+    private final List<Instant>   fStarts           = new ArrayList<>();
+    private final List<Instant>   fStops            = new ArrayList<>();
+
+    /**
+     * Starts the recording.
+     *
+     * @param scenarioId
+     *            the scenario being measured
+     * @param configuration
+     *            the name of the JFR configuration, e.g. "profile"
+     * @throws IOException
+     *             if the configuration cannot be read
+     * @throws ParseException
+     *             if the configuration cannot be parsed
+     */
+    JfrProfiler(String scenarioId, String configuration) throws IOException, ParseException {
+        Object config;
+        try {
+            config = Jfr.GET_CONFIGURATION.invoke(null, configuration);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof ParseException)
+                throw (ParseException) e.getCause();
+            throw asIOException(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        fRecording = newInstance(Jfr.NEW_RECORDING, config);
+        invoke(Jfr.SET_NAME, fRecording, scenarioId);
+        invoke(Jfr.START, fRecording);
+    }
+
+    void started() {
+        fStarts.add(Instant.now());
+    }
+
+    void stopped() {
+        fStops.add(Instant.now());
+    }
+
+    void close() {
+        try {
+            invoke(Jfr.CLOSE, fRecording);
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        }
+    }
+
+    /**
+     * Stops the recording, writes it to the given file and adds the summarized dimensions to the data points of the
+     * sample.
+     *
+     * @param sample
+     *            the sample of the meter
+     * @param file
+     *            the file to write the recording to
+     * @param summaryFile
+     *            the file to write the summary to
+     * @return the sample with the additional dimensions, or the given sample if the recording could not be analyzed
+     */
+    Sample finish(Sample sample, File file, File summaryFile) {
+        Path path = file.toPath();
+        try {
+            invoke(Jfr.STOP, fRecording);
+            invoke(Jfr.DUMP, fRecording, path);
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+            return sample;
+        } finally {
+            close();
+        }
+
+        int windows = Math.min(fStarts.size(), fStops.size());
+        long[][] counters = new long[COUNTERS][windows];
+        Map<String, long[]> sampledSites = new HashMap<>();
+        Map<String, long[]> tlabSites = new HashMap<>();
+        Map<String, long[]> hotMethods = new HashMap<>();
+        long longestPause = 0;
+        try (Closeable recordingFile = (Closeable) newInstance(Jfr.NEW_RECORDING_FILE, path)) {
+            while (((Boolean) invoke(Jfr.HAS_MORE_EVENTS, recordingFile)).booleanValue()) {
+                Object event = invoke(Jfr.READ_EVENT, recordingFile);
+                int window = findWindow((Instant) invoke(Jfr.GET_START_TIME, event), windows);
+                if (window < 0)
+                    continue;
+                switch ((String) invoke(Jfr.GET_EVENT_TYPE_NAME, invoke(Jfr.GET_EVENT_TYPE, event))) {
+                    case "jdk.GarbageCollection": //$NON-NLS-1$
+                        Duration pauses = getDuration(event, "sumOfPauses"); //$NON-NLS-1$
+                        counters[GC_PAUSE][window] += pauses.toNanos();
+                        counters[GC_COUNT][window]++;
+                        longestPause = Math.max(longestPause, getDuration(event, "longestPause").toNanos()); //$NON-NLS-1$
+                        break;
+                    case "jdk.ObjectAllocationSample": //$NON-NLS-1$
+                        long weight = getLong(event, "weight"); //$NON-NLS-1$
+                        counters[ALLOCATED_SAMPLED][window] += weight;
+                        count(sampledSites, getFrame(event, true), weight);
+                        break;
+                    case "jdk.ObjectAllocationInNewTLAB": //$NON-NLS-1$
+                        long tlabSize = getLong(event, "tlabSize"); //$NON-NLS-1$
+                        counters[ALLOCATED_TLAB][window] += tlabSize;
+                        count(tlabSites, getFrame(event, true), tlabSize);
+                        break;
+                    case "jdk.ObjectAllocationOutsideTLAB": //$NON-NLS-1$
+                        long size = getLong(event, "allocationSize"); //$NON-NLS-1$
+                        counters[ALLOCATED_TLAB][window] += size;
+                        count(tlabSites, getFrame(event, true), size);
+                        break;
+                    case "jdk.ExecutionSample": //$NON-NLS-1$
+                        counters[EXECUTION_SAMPLES][window]++;
+                        count(hotMethods, getFrame(event, false), 1);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+            return sample;
+        }
+
+        // newer VMs record throttled allocation samples, older ones only the TLAB events; don't count both
+        boolean sampled = !sampledSites.isEmpty();
+        long[] allocated = sampled ? counters[ALLOCATED_SAMPLED] : counters[ALLOCATED_TLAB];
+        Map<String, long[]> allocationSites = sampled ? sampledSites : tlabSites;
+
+        writeSummary(summaryFile, file, counters, longestPause, allocationSites, hotMethods);
+
+        for (int w = 0; w < windows; w++)
+            counters[GC_PAUSE][w] /= 1000000; // ns to ms
+        long[][] values = { counters[GC_PAUSE], counters[GC_COUNT], allocated, counters[EXECUTION_SAMPLES] };
+        Sample result = InternalPerformanceMeter.addMeasurementDimensions(sample, DIMENSIONS, values, windows);
+        if (result == null) {
+            PerformanceTestPlugin.logWarning("cannot match the flight recording of '" + sample.getScenarioID() //$NON-NLS-1$
+                    + "' with its measurements"); //$NON-NLS-1$
+            return sample;
+        }
+        return result;
+    }
+
+    private int findWindow(Instant time, int windows) {
+        // the measurements are few, a linear search is good enough
+        for (int i = 0; i < windows; i++) {
+            if (!time.isBefore(fStarts.get(i)) && !time.isAfter(fStops.get(i)))
+                return i;
+        }
+        return -1;
+    }
+
+    /*
+     * Answers the top frame of the stack trace of the event. For allocations the top frames are usually in the JDK
+     * (e.g. <code>Arrays.copyOf</code>), so the first frame of the code calling into the JDK is answered instead.
+     */
+    private static String getFrame(Object event, boolean skipJdk) throws IOException {
+        Object stackTrace = invoke(Jfr.GET_STACK_TRACE, event);
+        List<?> frames = stackTrace != null ? (List<?>) invoke(Jfr.GET_FRAMES, stackTrace) : null;
+        if (frames == null || frames.isEmpty())
+            return "<unknown>"; //$NON-NLS-1$
+        Object frame = frames.get(0);
+        if (skipJdk) {
+            for (Object candidate : frames) {
+                String type = getTypeName(candidate);
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    frame = candidate;
+                    break;
+                }
+            }
+        }
+        String name = getTypeName(frame) + '.' + invoke(Jfr.GET_METHOD_NAME, invoke(Jfr.GET_METHOD, frame));
+        int line = ((Integer) invoke(Jfr.GET_LINE_NUMBER, frame)).intValue();
+        return line > 0 ? name + ':' + line : name;
+    }
+
+    private static String getTypeName(Object frame) throws IOException {
+        return (String) invoke(Jfr.GET_CLASS_NAME, invoke(Jfr.GET_TYPE, invoke(Jfr.GET_METHOD, frame)));
+    }
+
+    private static Duration getDuration(Object event, String field) throws IOException {
+        return (Duration) invoke(Jfr.GET_DURATION, event, field);
+    }
+
+    private static long getLong(Object event, String field) throws IOException {
+        return ((Long) invoke(Jfr.GET_LONG, event, field)).longValue();
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws IOException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw asIOException(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object... args) throws IOException {
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw asIOException(e);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static IOException asIOException(InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException)
+            return (IOException) cause;
+        if (cause instanceof RuntimeException)
+            throw (RuntimeException) cause;
+        if (cause instanceof Error)
+            throw (Error) cause;
+        return new IOException(cause);
+    }
+
+    /**
+     * The members of <code>jdk.jfr</code> used, looked up when the first profiler is created.
+     */
+    private static final class Jfr {
+
+        static final Method         GET_CONFIGURATION;
+        static final Constructor<?> NEW_RECORDING;
+        static final Method         SET_NAME, START, STOP, DUMP, CLOSE;
+        static final Constructor<?> NEW_RECORDING_FILE;
+        static final Method         HAS_MORE_EVENTS, READ_EVENT;
+        static final Method         GET_START_TIME, GET_EVENT_TYPE, GET_EVENT_TYPE_NAME, GET_DURATION, GET_LONG, GET_STACK_TRACE;
+        static final Method         GET_FRAMES, GET_METHOD, GET_LINE_NUMBER, GET_METHOD_NAME, GET_TYPE, GET_CLASS_NAME;
+
+        static {
+            try {
+                Class<?> configuration = Class.forName("jdk.jfr.Configuration"); //$NON-NLS-1$
+                GET_CONFIGURATION = configuration.getMethod("getConfiguration", String.class); //$NON-NLS-1$
+                Class<?> recording = Class.forName("jdk.jfr.Recording"); //$NON-NLS-1$
+                NEW_RECORDING = recording.getConstructor(configuration);
+                SET_NAME = recording.getMethod("setName", String.class); //$NON-NLS-1$
+                START = recording.getMethod("start"); //$NON-NLS-1$
+                STOP = recording.getMethod("stop"); //$NON-NLS-1$
+                DUMP = recording.getMethod("dump", Path.class); //$NON-NLS-1$
+                CLOSE = recording.getMethod("close"); //$NON-NLS-1$
+
+                Class<?> recordingFile = Class.forName("jdk.jfr.consumer.RecordingFile"); //$NON-NLS-1$
+                NEW_RECORDING_FILE = recordingFile.getConstructor(Path.class);
+                HAS_MORE_EVENTS = recordingFile.getMethod("hasMoreEvents"); //$NON-NLS-1$
+                READ_EVENT = recordingFile.getMethod("readEvent"); //$NON-NLS-1$
+
+                Class<?> event = Class.forName("jdk.jfr.consumer.RecordedEvent"); //$NON-NLS-1$
+                GET_START_TIME = event.getMethod("getStartTime"); //$NON-NLS-1$
+                GET_EVENT_TYPE = event.getMethod("getEventType"); //$NON-NLS-1$
+                GET_EVENT_TYPE_NAME = Class.forName("jdk.jfr.EventType").getMethod("getName"); //$NON-NLS-1$ //$NON-NLS-2$
+                GET_DURATION = event.getMethod("getDuration", String.class); //$NON-NLS-1$
+                GET_LONG = event.getMethod("getLong", String.class); //$NON-NLS-1$
+                GET_STACK_TRACE = event.getMethod("getStackTrace"); //$NON-NLS-1$
+
+                GET_FRAMES = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames"); //$NON-NLS-1$ //$NON-NLS-2$
+                Class<?> frame = Class.forName("jdk.jfr.consumer.RecordedFrame"); //$NON-NLS-1$
+                GET_METHOD = frame.getMethod("getMethod"); //$NON-NLS-1$
+                GET_LINE_NUMBER = frame.getMethod("getLineNumber"); //$NON-NLS-1$
+                Class<?> method = Class.forName("jdk.jfr.consumer.RecordedMethod"); //$NON-NLS-1$
+                GET_METHOD_NAME = method.getMethod("getName"); //$NON-NLS-1$
+                GET_TYPE = method.getMethod("getType"); //$NON-NLS-1$
+                GET_CLASS_NAME = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName"); //$NON-NLS-1$ //$NON-NLS-2$
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                NoClassDefFoundError error = new NoClassDefFoundError("jdk.jfr"); //$NON-NLS-1$
+                error.initCause(e);
+                throw error;
+            }
+        }
+
+        private Jfr() {
+            // don't instantiate
+        }
+    }
+
+    private static void count(Map<String, long[]> counts, String key, long value) {
+        long[] count = counts.get(key);
+        if (count == null)
+            counts.put(key, new long[] { value });
+        else
+            count[0] += value;
+    }
+
+    private void writeSummary(File summaryFile, File recordingFile, long[][] counters, long longestPause,
+            Map<String, long[]> allocationSites, Map<String, long[]> hotMethods) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter pw = new PrintWriter(buffer);
+        pw.println("Flight recording: " + recordingFile.getAbsolutePath()); //$NON-NLS-1$
+        long pauses = 0, collections = 0;
+        for (int i = 0; i < counters[GC_PAUSE].length; i++) {
+            pauses += counters[GC_PAUSE][i];
+            collections += counters[GC_COUNT][i];
+        }
+        pw.println("GC pauses: " + collections + " collections, " + pauses / 1000000 + "ms total, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + longestPause / 1000000 + "ms longest"); //$NON-NLS-1$
+        pw.println();
+        pw.println("Top allocation sites (bytes):"); //$NON-NLS-1$
+        printTop(pw, allocationSites);
+        pw.println();
+        pw.println("Hot methods (execution samples):"); //$NON-NLS-1$
+        printTop(pw, hotMethods);
+        pw.flush();
+        try {
+            Files.write(summaryFile.toPath(), buffer.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        }
+    }
+
+    private static void printTop(PrintWriter pw, Map<String, long[]> counts) {
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, long[]>[] entries = counts.entrySet().toArray(new Map.Entry[counts.size()]);
+        Arrays.sort(entries, (e1, e2) -> Long.compare(e2.getValue()[0], e1.getValue()[0]));
+        for (int i = 0; i < entries.length && i < TOP_COUNT; i++)
+            pw.println("  " + entries[i].getValue()[0] + '\t' + entries[i].getKey()); //$NON-NLS-1$
+    }
+}
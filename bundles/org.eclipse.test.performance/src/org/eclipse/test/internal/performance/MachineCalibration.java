@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Scores the speed of this machine with a few short benchmarks, so that results measured on different machines with the
+ * same configuration name can be compared. Each score is the shortest of {@link #RUNS} run times of a benchmark, in
+ * nanoseconds; smaller is faster:
+ * <ul>
+ * <li>{@link #CPU}: integer arithmetic</li>
+ * <li>{@link #MEMORY}: copying arrays larger than the first and second level caches</li>
+ * <li>{@link #ALLOCATION}: allocating short lived objects</li>
+ * <li>{@link #IO}: writing, reading and deleting small files</li>
+ * </ul>
+ * The calibration runs once per JVM, when the plug-in starts or else before the first sample is stored, and its scores
+ * are stored with every sample. {@link #getSpeedFactor(Map, Map)} compares them for normalizing time dimensions, see
+ * {@link org.eclipse.test.internal.performance.db.Scenario#getNormalizedTimeSeries}.
+ */
+public final class MachineCalibration {
+
+    /**
+     * Whether to calibrate. By default the machine is calibrated if the results are stored in a database.
+     */
+    public static final String        CALIBRATION_PROPERTY = "eclipse.perf.calibration"; //$NON-NLS-1$
+
+    /** The name of the integer arithmetic score. */
+    public static final String        CPU                  = "cpu";                      //$NON-NLS-1$
+    /** The name of the memory bandwidth score. */
+    public static final String        MEMORY               = "memory";                   //$NON-NLS-1$
+    /** The name of the allocation rate score. */
+    public static final String        ALLOCATION           = "allocation";               //$NON-NLS-1$
+    /** The name of the small file I/O score. */
+    public static final String        IO                   = "io";                       //$NON-NLS-1$
+
+    /** The number of runs of each benchmark. */
+    public static final int           RUNS                 = 5;
+
+    private static final int          CPU_ITERATIONS       = 1 << 24;
+    private static final int          MEMORY_LONGS         = 1 << 19;                    // 4 MB
+    private static final int          MEMORY_COPIES        = 8;
+    private static final int          ALLOCATIONS          = 1 << 20;
+    private static final int          FILES                = 50;
+    private static final int          FILE_SIZE            = 4096;
+
+    private static boolean            fgCalibrated;
+    private static MachineCalibration fgDefault;
+    private static volatile long      fgSink;
+
+    private final Map<String, Double> fScores;
+
+    private MachineCalibration(Map<String, Double> scores) {
+        fScores = Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * Answers the calibration of this machine, calibrating it on the first call.
+     *
+     * @return the calibration, or <code>null</code> if {@link #CALIBRATION_PROPERTY disabled}
+     */
+    public static synchronized MachineCalibration getDefault() {
+        if (!fgCalibrated) {
+            fgCalibrated = true;
+            String value = System.getProperty(CALIBRATION_PROPERTY);
+            boolean enabled = value != null ? Boolean.parseBoolean(value) : PerformanceTestPlugin.getDBLocation() != null;
+            if (enabled)
+                fgDefault = calibrate();
+        }
+        return fgDefault;
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @return the calibration
+     */
+    public static MachineCalibration calibrate() {
+        long start = System.currentTimeMillis();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        scores.put(CPU, Double.valueOf(runCpu()));
+        scores.put(MEMORY, Double.valueOf(runMemory()));
+        scores.put(ALLOCATION, Double.valueOf(runAllocation()));
+        double io = runIO();
+        if (io > 0)
+            scores.put(IO, Double.valueOf(io));
+        MachineCalibration calibration = new MachineCalibration(scores);
+        // printing what the benchmarks computed keeps their loops from being optimized away
+        PerformanceTestPlugin.logInfo("calibrated in " + (System.currentTimeMillis() - start) + "ms (checksum " + fgSink + "): " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + scores);
+        return calibration;
+    }
+
+    /**
+     * @return the scores by name, in nanoseconds
+     */
+    public Map<String, Double> getScores() {
+        return fScores;
+    }
+
+    /**
+     * Answers the speed factor of a machine relative to a reference machine: the geometric mean of the ratios of their
+     * scores. It estimates how much longer the same work takes on the machine than on the reference machine. Only the
+     * scores that both calibrations have are compared, since e.g. the I/O benchmark may have failed on one of them.
+     *
+     * @param scores
+     *            the scores of the machine, e.g. as stored with a sample
+     * @param reference
+     *            the scores of the reference machine
+     * @return the speed factor, or <code>NaN</code> if the calibrations have no score in common
+     */
+    public static double getSpeedFactor(Map<String, Double> scores, Map<String, Double> reference) {
+        if (scores == null || reference == null)
+            return Double.NaN;
+        double logSum = 0;
+        int count = 0;
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            Double referenceScore = reference.get(score.getKey());
+            if (referenceScore != null && referenceScore.doubleValue() > 0 && score.getValue().doubleValue() > 0) {
+                logSum += Math.log(score.getValue().doubleValue() / referenceScore.doubleValue());
+                count++;
+            }
+        }
+        return count > 0 ? Math.exp(logSum / count) : Double.NaN;
+    }
+
+    private static long runCpu() {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long before = System.nanoTime();
+            long x = run + 1;
+            long hash = 0;
+            for (int i = 0; i < CPU_ITERATIONS; i++) {
+                // xorshift and multiply, so that the loop cannot be folded
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+                hash = hash * 31 + (x % 1021);
+            }
+            fgSink = hash;
+            best = Math.min(best, System.nanoTime() - before);
+        }
+        return best;
+    }
+
+    private static long runMemory() {
+        long[] source = new long[MEMORY_LONGS];
+        long[] target = new long[MEMORY_LONGS];
+        for (int i = 0; i < source.length; i += 512)
+            source[i] = i;
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long before = System.nanoTime();
+            // a working set of a few megabytes measures the bandwidth without claiming much of the heap
+            for (int i = 0; i < MEMORY_COPIES; i++) {
+                System.arraycopy(source, 0, target, 0, source.length);
+                System.arraycopy(target, 0, source, 0, target.length);
+            }
+            best = Math.min(best, System.nanoTime() - before);
+            fgSink = source[run * 512];
+        }
+        return best;
+    }
+
+    private static long runAllocation() {
+        // the ring keeps the arrays from being optimized away, and most of them short lived
+        Object[] ring = new Object[1024];
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long before = System.nanoTime();
+            for (int i = 0; i < ALLOCATIONS; i++)
+                ring[i & (ring.length - 1)] = new byte[32 + (i & 31)];
+            best = Math.min(best, System.nanoTime() - before);
+            fgSink = ((byte[]) ring[run]).length;
+        }
+        return best;
+    }
+
+    private static long runIO() {
+        byte[] content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("calibration"); //$NON-NLS-1$
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long before = System.nanoTime();
+                long sum = 0;
+                for (int i = 0; i < FILES; i++) {
+                    Path file = directory.resolve("f" + i); //$NON-NLS-1$
+                    Files.write(file, content);
+                    sum += Files.readAllBytes(file).length;
+                    Files.delete(file);
+                }
+                best = Math.min(best, System.nanoTime() - before);
+                fgSink = sum;
+            }
+            return best;
+        } catch (IOException e) {
+            PerformanceTestPlugin.logWarning("no I/O calibration: " + e); //$NON-NLS-1$
+            return 0;
+        } finally {
+            if (directory != null) {
+                try {
+                    Files.deleteIfExists(directory);
+                } catch (IOException e) {
+                    // left for the temp directory cleanup
+                }
+            }
+        }
+    }
+}
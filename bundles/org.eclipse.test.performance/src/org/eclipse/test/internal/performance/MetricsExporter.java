@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Unit;
+import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.eval.StatisticsSession;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exports live telemetry of a performance run in the OpenMetrics text format, so that long runs can be watched and
+ * alerted on, e.g. by the textfile collector of a node exporter. It covers the current scenario, the number of
+ * committed and stored samples, the time since the last commit, the latency of storing samples, the tests queued for
+ * {@link ForkedScenarioRunner forked JVMs}, the latest average of each dimension of each scenario, and the heap, garbage
+ * collection and threads of this JVM.
+ * <p>
+ * The exporter is off by default. With {@link #FILE_PROPERTY} the metrics are written to a file every
+ * {@link #INTERVAL_PROPERTY} seconds, replacing it atomically so that a scraper never reads half a file. With
+ * {@link #PORT_PROPERTY} they are also served over HTTP, on the loopback interface only. Forked JVMs do not export;
+ * the JVM that forked them does.
+ * </p>
+ */
+public final class MetricsExporter {
+
+    /** The file to write the metrics to. Not set by default. */
+    public static final String      FILE_PROPERTY     = "eclipse.perf.metrics.file";     //$NON-NLS-1$
+    /** The port to serve the metrics on, on localhost; 0 for any free port. Not set by default. */
+    public static final String      PORT_PROPERTY     = "eclipse.perf.metrics.port";     //$NON-NLS-1$
+    /** The seconds between writes of the metrics file. Default 15. */
+    public static final String      INTERVAL_PROPERTY = "eclipse.perf.metrics.interval"; //$NON-NLS-1$
+
+    private static final String     CONTENT_TYPE      = "application/openmetrics-text; version=1.0.0; charset=utf-8"; //$NON-NLS-1$
+    private static final String     PREFIX            = "eclipse_perf_";                 //$NON-NLS-1$
+
+    // read without locking, since the meters ask for the exporter whenever they start measuring
+    private static volatile boolean fgInitialized;
+    private static volatile MetricsExporter fgDefault;
+    private static boolean          fgShutdownHookAdded;
+
+    private final Path              fFile;
+    private final ScheduledExecutorService fExecutor;
+    private HttpServer              fServer;
+
+    private volatile String         fCurrentScenario;
+    private volatile int            fQueuedTests;
+    private long                    fCommittedSamples;
+    private long                    fLastCommitMillis;
+    private long                    fStores;
+    private long                    fStoreFailures;
+    private long                    fStoreNanos;
+    private long                    fLastStoreNanos;
+    /** the latest averages of the dimensions of each scenario, and the time they were committed at */
+    private final Map<String, Map<Dim, Double>> fLatest = new TreeMap<>();
+    private final Map<String, Long> fLatestMillis     = new TreeMap<>();
+
+    private MetricsExporter(Path file, int port, long intervalSeconds) {
+        fFile = file;
+        fExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Performance metrics exporter"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (port >= 0)
+            fExecutor.execute(() -> startServer(port));
+        if (file != null)
+            fExecutor.scheduleWithFixedDelay(this::writeFile, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Answers the exporter, starting it on the first call if it is configured.
+     *
+     * @return the exporter, or <code>null</code> if none is configured
+     */
+    public static MetricsExporter getDefault() {
+        if (fgInitialized)
+            return fgDefault;
+        return initialize();
+    }
+
+    private static synchronized MetricsExporter initialize() {
+        if (!fgInitialized) {
+            String file = System.getProperty(FILE_PROPERTY);
+            int port = Integer.getInteger(PORT_PROPERTY, -1).intValue();
+            if ((file != null || port >= 0) && !Boolean.getBoolean(ForkedScenarioRunner.FORKED_PROPERTY)) {
+                long interval = Math.max(1, Long.getLong(INTERVAL_PROPERTY, 15).longValue());
+                fgDefault = new MetricsExporter(file != null ? Paths.get(file) : null, port, interval);
+                if (!fgShutdownHookAdded) {
+                    fgShutdownHookAdded = true;
+                    Runtime.getRuntime().addShutdownHook(new Thread(MetricsExporter::shutdown));
+                }
+            }
+            // after the exporter, so that no thread sees it uninitialized
+            fgInitialized = true;
+        }
+        return fgDefault;
+    }
+
+    /**
+     * Stops the exporter, writing the metrics file a last time. The next call of {@link #getDefault()} reads the
+     * configuration again.
+     */
+    public static synchronized void shutdown() {
+        MetricsExporter exporter = fgDefault;
+        fgDefault = null;
+        fgInitialized = false;
+        if (exporter == null)
+            return;
+        exporter.fExecutor.shutdownNow();
+        try {
+            exporter.fExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (exporter.fFile != null)
+            exporter.writeFile();
+        if (exporter.fServer != null)
+            exporter.fServer.stop(0);
+    }
+
+    /**
+     * Records that a scenario is being measured.
+     *
+     * @param scenario
+     *            the scenario
+     */
+    public static void scenarioStarted(String scenario) {
+        MetricsExporter exporter = getDefault();
+        if (exporter != null)
+            exporter.fCurrentScenario = scenario;
+    }
+
+    /**
+     * Records a committed sample and the averages of its dimensions.
+     *
+     * @param sample
+     *            the sample
+     */
+    public static void sampleCommitted(Sample sample) {
+        MetricsExporter exporter = getDefault();
+        if (exporter == null)
+            return;
+        DataPoint[] dataPoints = sample.getDataPoints();
+        Map<Dim, Double> averages = new LinkedHashMap<>();
+        if (dataPoints.length > 0) {
+            StatisticsSession statistics = new StatisticsSession(dataPoints);
+            for (Dim dimension : dataPoints[0].getDimensions())
+                averages.put(dimension, Double.valueOf(statistics.getAverage(dimension)));
+        }
+        long now = System.currentTimeMillis();
+        synchronized (exporter) {
+            exporter.fCurrentScenario = sample.getScenarioID();
+            exporter.fCommittedSamples++;
+            exporter.fLastCommitMillis = now;
+            exporter.fLatest.put(sample.getScenarioID(), averages);
+            exporter.fLatestMillis.put(sample.getScenarioID(), Long.valueOf(now));
+        }
+    }
+
+    /**
+     * Records the storing of a sample in the database.
+     *
+     * @param nanos
+     *            the time it took
+     * @param stored
+     *            whether the sample was stored
+     */
+    public static void sampleStored(long nanos, boolean stored) {
+        MetricsExporter exporter = getDefault();
+        if (exporter == null)
+            return;
+        synchronized (exporter) {
+            exporter.fStores++;
+            if (!stored)
+                exporter.fStoreFailures++;
+            exporter.fStoreNanos += nanos;
+            exporter.fLastStoreNanos = nanos;
+        }
+    }
+
+    /**
+     * Records the number of tests waiting for a forked JVM.
+     *
+     * @param tests
+     *            the number of tests
+     */
+    public static void setQueuedTests(int tests) {
+        MetricsExporter exporter = getDefault();
+        if (exporter != null)
+            exporter.fQueuedTests = tests;
+    }
+
+    /*
+     * Starts the server on the exporter thread, so that its dispatcher thread inherits the daemon status and does not
+     * keep the VM alive.
+     */
+    private void startServer(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", this::handle); //$NON-NLS-1$
+            server.start();
+            fServer = server;
+            PerformanceTestPlugin.logInfo("serving metrics on http://localhost:" + server.getAddress().getPort() + "/metrics"); //$NON-NLS-1$ //$NON-NLS-2$
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        } catch (LinkageError e) {
+            // no com.sun.net.httpserver in this VM
+            PerformanceTestPlugin.logWarning("cannot serve metrics: " + e); //$NON-NLS-1$
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) { //$NON-NLS-1$
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE); //$NON-NLS-1$
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void writeFile() {
+        try {
+            Path file = fFile.toAbsolutePath();
+            Files.createDirectories(file.getParent());
+            // in the same directory, so that it can be moved atomically; only one thread writes at a time
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+            try {
+                Files.write(temporary, render().getBytes(StandardCharsets.UTF_8));
+                try {
+                    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException | RuntimeException e) {
+            PerformanceTestPlugin.logWarning("cannot write metrics to " + fFile + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    /**
+     * Answers the current metrics.
+     *
+     * @return the metrics in the OpenMetrics text format
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        synchronized (this) {
+            String scenario = fCurrentScenario;
+            family(out, "current_scenario", "gauge", "The scenario being measured"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            if (scenario != null)
+                sample(out, "current_scenario", labels("scenario", scenario), 1); //$NON-NLS-1$ //$NON-NLS-2$
+            family(out, "samples_committed", "counter", "Samples committed by performance meters"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "samples_committed_total", null, fCommittedSamples); //$NON-NLS-1$
+            family(out, "last_commit_timestamp_seconds", "gauge", "Time of the last committed sample"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "last_commit_timestamp_seconds", null, fLastCommitMillis / 1000.0); //$NON-NLS-1$
+            family(out, "samples_stored", "gauge", "Samples stored in the database"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "samples_stored", null, DB.getStoredSamples()); //$NON-NLS-1$
+            family(out, "store_seconds", "counter", "Time spent storing samples"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "store_seconds_total", null, fStoreNanos / 1e9); //$NON-NLS-1$
+            family(out, "stores", "counter", "Attempts to store a sample"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "stores_total", null, fStores); //$NON-NLS-1$
+            family(out, "store_failures", "counter", "Samples that could not be stored"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "store_failures_total", null, fStoreFailures); //$NON-NLS-1$
+            family(out, "last_store_seconds", "gauge", "Time the last store took"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "last_store_seconds", null, fLastStoreNanos / 1e9); //$NON-NLS-1$
+            family(out, "queued_tests", "gauge", "Tests waiting for a forked JVM"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "queued_tests", null, fQueuedTests); //$NON-NLS-1$
+
+            family(out, "scenario_value", "gauge", //$NON-NLS-1$ //$NON-NLS-2$
+                    "Latest average of a dimension of a scenario, in seconds for times"); //$NON-NLS-1$
+            for (Map.Entry<String, Map<Dim, Double>> entry : fLatest.entrySet()) {
+                for (Map.Entry<Dim, Double> value : entry.getValue().entrySet()) {
+                    Dim dimension = value.getKey();
+                    double magnitude = value.getValue().doubleValue();
+                    if (dimension.getUnit() == Unit.SECOND)
+                        magnitude /= dimension.getMultiplier();
+                    sample(out, "scenario_value", labels("scenario", entry.getKey(), "dimension", dimension.getName()), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                            magnitude);
+                }
+            }
+            family(out, "scenario_timestamp_seconds", "gauge", "Time the latest sample of a scenario was committed"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            for (Map.Entry<String, Long> entry : fLatestMillis.entrySet())
+                sample(out, "scenario_timestamp_seconds", labels("scenario", entry.getKey()), entry.getValue().longValue() / 1000.0); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        family(out, "jvm_heap_used_bytes", "gauge", "Used Java heap"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        sample(out, "jvm_heap_used_bytes", null, heap.getUsed()); //$NON-NLS-1$
+        family(out, "jvm_heap_committed_bytes", "gauge", "Committed Java heap"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        sample(out, "jvm_heap_committed_bytes", null, heap.getCommitted()); //$NON-NLS-1$
+        family(out, "jvm_heap_max_bytes", "gauge", "Maximum Java heap"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        sample(out, "jvm_heap_max_bytes", null, heap.getMax()); //$NON-NLS-1$
+        family(out, "jvm_gc_collections", "counter", "Garbage collections"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+            sample(out, "jvm_gc_collections_total", labels("collector", bean.getName()), Math.max(0, bean.getCollectionCount())); //$NON-NLS-1$ //$NON-NLS-2$
+        family(out, "jvm_gc_seconds", "counter", "Time spent in garbage collections"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+            sample(out, "jvm_gc_seconds_total", labels("collector", bean.getName()), Math.max(0, bean.getCollectionTime()) / 1000.0); //$NON-NLS-1$ //$NON-NLS-2$
+        family(out, "jvm_threads", "gauge", "Live threads"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        sample(out, "jvm_threads", null, ManagementFactory.getThreadMXBean().getThreadCount()); //$NON-NLS-1$
+        family(out, "jvm_uptime_seconds", "gauge", "Time since the JVM started"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        sample(out, "jvm_uptime_seconds", null, ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0); //$NON-NLS-1$
+        double load = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        if (load >= 0) {
+            family(out, "system_load_average", "gauge", "System load average over the last minute"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sample(out, "system_load_average", null, load); //$NON-NLS-1$
+        }
+        out.append("# EOF\n"); //$NON-NLS-1$
+        return out.toString();
+    }
+
+    private static void family(StringBuilder out, String name, String type, String help) {
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n'); //$NON-NLS-1$
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n'); //$NON-NLS-1$
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(PREFIX).append(name);
+        if (labels != null)
+            out.append(labels);
+        out.append(' ');
+        if (Double.isNaN(value))
+            out.append("NaN"); //$NON-NLS-1$
+        else if (Double.isInfinite(value))
+            out.append(value > 0 ? "+Inf" : "-Inf"); //$NON-NLS-1$ //$NON-NLS-2$
+        else if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            out.append((long) value);
+        else
+            out.append(value);
+        out.append('\n');
+    }
+
+    private static String labels(String... namesAndValues) {
+        StringBuilder labels = new StringBuilder("{"); //$NON-NLS-1$
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0)
+                labels.append(',');
+            labels.append(namesAndValues[i]).append("=\""); //$NON-NLS-1$
+            String value = namesAndValues[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\' || c == '"')
+                    labels.append('\\').append(c);
+                else if (c == '\n')
+                    labels.append("\\n"); //$NON-NLS-1$
+                else
+                    labels.append(c);
+            }
+            labels.append('"');
+        }
+        return labels.append('}').toString();
+    }
+}
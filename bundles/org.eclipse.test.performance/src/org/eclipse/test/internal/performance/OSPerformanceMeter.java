@@ -14,6 +14,7 @@ package org.eclipse.test.internal.performance;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
@@ -48,12 +49,14 @@ public class OSPerformanceMeter extends InternalPerformanceMeter {
 
     @Override
     public void start() {
+        measurementStarted();
         snapshot(BEFORE);
     }
 
     @Override
     public void stop() {
         snapshot(AFTER);
+        measurementStopped();
     }
 
     @Override
@@ -72,9 +75,24 @@ public class OSPerformanceMeter extends InternalPerformanceMeter {
     private void snapshot(int step) {
         HashMap<Dim, Scalar> map = new HashMap<>();
         fPerformanceMonitor.collectOperatingSystemCounters(map);
+        collectCounters(map);
+        collectAdditionalCounters(step, map);
         fDataPoints.add(new DataPoint(step, map));
     }
 
+    /**
+     * Hook for subclasses that measure more than the operating system counters. Called for each snapshot after the
+     * counters have been collected.
+     * 
+     * @param step
+     *            the step of the snapshot, {@link #BEFORE} or {@link #AFTER}
+     * @param scalars
+     *            the scalars of the snapshot
+     */
+    protected void collectAdditionalCounters(int step, Map<Dim, Scalar> scalars) {
+        // nothing to add by default
+    }
+
     /**
      * Write out the run element if it hasn't been written out yet.
      * 
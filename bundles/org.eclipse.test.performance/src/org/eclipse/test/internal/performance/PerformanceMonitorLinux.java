@@ -13,6 +13,7 @@
 package org.eclipse.test.internal.performance;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -25,6 +26,18 @@ class PerformanceMonitorLinux extends PerformanceMonitor {
   private static long    JIFFIES          = 10L;
   private static boolean fgHasElapsedTime = true;
   private static long    fgStartupTime;
+  private static boolean fgHasIOCounters  = true;
+  private static String  fgStatusPath;
+  private static String  fgCgroupPath;
+  private static boolean fgHasCgroupCpu;
+  private static boolean fgHasCgroupMemory;
+  private static boolean fgHasCgroupMemoryPeak;
+
+  private static final String[] IO_KEYS     = { "syscr", "syscw", "read_bytes", "write_bytes" };                   //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+  private static final String[] STATUS_KEYS = { "voluntary_ctxt_switches", "nonvoluntary_ctxt_switches" }; //$NON-NLS-1$ //$NON-NLS-2$
+  private static final String[] CPU_STAT_KEYS = { "usage_usec", "nr_throttled", "throttled_usec" };  //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+  private final long[]          fValues     = new long[IO_KEYS.length];
 
   /**
    * Write out operating system counters for Linux.
@@ -85,6 +98,57 @@ class PerformanceMonitorLinux extends PerformanceMonitor {
         addScalar(scalars, InternalDimensions.LRS, lrs * PAGESIZE);
       }
 
+      /**
+       * The I/O counters for a Linux process, that is the values that come from /proc/self/io. The names of the keys match the man
+       * proc page. The file is not readable in every environment (e.g. in some containers), so we stop trying once it failed.
+       */
+      if (fgHasIOCounters) {
+        if (ProcFiles.readKeyValues("/proc/self/io", IO_KEYS, fValues) == IO_KEYS.length) { //$NON-NLS-1$
+          addScalar(scalars, InternalDimensions.IO_READ_CALLS, fValues[0]);
+          addScalar(scalars, InternalDimensions.IO_WRITE_CALLS, fValues[1]);
+          addScalar(scalars, InternalDimensions.IO_READ_BYTES, fValues[2]);
+          addScalar(scalars, InternalDimensions.IO_WRITE_BYTES, fValues[3]);
+        } else
+          fgHasIOCounters = false;
+      }
+
+      /**
+       * The context switch counters. The kernel reports them per task, and /proc/self/status only shows the ones of the main
+       * thread. Prefer /proc/thread-self/status (Linux 3.17 and later), so the counts belong to the thread calling start() and
+       * stop().
+       */
+      if (fgStatusPath == null)
+        fgStatusPath = new File("/proc/thread-self/status").exists() ? "/proc/thread-self/status" : "/proc/self/status"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+      if (ProcFiles.readKeyValues(fgStatusPath, STATUS_KEYS, fValues) == STATUS_KEYS.length) {
+        addScalar(scalars, InternalDimensions.VOLUNTARY_CONTEXT_SWITCHES, fValues[0]);
+        addScalar(scalars, InternalDimensions.INVOLUNTARY_CONTEXT_SWITCHES, fValues[1]);
+      }
+
+      /**
+       * The cgroup v2 accounting of the control group we run in. Inside a container these are the numbers that matter: /proc
+       * reports host-level values there, and CPU throttling by the cgroup's CPU limit silently inflates the elapsed time.
+       */
+      if (fgCgroupPath == null)
+        initCgroup();
+      if (fgHasCgroupCpu && ProcFiles.readKeyValues(fgCgroupPath + "/cpu.stat", CPU_STAT_KEYS, fValues) > 0) { //$NON-NLS-1$
+        if (fValues[0] >= 0)
+          addScalar(scalars, InternalDimensions.CGROUP_CPU_TIME, fValues[0] / 1000);
+        if (fValues[1] >= 0)
+          addScalar(scalars, InternalDimensions.CGROUP_THROTTLED_PERIODS, fValues[1]);
+        if (fValues[2] >= 0)
+          addScalar(scalars, InternalDimensions.CGROUP_THROTTLED_TIME, fValues[2] / 1000);
+      }
+      if (fgHasCgroupMemory) {
+        long current = ProcFiles.readLong(fgCgroupPath + "/memory.current"); //$NON-NLS-1$
+        if (current >= 0)
+          addScalar(scalars, InternalDimensions.CGROUP_MEMORY_CURRENT, current);
+        if (fgHasCgroupMemoryPeak) {
+          long peak = ProcFiles.readLong(fgCgroupPath + "/memory.peak"); //$NON-NLS-1$
+          if (peak >= 0)
+            addScalar(scalars, InternalDimensions.CGROUP_MEMORY_PEAK, peak);
+        }
+      }
+
       long currentTime = System.currentTimeMillis();
 
       addScalar(scalars, InternalDimensions.SYSTEM_TIME, currentTime);
@@ -152,6 +216,70 @@ class PerformanceMonitorLinux extends PerformanceMonitor {
     return null;
   }
 
+  /**
+   * Locates the cgroup v2 directory of this process. The path from the unified hierarchy entry ("0::") of /proc/self/cgroup is
+   * resolved against the cgroup2 mount found in /proc/self/mountinfo. A cgroup v2 hierarchy without controllers (the "hybrid"
+   * setup next to cgroup v1) is ignored, since its counters are not limited to our container.
+   */
+  private static void initCgroup() {
+    fgCgroupPath = ""; //$NON-NLS-1$
+    String relative = null;
+    try (BufferedReader rdr = new BufferedReader(new FileReader("/proc/self/cgroup"))) { //$NON-NLS-1$
+      String line;
+      while ((line = rdr.readLine()) != null) {
+        if (line.startsWith("0::")) { //$NON-NLS-1$
+          relative = line.substring(3);
+          break;
+        }
+      }
+    } catch (IOException e) {
+      return;
+    }
+    if (relative == null)
+      return;
+
+    String root = null;
+    String mountPoint = null;
+    try (BufferedReader rdr = new BufferedReader(new FileReader("/proc/self/mountinfo"))) { //$NON-NLS-1$
+      String line;
+      while ((line = rdr.readLine()) != null) {
+        int separator = line.indexOf(" - "); //$NON-NLS-1$
+        if (separator >= 0 && line.startsWith("cgroup2 ", separator + 3)) { //$NON-NLS-1$
+          StringTokenizer st = new StringTokenizer(line.substring(0, separator));
+          if (st.countTokens() < 5)
+            continue;
+          st.nextToken(); // mount id
+          st.nextToken(); // parent id
+          st.nextToken(); // major:minor
+          root = st.nextToken();
+          mountPoint = st.nextToken();
+          break;
+        }
+      }
+    } catch (IOException e) {
+      return;
+    }
+    // no cgroup2 mount, e.g. on cgroup v1 only hosts
+    if (root == null || mountPoint == null)
+      return;
+    if (!"/".equals(root) && relative.startsWith(root)) //$NON-NLS-1$
+      relative = relative.substring(root.length());
+
+    File dir = new File(mountPoint, relative);
+    String controllers = ""; //$NON-NLS-1$
+    try (BufferedReader rdr = new BufferedReader(new FileReader(new File(dir, "cgroup.controllers")))) { //$NON-NLS-1$
+      String line = rdr.readLine();
+      if (line != null)
+        controllers = ' ' + line + ' ';
+    } catch (IOException e) {
+      return;
+    }
+    fgCgroupPath = dir.getPath();
+    fgHasCgroupCpu = controllers.indexOf(" cpu ") >= 0; //$NON-NLS-1$
+    fgHasCgroupMemory = controllers.indexOf(" memory ") >= 0 && new File(dir, "memory.current").exists(); //$NON-NLS-1$ //$NON-NLS-2$
+    fgHasCgroupMemoryPeak = fgHasCgroupMemory && new File(dir, "memory.peak").exists(); //$NON-NLS-1$
+  }
+
   private StringTokenizer readOutput(String cmd, boolean skipFirst) {
     BufferedReader rdr = null;
     try {
@@ -44,8 +44,15 @@ public class PerformanceTestPlugin extends Plugin {
   /*
    * New properties
    */
-  private static final String ECLIPSE_PERF_DBLOC              = "eclipse.perf.dbloc";                                                                                                                                                                                                                                                                                                                                     //$NON-NLS-1$
+  public static final String ECLIPSE_PERF_DBLOC               = "eclipse.perf.dbloc";                                                                                                                                                                                                                                                                                                                                     //$NON-NLS-1$
   public static final String ECLIPSE_PERF_ASSERTAGAINST      = "eclipse.perf.assertAgainst";                                                                                                                                                                                                                                                                                                             //$NON-NLS-1$
+  /**
+   * The checks of <code>Performance.assertPerformance</code>: <code>band</code> (default), <code>robust</code>,
+   * <code>bootstrap</code> or <code>mannWhitney</code>.
+   *
+   * @since 3.14
+   */
+  public static final String ECLIPSE_PERF_ASSERT_STRATEGY    = "eclipse.perf.assertStrategy";                                                                                                                                                                                                                                                                                                             //$NON-NLS-1$
   private static final String ECLIPSE_PERF_CONFIG             = "eclipse.perf.config";                                                                                                                                                                                                                                                                                                                                  //$NON-NLS-1$
   private static final String ECLIPSE_PERF_DEFAULT_DIM        = "eclipse.perf.default.dim";                                                                                                                                                                                                                                                                                                                   //$NON-NLS-1$
   private static final String ECLIPSE_PERF_RESULTS_DIMENSIONS = "eclipse.perf.results.dimensions";                                                                                                                                                                                                                                                                                              //$NON-NLS-1$
@@ -116,8 +123,17 @@ public class PerformanceTestPlugin extends Plugin {
     fgPlugin = this;
   }
 
+  @Override
+  public void start(BundleContext context) throws Exception {
+    super.start(context);
+    // calibrate before any test runs, not while the first sample is stored
+    MachineCalibration.getDefault();
+    MetricsExporter.getDefault();
+  }
+
   @Override
   public void stop(BundleContext context) throws Exception {
+    MetricsExporter.shutdown();
     DB.shutdown();
     super.stop(context);
   }
@@ -131,6 +147,7 @@ public class PerformanceTestPlugin extends Plugin {
 
   /*
    * -Declipse.perf.dbloc=net://localhost
+   * -Declipse.perf.dbloc=ingest://localhost:1528, see IngestServer
    */
   public static String getDBLocation() {
     String dbloc = System.getProperty(ECLIPSE_PERF_DBLOC);
@@ -262,7 +279,7 @@ public class PerformanceTestPlugin extends Plugin {
         return SUPPORTED_DIMENSIONS[i];
       }
     }
-    return null;
+    return Dim.getCustomDimension(name);
   }
 
   /**
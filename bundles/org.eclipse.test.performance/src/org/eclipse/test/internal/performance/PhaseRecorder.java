@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.PrintStream;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Unit;
+import org.eclipse.test.internal.performance.db.DB;
+
+/**
+ * Records the time spent in the (nested) phases of the measurements of a performance meter, see
+ * {@link org.eclipse.test.performance.PerformanceMeter#beginPhase(String)}.
+ * <p>
+ * Each distinct phase path gets a slot the first time it is begun; the slots and the stack of open phases live in
+ * preallocated arrays, so that beginning and ending a phase only looks up the slot and reads the clock. Phases that are
+ * not entered in some measurement are recorded with a time of 0 for it.
+ * </p>
+ */
+class PhaseRecorder {
+
+    private static final String   DIMENSION_PREFIX = "Phase ";                  //$NON-NLS-1$
+    private static final int      INITIAL_SLOTS    = 8;
+    private static final int      INITIAL_DEPTH    = 8;
+
+    /** the children of the top level (index 0) and of each slot (index slot + 1), by name */
+    private final List<Map<String, Integer>> fChildren = new ArrayList<>();
+    private final List<String>    fPaths           = new ArrayList<>();
+    /** the times of the measurements, each the elapsed time followed by the time of each slot */
+    private final List<long[]>    fMeasurements    = new ArrayList<>();
+
+    private long[]                fCurrent         = new long[INITIAL_SLOTS];
+    private int[]                 fOpenSlots       = new int[INITIAL_DEPTH];
+    private long[]                fOpenStarts      = new long[INITIAL_DEPTH];
+    private int                   fDepth;
+    private boolean               fMeasuring;
+    private long                  fMeasurementStart;
+
+    PhaseRecorder() {
+        fChildren.add(new LinkedHashMap<String, Integer>());
+    }
+
+    boolean hasPhases() {
+        return !fPaths.isEmpty() && !fMeasurements.isEmpty();
+    }
+
+    void started() {
+        Arrays.fill(fCurrent, 0);
+        fDepth = 0;
+        fMeasuring = true;
+        fMeasurementStart = System.nanoTime();
+    }
+
+    void begin(String name) {
+        if (!fMeasuring)
+            throw new IllegalStateException("a phase can only begin while measuring"); //$NON-NLS-1$
+        int parent = fDepth > 0 ? fOpenSlots[fDepth - 1] + 1 : 0;
+        Integer slot = fChildren.get(parent).get(name);
+        if (slot == null)
+            slot = addSlot(parent, name);
+        if (fDepth == fOpenSlots.length) {
+            fOpenSlots = Arrays.copyOf(fOpenSlots, 2 * fDepth);
+            fOpenStarts = Arrays.copyOf(fOpenStarts, 2 * fDepth);
+        }
+        fOpenSlots[fDepth] = slot.intValue();
+        fOpenStarts[fDepth++] = System.nanoTime();
+    }
+
+    void end() {
+        long now = System.nanoTime();
+        if (fDepth == 0)
+            throw new IllegalStateException("no phase has begun"); //$NON-NLS-1$
+        fDepth--;
+        fCurrent[fOpenSlots[fDepth]] += now - fOpenStarts[fDepth];
+    }
+
+    void stopped(String scenario) {
+        long now = System.nanoTime();
+        if (!fMeasuring)
+            return;
+        if (fDepth > 0) {
+            PerformanceTestPlugin.logWarning("phase '" + fPaths.get(fOpenSlots[fDepth - 1]) + "' of '" + scenario //$NON-NLS-1$ //$NON-NLS-2$
+                    + "' not ended before the measurement stopped"); //$NON-NLS-1$
+            while (fDepth > 0)
+                end();
+        }
+        fMeasuring = false;
+        int slots = fPaths.size();
+        long[] measurement = new long[slots + 1];
+        measurement[0] = now - fMeasurementStart;
+        System.arraycopy(fCurrent, 0, measurement, 1, slots);
+        fMeasurements.add(measurement);
+    }
+
+    private Integer addSlot(int parent, String name) {
+        Integer slot = Integer.valueOf(fPaths.size());
+        fChildren.get(parent).put(name, slot);
+        fChildren.add(new LinkedHashMap<String, Integer>());
+        fPaths.add(parent == 0 ? name : fPaths.get(parent - 1) + '/' + name);
+        if (fPaths.size() > fCurrent.length)
+            fCurrent = Arrays.copyOf(fCurrent, 2 * fCurrent.length);
+        return slot;
+    }
+
+    /**
+     * Answer the sample with a dimension for each phase.
+     *
+     * @param sample
+     *            the sample of the measurements
+     * @return the sample with the phase dimensions added
+     */
+    Sample addDimensions(Sample sample) {
+        int slots = fPaths.size();
+        int measurements = fMeasurements.size();
+        Dim[] dimensions = new Dim[slots];
+        long[][] values = new long[slots][measurements];
+        for (int slot = 0; slot < slots; slot++) {
+            dimensions[slot] = DB.getCustomDimension(DIMENSION_PREFIX + fPaths.get(slot), Unit.SECOND, 1000000000);
+            for (int m = 0; m < measurements; m++) {
+                long[] measurement = fMeasurements.get(m);
+                // phases first begun in a later measurement are missing in the earlier ones
+                values[slot][m] = slot + 1 < measurement.length ? measurement[slot + 1] : 0;
+            }
+        }
+        Sample result = InternalPerformanceMeter.addMeasurementDimensions(sample, dimensions, values, measurements);
+        if (result == null) {
+            PerformanceTestPlugin.logWarning("cannot match the phases of '" + sample.getScenarioID() //$NON-NLS-1$
+                    + "' with its measurements"); //$NON-NLS-1$
+            return sample;
+        }
+        return result;
+    }
+
+    /**
+     * Prints the mean time of each phase and its share of the enclosing phase, or of the whole measurement for top level
+     * phases.
+     *
+     * @param ps
+     *            the stream to print to
+     */
+    void print(PrintStream ps) {
+        int slots = fPaths.size();
+        double[] means = new double[slots + 1];
+        for (long[] measurement : fMeasurements) {
+            for (int i = 0; i < measurement.length; i++)
+                means[i] += measurement[i];
+        }
+        for (int i = 0; i < means.length; i++)
+            means[i] /= fMeasurements.size();
+
+        NumberFormat percent = NumberFormat.getPercentInstance();
+        percent.setMaximumFractionDigits(1);
+        ps.println("  Phases:"); //$NON-NLS-1$
+        printChildren(ps, percent, means, 0, means[0], "    "); //$NON-NLS-1$
+    }
+
+    private void printChildren(PrintStream ps, NumberFormat percent, double[] means, int parent, double parentMean, String indent) {
+        for (Map.Entry<String, Integer> child : fChildren.get(parent).entrySet()) {
+            int slot = child.getValue().intValue();
+            double mean = means[slot + 1];
+            StringBuffer line = new StringBuffer(indent);
+            line.append(child.getKey()).append(": "); //$NON-NLS-1$
+            line.append(Unit.SECOND.getDisplayValue1(mean / 1000000000.0));
+            if (parentMean > 0)
+                line.append(" (").append(percent.format(mean / parentMean)).append(')'); //$NON-NLS-1$
+            ps.println(line);
+            printChildren(ps, percent, means, slot + 1, mean, indent + "  "); //$NON-NLS-1$
+        }
+    }
+}
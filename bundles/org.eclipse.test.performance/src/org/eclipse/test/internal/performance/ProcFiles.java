@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.StringTokenizer;
+
+/**
+ * Reads the counter files of the Linux /proc and cgroup file systems, e.g. /proc/self/io or the cgroup's cpu.stat.
+ */
+public final class ProcFiles {
+
+    private ProcFiles() {
+        // static methods only
+    }
+
+    /**
+     * Reads the values of the given keys from a "key: value" or "key value" formatted file. A line of a key whose value
+     * is not a number is skipped, as if the key was missing.
+     *
+     * @param path
+     *            the file to read
+     * @param keys
+     *            the keys to look for
+     * @param values
+     *            receives the value of <code>keys[i]</code> at index <code>i</code>, or -1 if the key was not found
+     * @return the number of keys found, 0 if the file could not be read
+     */
+    public static int readKeyValues(String path, String[] keys, long[] values) {
+        Arrays.fill(values, 0, keys.length, -1);
+        int found = 0;
+        try (BufferedReader rdr = new BufferedReader(new FileReader(path))) {
+            String line;
+            while (found < keys.length && (line = rdr.readLine()) != null) {
+                for (int i = 0; i < keys.length; i++) {
+                    int length = keys[i].length();
+                    if (line.startsWith(keys[i]) && line.length() > length && (line.charAt(length) == ':' || line.charAt(length) == ' ')) {
+                        StringTokenizer st = new StringTokenizer(line.substring(length + 1));
+                        if (values[i] < 0 && st.hasMoreTokens()) {
+                            try {
+                                values[i] = Long.parseLong(st.nextToken());
+                                found++;
+                            } catch (NumberFormatException e) {
+                                // a malformed line, the key stays missing
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+            return 0;
+        }
+        return found;
+    }
+
+    /**
+     * Reads a file consisting of a single number, like the cgroup memory files.
+     *
+     * @param path
+     *            the file to read
+     * @return the number, or -1 if the file could not be read or holds no number (e.g. "max")
+     */
+    public static long readLong(String path) {
+        try (BufferedReader rdr = new BufferedReader(new FileReader(path))) {
+            String line = rdr.readLine();
+            if (line != null)
+                return Long.parseLong(line.trim());
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        } catch (NumberFormatException e) {
+            // e.g. "max"
+        }
+        return -1;
+    }
+}
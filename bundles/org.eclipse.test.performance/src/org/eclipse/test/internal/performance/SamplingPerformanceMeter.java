@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Scalar;
+
+/**
+ * Performance meter that, in addition to the before and after snapshots of {@link OSPerformanceMeter}, samples the working
+ * set, the used Java heap and the CPU load on a background thread while measuring. The maximum, the mean and the 90th
+ * percentile of the samples of each measurement are reported as dimensions. These dimensions are stored as a value of 0
+ * in the before snapshot and the statistic in the after snapshot, so that the usual after - before delta yields the
+ * statistic.
+ * <p>
+ * The samples of a measurement are kept in a preallocated ring buffer; when a measurement takes more samples than fit,
+ * the maximum and mean still cover all of them, the percentile only the most recent ones. Setting the system property
+ * {@value #SERIES_PROPERTY} writes the sampled series of all measurements to <code>&lt;scenario&gt;.samples</code> in
+ * the results directory.
+ * </p>
+ */
+public class SamplingPerformanceMeter extends OSPerformanceMeter {
+
+    /** The sampling interval in milliseconds. */
+    public static final String  INTERVAL_PROPERTY = "eclipse.perf.sampling.interval"; //$NON-NLS-1$
+    /** The maximum number of samples kept per measurement. */
+    public static final String  CAPACITY_PROPERTY = "eclipse.perf.sampling.capacity"; //$NON-NLS-1$
+    /** If set, the sampled series are written to the results directory. */
+    public static final String  SERIES_PROPERTY   = "eclipse.perf.sampling.series";   //$NON-NLS-1$
+
+    private static final int    DEFAULT_INTERVAL  = 50;
+    private static final int    DEFAULT_CAPACITY  = 4096;
+
+    private static final int    SERIES_MAGIC      = 0x50534D50;                       // "PSMP"
+    private static final int    SERIES_VERSION    = 1;
+
+    private Sampler             fSampler;
+    private ByteArrayOutputStream fSeries;
+
+    /**
+     * @param scenarioId
+     *            the scenario id
+     */
+    public SamplingPerformanceMeter(String scenarioId) {
+        super(scenarioId);
+        fSampler = new Sampler(PerformanceMonitor.getPerformanceMonitor(), Integer.getInteger(INTERVAL_PROPERTY, DEFAULT_INTERVAL)
+                .intValue(), Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY).intValue());
+        if (System.getProperty(SERIES_PROPERTY) != null)
+            fSeries = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void dispose() {
+        if (fSampler != null) {
+            fSampler.dispose();
+            fSampler = null;
+        }
+        fSeries = null;
+        super.dispose();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        fSampler.begin();
+    }
+
+    @Override
+    public void stop() {
+        fSampler.end();
+        super.stop();
+        if (fSeries != null)
+            fSampler.writeSeries(fSeries);
+    }
+
+    @Override
+    public void commit() {
+        super.commit();
+        if (fSeries != null && fSeries.size() > 0)
+            writeSeriesFile();
+    }
+
+    @Override
+    protected void collectAdditionalCounters(int step, Map<Dim, Scalar> scalars) {
+        fSampler.collect(step == AFTER, scalars);
+    }
+
+    private void writeSeriesFile() {
+        File file = getResultsFile(".samples"); //$NON-NLS-1$
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(SERIES_MAGIC);
+            data.writeInt(SERIES_VERSION);
+            data.writeInt(Sampler.CHANNELS);
+            data.flush();
+            fSeries.writeTo(out);
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        }
+    }
+
+    /**
+     * Takes the samples on a daemon thread. All state is guarded by the sampler itself, so that {@link #end()} never
+     * overlaps with a sample being taken.
+     */
+    private static class Sampler implements Runnable {
+
+        static final int                 WORKING_SET = 0;
+        static final int                 JAVA_HEAP   = 1;
+        static final int                 CPU_LOAD    = 2;
+        static final int                 CHANNELS    = 3;
+
+        private static final Dim[][]     DIMENSIONS  = {
+                { InternalDimensions.PEAK_WORKING_SET, InternalDimensions.MEAN_WORKING_SET, InternalDimensions.P90_WORKING_SET },
+                { InternalDimensions.PEAK_JAVA_HEAP, InternalDimensions.MEAN_JAVA_HEAP, InternalDimensions.P90_JAVA_HEAP },
+                { InternalDimensions.PEAK_CPU_LOAD, InternalDimensions.MEAN_CPU_LOAD, InternalDimensions.P90_CPU_LOAD } };
+
+        private final PerformanceMonitor fMonitor;
+        private final long               fInterval;
+        private final int                fCapacity;
+        private final long[]             fTimes;
+        private final long[]             fValues;
+        private final long[]             fScratch;
+        private final long[]             fMax        = new long[CHANNELS];
+        private final long[]             fSum        = new long[CHANNELS];
+        private final long[]             fMeasuredCount = new long[CHANNELS];
+        private final boolean[]          fSupported  = new boolean[CHANNELS];
+        private final Map<Dim, Scalar>   fScalars    = new HashMap<>();
+
+        private Thread                   fThread;
+        private boolean                  fActive;
+        private boolean                  fDisposed;
+        private int                      fCount;
+        private long                     fWindowStart;
+        private long                     fLastTime;
+        private long                     fLastCpuTime;
+
+        Sampler(PerformanceMonitor monitor, int interval, int capacity) {
+            fMonitor = monitor;
+            fInterval = Math.max(1, interval);
+            fCapacity = Math.max(1, capacity);
+            fTimes = new long[fCapacity];
+            fValues = new long[fCapacity * CHANNELS];
+            fScratch = new long[fCapacity];
+
+            // only report what the monitor of this platform can measure
+            fMonitor.collectOperatingSystemCounters(fScalars);
+            fSupported[WORKING_SET] = fScalars.containsKey(InternalDimensions.WORKING_SET);
+            fSupported[JAVA_HEAP] = fScalars.containsKey(InternalDimensions.USED_JAVA_HEAP);
+            fSupported[CPU_LOAD] = fScalars.containsKey(InternalDimensions.CPU_TIME);
+        }
+
+        synchronized void begin() {
+            fCount = 0;
+            Arrays.fill(fMax, Long.MIN_VALUE);
+            Arrays.fill(fSum, 0);
+            Arrays.fill(fMeasuredCount, 0);
+            fWindowStart = System.nanoTime();
+            sample(false);
+            fActive = true;
+            if (fThread == null) {
+                fThread = new Thread(this, "Performance Sampler"); //$NON-NLS-1$
+                fThread.setDaemon(true);
+                fThread.start();
+            } else
+                notifyAll();
+        }
+
+        synchronized void end() {
+            if (fActive) {
+                sample(true);
+                fActive = false;
+            }
+        }
+
+        synchronized void dispose() {
+            fDisposed = true;
+            fActive = false;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void run() {
+            try {
+                while (!fDisposed) {
+                    if (fActive) {
+                        wait(fInterval);
+                        if (fActive)
+                            sample(true);
+                    } else
+                        wait();
+                }
+            } catch (InterruptedException e) {
+                // stop sampling
+            }
+        }
+
+        private void sample(boolean record) {
+            fScalars.clear();
+            fMonitor.collectOperatingSystemCounters(fScalars);
+            long now = System.nanoTime();
+            long cpuTime = getValue(InternalDimensions.CPU_TIME);
+            if (record && fCount < Integer.MAX_VALUE) {
+                int slot = fCount % fCapacity;
+                fTimes[slot] = (now - fWindowStart) / 1000000;
+                record(slot, WORKING_SET, getValue(InternalDimensions.WORKING_SET));
+                record(slot, JAVA_HEAP, getValue(InternalDimensions.USED_JAVA_HEAP));
+                if (cpuTime >= 0 && fLastCpuTime >= 0 && now > fLastTime)
+                    record(slot, CPU_LOAD, (cpuTime - fLastCpuTime) * 100000000L / (now - fLastTime));
+                else
+                    record(slot, CPU_LOAD, -1);
+                fCount++;
+            }
+            fLastTime = now;
+            fLastCpuTime = cpuTime;
+        }
+
+        private long getValue(Dim dimension) {
+            Scalar scalar = fScalars.get(dimension);
+            return scalar != null ? scalar.getMagnitude() : -1;
+        }
+
+        private void record(int slot, int channel, long value) {
+            fValues[slot * CHANNELS + channel] = value;
+            if (value < 0)
+                return;
+            fMeasuredCount[channel]++;
+            if (value > fMax[channel])
+                fMax[channel] = value;
+            fSum[channel] += value;
+        }
+
+        /**
+         * Adds the statistics of the last measurement, or 0 for the before snapshot.
+         *
+         * @param after
+         *            whether the scalars are for the after snapshot
+         * @param scalars
+         *            the scalars of the snapshot, to add the statistics to
+         */
+        synchronized void collect(boolean after, Map<Dim, Scalar> scalars) {
+            int retained = Math.min(fCount, fCapacity);
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                if (!fSupported[channel])
+                    continue;
+                Dim[] dimensions = DIMENSIONS[channel];
+                if (!after || fMeasuredCount[channel] == 0) {
+                    for (Dim dimension : dimensions)
+                        scalars.put(dimension, new Scalar(dimension, 0));
+                    continue;
+                }
+                int n = 0;
+                for (int i = 0; i < retained; i++) {
+                    long value = fValues[i * CHANNELS + channel];
+                    if (value >= 0)
+                        fScratch[n++] = value;
+                }
+                Arrays.sort(fScratch, 0, n);
+                long p90 = n > 0 ? fScratch[(int) Math.ceil(0.9 * n) - 1] : 0;
+                scalars.put(dimensions[0], new Scalar(dimensions[0], fMax[channel]));
+                scalars.put(dimensions[1], new Scalar(dimensions[1], fSum[channel] / fMeasuredCount[channel]));
+                scalars.put(dimensions[2], new Scalar(dimensions[2], p90));
+            }
+        }
+
+        /**
+         * Appends the samples of the last measurement to the series. Each measurement is written as the number of
+         * samples, followed by the time offset and the channel values of each sample, all as delta encoded variable
+         * length integers.
+         *
+         * @param series
+         *            the series to append to
+         */
+        synchronized void writeSeries(ByteArrayOutputStream series) {
+            int retained = Math.min(fCount, fCapacity);
+            int first = fCount - retained;
+            writeVarLong(series, retained);
+            long lastTime = 0;
+            long[] last = new long[CHANNELS];
+            for (int i = first; i < fCount; i++) {
+                int slot = i % fCapacity;
+                writeVarLong(series, fTimes[slot] - lastTime);
+                lastTime = fTimes[slot];
+                for (int channel = 0; channel < CHANNELS; channel++) {
+                    long value = fValues[slot * CHANNELS + channel];
+                    long delta = value - last[channel];
+                    writeVarLong(series, (delta << 1) ^ (delta >> 63)); // zig-zag, so small negative deltas stay small
+                    last[channel] = value;
+                }
+            }
+        }
+
+        private static void writeVarLong(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+}
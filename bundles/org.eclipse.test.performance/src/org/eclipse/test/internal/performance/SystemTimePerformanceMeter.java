@@ -11,24 +11,37 @@
 
 package org.eclipse.test.internal.performance;
 
-import java.util.ArrayList;
+
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
 import org.eclipse.test.internal.performance.data.Sample;
-import org.eclipse.test.internal.performance.data.Scalar;
 
+/**
+ * Performance meter that only records the system time before and after each measurement, either the milliseconds of
+ * {@link System#currentTimeMillis()} as {@link InternalDimensions#SYSTEM_TIME} or, for operations that take less than
+ * a millisecond, the nanoseconds of {@link System#nanoTime()} as {@link InternalDimensions#NANO_TIME}.
+ * <p>
+ * The times are kept in <code>long</code> arrays, preallocated for the expected number of measurements and grown
+ * outside of the measured interval, so that <code>start()</code> and <code>stop()</code> neither box nor allocate. The
+ * sample is built when it is asked for, and kept until the next measurement.
+ * </p>
+ */
 public class SystemTimePerformanceMeter extends InternalPerformanceMeter {
 
     private static final int DEFAULT_INITIAL_CAPACITY = 3;
 
-    private long             fStartDate;
-    private List<Long>             fStartTime;
-    private List<Long>             fStopTime;
+    private final long       fStartDate;
+    private final boolean    fNanos;
+    private long[]           fStartTime;
+    private long[]           fStopTime;
+    private int              fStartCount;
+    private int              fStopCount;
+    private Sample           fSample;
 
     /**
      * @param scenarioId
@@ -36,7 +49,6 @@ public class SystemTimePerformanceMeter extends InternalPerformanceMeter {
      */
     public SystemTimePerformanceMeter(String scenarioId) {
         this(scenarioId, DEFAULT_INITIAL_CAPACITY);
-        fStartDate = System.currentTimeMillis();
     }
 
     /**
@@ -46,30 +58,59 @@ public class SystemTimePerformanceMeter extends InternalPerformanceMeter {
      *            the initial capacity in the number of measurments
      */
     public SystemTimePerformanceMeter(String scenarioId, int initalCapacity) {
+        this(scenarioId, initalCapacity, false);
+    }
+
+    /**
+     * @param scenarioId
+     *            the scenario id
+     * @param initalCapacity
+     *            the initial capacity in the number of measurments, e.g. the number of iterations of the test
+     * @param nanos
+     *            <code>true</code> to record {@link InternalDimensions#NANO_TIME}, <code>false</code> to record
+     *            {@link InternalDimensions#SYSTEM_TIME}
+     * @since 3.14
+     */
+    public SystemTimePerformanceMeter(String scenarioId, int initalCapacity, boolean nanos) {
         super(scenarioId);
-        fStartTime = new ArrayList<>(initalCapacity);
-        fStopTime = new ArrayList<>(initalCapacity);
+        fStartDate = System.currentTimeMillis();
+        fNanos = nanos;
+        fStartTime = new long[Math.max(initalCapacity, 1)];
+        fStopTime = new long[fStartTime.length];
+    }
+
+    private long currentTime() {
+        return fNanos ? System.nanoTime() : System.currentTimeMillis();
     }
 
     @Override
     public void start() {
-        fStartTime.add(Long.valueOf(System.currentTimeMillis()));
+        measurementStarted();
+        if (fStartCount == fStartTime.length)
+            fStartTime = Arrays.copyOf(fStartTime, 2 * fStartCount);
+        fSample = null;
+        fStartTime[fStartCount++] = currentTime();
     }
 
     @Override
     public void stop() {
-        fStopTime.add(Long.valueOf(System.currentTimeMillis()));
+        long now = currentTime();
+        if (fStopCount == fStopTime.length)
+            fStopTime = Arrays.copyOf(fStopTime, 2 * fStopCount);
+        fStopTime[fStopCount++] = now;
+        fSample = null;
+        measurementStopped();
     }
 
     @Override
     public void commit() {
-        Assert.isTrue(fStartTime.size() == fStopTime.size());
+        Assert.isTrue(fStartCount == fStopCount);
         System.out.println("Scenario: " + getScenarioName()); //$NON-NLS-1$
-        int maxOccurenceLength = String.valueOf(fStartTime.size()).length();
-        for (int i = 0; i < fStartTime.size(); i++) {
+        int maxOccurenceLength = String.valueOf(fStartCount).length();
+        for (int i = 0; i < fStartCount; i++) {
             String occurence = String.valueOf(i + 1);
             System.out
-                    .println("Occurence " + replicate(" ", maxOccurenceLength - occurence.length()) + occurence + ": " + (fStopTime.get(i).longValue() - fStartTime.get(i).longValue())); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    .println("Occurence " + replicate(" ", maxOccurenceLength - occurence.length()) + occurence + ": " + (fStopTime[i] - fStartTime[i])); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
         }
     }
 
@@ -84,30 +125,29 @@ public class SystemTimePerformanceMeter extends InternalPerformanceMeter {
     public void dispose() {
         fStartTime = null;
         fStopTime = null;
+        fSample = null;
         super.dispose();
     }
 
     @Override
     public Sample getSample() {
-        Assert.isTrue(fStartTime.size() == fStopTime.size());
+        Assert.isTrue(fStartCount == fStopCount);
+        if (fSample != null)
+            return fSample;
 
         Map<String, String> properties = new HashMap<>();
         /*
          * properties.put(DRIVER_PROPERTY, PerformanceTestPlugin.getBuildId()); properties.put(HOSTNAME_PROPERTY, getHostName());
          */
 
-        DataPoint[] data = new DataPoint[2 * fStartTime.size()];
-        for (int i = 0; i < fStartTime.size(); i++) {
-            data[2 * i] = createDataPoint(BEFORE, InternalDimensions.SYSTEM_TIME, fStartTime.get(i).longValue());
-            data[2 * i + 1] = createDataPoint(AFTER, InternalDimensions.SYSTEM_TIME, fStopTime.get(i).longValue());
+        Dim dimension = fNanos ? InternalDimensions.NANO_TIME : InternalDimensions.SYSTEM_TIME;
+        DataPoint[] data = new DataPoint[2 * fStartCount];
+        for (int i = 0; i < fStartCount; i++) {
+            data[2 * i] = new DataPoint(BEFORE, dimension, fStartTime[i]);
+            data[2 * i + 1] = new DataPoint(AFTER, dimension, fStopTime[i]);
         }
 
-        return new Sample(getScenarioName(), fStartDate, properties, data);
-    }
-
-    private DataPoint createDataPoint(int step, Dim dimension, long value) {
-        Map<Dim, Scalar> scalars = new HashMap<>();
-        scalars.put(dimension, new Scalar(dimension, value));
-        return new DataPoint(step, scalars);
+        fSample = new Sample(getScenarioName(), fStartDate, properties, data);
+        return fSample;
     }
 }
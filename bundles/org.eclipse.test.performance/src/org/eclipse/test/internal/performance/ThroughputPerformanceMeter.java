@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Scalar;
+
+/**
+ * Performance meter that measures the sustained throughput of an operation instead of the time of one run. Each
+ * measurement runs the operation repeatedly for a fixed duration; the first measurement is preceded by a warmup period
+ * in which the operation is run the same way without measuring.
+ * <p>
+ * In addition to the dimensions of {@link OSPerformanceMeter}, each measurement records the number of operations as
+ * {@link InternalDimensions#INVOCATION_COUNT}, the operations per second as {@link InternalDimensions#THROUGHPUT}, the
+ * operations per second of CPU time of the measuring thread as {@link InternalDimensions#OPERATIONS_PER_CPU_SECOND} and
+ * the bytes the measuring thread allocated per operation as {@link InternalDimensions#ALLOCATION_PER_OPERATION}. The
+ * last two are only recorded if the VM can measure them.
+ * </p>
+ * <p>
+ * {@link #start()} runs the operation on the calling thread until the duration has elapsed, {@link #stop()} ends the
+ * measurement.
+ * </p>
+ */
+public class ThroughputPerformanceMeter extends OSPerformanceMeter {
+
+    /** the time a batch of operations may take before the clock is read less often */
+    private static final long  BATCH_NANOS = 100000;
+    private static final int   MAX_BATCH   = 1 << 20;
+
+    private final Runnable     fOperation;
+    private final long         fWarmupNanos;
+    private final long         fDurationNanos;
+    private final ThreadMXBean fThreadBean;
+    private final boolean      fCpuTimeSupported;
+    private boolean            fAllocationSupported;
+    private boolean            fWarmedUp;
+
+    private long               fOperations;
+    private long               fElapsed;
+    private long               fCpuTime;
+    private long               fAllocated;
+
+    /**
+     * @param scenarioId
+     *            the scenario id
+     * @param operation
+     *            the operation to run
+     * @param warmupMillis
+     *            the time to run the operation before the first measurement, in milliseconds
+     * @param durationMillis
+     *            the time to run the operation in each measurement, in milliseconds
+     */
+    public ThroughputPerformanceMeter(String scenarioId, Runnable operation, long warmupMillis, long durationMillis) {
+        super(scenarioId);
+        if (operation == null || warmupMillis < 0 || durationMillis <= 0)
+            throw new IllegalArgumentException();
+        fOperation = operation;
+        fWarmupNanos = warmupMillis * 1000000;
+        fDurationNanos = durationMillis * 1000000;
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        fThreadBean = threadBean;
+        fCpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported();
+        if (fCpuTimeSupported && !threadBean.isThreadCpuTimeEnabled())
+            threadBean.setThreadCpuTimeEnabled(true);
+        try {
+            fAllocationSupported = threadBean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported();
+            if (fAllocationSupported)
+                ((com.sun.management.ThreadMXBean) threadBean).setThreadAllocatedMemoryEnabled(true);
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // not a HotSpot based VM
+            fAllocationSupported = false;
+        }
+    }
+
+    /**
+     * Runs the operation for the measurement duration, after the warmup period if this is the first measurement.
+     */
+    @Override
+    public void start() {
+        if (!fWarmedUp) {
+            fWarmedUp = true;
+            if (fWarmupNanos > 0)
+                run(fWarmupNanos);
+        }
+        super.start();
+        long cpuTime = getCpuTime();
+        long allocated = getAllocatedBytes();
+        long startTime = System.nanoTime();
+        fOperations = run(fDurationNanos);
+        fElapsed = System.nanoTime() - startTime;
+        fCpuTime = getCpuTime() - cpuTime;
+        fAllocated = getAllocatedBytes() - allocated;
+    }
+
+    /*
+     * Runs the operation in batches, so that reading the clock does not dominate cheap operations. A batch is doubled
+     * as long as it takes less than {@link #BATCH_NANOS}.
+     */
+    private long run(long duration) {
+        long operations = 0;
+        int batch = 1;
+        long start = System.nanoTime();
+        long deadline = start + duration;
+        long now = start;
+        while (now - deadline < 0) {
+            for (int i = 0; i < batch; i++)
+                fOperation.run();
+            operations += batch;
+            long last = now;
+            now = System.nanoTime();
+            if (now - last < BATCH_NANOS && batch < MAX_BATCH)
+                batch <<= 1;
+        }
+        return operations;
+    }
+
+    private long getCpuTime() {
+        return fCpuTimeSupported ? fThreadBean.getCurrentThreadCpuTime() : 0;
+    }
+
+    private long getAllocatedBytes() {
+        if (!fAllocationSupported)
+            return 0;
+        return ((com.sun.management.ThreadMXBean) fThreadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Override
+    protected void collectAdditionalCounters(int step, Map<Dim, Scalar> scalars) {
+        boolean after = step == AFTER;
+        put(scalars, InternalDimensions.INVOCATION_COUNT, after ? fOperations : 0);
+        put(scalars, InternalDimensions.THROUGHPUT, after && fElapsed > 0 ? Math.round(fOperations * 1000000000.0 / fElapsed) : 0);
+        if (fCpuTimeSupported)
+            put(scalars, InternalDimensions.OPERATIONS_PER_CPU_SECOND,
+                    after && fCpuTime > 0 ? Math.round(fOperations * 1000000000.0 / fCpuTime) : 0);
+        if (fAllocationSupported)
+            put(scalars, InternalDimensions.ALLOCATION_PER_OPERATION,
+                    after && fOperations > 0 ? Math.round((double) fAllocated / fOperations) : 0);
+    }
+
+    private static void put(Map<Dim, Scalar> scalars, Dim dimension, long value) {
+        scalars.put(dimension, new Scalar(dimension, value));
+    }
+}
@@ -13,6 +13,7 @@
 package org.eclipse.test.internal.performance.data;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,6 +30,22 @@ public class DataPoint {
         fScalars = values;
     }
 
+    /**
+     * Creates a data point with the single value of one dimension, as recorded by meters that measure one dimension
+     * only. Unlike a data point created with a map of its own, this one holds no hash table.
+     *
+     * @param step
+     *            the step
+     * @param dimension
+     *            the dimension
+     * @param value
+     *            the value of the dimension
+     * @since 3.14
+     */
+    public DataPoint(int step, Dim dimension, long value) {
+        this(step, Collections.singletonMap(dimension, new Scalar(dimension, value)));
+    }
+
     public int getStep() {
         return fStep;
     }
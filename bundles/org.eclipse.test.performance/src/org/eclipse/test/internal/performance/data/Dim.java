@@ -11,6 +11,9 @@
 
 package org.eclipse.test.internal.performance.data;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.test.internal.performance.InternalDimensions;
 import org.eclipse.test.internal.performance.PerformanceTestPlugin;
 import org.eclipse.test.performance.Dimension;
@@ -20,18 +23,81 @@ import org.eclipse.test.performance.Dimension;
  */
 public class Dim implements Dimension {
 
-    private static Dim[] fgRegisteredDimensions = new Dim[100];
+    /**
+     * The smallest id of a custom dimension. Custom dimensions are named at runtime (e.g. by performance counters) instead of
+     * being defined in {@link InternalDimensions}; their ids are assigned by the database.
+     */
+    public static final int                FIRST_CUSTOM_ID        = 1000;
+
+    private static final Map<Integer, Dim> fgRegisteredDimensions = new ConcurrentHashMap<>();
+    private static final Map<String, Dim>  fgCustomDimensions     = new ConcurrentHashMap<>();
 
     private final int    fId;
     private final Unit   fUnit;
     private final int    fMultiplier;
+    private final String fName;
     private String       shortName;
 
     public static Dim getDimension(int id) {
         InternalDimensions.COMITTED.getId(); // trigger loading class InternalDimensions
-        if (id >= 0 && id < fgRegisteredDimensions.length)
-            return fgRegisteredDimensions[id];
-        return null;
+        return fgRegisteredDimensions.get(Integer.valueOf(id));
+    }
+
+    /**
+     * Answer the custom dimension with the given name.
+     * 
+     * @param name
+     *            the name of the custom dimension
+     * @return the dimension or <code>null</code> if no custom dimension with this name has been defined
+     */
+    public static Dim getCustomDimension(String name) {
+        return fgCustomDimensions.get(name);
+    }
+
+    /**
+     * Defines a custom dimension. If a custom dimension with the given name has already been defined it is answered
+     * instead.
+     * 
+     * @param id
+     *            the id, usually assigned by the database, or -1 to pick the next free id
+     * @param name
+     *            the name of the dimension
+     * @param unit
+     *            the unit
+     * @param multiplier
+     *            the multiplier
+     * @return the dimension
+     */
+    public static synchronized Dim defineCustomDimension(int id, String name, Unit unit, int multiplier) {
+        Dim dimension = fgCustomDimensions.get(name);
+        if (dimension != null)
+            return dimension;
+        if (id < 0) {
+            id = FIRST_CUSTOM_ID;
+            while (fgRegisteredDimensions.containsKey(Integer.valueOf(id)))
+                id++;
+        }
+        dimension = new Dim(id, name, unit, multiplier);
+        fgCustomDimensions.put(name, dimension);
+        return dimension;
+    }
+
+    /**
+     * Creates a custom dimension that has no id yet, e.g. for a sample that is read on a thread that must not access the
+     * database. The dimension is neither registered nor defined, and has to be replaced by the defined one before the
+     * sample is stored.
+     *
+     * @param name
+     *            the name of the dimension
+     * @param unit
+     *            the unit
+     * @param multiplier
+     *            the multiplier
+     * @return the unresolved dimension
+     * @see #isResolved()
+     */
+    public static Dim createUnresolvedCustomDimension(String name, Unit unit, int multiplier) {
+        return new Dim(-1, name, unit, multiplier);
     }
 
     public Dim(int id) {
@@ -43,14 +109,14 @@ public class Dim implements Dimension {
     }
 
     public Dim(int id, Unit unit, int multiplier) {
+        this(id, null, unit, multiplier);
+    }
 
-        if (id >= 0 && id < fgRegisteredDimensions.length) {
-            if (fgRegisteredDimensions[id] == null) {
-                fgRegisteredDimensions[id] = this;
-            } else
-                PerformanceTestPlugin.logError("dimension with id '" + id + "' already registered"); //$NON-NLS-1$ //$NON-NLS-2$
-        }
+    private Dim(int id, String name, Unit unit, int multiplier) {
+        if (id >= 0 && fgRegisteredDimensions.putIfAbsent(Integer.valueOf(id), this) != null)
+            PerformanceTestPlugin.logError("dimension with id '" + id + "' already registered"); //$NON-NLS-1$ //$NON-NLS-2$
         this.fId = id;
+        this.fName = name;
         this.fUnit = unit;
         this.fMultiplier = multiplier;
     }
@@ -68,9 +134,31 @@ public class Dim implements Dimension {
     }
 
     public String getName() {
+        if (this.fName != null)
+            return this.fName;
         return DimensionMessages.getString(this.fId);
     }
 
+    /**
+     * Answer whether this is a custom dimension.
+     * 
+     * @return <code>true</code> if this dimension has been defined at runtime
+     * @see #defineCustomDimension(int, String, Unit, int)
+     */
+    public boolean isCustom() {
+        return this.fName != null;
+    }
+
+    /**
+     * Answer whether this dimension has an id.
+     *
+     * @return <code>false</code> if this is an unresolved custom dimension
+     * @see #createUnresolvedCustomDimension(String, Unit, int)
+     */
+    public boolean isResolved() {
+        return this.fId >= 0;
+    }
+
     /**
      * Returns the label for the current dimension. This label is done keeping only uppercase characters from the name. It's
      * typically used for anchor references based on dimension.
@@ -93,6 +181,8 @@ public class Dim implements Dimension {
     }
 
     public String getDescription() {
+        if (this.fName != null)
+            return this.fName;
         return DimensionMessages.getString(this.fId);
     }
 
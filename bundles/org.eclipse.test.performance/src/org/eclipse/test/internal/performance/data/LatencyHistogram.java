@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.data;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative values, e.g. latencies in nanoseconds, with log-linear buckets: values below
+ * {@link #SUB_BUCKETS} have a bucket each, and every power of two above is split into {@link #SUB_BUCKETS}/2 buckets of
+ * equal width. A value is thus known within 1/64 of its magnitude, whatever its magnitude, in a fixed array of a few
+ * thousand counts. Recording a value neither allocates nor searches.
+ * <p>
+ * Not thread-safe.
+ * </p>
+ *
+ * @since 3.14
+ */
+public final class LatencyHistogram {
+
+    /** The number of buckets of each power of two, times two. */
+    public static final int  SUB_BUCKETS  = 128;
+
+    private static final int HALF_BUCKETS = SUB_BUCKETS / 2;
+    private static final int SHIFT        = Integer.numberOfTrailingZeros(HALF_BUCKETS);
+    // the largest value is below 2^63, i.e. in bucket HALF_BUCKETS * (63 - SHIFT - 1) + SUB_BUCKETS - 1
+    private static final int BUCKETS      = HALF_BUCKETS * (63 - SHIFT) + HALF_BUCKETS;
+
+    private final long[]     fCounts      = new long[BUCKETS];
+    private long             fCount;
+    private long             fSum;
+    private long             fMin         = Long.MAX_VALUE;
+    private long             fMax         = Long.MIN_VALUE;
+
+    /**
+     * Records a value.
+     *
+     * @param value
+     *            the value; negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0)
+            value = 0;
+        fCounts[getIndex(value)]++;
+        fCount++;
+        fSum += value;
+        if (value < fMin)
+            fMin = value;
+        if (value > fMax)
+            fMax = value;
+    }
+
+    /**
+     * Adds the values of another histogram to this one.
+     *
+     * @param histogram
+     *            the histogram to add
+     */
+    public void add(LatencyHistogram histogram) {
+        if (histogram.fCount == 0)
+            return;
+        for (int i = 0; i < BUCKETS; i++)
+            fCounts[i] += histogram.fCounts[i];
+        fCount += histogram.fCount;
+        fSum += histogram.fSum;
+        fMin = Math.min(fMin, histogram.fMin);
+        fMax = Math.max(fMax, histogram.fMax);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return fCount;
+    }
+
+    /**
+     * @return the smallest recorded value, or 0 if there are none
+     */
+    public long getMin() {
+        return fCount > 0 ? fMin : 0;
+    }
+
+    /**
+     * @return the largest recorded value, or 0 if there are none
+     */
+    public long getMax() {
+        return fCount > 0 ? fMax : 0;
+    }
+
+    /**
+     * @return the mean of the recorded values, or <code>NaN</code> if there are none
+     */
+    public double getMean() {
+        return fCount > 0 ? (double) fSum / fCount : Double.NaN;
+    }
+
+    /**
+     * Answers the value below or at which the given percentage of the recorded values are: the largest value of the
+     * bucket of that value, but at most the largest recorded value.
+     *
+     * @param percentile
+     *            the percentage, between 0 and 100
+     * @return the value, or 0 if there are none
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (fCount == 0)
+            return 0;
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * fCount);
+        if (rank < 1)
+            rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += fCounts[i];
+            if (seen >= rank)
+                return Math.max(fMin, Math.min(fMax, getHighestValue(i)));
+        }
+        return fMax;
+    }
+
+    private static int getIndex(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SHIFT;
+        return HALF_BUCKETS * exponent + (int) (value >>> exponent);
+    }
+
+    private static long getLowestValue(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int exponent = index / HALF_BUCKETS - 1;
+        return (long) (index - HALF_BUCKETS * exponent) << exponent;
+    }
+
+    private static long getHighestValue(int index) {
+        return index + 1 < BUCKETS ? getLowestValue(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Answers the histogram as an array of numbers, for storing it: the count, sum, minimum and maximum, then the index
+     * and count of each bucket that is not empty.
+     *
+     * @return the numbers
+     * @see #fromArray(long[])
+     */
+    public long[] toArray() {
+        int buckets = 0;
+        for (long count : fCounts) {
+            if (count != 0)
+                buckets++;
+        }
+        long[] array = new long[4 + 2 * buckets];
+        array[0] = fCount;
+        array[1] = fSum;
+        array[2] = getMin();
+        array[3] = getMax();
+        int j = 4;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (fCounts[i] != 0) {
+                array[j++] = i;
+                array[j++] = fCounts[i];
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Answers the histogram stored as an array of numbers.
+     *
+     * @param array
+     *            the numbers
+     * @return the histogram
+     * @throws IllegalArgumentException
+     *             if the numbers are no histogram
+     * @see #toArray()
+     */
+    public static LatencyHistogram fromArray(long[] array) {
+        if (array.length < 4 || array.length % 2 != 0)
+            throw new IllegalArgumentException("corrupt histogram"); //$NON-NLS-1$
+        LatencyHistogram histogram = new LatencyHistogram();
+        long count = 0;
+        for (int j = 4; j < array.length; j += 2) {
+            if (array[j] < 0 || array[j] >= BUCKETS || array[j + 1] < 0)
+                throw new IllegalArgumentException("corrupt histogram"); //$NON-NLS-1$
+            histogram.fCounts[(int) array[j]] += array[j + 1];
+            count += array[j + 1];
+        }
+        if (count != array[0])
+            throw new IllegalArgumentException("corrupt histogram"); //$NON-NLS-1$
+        histogram.fCount = count;
+        histogram.fSum = array[1];
+        if (count > 0) {
+            histogram.fMin = array[2];
+            histogram.fMax = array[3];
+        }
+        return histogram;
+    }
+
+    /**
+     * @return a copy of this histogram
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Forgets all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(fCounts, 0);
+        fCount = 0;
+        fSum = 0;
+        fMin = Long.MAX_VALUE;
+        fMax = Long.MIN_VALUE;
+    }
+}
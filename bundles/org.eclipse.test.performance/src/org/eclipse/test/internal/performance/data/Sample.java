@@ -12,8 +12,9 @@
 
 package org.eclipse.test.internal.performance.data;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.test.performance.Dimension;
 import org.junit.Assert;
@@ -34,6 +35,7 @@ public class Sample {
     Dimension[] fSummaryDimensions;
     int         fCommentType;
     String      fComment;
+    LatencyHistogram fHistogram;
 
     public Sample(String scenarioID, long starttime, Map<String, String> properties, DataPoint[] dataPoints) {
         Assert.assertTrue("scenarioID is null", scenarioID != null); //$NON-NLS-1$
@@ -47,6 +49,25 @@ public class Sample {
         fDataPoints = dataPoints;
     }
 
+    /**
+     * Creates a copy of the given sample with different data points.
+     * 
+     * @param sample
+     *            the sample to copy
+     * @param dataPoints
+     *            the data points of the copy
+     */
+    public Sample(Sample sample, DataPoint[] dataPoints) {
+        this(sample.fScenarioID, sample.fStartTime, sample.fProperties, dataPoints);
+        fIsSummary = sample.fIsSummary;
+        fSummaryIsGlobal = sample.fSummaryIsGlobal;
+        fShortName = sample.fShortName;
+        fSummaryDimensions = sample.fSummaryDimensions;
+        fCommentType = sample.fCommentType;
+        fComment = sample.fComment;
+        fHistogram = sample.fHistogram;
+    }
+
     public void setComment(int commentType, String comment) {
         fCommentType = commentType;
         fComment = comment;
@@ -76,8 +97,13 @@ public class Sample {
     public String[] getPropertyKeys() {
         if (fProperties == null)
             return new String[0];
-        Set<String> set = fProperties.keySet();
-        return set.toArray(new String[set.size()]);
+        // the performance monitors also put their global scalars into the properties, through raw maps
+        List<String> keys = new ArrayList<>();
+        for (Object key : fProperties.keySet()) {
+            if (key instanceof String)
+                keys.add((String) key);
+        }
+        return keys.toArray(new String[keys.size()]);
     }
 
     public DataPoint[] getDataPoints() {
@@ -114,4 +140,24 @@ public class Sample {
     public String getComment() {
         return fComment;
     }
+
+    /**
+     * Attaches the histogram of the latencies the data points summarize, see
+     * {@link org.eclipse.test.internal.performance.HistogramPerformanceMeter}.
+     * 
+     * @param histogram
+     *            the histogram, or <code>null</code>
+     * @since 3.14
+     */
+    public void setHistogram(LatencyHistogram histogram) {
+        fHistogram = histogram;
+    }
+
+    /**
+     * @return the histogram of the latencies, or <code>null</code> if the sample has none
+     * @since 3.14
+     */
+    public LatencyHistogram getHistogram() {
+        return fHistogram;
+    }
 }
@@ -47,6 +47,23 @@ public class Unit {
         fIsBinary = binary;
     }
 
+    /**
+     * Answer the predefined unit with the given short name.
+     * 
+     * @param shortName
+     *            the short name
+     * @return the unit, {@link #CARDINAL} if there is no unit with this short name
+     */
+    public static Unit getUnit(String shortName) {
+        if (SECOND.fShortName.equals(shortName))
+            return SECOND;
+        if (BYTE.fShortName.equals(shortName))
+            return BYTE;
+        if (INVOCATION.fShortName.equals(shortName))
+            return INVOCATION;
+        return CARDINAL;
+    }
+
     public String getShortName() {
         return fShortName;
     }
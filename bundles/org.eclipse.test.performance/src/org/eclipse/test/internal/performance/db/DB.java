@@ -13,6 +13,7 @@
 package org.eclipse.test.internal.performance.db;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -21,19 +22,26 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.MachineCalibration;
+import org.eclipse.test.internal.performance.MetricsExporter;
 import org.eclipse.test.internal.performance.PerformanceTestPlugin;
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.LatencyHistogram;
 import org.eclipse.test.internal.performance.data.Sample;
 import org.eclipse.test.internal.performance.data.Scalar;
+import org.eclipse.test.internal.performance.data.Unit;
 import org.eclipse.test.internal.performance.eval.StatisticsSession;
 import org.eclipse.test.performance.Dimension;
 import org.eclipse.test.performance.Performance;
@@ -45,6 +53,17 @@ public class DB {
     private static final boolean INFO       = true;
     private static final boolean AGGREGATE  = true;
 
+    /**
+     * If <code>true</code>, the measured values of each sample are stored besides their aggregates, for checkers that
+     * compare distributions, see {@link #queryRawDeltas(Variations, String, Dim)}. Default <code>false</code>.
+     *
+     * @since 3.14
+     */
+    public static final String   RAW_DELTAS_PROPERTY = "eclipse.perf.rawDeltas"; //$NON-NLS-1$
+
+    // the SAMPLEDATA.DIM_ID of the latency histogram of a sample, which is no dimension
+    private static final int     HISTOGRAM_DATA = -1;
+
     // the two supported DB types
     private static final String  DERBY      = "derby";     //$NON-NLS-1$
     private static final String  CLOUDSCAPE = "cloudscape"; //$NON-NLS-1$
@@ -114,6 +133,26 @@ public class DB {
         return fgDefault;
     }
 
+    /**
+     * Answer the custom dimension with the given name, defining it if needed. When a database is used, the id of the
+     * dimension is looked up in or added to it, so that it stays the same across runs.
+     *
+     * @param name
+     *            the name of the dimension
+     * @param unit
+     *            the unit of the dimension
+     * @param multiplier
+     *            the multiplier of the dimension
+     * @return the dimension
+     */
+    public static Dim getCustomDimension(final String name, final Unit unit, final int multiplier) {
+        final Dim dimension = Dim.getCustomDimension(name);
+        if (dimension != null) {
+            return dimension;
+        }
+        return getDefault().internalGetCustomDimension(name, unit, multiplier);
+    }
+
     public static Scenario getScenarioSeries(final String scenarioName, Variations v, final String seriesKey,
             final String startBuild, final String endBuild, final Dim[] dims) {
         v = (Variations) v.clone();
@@ -135,7 +174,7 @@ public class DB {
     }
 
     public static boolean isActive() {
-        return (fgDefault != null) && (fgDefault.getSQL() != null);
+        return (fgDefault != null) && ((fgDefault.getSQL() != null) || (fgDefault.fIngest != null));
     }
 
     /**
@@ -147,7 +186,33 @@ public class DB {
      *            the reason of the failure
      */
     public static void markAsFailed(final Variations variations, final Sample sample, final String failMesg) {
-        getDefault().internalMarkAsFailed(variations, sample, failMesg);
+        final DB db = getDefault();
+        if (db.fIngest != null) {
+            db.fIngest.markAsFailed(variations, sample, failMesg, false);
+        } else {
+            db.internalMarkAsFailed(variations, sample, failMesg, false);
+        }
+    }
+
+    /**
+     * Like {@link #markAsFailed(Variations, Sample, String)}, but does nothing if the scenario already is marked as failed
+     * with the same message, so that evaluating a build again does not record its failures twice.
+     *
+     * @param variations
+     *            used to tag the data in the database
+     * @param sample
+     *            the sample marked as failed
+     * @param failMesg
+     *            the reason of the failure
+     * @since 3.14
+     */
+    public static void markAsFailedOnce(final Variations variations, final Sample sample, final String failMesg) {
+        final DB db = getDefault();
+        if (db.fIngest != null) {
+            db.fIngest.markAsFailed(variations, sample, failMesg, true);
+        } else {
+            db.internalMarkAsFailed(variations, sample, failMesg, true);
+        }
     }
 
     /**
@@ -166,6 +231,89 @@ public class DB {
         return getDefault().internalQueryDataPoints(variations, scenarioName, dims);
     }
 
+    /**
+     * Returns the data points of all scenarios matching the pattern, with one query instead of one per scenario and data
+     * point.
+     *
+     * @param variations
+     *            the variations of the samples
+     * @param scenarioPattern
+     *            the pattern of the scenario names
+     * @param dims
+     *            the dimensions to return, or <code>null</code> for all
+     * @return the data points by scenario name, in the order of the names, or <code>null</code> if an error occurred
+     * @since 3.14
+     */
+    public static Map<String, DataPoint[]> queryAllDataPoints(final Variations variations, final String scenarioPattern,
+            final Set<Dim> dims) {
+        return getDefault().internalQueryAllDataPoints(variations, scenarioPattern, dims);
+    }
+
+    /**
+     * Returns the measured values of a dimension of all samples of a scenario stored with
+     * {@link #RAW_DELTAS_PROPERTY}.
+     *
+     * @param variations
+     *            the variations of the samples
+     * @param scenarioName
+     *            the scenario
+     * @param dim
+     *            the dimension
+     * @return the values, or <code>null</code> if no sample has stored values
+     * @since 3.14
+     */
+    public static long[] queryRawDeltas(final Variations variations, final String scenarioName, final Dim dim) {
+        return getDefault().internalQueryRawDeltas(variations, scenarioName, dim);
+    }
+
+    /**
+     * Returns the latency histograms of all samples of a scenario, merged into one.
+     *
+     * @param variations
+     *            the variations of the samples
+     * @param scenarioName
+     *            the scenario
+     * @return the histogram, or <code>null</code> if no sample has a histogram
+     * @see Sample#getHistogram()
+     * @since 3.14
+     */
+    public static LatencyHistogram queryHistogram(final Variations variations, final String scenarioName) {
+        return getDefault().internalQueryHistogram(variations, scenarioName);
+    }
+
+    /**
+     * Returns the {@link MachineCalibration calibration} scores of the machines that measured the samples of a
+     * scenario, averaged over the samples.
+     *
+     * @param variations
+     *            the variations of the samples
+     * @param scenarioName
+     *            the scenario
+     * @return the average scores by name, empty if no sample was stored with a calibration
+     * @since 3.14
+     */
+    public static Map<String, Double> queryCalibration(final Variations variations, final String scenarioName) {
+        return getDefault().internalQueryCalibration(variations, scenarioName);
+    }
+
+    /**
+     * Returns a stamp of the samples and failures of each variation and scenario matching the patterns, which changes
+     * whenever samples are stored or deleted, or failures recorded, so that reports can tell which scenarios changed since
+     * they were generated.
+     *
+     * @param variationPatterns
+     *            the patterns of the variations
+     * @param scenarioPattern
+     *            the pattern of the scenario names
+     * @return the stamps by scenario name and by variation, or <code>null</code> if an error occurred
+     * @see HtmlReport
+     * @since 3.14
+     */
+    public static Map<String, Map<String, String>> querySampleStamps(final Variations variationPatterns,
+            final String scenarioPattern) {
+        return getDefault().internalQuerySampleStamps(variationPatterns, scenarioPattern);
+    }
+
     public static void queryDistinctValues(final List<String> values, final String key, final Variations variationPatterns,
             final String scenarioPattern) {
         getDefault().internalQueryDistinctValues(values, key, variationPatterns, scenarioPattern);
@@ -281,22 +429,41 @@ public class DB {
 
     /**
      * Store the data contained in the given sample in the database. The data is tagged with key/value pairs from variations.
+     * With an {@link IngestServer ingest server} as database, the sample is sent to the server, which stores it later.
      *
      * @param variations
      *            used to tag the data in the database
      * @param sample
      *            the sample to store
-     * @return returns true if data could be stored successfully
+     * @return returns true if data could be stored successfully, or was sent to the ingest server
      */
     public static boolean store(final Variations variations, final Sample sample) {
-        return getDefault().internalStore(variations, sample);
+        final long start = System.nanoTime();
+        final DB db = getDefault();
+        final boolean stored = db.fIngest != null ? db.sendToIngestServer(variations, sample) : db.internalStore(variations, sample);
+        MetricsExporter.sampleStored(System.nanoTime() - start, stored);
+        return stored;
+    }
+
+    /**
+     * Returns the number of samples stored since the database was opened. Unlike the other methods, this one does not
+     * open the database, so that it can be polled from any thread.
+     *
+     * @return the number of stored samples, 0 if the database is not open
+     * @since 3.14
+     */
+    public static int getStoredSamples() {
+        final DB db = fgDefault;
+        return db != null ? db.fStoredSamples : 0;
     }
 
     private Connection fConnection;
 
     private SQL        fSQL;
 
-    private int        fStoredSamples;
+    private IngestClient fIngest;
+
+    private volatile int fStoredSamples;
 
     private boolean    fStoreCalled;
 
@@ -316,7 +483,7 @@ public class DB {
 
     /**
      * dbloc= embed in home directory dbloc=/tmp/performance embed given location dbloc=net://localhost connect to local server
-     * dbloc=net://www.eclipse.org connect to remove server
+     * dbloc=net://www.eclipse.org connect to remove server dbloc=ingest://localhost:1528 send samples to an IngestServer
      */
     private void connect() {
 
@@ -332,6 +499,20 @@ public class DB {
             return;
         }
 
+        if (dbloc.startsWith(IngestServer.SCHEME)) {
+            // no connection of our own, the ingest server stores the samples
+            try {
+                fIngest = IngestClient.connect(dbloc);
+                if (INFO) {
+                    System.out.println("connected to ingest server " + dbloc); //$NON-NLS-1$
+                }
+            }
+            catch (final IOException e) {
+                PerformanceTestPlugin.logError("cannot connect to ingest server " + dbloc + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return;
+        }
+
         final String dbname = PerformanceTestPlugin.getDBName();
         String url = null;
         final java.util.Properties info = new java.util.Properties();
@@ -445,6 +626,10 @@ public class DB {
             }
             System.out.println("disconnecting from DB"); //$NON-NLS-1$
         }
+        if (fIngest != null) {
+            fIngest.close();
+            fIngest = null;
+        }
         if (fSQL != null) {
             try {
                 fSQL.dispose();
@@ -487,20 +672,61 @@ public class DB {
         return fSQL;
     }
 
-    private void internalMarkAsFailed(final Variations variations, final Sample sample, final String failMesg) {
+    private Dim internalGetCustomDimension(final String name, final Unit unit, final int multiplier) {
+        if (fSQL != null) {
+            try {
+                final int id = fSQL.getCustomDimension(name, unit.getShortName(), multiplier);
+                fConnection.commit();
+                return Dim.defineCustomDimension(id, name, unit, multiplier);
+            }
+            catch (final SQLException e) {
+                PerformanceTestPlugin.log(e);
+                try {
+                    fConnection.rollback();
+                }
+                catch (final SQLException e1) {
+                    PerformanceTestPlugin.log(e1);
+                }
+            }
+        }
+        return Dim.defineCustomDimension(-1, name, unit, multiplier);
+    }
+
+    /*
+     * Answers the dimension with the given id; custom dimensions not yet known in this session are read from the database.
+     */
+    private Dim resolveDimension(final int id) throws SQLException {
+        final Dim dimension = Dim.getDimension(id);
+        if ((dimension != null) || (id < Dim.FIRST_CUSTOM_ID)) {
+            return dimension;
+        }
+        try (final ResultSet rs = fSQL.queryCustomDimension(id)) {
+            if (rs.next()) {
+                return Dim.defineCustomDimension(id, rs.getString(1), Unit.getUnit(rs.getString(2)), rs.getInt(3));
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Answers whether the failure is recorded, i.e. false only if it could not be written.
+     */
+    boolean internalMarkAsFailed(final Variations variations, final Sample sample, final String failMesg, final boolean once) {
 
         if (fSQL == null) {
-            return;
+            return false;
         }
 
         try {
             final int variation_id = fSQL.getVariations(variations);
             final int scenario_id = fSQL.getScenario(sample.getScenarioID());
 
-            fSQL.insertFailure(variation_id, scenario_id, failMesg);
+            if (!once || !fSQL.hasFailure(variation_id, scenario_id, failMesg)) {
+                fSQL.insertFailure(variation_id, scenario_id, failMesg);
+            }
 
             fConnection.commit();
-
+            return true;
         }
         catch (final SQLException e) {
             PerformanceTestPlugin.log(e);
@@ -510,6 +736,7 @@ public class DB {
             catch (final SQLException e1) {
                 PerformanceTestPlugin.log(e1);
             }
+            return false;
         }
     }
 
@@ -539,7 +766,7 @@ public class DB {
                     while (rs2.next()) {
                         final int dim_id = rs2.getInt(1);
                         final long value = rs2.getBigDecimal(2).longValue();
-                        final Dim dim = Dim.getDimension(dim_id);
+                        final Dim dim = resolveDimension(dim_id);
                         if (dim != null) {
                             if ((dimSet == null) || dimSet.contains(dim)) {
                                 map.put(dim, new Scalar(dim, value));
@@ -566,6 +793,123 @@ public class DB {
         return null;
     }
 
+    private Map<String, DataPoint[]> internalQueryAllDataPoints(final Variations variations, final String scenarioPattern,
+            final Set<Dim> dimSet) {
+        if (fSQL == null) {
+            return null;
+        }
+        final Map<String, DataPoint[]> result = new LinkedHashMap<>();
+        try (ResultSet rs = fSQL.queryAllScalars(variations, scenarioPattern)) {
+            String scenario = null;
+            final ArrayList<DataPoint> dataPoints = new ArrayList<>();
+            int datapoint_id = -1;
+            int step = 0;
+            HashMap<Dim, Scalar> map = new HashMap<>();
+            while (rs.next()) {
+                final String name = rs.getString(1);
+                final int id = rs.getInt(2);
+                if (id != datapoint_id || !name.equals(scenario)) {
+                    if (map.size() > 0) {
+                        dataPoints.add(new DataPoint(step, map));
+                        map = new HashMap<>();
+                    }
+                    if (!name.equals(scenario)) {
+                        if (scenario != null && dataPoints.size() > 0) {
+                            result.put(scenario, dataPoints.toArray(new DataPoint[dataPoints.size()]));
+                        }
+                        dataPoints.clear();
+                        scenario = name;
+                    }
+                    datapoint_id = id;
+                    step = rs.getInt(3);
+                }
+                final Dim dim = resolveDimension(rs.getInt(4));
+                if ((dim != null) && ((dimSet == null) || dimSet.contains(dim))) {
+                    map.put(dim, new Scalar(dim, rs.getBigDecimal(5).longValue()));
+                }
+            }
+            if (map.size() > 0) {
+                dataPoints.add(new DataPoint(step, map));
+            }
+            if (scenario != null && dataPoints.size() > 0) {
+                result.put(scenario, dataPoints.toArray(new DataPoint[dataPoints.size()]));
+            }
+            return result;
+        }
+        catch (final SQLException e) {
+            PerformanceTestPlugin.log(e);
+        }
+        return null;
+    }
+
+    private long[] internalQueryRawDeltas(final Variations variations, final String scenarioName, final Dim dim) {
+        if (fSQL == null) {
+            return null;
+        }
+        long[] values = null;
+        try (ResultSet rs = fSQL.querySampleData(variations, scenarioName, dim.getId())) {
+            while (rs.next()) {
+                final long[] deltas = RawDeltas.decode(rs.getBytes(1));
+                if (values == null) {
+                    values = deltas;
+                } else {
+                    final int length = values.length;
+                    values = Arrays.copyOf(values, length + deltas.length);
+                    System.arraycopy(deltas, 0, values, length, deltas.length);
+                }
+            }
+        }
+        catch (final SQLException | IllegalArgumentException e) {
+            PerformanceTestPlugin.log(e);
+        }
+        return values;
+    }
+
+    private LatencyHistogram internalQueryHistogram(final Variations variations, final String scenarioName) {
+        if (fSQL == null) {
+            return null;
+        }
+        LatencyHistogram histogram = null;
+        try (ResultSet rs = fSQL.querySampleData(variations, scenarioName, HISTOGRAM_DATA)) {
+            while (rs.next()) {
+                final LatencyHistogram sampleHistogram = LatencyHistogram.fromArray(RawDeltas.decode(rs.getBytes(1)));
+                if (histogram == null) {
+                    histogram = sampleHistogram;
+                } else {
+                    histogram.add(sampleHistogram);
+                }
+            }
+        }
+        catch (final SQLException | IllegalArgumentException e) {
+            PerformanceTestPlugin.log(e);
+        }
+        return histogram;
+    }
+
+    private Map<String, Double> internalQueryCalibration(final Variations variations, final String scenarioName) {
+        final Map<String, Double> scores = new HashMap<>();
+        if (fSQL == null) {
+            return scores;
+        }
+        final Map<String, Integer> counts = new HashMap<>();
+        try (ResultSet rs = fSQL.queryCalibration(variations, scenarioName)) {
+            while (rs.next()) {
+                final String name = rs.getString(1);
+                final Double sum = scores.get(name);
+                scores.put(name, Double.valueOf((sum != null ? sum.doubleValue() : 0) + rs.getDouble(2)));
+                final Integer count = counts.get(name);
+                counts.put(name, Integer.valueOf(count != null ? count.intValue() + 1 : 1));
+            }
+        }
+        catch (final SQLException e) {
+            PerformanceTestPlugin.log(e);
+        }
+        for (final Map.Entry<String, Double> entry : scores.entrySet()) {
+            entry.setValue(Double.valueOf(entry.getValue().doubleValue() / counts.get(entry.getKey()).intValue()));
+        }
+        return scores;
+    }
+
     /*
      *
      */
@@ -626,6 +970,40 @@ public class DB {
         return null;
     }
 
+    private Map<String, Map<String, String>> internalQuerySampleStamps(final Variations variationPatterns,
+            final String scenarioPattern) {
+        if (fSQL == null) {
+            return null;
+        }
+        final Map<String, Map<String, String>> stamps = new TreeMap<>();
+        try (ResultSet rs = fSQL.querySampleStamps(variationPatterns, scenarioPattern)) {
+            while (rs.next()) {
+                final String variation = rs.getString(1);
+                final String scenario = rs.getString(2);
+                stamps.computeIfAbsent(scenario, k -> new TreeMap<>()).put(variation, rs.getInt(3) + "/" + rs.getInt(4)); //$NON-NLS-1$
+            }
+        }
+        catch (final SQLException e) {
+            PerformanceTestPlugin.log(e);
+            return null;
+        }
+        // the failures are recorded after the samples, e.g. by a batch evaluation; pairs without samples have no page
+        try (ResultSet rs = fSQL.queryFailureStamps(variationPatterns, scenarioPattern)) {
+            while (rs.next()) {
+                final String variation = rs.getString(1);
+                final Map<String, String> stamp = stamps.get(rs.getString(2));
+                if (stamp != null && stamp.containsKey(variation)) {
+                    stamp.put(variation, stamp.get(variation) + "/" + rs.getInt(3)); //$NON-NLS-1$
+                }
+            }
+            return stamps;
+        }
+        catch (final SQLException e) {
+            PerformanceTestPlugin.log(e);
+        }
+        return null;
+    }
+
     /*
      * Returns array of scenario names matching the given pattern.
      */
@@ -748,7 +1126,7 @@ public class DB {
                     }
                 }
                 if (dim_id != 0) {
-                    fingerprints.add(new SummaryEntry(scenarioName, shortName, Dim.getDimension(dim_id), isGlobal, commentKind,
+                    fingerprints.add(new SummaryEntry(scenarioName, shortName, resolveDimension(dim_id), isGlobal, commentKind,
                             comment));
                 }
             }
@@ -774,98 +1152,77 @@ public class DB {
         return null;
     }
 
-    private boolean internalStore(final Variations variations, final Sample sample) {
-
-        if ((fSQL == null) || (sample == null)) {
+    private boolean sendToIngestServer(final Variations variations, final Sample sample) {
+        if ((sample == null) || (sample.getDataPoints().length <= 0)) {
             return false;
         }
-
-        final DataPoint[] dataPoints = sample.getDataPoints();
-        final int n = dataPoints.length;
-        if (n <= 0) {
+        // the calibration of this machine, not that of the server, goes with the sample
+        final MachineCalibration calibration = MachineCalibration.getDefault();
+        final Map<String, Double> scores = calibration != null ? calibration.getScores() : Collections.<String, Double> emptyMap();
+        if (!fIngest.store(variations, sample, scores)) {
             return false;
         }
+        fStoredSamples++;
+        fStoreCalled = true;
+        return true;
+    }
 
-        //System.out.println("store started..."); //$NON-NLS-1$
+    /*
+     * Stores the samples received by an ingest server with one commit for all of them. If that fails, the samples are
+     * stored one by one, so that a sample the database rejects does not take the others with it.
+     */
+    boolean[] internalStoreAll(final List<Variations> variations, final List<Sample> samples,
+            final List<Map<String, Double>> calibrations) {
+        final boolean[] stored = new boolean[samples.size()];
+        if (fSQL == null) {
+            return stored;
+        }
         try {
-            // long l= System.currentTimeMillis();
-            final int variation_id = fSQL.getVariations(variations);
-            final int scenario_id = fSQL.getScenario(sample.getScenarioID());
-            final String comment = sample.getComment();
-            if (sample.isSummary()) {
-                final boolean isGlobal = sample.isGlobal();
-
-                int commentId = 0;
-                final int commentKind = sample.getCommentType();
-                if ((commentKind == Performance.EXPLAINS_DEGRADATION_COMMENT) && (comment != null)) {
-                    commentId = fSQL.getCommentId(commentKind, comment);
-                }
+            for (int i = 0; i < stored.length; i++) {
+                stored[i] = insertSample(variations.get(i), samples.get(i), calibrations.get(i));
+            }
+            fConnection.commit();
+        }
+        catch (final SQLException e) {
+            PerformanceTestPlugin.logWarning("storing " + stored.length + " samples failed, storing them one by one: " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            try {
+                fConnection.rollback();
+            }
+            catch (final SQLException e1) {
+                PerformanceTestPlugin.log(e1);
+            }
+            for (int i = 0; i < stored.length; i++) {
+                stored[i] = internalStore(variations.get(i), samples.get(i), calibrations.get(i));
+            }
+            return stored;
+        }
+        for (final boolean s : stored) {
+            if (s) {
+                fStoredSamples++;
+                fStoreCalled = true;
+            }
+        }
+        return stored;
+    }
 
-                final Dimension[] summaryDimensions = sample.getSummaryDimensions();
-                for (final Dimension dimension : summaryDimensions) {
-                    if (dimension instanceof Dim) {
-                        fSQL.createSummaryEntry(variation_id, scenario_id, ((Dim) dimension).getId(), isGlobal, commentId);
-                    }
-                }
-                final String shortName = sample.getShortname();
-                if (shortName != null) {
-                    fSQL.setScenarioShortName(scenario_id, shortName);
-                }
-            } else if (comment != null) {
-                int commentId = 0;
-                final int commentKind = sample.getCommentType();
-                if (commentKind == Performance.EXPLAINS_DEGRADATION_COMMENT) {
-                    commentId = fSQL.getCommentId(commentKind, comment);
-                }
-                fSQL.createSummaryEntry(variation_id, scenario_id, 0, false, commentId); // use
-                // special
-                // dim
-                // id
-                // '0'
-                // to
-                // identify
-                // summary
-                // entry
-                // created
-                // to
-                // only
-                // handle
-                // a
-                // comment
-            }
-            final int sample_id = fSQL.createSample(variation_id, scenario_id, new Timestamp(sample.getStartTime()));
-
-            if (AGGREGATE) {
-                final StatisticsSession stats = new StatisticsSession(dataPoints);
-                final Dim[] dims = dataPoints[0].getDimensions();
-
-                int datapoint_id = fSQL.createDataPoint(sample_id, 0, InternalPerformanceMeter.AVERAGE);
-                for (final Dim dim : dims) {
-                    fSQL.insertScalar(datapoint_id, dim.getId(), (long) stats.getAverage(dim));
-                }
+    private boolean internalStore(final Variations variations, final Sample sample) {
 
-                datapoint_id = fSQL.createDataPoint(sample_id, 0, InternalPerformanceMeter.STDEV);
-                for (final Dim dim : dims) {
-                    // see StatisticsSession
-                    final long value = Double.doubleToLongBits(stats.getStddev(dim));
-                    fSQL.insertScalar(datapoint_id, dim.getId(), value);
-                }
+        if ((fSQL == null) || (sample == null) || (sample.getDataPoints().length <= 0)) {
+            return false;
+        }
 
-                datapoint_id = fSQL.createDataPoint(sample_id, 0, InternalPerformanceMeter.SIZE);
-                for (final Dim dim : dims) {
-                    fSQL.insertScalar(datapoint_id, dim.getId(), stats.getCount(dim));
-                }
-            } else {
-                for (int i = 0; i < dataPoints.length; i++) {
-                    final DataPoint dp = dataPoints[i];
-                    final int datapoint_id = fSQL.createDataPoint(sample_id, i, dp.getStep());
-                    final Scalar[] scalars = dp.getScalars();
-                    for (final Scalar scalar : scalars) {
-                        final int dim_id = scalar.getDimension().getId();
-                        final long value = scalar.getMagnitude();
-                        fSQL.insertScalar(datapoint_id, dim_id, value);
-                    }
-                }
+        // calibrate before the first sample, if the plug-in did not already
+        final MachineCalibration calibration = MachineCalibration.getDefault();
+        return internalStore(variations, sample, calibration != null ? calibration.getScores() : null);
+    }
+
+    private boolean internalStore(final Variations variations, final Sample sample, final Map<String, Double> calibration) {
+
+        //System.out.println("store started..."); //$NON-NLS-1$
+        try {
+            // long l= System.currentTimeMillis();
+            if (!insertSample(variations, sample, calibration)) {
+                return false;
             }
 
             fConnection.commit();
@@ -883,6 +1240,116 @@ public class DB {
             catch (final SQLException e1) {
                 PerformanceTestPlugin.log(e1);
             }
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Inserts the sample without committing; answers false if it has no data points.
+     */
+    private boolean insertSample(final Variations variations, final Sample sample, final Map<String, Double> calibration)
+            throws SQLException {
+
+        final DataPoint[] dataPoints = sample.getDataPoints();
+        final int n = dataPoints.length;
+        if (n <= 0) {
+            return false;
+        }
+
+        final int variation_id = fSQL.getVariations(variations);
+        final int scenario_id = fSQL.getScenario(sample.getScenarioID());
+        final String comment = sample.getComment();
+        if (sample.isSummary()) {
+            final boolean isGlobal = sample.isGlobal();
+
+            int commentId = 0;
+            final int commentKind = sample.getCommentType();
+            if ((commentKind == Performance.EXPLAINS_DEGRADATION_COMMENT) && (comment != null)) {
+                commentId = fSQL.getCommentId(commentKind, comment);
+            }
+
+            final Dimension[] summaryDimensions = sample.getSummaryDimensions();
+            for (final Dimension dimension : summaryDimensions) {
+                if (dimension instanceof Dim) {
+                    fSQL.createSummaryEntry(variation_id, scenario_id, ((Dim) dimension).getId(), isGlobal, commentId);
+                }
+            }
+            final String shortName = sample.getShortname();
+            if (shortName != null) {
+                fSQL.setScenarioShortName(scenario_id, shortName);
+            }
+        } else if (comment != null) {
+            int commentId = 0;
+            final int commentKind = sample.getCommentType();
+            if (commentKind == Performance.EXPLAINS_DEGRADATION_COMMENT) {
+                commentId = fSQL.getCommentId(commentKind, comment);
+            }
+            fSQL.createSummaryEntry(variation_id, scenario_id, 0, false, commentId); // use
+            // special
+            // dim
+            // id
+            // '0'
+            // to
+            // identify
+            // summary
+            // entry
+            // created
+            // to
+            // only
+            // handle
+            // a
+            // comment
+        }
+        final int sample_id = fSQL.createSample(variation_id, scenario_id, new Timestamp(sample.getStartTime()));
+        if (calibration != null) {
+            for (final Map.Entry<String, Double> score : calibration.entrySet()) {
+                fSQL.insertCalibration(sample_id, score.getKey(), score.getValue().doubleValue());
+            }
+        }
+
+        if (AGGREGATE) {
+            // the values as measured, the GC pauses are subtracted when evaluating them
+            final StatisticsSession stats = new StatisticsSession(dataPoints, false);
+            final Dim[] dims = dataPoints[0].getDimensions();
+
+            int datapoint_id = fSQL.createDataPoint(sample_id, 0, InternalPerformanceMeter.AVERAGE);
+            for (final Dim dim : dims) {
+                fSQL.insertScalar(datapoint_id, dim.getId(), (long) stats.getAverage(dim));
+            }
+
+            datapoint_id = fSQL.createDataPoint(sample_id, 0, InternalPerformanceMeter.STDEV);
+            for (final Dim dim : dims) {
+                // see StatisticsSession
+                final long value = Double.doubleToLongBits(stats.getStddev(dim));
+                fSQL.insertScalar(datapoint_id, dim.getId(), value);
+            }
+
+            datapoint_id = fSQL.createDataPoint(sample_id, 0, InternalPerformanceMeter.SIZE);
+            for (final Dim dim : dims) {
+                fSQL.insertScalar(datapoint_id, dim.getId(), stats.getCount(dim));
+            }
+
+            if (Boolean.getBoolean(RAW_DELTAS_PROPERTY) && stats.hasMeasurements()) {
+                for (final Dim dim : dims) {
+                    fSQL.insertSampleData(sample_id, dim.getId(), RawDeltas.encode(stats.getValues(dim)));
+                }
+            }
+        } else {
+            for (int i = 0; i < dataPoints.length; i++) {
+                final DataPoint dp = dataPoints[i];
+                final int datapoint_id = fSQL.createDataPoint(sample_id, i, dp.getStep());
+                final Scalar[] scalars = dp.getScalars();
+                for (final Scalar scalar : scalars) {
+                    final int dim_id = scalar.getDimension().getId();
+                    final long value = scalar.getMagnitude();
+                    fSQL.insertScalar(datapoint_id, dim_id, value);
+                }
+            }
+        }
+        final LatencyHistogram histogram = sample.getHistogram();
+        if (histogram != null) {
+            fSQL.insertSampleData(sample_id, HISTOGRAM_DATA, RawDeltas.encode(histogram.toArray()));
         }
         return true;
     }
@@ -134,7 +134,16 @@ public class DBHelpers {
         }
     }
 
-    void removeSamples(Variations v) throws SQLException {
+    /**
+     * Removes the samples with the given variations, the rows that reference them, and their scenarios if no other
+     * samples use them.
+     *
+     * @param v
+     *            the exact variations of the samples
+     * @throws SQLException
+     *             if the samples cannot be queried
+     */
+    public void removeSamples(Variations v) throws SQLException {
 
         boolean delete = true;
 
@@ -161,6 +170,8 @@ public class DBHelpers {
 
                 PreparedStatement deleteScalars = fConnection.prepareStatement("delete from SCALAR where DATAPOINT_ID = ?"); //$NON-NLS-1$
                 PreparedStatement deleteDatapoints = fConnection.prepareStatement("delete from DATAPOINT where SAMPLE_ID = ?"); //$NON-NLS-1$
+                PreparedStatement deleteCalibration = fConnection.prepareStatement("delete from CALIBRATION where SAMPLE_ID = ?"); //$NON-NLS-1$
+                PreparedStatement deleteSampleData = fConnection.prepareStatement("delete from SAMPLEDATA where SAMPLE_ID = ?"); //$NON-NLS-1$
                 PreparedStatement deleteSamples = fConnection.prepareStatement("delete from SAMPLE where SAMPLE.ID = ?"); //$NON-NLS-1$
                 PreparedStatement deleteScenario = fConnection.prepareStatement("delete from SCENARIO where SCENARIO.ID = ?")) { //$NON-NLS-1$
 
@@ -198,6 +209,22 @@ public class DBHelpers {
                             System.err.println("removing datapoints: " + e1); //$NON-NLS-1$
                         }
 
+                        deleteCalibration.setInt(1, sample_id);
+                        try {
+                            deleteCalibration.executeUpdate();
+                            fConnection.commit();
+                        } catch (SQLException e) {
+                            System.err.println("removing calibration: " + e); //$NON-NLS-1$
+                        }
+
+                        deleteSampleData.setInt(1, sample_id);
+                        try {
+                            deleteSampleData.executeUpdate();
+                            fConnection.commit();
+                        } catch (SQLException e) {
+                            System.err.println("removing sample data: " + e); //$NON-NLS-1$
+                        }
+
                         deleteSamples.setInt(1, sample_id);
                         try {
                             deleteSamples.executeUpdate();
@@ -0,0 +1,637 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Dim;
+
+/**
+ * Generates a static HTML report of the trends of the scenarios over a series, e.g. the builds: a page per scenario
+ * with an inline SVG chart and a table of each dimension, and an index with the {@link SummaryEntry global summary} and
+ * all scenarios. The pages need no scripts or other files and can be served from any web server.
+ * <p>
+ * The report is incremental: the directory keeps the {@link DB#querySampleStamps(Variations, String) stamps} of the
+ * variation and scenario pairs the pages were generated from, and the next run regenerates only the pages of the
+ * scenarios with new or deleted samples, and the index. The data of those scenarios is loaded on the calling thread,
+ * since the database connection is shared, and the pages are rendered and written in parallel on a fork-join pool.
+ * Each file is written next to its target and moved over it, so that a web server never serves half a page.
+ * </p>
+ * <p>
+ * As an application:
+ * </p>
+ *
+ * <pre>
+ * HtmlReport -config "config=perf1;jvm=sun" -output report [-series build] [-scenarios pattern] [-full]
+ * </pre>
+ *
+ * where <code>-full</code> regenerates all pages.
+ *
+ * @since 3.14
+ */
+public class HtmlReport {
+
+    /** The file in the report directory that keeps the state of the pages. */
+    public static final String  STATE_FILE    = "report.properties"; //$NON-NLS-1$
+    /** The index page of the report. */
+    public static final String  INDEX_FILE    = "index.html";        //$NON-NLS-1$
+
+    private static final String VARIATIONS    = "variations";        //$NON-NLS-1$
+    private static final String SERIES_KEY    = "series";            //$NON-NLS-1$
+    private static final String PATTERN       = "scenarios";         //$NON-NLS-1$
+    private static final String STAMP         = "stamp.";            //$NON-NLS-1$
+    private static final String PAGE          = "page.";             //$NON-NLS-1$
+    private static final String LATEST        = "latest.";           //$NON-NLS-1$
+    private static final String POINTS        = "points.";           //$NON-NLS-1$
+    private static final String FAILED        = "failed.";           //$NON-NLS-1$
+    private static final String VALUE         = "value.";            //$NON-NLS-1$
+
+    private static final int    CHART_WIDTH   = 720;
+    private static final int    CHART_HEIGHT  = 240;
+    private static final int    MARGIN_LEFT   = 90;
+    private static final int    MARGIN_RIGHT  = 10;
+    private static final int    MARGIN_TOP    = 10;
+    private static final int    MARGIN_BOTTOM = 30;
+
+    private static final String STYLE         = "body{font-family:sans-serif;font-size:14px}" //$NON-NLS-1$
+            + "table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:2px 8px}" //$NON-NLS-1$
+            + "td.n{text-align:right}.failed{color:#b00}"; //$NON-NLS-1$
+
+    /**
+     * The values of a regenerated page that the index shows.
+     */
+    private static final class Page {
+
+        final String              fScenario;
+        final String              fFile;
+        final String              fLatest;
+        final int                 fPoints;
+        final String              fFailure;
+        final Map<String, String> fValues = new HashMap<>();
+
+        Page(String scenario, String file, String latest, int points, String failure) {
+            fScenario = scenario;
+            fFile = file;
+            fLatest = latest;
+            fPoints = points;
+            fFailure = failure;
+        }
+    }
+
+    private final File         fDirectory;
+    private final ForkJoinPool fPool;
+
+    /**
+     * @param directory
+     *            the directory of the report, created if needed
+     * @param pool
+     *            the pool that renders and writes the pages
+     */
+    public HtmlReport(File directory, ForkJoinPool pool) {
+        fDirectory = directory;
+        fPool = pool;
+    }
+
+    /**
+     * Generates the pages of the scenarios that changed since the last run, and the index.
+     *
+     * @param variations
+     *            the variations of the samples; the series key matches all values unless it is set
+     * @param seriesKey
+     *            the key of the series, e.g. {@link PerformanceTestPlugin#BUILD}
+     * @param scenarioPattern
+     *            the pattern of the scenarios
+     * @param full
+     *            whether to regenerate all pages
+     * @return the number of regenerated pages
+     * @throws IOException
+     *             if the report cannot be written
+     */
+    public int generate(Variations variations, String seriesKey, String scenarioPattern, boolean full) throws IOException {
+        Variations query = (Variations) variations.clone();
+        if (!query.containsKey(seriesKey))
+            query.put(seriesKey, "%"); //$NON-NLS-1$
+
+        Map<String, Map<String, String>> stamps = DB.querySampleStamps(query, scenarioPattern);
+        if (stamps == null) {
+            PerformanceTestPlugin.logWarning("no performance data to report"); //$NON-NLS-1$
+            return 0;
+        }
+
+        Files.createDirectories(fDirectory.toPath());
+        Properties state = loadState();
+        String queryString = query.toQueryPattern();
+        if (full || !queryString.equals(state.getProperty(VARIATIONS)) || !seriesKey.equals(state.getProperty(SERIES_KEY))
+                || !scenarioPattern.equals(state.getProperty(PATTERN))) {
+            deletePages(state, null);
+            state.clear();
+        }
+        state.setProperty(VARIATIONS, queryString);
+        state.setProperty(SERIES_KEY, seriesKey);
+        state.setProperty(PATTERN, scenarioPattern);
+        deletePages(state, stamps);
+
+        Set<String> files = new HashSet<>();
+        for (String key : state.stringPropertyNames()) {
+            if (key.startsWith(PAGE))
+                files.add(state.getProperty(key).toLowerCase(Locale.ROOT));
+        }
+
+        Scenario.SharedState sharedState = new Scenario.SharedState(query, scenarioPattern, seriesKey, null);
+        List<String> changed = new ArrayList<>();
+        List<ForkJoinTask<Page>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> entry : stamps.entrySet()) {
+            String scenarioName = entry.getKey();
+            if (entry.getValue().toString().equals(state.getProperty(STAMP + scenarioName)))
+                continue;
+
+            // load the data here, the pool must not use the database
+            Scenario scenario = new Scenario(scenarioName, sharedState);
+            Dim[] dimensions = scenario.getDimensions();
+            String[] labels = scenario.getTimeSeriesLabels();
+            String[] failures = scenario.getFailureMessages();
+            String file = state.getProperty(PAGE + scenarioName);
+            if (file == null) {
+                file = getFileName(scenarioName, files);
+                files.add(file.toLowerCase(Locale.ROOT));
+            }
+            String pageFile = file;
+            changed.add(scenarioName);
+            tasks.add(fPool.submit(() -> writePage(scenario, pageFile, dimensions, labels, failures, query, seriesKey)));
+        }
+
+        IOException failure = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            String scenarioName = changed.get(i);
+            try {
+                updateState(state, tasks.get(i).join());
+                state.setProperty(STAMP + scenarioName, stamps.get(scenarioName).toString());
+            } catch (RuntimeException e) {
+                // regenerated by the next run
+                state.remove(STAMP + scenarioName);
+                if (failure == null)
+                    failure = new IOException("cannot write the report", e); //$NON-NLS-1$
+                else
+                    failure.addSuppressed(e);
+            }
+        }
+
+        SummaryEntry[] summaries = DB.querySummaries(query, null);
+        write(new File(fDirectory, INDEX_FILE).toPath(), renderIndex(state, summaries, tasks.size()));
+        saveState(state);
+        if (failure != null)
+            throw failure;
+        return tasks.size();
+    }
+
+    private Page writePage(Scenario scenario, String file, Dim[] dimensions, String[] labels, String[] failures,
+            Variations variations, String seriesKey) {
+        String scenarioName = scenario.getScenarioName();
+        TimeSeries[] series = new TimeSeries[dimensions.length];
+        for (int i = 0; i < dimensions.length; i++)
+            series[i] = scenario.getTimeSeries(dimensions[i]);
+
+        int n = labels.length;
+        String failure = n > 0 && failures != null ? failures[n - 1] : null;
+        Page page = new Page(scenarioName, file, n > 0 ? labels[n - 1] : "", n, failure); //$NON-NLS-1$
+        for (int i = 0; i < dimensions.length; i++) {
+            if (n > 0)
+                page.fValues.put(Integer.toString(dimensions[i].getId()),
+                        series[i].getValue(n - 1) + " " + (n > 1 ? series[i].getValue(n - 2) : Double.NaN)); //$NON-NLS-1$
+        }
+        try {
+            write(new File(fDirectory, page.fFile).toPath(),
+                    renderPage(scenarioName, variations.toExactMatchString(), seriesKey, labels, dimensions, series, failures));
+        } catch (IOException e) {
+            throw new IllegalStateException("cannot write the page of '" + scenarioName + '\'', e); //$NON-NLS-1$
+        }
+        return page;
+    }
+
+    private static void updateState(Properties state, Page page) {
+        String scenario = page.fScenario;
+        removeValues(state, scenario);
+        state.setProperty(PAGE + scenario, page.fFile);
+        state.setProperty(LATEST + scenario, page.fLatest);
+        state.setProperty(POINTS + scenario, Integer.toString(page.fPoints));
+        if (page.fFailure != null)
+            state.setProperty(FAILED + scenario, page.fFailure);
+        else
+            state.remove(FAILED + scenario);
+        for (Map.Entry<String, String> entry : page.fValues.entrySet())
+            state.setProperty(VALUE + entry.getKey() + '.' + scenario, entry.getValue());
+    }
+
+    /*
+     * Removes the values of a scenario, keyed by the dimension id and the scenario name, which may contain dots.
+     */
+    private static void removeValues(Properties state, String scenario) {
+        for (String key : state.stringPropertyNames()) {
+            if (key.startsWith(VALUE) && key.substring(key.indexOf('.', VALUE.length()) + 1).equals(scenario))
+                state.remove(key);
+        }
+    }
+
+    /*
+     * Deletes the pages and state of the scenarios that have no samples any more, or of all scenarios.
+     */
+    private void deletePages(Properties state, Map<String, Map<String, String>> stamps) throws IOException {
+        for (String key : state.stringPropertyNames()) {
+            if (!key.startsWith(PAGE))
+                continue;
+            String scenario = key.substring(PAGE.length());
+            if (stamps != null && stamps.containsKey(scenario))
+                continue;
+            Files.deleteIfExists(new File(fDirectory, state.getProperty(key)).toPath());
+            state.remove(key);
+            state.remove(STAMP + scenario);
+            state.remove(LATEST + scenario);
+            state.remove(POINTS + scenario);
+            state.remove(FAILED + scenario);
+            removeValues(state, scenario);
+        }
+    }
+
+    private Properties loadState() {
+        Properties state = new Properties();
+        File file = new File(fDirectory, STATE_FILE);
+        if (file.isFile()) {
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                state.load(is);
+            } catch (IOException e) {
+                PerformanceTestPlugin.logWarning("cannot read " + file + ", regenerating the report: " + e); //$NON-NLS-1$ //$NON-NLS-2$
+                state.clear();
+            }
+        }
+        return state;
+    }
+
+    private void saveState(Properties state) throws IOException {
+        Path file = new File(fDirectory, STATE_FILE).toPath();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+        try (OutputStream os = Files.newOutputStream(temporary)) {
+            state.store(os, "HtmlReport state"); //$NON-NLS-1$
+        }
+        move(temporary, file);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+        try {
+            Files.write(temporary, content.getBytes(StandardCharsets.UTF_8));
+            move(temporary, file);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Answers the name of a new page of a scenario: the name without characters that are not safe in file names, and its
+     * hash, since different names may be the same once made safe. Since the hashes of such names may be the same too, a
+     * number is appended if the name is already used.
+     *
+     * @param scenario
+     *            the scenario
+     * @param used
+     *            the names of the other pages, in lower case since file names may be case insensitive
+     * @return the file name
+     */
+    public static String getFileName(String scenario, Set<String> used) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < scenario.length() && name.length() < 100; i++) {
+            char c = scenario.charAt(i);
+            name.append(c < 128 && (Character.isLetterOrDigit(c) || c == '.' || c == '-') ? c : '_');
+        }
+        String base = name.append('-').append(Integer.toHexString(scenario.hashCode())).toString();
+        String file = base + ".html"; //$NON-NLS-1$
+        for (int i = 2; used.contains(file.toLowerCase(Locale.ROOT)); i++)
+            file = base + '-' + i + ".html"; //$NON-NLS-1$
+        return file;
+    }
+
+    /**
+     * Renders the page of a scenario.
+     *
+     * @param scenario
+     *            the scenario
+     * @param variations
+     *            the variations of the samples, as shown
+     * @param seriesKey
+     *            the key of the series
+     * @param labels
+     *            the labels of the series
+     * @param dimensions
+     *            the dimensions
+     * @param series
+     *            the time series of each dimension
+     * @param failures
+     *            the failure messages of the series, or <code>null</code>
+     * @return the page
+     */
+    public static String renderPage(String scenario, String variations, String seriesKey, String[] labels, Dim[] dimensions,
+            TimeSeries[] series, String[] failures) {
+        StringBuilder html = new StringBuilder(4096 + 2048 * dimensions.length);
+        appendHeader(html, scenario);
+        html.append("<p><a href=\"").append(INDEX_FILE).append("\">Index</a> &middot; "); //$NON-NLS-1$ //$NON-NLS-2$
+        escape(html, variations).append(" &middot; series ").append(escape(new StringBuilder(), seriesKey)).append("</p>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        if (failures != null) {
+            for (int i = 0; i < failures.length; i++) {
+                if (failures[i] == null)
+                    continue;
+                html.append("<pre class=\"failed\">"); //$NON-NLS-1$
+                escape(html, labels[i]).append(": "); //$NON-NLS-1$
+                escape(html, failures[i]).append("</pre>\n"); //$NON-NLS-1$
+            }
+        }
+
+        for (int d = 0; d < dimensions.length; d++) {
+            Dim dimension = dimensions[d];
+            TimeSeries ts = series[d];
+            html.append("<h2 title=\""); //$NON-NLS-1$
+            escape(html, dimension.getDescription()).append("\">"); //$NON-NLS-1$
+            escape(html, dimension.getName()).append("</h2>\n"); //$NON-NLS-1$
+            appendChart(html, dimension, ts, failures);
+            html.append("<table>\n<tr><th>"); //$NON-NLS-1$
+            escape(html, seriesKey).append("</th><th>value</th><th>stddev</th><th>n</th><th>change</th></tr>\n"); //$NON-NLS-1$
+            for (int i = ts.getLength() - 1; i >= 0; i--) {
+                if (Double.isNaN(ts.getValue(i)))
+                    continue;
+                html.append(failures != null && i < failures.length && failures[i] != null ? "<tr class=\"failed\"><td>" : "<tr><td>"); //$NON-NLS-1$ //$NON-NLS-2$
+                escape(html, ts.getLabel(i)).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                escape(html, format(dimension, ts.getValue(i))).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                escape(html, format(dimension, ts.getStddev(i))).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                html.append(ts.getCount(i)).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                html.append(i > 0 ? formatChange(ts.getValue(i), ts.getValue(i - 1)) : "").append("</td></tr>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            html.append("</table>\n"); //$NON-NLS-1$
+        }
+        return html.append("</body>\n</html>\n").toString(); //$NON-NLS-1$
+    }
+
+    /*
+     * Draws the values as a line over a band of one standard deviation, with the failed points in red.
+     */
+    static void appendChart(StringBuilder html, Dim dimension, TimeSeries ts, String[] failures) {
+        int n = ts.getLength();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double value = ts.getValue(i);
+            if (Double.isNaN(value))
+                continue;
+            double stddev = Double.isNaN(ts.getStddev(i)) ? 0 : ts.getStddev(i);
+            min = Math.min(min, value - stddev);
+            max = Math.max(max, value + stddev);
+        }
+        if (min > max)
+            return;
+        double range = max - min;
+        if (range == 0)
+            range = max != 0 ? Math.abs(max) : 1;
+        min -= range * 0.05;
+        max += range * 0.05;
+
+        int plotWidth = CHART_WIDTH - MARGIN_LEFT - MARGIN_RIGHT;
+        int plotHeight = CHART_HEIGHT - MARGIN_TOP - MARGIN_BOTTOM;
+        double[] xs = new double[n];
+        for (int i = 0; i < n; i++)
+            xs[i] = MARGIN_LEFT + (n > 1 ? (double) i * plotWidth / (n - 1) : plotWidth / 2.0);
+
+        html.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(CHART_WIDTH).append("\" height=\"") //$NON-NLS-1$ //$NON-NLS-2$
+                .append(CHART_HEIGHT).append("\" font-size=\"11\">\n"); //$NON-NLS-1$
+        html.append("<rect x=\"").append(MARGIN_LEFT).append("\" y=\"").append(MARGIN_TOP).append("\" width=\"").append(plotWidth) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                .append("\" height=\"").append(plotHeight).append("\" fill=\"none\" stroke=\"#ccc\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        StringBuilder upper = new StringBuilder();
+        StringBuilder lower = new StringBuilder();
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            double value = ts.getValue(i);
+            if (Double.isNaN(value))
+                continue;
+            double stddev = Double.isNaN(ts.getStddev(i)) ? 0 : ts.getStddev(i);
+            upper.append(coordinate(xs[i])).append(',').append(coordinate(y(value + stddev, min, max, plotHeight))).append(' ');
+            lower.insert(0, coordinate(xs[i]) + ',' + coordinate(y(value - stddev, min, max, plotHeight)) + ' ');
+            line.append(coordinate(xs[i])).append(',').append(coordinate(y(value, min, max, plotHeight))).append(' ');
+        }
+        html.append("<polygon points=\"").append(upper).append(lower).append("\" fill=\"#dbe8f6\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        html.append("<polyline points=\"").append(line).append("\" fill=\"none\" stroke=\"#1f5fa8\" stroke-width=\"1.5\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (int i = 0; i < n; i++) {
+            double value = ts.getValue(i);
+            if (Double.isNaN(value))
+                continue;
+            boolean failed = failures != null && i < failures.length && failures[i] != null;
+            html.append("<circle cx=\"").append(coordinate(xs[i])).append("\" cy=\"") //$NON-NLS-1$ //$NON-NLS-2$
+                    .append(coordinate(y(value, min, max, plotHeight))).append("\" r=\"3\" fill=\"") //$NON-NLS-1$
+                    .append(failed ? "#b00" : "#1f5fa8").append("\"><title>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            escape(html, ts.getLabel(i) + ": " + format(dimension, value)).append("</title></circle>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        appendText(html, MARGIN_LEFT - 4, MARGIN_TOP + 4, "end", format(dimension, max)); //$NON-NLS-1$
+        appendText(html, MARGIN_LEFT - 4, MARGIN_TOP + plotHeight, "end", format(dimension, min)); //$NON-NLS-1$
+        if (n > 0) {
+            appendText(html, MARGIN_LEFT, CHART_HEIGHT - 8, "start", ts.getLabel(0)); //$NON-NLS-1$
+            if (n > 1)
+                appendText(html, CHART_WIDTH - MARGIN_RIGHT, CHART_HEIGHT - 8, "end", ts.getLabel(n - 1)); //$NON-NLS-1$
+        }
+        html.append("</svg>\n"); //$NON-NLS-1$
+    }
+
+    private static double y(double value, double min, double max, int plotHeight) {
+        return MARGIN_TOP + (max - value) / (max - min) * plotHeight;
+    }
+
+    private static String coordinate(double value) {
+        return String.format(Locale.ROOT, "%.1f", Double.valueOf(value)); //$NON-NLS-1$
+    }
+
+    private static void appendText(StringBuilder html, int x, int y, String anchor, String text) {
+        html.append("<text x=\"").append(x).append("\" y=\"").append(y).append("\" text-anchor=\"").append(anchor).append("\">"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        escape(html, text).append("</text>\n"); //$NON-NLS-1$
+    }
+
+    private String renderIndex(Properties state, SummaryEntry[] summaries, int regenerated) {
+        TreeSet<String> scenarios = new TreeSet<>();
+        for (String key : state.stringPropertyNames()) {
+            if (key.startsWith(PAGE))
+                scenarios.add(key.substring(PAGE.length()));
+        }
+
+        StringBuilder html = new StringBuilder(4096 + 256 * scenarios.size());
+        appendHeader(html, "Performance report"); //$NON-NLS-1$
+        html.append("<p>"); //$NON-NLS-1$
+        escape(html, state.getProperty(VARIATIONS)).append(" &middot; series "); //$NON-NLS-1$
+        escape(html, state.getProperty(SERIES_KEY)).append(" &middot; ").append(scenarios.size()).append(" scenarios, ") //$NON-NLS-1$ //$NON-NLS-2$
+                .append(regenerated).append(" regenerated &middot; "); //$NON-NLS-1$
+        escape(html, new Date().toString()).append("</p>\n"); //$NON-NLS-1$
+
+        if (summaries != null && summaries.length > 0) {
+            html.append("<h2>Summary</h2>\n<table>\n<tr><th>scenario</th><th>dimension</th><th>latest</th><th>previous</th><th>change</th></tr>\n"); //$NON-NLS-1$
+            for (SummaryEntry summary : summaries) {
+                String page = state.getProperty(PAGE + summary.scenarioName);
+                if (page == null)
+                    continue;
+                String[] values = state.getProperty(VALUE + summary.dimension.getId() + '.' + summary.scenarioName, "NaN NaN").split(" "); //$NON-NLS-1$ //$NON-NLS-2$
+                double latest = Double.parseDouble(values[0]);
+                double previous = Double.parseDouble(values[1]);
+                String name = summary.shortName != null ? summary.shortName : summary.scenarioName;
+                appendLink(html, state.getProperty(FAILED + summary.scenarioName) != null, page, name);
+                html.append("<td>"); //$NON-NLS-1$
+                escape(html, summary.dimension.getName()).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                escape(html, format(summary.dimension, latest)).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                escape(html, format(summary.dimension, previous)).append("</td><td class=\"n\">"); //$NON-NLS-1$
+                html.append(formatChange(latest, previous)).append("</td></tr>\n"); //$NON-NLS-1$
+            }
+            html.append("</table>\n"); //$NON-NLS-1$
+        }
+
+        html.append("<h2>Scenarios</h2>\n<table>\n<tr><th>scenario</th><th>latest</th><th>points</th><th>status</th></tr>\n"); //$NON-NLS-1$
+        for (String scenario : scenarios) {
+            String failure = state.getProperty(FAILED + scenario);
+            appendLink(html, failure != null, state.getProperty(PAGE + scenario), scenario);
+            html.append("<td>"); //$NON-NLS-1$
+            escape(html, state.getProperty(LATEST + scenario, "")).append("</td><td class=\"n\">"); //$NON-NLS-1$ //$NON-NLS-2$
+            escape(html, state.getProperty(POINTS + scenario, "")).append("</td><td>"); //$NON-NLS-1$ //$NON-NLS-2$
+            if (failure != null) {
+                html.append("<span class=\"failed\" title=\""); //$NON-NLS-1$
+                escape(html, failure).append("\">failed</span>"); //$NON-NLS-1$
+            }
+            html.append("</td></tr>\n"); //$NON-NLS-1$
+        }
+        return html.append("</table>\n</body>\n</html>\n").toString(); //$NON-NLS-1$
+    }
+
+    private static void appendHeader(StringBuilder html, String title) {
+        html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>"); //$NON-NLS-1$
+        escape(html, title).append("</title>\n<style>").append(STYLE).append("</style>\n</head>\n<body>\n<h1>"); //$NON-NLS-1$ //$NON-NLS-2$
+        escape(html, title).append("</h1>\n"); //$NON-NLS-1$
+    }
+
+    private static void appendLink(StringBuilder html, boolean failed, String page, String text) {
+        html.append(failed ? "<tr class=\"failed\"><td><a href=\"" : "<tr><td><a href=\""); //$NON-NLS-1$ //$NON-NLS-2$
+        escape(html, page).append("\">"); //$NON-NLS-1$
+        escape(html, text).append("</a></td>"); //$NON-NLS-1$
+    }
+
+    private static String format(Dim dimension, double value) {
+        return Double.isNaN(value) ? "" : dimension.getDisplayValue(value); //$NON-NLS-1$
+    }
+
+    private static String formatChange(double value, double previous) {
+        if (Double.isNaN(value) || Double.isNaN(previous) || previous == 0)
+            return ""; //$NON-NLS-1$
+        return String.format(Locale.ROOT, "%+.1f%%", Double.valueOf((value - previous) / Math.abs(previous) * 100)); //$NON-NLS-1$
+    }
+
+    /**
+     * Appends text to HTML, escaping the characters that have a meaning in elements and attribute values.
+     *
+     * @param html
+     *            the HTML
+     * @param text
+     *            the text, or <code>null</code> to append nothing
+     * @return the HTML
+     */
+    public static StringBuilder escape(StringBuilder html, String text) {
+        if (text == null)
+            return html;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    html.append("&lt;"); //$NON-NLS-1$
+                    break;
+                case '>':
+                    html.append("&gt;"); //$NON-NLS-1$
+                    break;
+                case '&':
+                    html.append("&amp;"); //$NON-NLS-1$
+                    break;
+                case '"':
+                    html.append("&quot;"); //$NON-NLS-1$
+                    break;
+                default:
+                    html.append(c);
+            }
+        }
+        return html;
+    }
+
+    public static void main(String[] args) {
+        String config = null, output = null;
+        String seriesKey = PerformanceTestPlugin.BUILD;
+        String scenarioPattern = "%"; //$NON-NLS-1$
+        boolean full = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("-full".equals(arg)) //$NON-NLS-1$
+                full = true;
+            else if (i + 1 < args.length && "-config".equals(arg)) //$NON-NLS-1$
+                config = args[++i];
+            else if (i + 1 < args.length && "-output".equals(arg)) //$NON-NLS-1$
+                output = args[++i];
+            else if (i + 1 < args.length && "-series".equals(arg)) //$NON-NLS-1$
+                seriesKey = args[++i];
+            else if (i + 1 < args.length && "-scenarios".equals(arg)) //$NON-NLS-1$
+                scenarioPattern = args[++i];
+            else
+                System.err.println("ignoring unknown argument " + arg); //$NON-NLS-1$
+        }
+        if (output == null) {
+            System.err.println("usage: HtmlReport [-config <key=value;...>] -output <directory> [-series <key>] [-scenarios <pattern>] [-full]"); //$NON-NLS-1$
+            return;
+        }
+
+        Variations variations = config != null ? new Variations(config) : PerformanceTestPlugin.getVariations();
+        long start = System.currentTimeMillis();
+        try {
+            int pages = new HtmlReport(new File(output), ForkJoinPool.commonPool()).generate(variations, seriesKey,
+                    scenarioPattern, full);
+            System.out.println(pages + " pages regenerated in " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        } finally {
+            DB.shutdown();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Sample;
+
+/**
+ * The connection of a test JVM to an {@link IngestServer}, which stores the samples of this JVM instead of a database
+ * connection of its own. A sample is sent when it is stored, without waiting for the server to store it; the
+ * acknowledgements are read by a thread of their own, and {@link #close()} waits for the missing ones.
+ */
+final class IngestClient {
+
+    // how long close() waits for the server to store the samples sent
+    private static final long      CLOSE_TIMEOUT = 60000;
+
+    private final Socket           fSocket;
+    private final DataOutputStream fOut;
+    private final Thread           fAcknowledgements;
+    private long                   fSent;
+    private volatile long          fAcknowledged;
+    private volatile int           fRejected;
+
+    /**
+     * Connects to the ingest server at the given location.
+     *
+     * @param dbloc
+     *            the location, <code>ingest://host[:port]</code>
+     * @return the client
+     * @throws IOException
+     *             if the location is malformed or the server cannot be reached
+     */
+    static IngestClient connect(String dbloc) throws IOException {
+        String address = dbloc.substring(IngestServer.SCHEME.length());
+        int slash = address.indexOf('/');
+        if (slash >= 0)
+            address = address.substring(0, slash);
+        String host = address;
+        int port = IngestServer.DEFAULT_PORT;
+        int colon = address.lastIndexOf(':');
+        if (colon >= 0) {
+            host = address.substring(0, colon);
+            try {
+                port = Integer.parseInt(address.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                throw new IOException("bad port in " + dbloc); //$NON-NLS-1$
+            }
+        }
+        if (host.length() == 0)
+            host = "localhost"; //$NON-NLS-1$
+        return new IngestClient(host, port);
+    }
+
+    private IngestClient(String host, int port) throws IOException {
+        fSocket = new Socket(host, port);
+        final DataInputStream in;
+        try {
+            fSocket.setTcpNoDelay(true);
+            fOut = new DataOutputStream(new BufferedOutputStream(fSocket.getOutputStream()));
+            fOut.writeInt(IngestServer.MAGIC);
+            fOut.flush();
+            in = new DataInputStream(new BufferedInputStream(fSocket.getInputStream()));
+        } catch (IOException e) {
+            fSocket.close();
+            throw e;
+        }
+        fAcknowledgements = new Thread("Ingest acknowledgements") { //$NON-NLS-1$
+
+            @Override
+            public void run() {
+                readAcknowledgements(in);
+            }
+        };
+        fAcknowledgements.setDaemon(true);
+        fAcknowledgements.start();
+    }
+
+    private void readAcknowledgements(DataInputStream in) {
+        try {
+            while (true) {
+                long sequence = in.readLong();
+                if (!in.readBoolean()) {
+                    fRejected++;
+                    PerformanceTestPlugin.logWarning("the ingest server did not store record " + sequence); //$NON-NLS-1$
+                }
+                fAcknowledged = sequence;
+            }
+        } catch (EOFException e) {
+            // the server closes the connection after the last acknowledgement
+        } catch (IOException e) {
+            if (!fSocket.isClosed())
+                PerformanceTestPlugin.logError("reading from the ingest server failed: " + e.getMessage()); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Sends a sample to the server.
+     *
+     * @param variations
+     *            used to tag the data in the database
+     * @param sample
+     *            the sample
+     * @param calibration
+     *            the calibration scores of this machine, stored with the sample
+     * @return <code>true</code> if the sample was sent
+     */
+    boolean store(Variations variations, Sample sample, Map<String, Double> calibration) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            IngestServer.writeStore(new DataOutputStream(bytes), variations, sample, calibration);
+        } catch (IOException e) {
+            PerformanceTestPlugin.logError("cannot encode sample " + sample.getScenarioID() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            return false;
+        }
+        return send(bytes.toByteArray());
+    }
+
+    /**
+     * Sends a failure to the server, see {@link DB#markAsFailed(Variations, Sample, String)} and
+     * {@link DB#markAsFailedOnce(Variations, Sample, String)}.
+     *
+     * @param variations
+     *            used to tag the data in the database
+     * @param sample
+     *            the sample of the failed scenario
+     * @param failMesg
+     *            the reason of the failure
+     * @param once
+     *            whether the server skips the failure if it is already recorded with the same message
+     */
+    void markAsFailed(Variations variations, Sample sample, String failMesg, boolean once) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            IngestServer.writeFailure(new DataOutputStream(bytes), variations, sample.getScenarioID(), failMesg, once);
+        } catch (IOException e) {
+            PerformanceTestPlugin.logError("cannot encode failure of " + sample.getScenarioID() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            return;
+        }
+        send(bytes.toByteArray());
+    }
+
+    private synchronized boolean send(byte[] record) {
+        try {
+            fOut.writeInt(record.length);
+            fOut.write(record);
+            fOut.flush();
+            fSent++;
+            return true;
+        } catch (IOException e) {
+            PerformanceTestPlugin.logError("sending to the ingest server failed: " + e.getMessage()); //$NON-NLS-1$
+            return false;
+        }
+    }
+
+    /**
+     * Tells the server that no more records follow and waits until it has acknowledged those sent.
+     */
+    void close() {
+        long sent;
+        synchronized (this) {
+            sent = fSent;
+            try {
+                fOut.flush();
+                fSocket.shutdownOutput();
+            } catch (IOException e) {
+                PerformanceTestPlugin.logWarning("closing the connection to the ingest server failed: " + e.getMessage()); //$NON-NLS-1$
+            }
+        }
+        try {
+            fAcknowledgements.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long missing = sent - fAcknowledged;
+        if (missing > 0)
+            PerformanceTestPlugin.logError(missing + " of " + sent + " records sent to the ingest server were not acknowledged"); //$NON-NLS-1$ //$NON-NLS-2$
+        else if (fRejected > 0)
+            PerformanceTestPlugin.logWarning(fRejected + " of " + sent + " records sent to the ingest server were not stored"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            fSocket.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,511 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.db;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.test.internal.performance.MetricsExporter;
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Sample;
+
+/**
+ * A daemon that stores the samples of many test JVMs in one database, so that they do not contend for it. A test JVM
+ * sends its samples to the server with <code>-Declipse.perf.dbloc=ingest://host:port</code> instead of storing them
+ * itself, see {@link DB#store(Variations, Sample)}; the server uses the database given by its own
+ * <code>eclipse.perf.dbloc</code>.
+ * <p>
+ * Each connection is read by a thread of its own, which only queues the records it receives. A single thread, the one
+ * that {@link #run() runs} the server, decodes and stores them, since the database connection is shared: it takes all
+ * records queued so far, up to the batch size, stores their samples with one commit, and then acknowledges each record
+ * to its client. A client does not wait for the acknowledgements, it only checks when it disconnects that all of its
+ * samples were stored.
+ * </p>
+ * <p>
+ * The protocol: a client sends {@link #MAGIC}, then records, each an <code>int</code> length followed by that many
+ * bytes, and shuts down its output when done. A record is a kind, the variations in their database form, and for a
+ * sample the calibration scores of the client followed by the sample encoded by {@link SampleCodec}, or for a failure the
+ * scenario and the message; a failure that is recorded only once per message has a kind of its own. The server answers each record, in order, with its <code>long</code> sequence number,
+ * starting at 1, and a <code>boolean</code> that tells whether it was stored, and closes the connection after the last
+ * one.
+ * </p>
+ * <p>
+ * As an application:
+ * </p>
+ *
+ * <pre>
+ * IngestServer [-host address] [-port port] [-batch size]
+ * </pre>
+ *
+ * where the server listens on the loopback interface and port {@link #DEFAULT_PORT} by default. It runs until it is
+ * killed; samples not acknowledged by then may be lost, which their clients report.
+ *
+ * @since 3.14
+ */
+public class IngestServer implements Closeable {
+
+    /**
+     * The scheme of a database location that is an ingest server.
+     */
+    public static final String SCHEME             = "ingest://"; //$NON-NLS-1$
+
+    /**
+     * The port of an ingest server if the location gives none; the one after that of the Derby network server.
+     */
+    public static final int    DEFAULT_PORT       = 1528;
+
+    /**
+     * The number of samples stored with one commit at most, if not given.
+     */
+    public static final int    DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * The first <code>int</code> a client sends, "EPI1".
+     */
+    public static final int    MAGIC              = 0x45504931;
+
+    static final int           STORE              = 1;
+    static final int           FAIL               = 2;
+    static final int           FAIL_ONCE          = 3;
+
+    // the records received but not yet stored; a full queue makes the clients wait
+    private static final int   QUEUE_CAPACITY     = 1024;
+    private static final int   MAX_RECORD_LENGTH  = 64 * 1024 * 1024;
+
+    private final ServerSocket          fServerSocket;
+    private final int                   fBatchSize;
+    private final BlockingQueue<Record> fQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Set<Connection>       fConnections = new LinkedHashSet<>();
+    private volatile boolean            fClosed;
+
+    /**
+     * A record received from a connection, or its end if it has no data.
+     */
+    private static final class Record {
+
+        final Connection fConnection;
+        final byte[]     fData;
+
+        Record(Connection connection, byte[] data) {
+            fConnection = connection;
+            fData = data;
+        }
+    }
+
+    /**
+     * A client connection. It is read by a thread of its own and answered by the thread that stores the samples.
+     */
+    private final class Connection extends Thread {
+
+        private final Socket           fSocket;
+        private final DataOutputStream fOut;
+        private long                   fAcknowledged;
+        private boolean                fBroken;
+
+        /*
+         * Accepts the next connection, closing its socket if it cannot be set up.
+         */
+        Connection() throws IOException {
+            fSocket = fServerSocket.accept();
+            try {
+                fSocket.setTcpNoDelay(true);
+                fOut = new DataOutputStream(new BufferedOutputStream(fSocket.getOutputStream()));
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+            setName("Ingest connection " + fSocket.getRemoteSocketAddress()); //$NON-NLS-1$
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(fSocket.getInputStream()));
+                if (in.readInt() != MAGIC)
+                    throw new IOException("not an ingest client"); //$NON-NLS-1$
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        break; // the client is done
+                    }
+                    if (length < 0 || length > MAX_RECORD_LENGTH)
+                        throw new IOException("bad record length " + length); //$NON-NLS-1$
+                    byte[] data = new byte[length];
+                    in.readFully(data);
+                    fQueue.put(new Record(this, data));
+                }
+            } catch (IOException e) {
+                if (!fClosed)
+                    PerformanceTestPlugin.logWarning(getName() + " failed: " + e.getMessage()); //$NON-NLS-1$
+            } catch (InterruptedException e) {
+                close();
+                return;
+            }
+            try {
+                // the end of the connection, after its records
+                fQueue.put(new Record(this, null));
+            } catch (InterruptedException e) {
+                close();
+            }
+        }
+
+        void acknowledge(boolean stored) {
+            fAcknowledged++;
+            if (fBroken)
+                return;
+            try {
+                fOut.writeLong(fAcknowledged);
+                fOut.writeBoolean(stored);
+            } catch (IOException e) {
+                PerformanceTestPlugin.logWarning(getName() + " failed: " + e.getMessage()); //$NON-NLS-1$
+                fBroken = true;
+            }
+        }
+
+        void flush() {
+            if (fBroken)
+                return;
+            try {
+                fOut.flush();
+            } catch (IOException e) {
+                PerformanceTestPlugin.logWarning(getName() + " failed: " + e.getMessage()); //$NON-NLS-1$
+                fBroken = true;
+            }
+        }
+
+        void close() {
+            try {
+                fSocket.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+
+    /**
+     * Creates a server and binds it to its address; it accepts connections once it {@link #run() runs}.
+     *
+     * @param host
+     *            the address to listen on, or <code>null</code> for the loopback interface
+     * @param port
+     *            the port, 0 for any free port
+     * @param batchSize
+     *            the number of samples stored with one commit at most
+     * @throws IOException
+     *             if the address cannot be bound
+     */
+    public IngestServer(String host, int port, int batchSize) throws IOException {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batch size " + batchSize); //$NON-NLS-1$
+        fBatchSize = batchSize;
+        fServerSocket = new ServerSocket();
+        fServerSocket.bind(new InetSocketAddress(host != null ? InetAddress.getByName(host) : InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return fServerSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections and stores the samples received, on the calling thread, until the server is
+     * {@link #close() closed}; the records received by then are still stored.
+     *
+     * @throws IOException
+     *             if the server has no database of its own
+     */
+    public void run() throws IOException {
+        String dbloc = PerformanceTestPlugin.getDBLocation();
+        if (dbloc == null || dbloc.startsWith(SCHEME))
+            throw new IOException("the ingest server needs a database, not " + dbloc); //$NON-NLS-1$
+        if (DB.getDefault().getSQL() == null)
+            throw new IOException("cannot connect to the database " + dbloc); //$NON-NLS-1$
+        serve();
+    }
+
+    /**
+     * Accepts connections and stores the samples received, on the calling thread, until the server is
+     * {@link #close() closed}; unlike {@link #run()} it does not check the database.
+     */
+    protected void serve() {
+        Thread acceptor = new Thread("Ingest server " + fServerSocket.getLocalSocketAddress()) { //$NON-NLS-1$
+
+            @Override
+            public void run() {
+                accept();
+            }
+        };
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        List<Record> batch = new ArrayList<>(fBatchSize);
+        try {
+            while (!fClosed || !fQueue.isEmpty()) {
+                Record first = fQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                // the records that arrived while the previous batch was stored make the next one
+                batch.add(first);
+                fQueue.drainTo(batch, fBatchSize - 1);
+                process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+            synchronized (fConnections) {
+                for (Connection connection : fConnections)
+                    connection.close();
+                fConnections.clear();
+            }
+        }
+    }
+
+    private void accept() {
+        while (!fClosed) {
+            try {
+                Connection connection = new Connection();
+                synchronized (fConnections) {
+                    fConnections.add(connection);
+                }
+                connection.start();
+            } catch (IOException e) {
+                if (!fClosed)
+                    PerformanceTestPlugin.logWarning("accepting an ingest connection failed: " + e.getMessage()); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private void process(List<Record> batch) {
+        boolean[] results = new boolean[batch.size()];
+        List<Variations> variations = new ArrayList<>();
+        List<Sample> samples = new ArrayList<>();
+        List<Map<String, Double>> calibrations = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        int[] status = new int[1];
+        for (int i = 0; i < results.length; i++) {
+            Record record = batch.get(i);
+            if (record.fData == null)
+                continue;
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.fData));
+                int kind = in.readByte();
+                Variations v = new Variations();
+                v.parseDB(in.readUTF());
+                if (kind == STORE) {
+                    Map<String, Double> calibration = new HashMap<>();
+                    for (int n = in.readInt(); n > 0; n--) {
+                        String name = in.readUTF();
+                        calibration.put(name, Double.valueOf(in.readDouble()));
+                    }
+                    Sample sample = SampleCodec.read(in, status);
+                    if (sample == null)
+                        throw new IOException("no sample"); //$NON-NLS-1$
+                    variations.add(v);
+                    samples.add(SampleCodec.resolveCustomDimensions(sample));
+                    calibrations.add(calibration);
+                    positions.add(Integer.valueOf(i));
+                } else if (kind == FAIL || kind == FAIL_ONCE) {
+                    Sample sample = new Sample(in.readUTF(), 0, null, new DataPoint[0]);
+                    results[i] = markAsFailed(v, sample, in.readUTF(), kind == FAIL_ONCE);
+                } else {
+                    throw new IOException("unknown record " + kind); //$NON-NLS-1$
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                PerformanceTestPlugin.logWarning("discarding a record of " + record.fConnection.getName() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+
+        if (!samples.isEmpty()) {
+            long start = System.nanoTime();
+            boolean[] stored = store(variations, samples, calibrations);
+            long nanos = (System.nanoTime() - start) / stored.length;
+            for (int i = 0; i < stored.length; i++) {
+                results[positions.get(i).intValue()] = stored[i];
+                MetricsExporter.sampleStored(nanos, stored[i]);
+            }
+        }
+
+        // acknowledge after the commit, and close the connections that ended
+        Set<Connection> answered = new LinkedHashSet<>();
+        for (int i = 0; i < results.length; i++) {
+            Record record = batch.get(i);
+            answered.add(record.fConnection);
+            if (record.fData != null) {
+                record.fConnection.acknowledge(results[i]);
+            } else {
+                record.fConnection.flush();
+                record.fConnection.close();
+                answered.remove(record.fConnection);
+                synchronized (fConnections) {
+                    fConnections.remove(record.fConnection);
+                }
+            }
+        }
+        for (Connection connection : answered)
+            connection.flush();
+    }
+
+    /**
+     * Stores a batch of samples, on the thread that {@link #run() runs} the server.
+     *
+     * @param variations
+     *            the variations of each sample
+     * @param samples
+     *            the samples
+     * @param calibrations
+     *            the calibration scores of the client of each sample
+     * @return whether each sample was stored
+     */
+    protected boolean[] store(List<Variations> variations, List<Sample> samples, List<Map<String, Double>> calibrations) {
+        return DB.getDefault().internalStoreAll(variations, samples, calibrations);
+    }
+
+    /**
+     * Records a failure, on the thread that {@link #run() runs} the server.
+     *
+     * @param variations
+     *            the variations of the failure
+     * @param sample
+     *            the sample of the failed scenario
+     * @param failMesg
+     *            the reason of the failure
+     * @param once
+     *            whether to skip a failure that is already recorded with the same message, see
+     *            {@link DB#markAsFailedOnce(Variations, Sample, String)}
+     * @return whether the failure was recorded, or already was
+     */
+    protected boolean markAsFailed(Variations variations, Sample sample, String failMesg, boolean once) {
+        return DB.getDefault().internalMarkAsFailed(variations, sample, failMesg, once);
+    }
+
+    /**
+     * Stops accepting connections and makes {@link #run()} return once the records received are stored.
+     */
+    @Override
+    public void close() {
+        fClosed = true;
+        try {
+            fServerSocket.close();
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        }
+    }
+
+    /**
+     * Writes a sample record, without its length.
+     *
+     * @param out
+     *            the stream to write to
+     * @param variations
+     *            used to tag the sample in the database
+     * @param sample
+     *            the sample
+     * @param calibration
+     *            the calibration scores of the client
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    public static void writeStore(DataOutputStream out, Variations variations, Sample sample, Map<String, Double> calibration)
+            throws IOException {
+        out.writeByte(STORE);
+        out.writeUTF(variations.toExactMatchString());
+        out.writeInt(calibration.size());
+        for (Map.Entry<String, Double> score : calibration.entrySet()) {
+            out.writeUTF(score.getKey());
+            out.writeDouble(score.getValue().doubleValue());
+        }
+        SampleCodec.write(out, sample);
+    }
+
+    /**
+     * Writes a failure record, without its length.
+     *
+     * @param out
+     *            the stream to write to
+     * @param variations
+     *            used to tag the failure in the database
+     * @param scenario
+     *            the failed scenario
+     * @param message
+     *            the reason of the failure, or <code>null</code>
+     * @param once
+     *            whether the server skips the failure if it is already recorded with the same message
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    public static void writeFailure(DataOutputStream out, Variations variations, String scenario, String message, boolean once)
+            throws IOException {
+        out.writeByte(once ? FAIL_ONCE : FAIL);
+        out.writeUTF(variations.toExactMatchString());
+        out.writeUTF(scenario);
+        out.writeUTF(message != null ? message : ""); //$NON-NLS-1$
+    }
+
+    public static void main(String[] args) {
+        String host = null;
+        int port = DEFAULT_PORT;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (i + 1 < args.length && "-host".equals(arg)) //$NON-NLS-1$
+                    host = args[++i];
+                else if (i + 1 < args.length && "-port".equals(arg)) //$NON-NLS-1$
+                    port = Integer.parseInt(args[++i]);
+                else if (i + 1 < args.length && "-batch".equals(arg)) //$NON-NLS-1$
+                    batchSize = Integer.parseInt(args[++i]);
+                else
+                    System.err.println("ignoring unknown argument " + arg); //$NON-NLS-1$
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("usage: IngestServer [-host <address>] [-port <port>] [-batch <size>]"); //$NON-NLS-1$
+            return;
+        }
+
+        try (IngestServer server = new IngestServer(host, port, batchSize)) {
+            System.out.println("ingest server listening on port " + server.getPort()); //$NON-NLS-1$
+            server.run();
+        } catch (IOException e) {
+            PerformanceTestPlugin.logError(e.getMessage());
+        } finally {
+            DB.shutdown();
+        }
+    }
+}
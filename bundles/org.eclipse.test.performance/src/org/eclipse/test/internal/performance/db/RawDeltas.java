@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.db;
+
+import java.util.Arrays;
+
+/**
+ * The compact encoding of the measured values of one dimension of a sample, as stored in the SAMPLEDATA table: the
+ * number of values, then the difference of each value to the previous one (the first to 0), all as zigzag encoded
+ * variable length integers. Successive values of a measurement are close, so most take one or two bytes.
+ *
+ * @since 3.14
+ */
+public final class RawDeltas {
+
+    /**
+     * Encodes the values.
+     *
+     * @param values
+     *            the values
+     * @return the encoded values
+     */
+    public static byte[] encode(long[] values) {
+        byte[] bytes = new byte[10 * (values.length + 1)];
+        int length = write(bytes, 0, values.length);
+        long previous = 0;
+        for (long value : values) {
+            long difference = value - previous;
+            length = write(bytes, length, (difference << 1) ^ (difference >> 63));
+            previous = value;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Decodes the values.
+     *
+     * @param bytes
+     *            the encoded values
+     * @return the values
+     * @throws IllegalArgumentException
+     *             if the bytes are no encoded values
+     */
+    public static long[] decode(byte[] bytes) {
+        long[] position = { 0 };
+        long count = read(bytes, position);
+        if (count < 0 || count > bytes.length)
+            throw new IllegalArgumentException("corrupt raw deltas"); //$NON-NLS-1$
+        long[] values = new long[(int) count];
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            long zigzag = read(bytes, position);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static int write(byte[] bytes, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static long read(byte[] bytes, long[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int offset = (int) position[0]++;
+            if (offset >= bytes.length)
+                throw new IllegalArgumentException("corrupt raw deltas"); //$NON-NLS-1$
+            byte b = bytes[offset];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("corrupt raw deltas"); //$NON-NLS-1$
+    }
+
+    private RawDeltas() {
+        // don't instantiate
+    }
+}
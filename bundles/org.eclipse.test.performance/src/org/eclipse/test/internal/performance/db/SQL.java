@@ -20,6 +20,8 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 
+import org.eclipse.test.internal.performance.data.Dim;
+
 /*
  * Any SQL should only be used here.
  */
@@ -35,7 +37,11 @@ public class SQL {
             fQueryScalars;
     private PreparedStatement fInsertSummaryEntry, fUpdateScenarioShortName, fQuerySummaryEntry, fQueryGlobalSummaryEntries,
             fQuerySummaryEntries;
-    private PreparedStatement fInsertFailure, fQueryFailure;
+    private PreparedStatement fInsertFailure, fQueryFailure, fCountFailure;
+    private PreparedStatement fQueryCustomDimension, fQueryCustomDimensionName, fInsertCustomDimension;
+    private PreparedStatement fInsertSampleData, fQuerySampleData, fQueryAllScalars;
+    private PreparedStatement fInsertCalibration, fQueryCalibration;
+    private PreparedStatement fQuerySampleStamps, fQueryFailureStamps;
 
     protected SQL(Connection con) throws SQLException {
         fConnection = con;
@@ -44,6 +50,9 @@ public class SQL {
         boolean needsInitialization = true;
         boolean needsFailures = true;
         boolean needsComments = true;
+        boolean needsCustomDimensions = true;
+        boolean needsSampleData = true;
+        boolean needsCalibration = true;
 
         try (Statement statement = fConnection.createStatement()) {
             try (ResultSet rs = statement.executeQuery("select SYS.SYSTABLES.TABLENAME from SYS.SYSTABLES where SYS.SYSTABLES.TABLENAME not like 'SYS%'")) { //$NON-NLS-1$
@@ -59,6 +68,12 @@ public class SQL {
                         needsFailures = false;
                     else if ("COMMENT".equals(tablename)) //$NON-NLS-1$
                         needsComments = false;
+                    else if ("CUSTOMDIM".equals(tablename)) //$NON-NLS-1$
+                        needsCustomDimensions = false;
+                    else if ("SAMPLEDATA".equals(tablename)) //$NON-NLS-1$
+                        needsSampleData = false;
+                    else if ("CALIBRATION".equals(tablename)) //$NON-NLS-1$
+                        needsCalibration = false;
                 }
             }
             if (!fCompatibility) {
@@ -80,6 +95,12 @@ public class SQL {
                 addFailureTable();
             if (needsComments)
                 addCommentTable();
+            if (needsCustomDimensions)
+                addCustomDimensionTable();
+            if (needsSampleData)
+                addSampleDataTable();
+            if (needsCalibration)
+                addCalibrationTable();
         }
     }
 
@@ -120,10 +141,32 @@ public class SQL {
             fQuerySummaryEntries.close();
         if (fQueryFailure != null)
             fQueryFailure.close();
+        if (fCountFailure != null)
+            fCountFailure.close();
         if (fQueryComment != null)
             fQueryComment.close();
         if (fQueryComment2 != null)
             fQueryComment2.close();
+        if (fQueryCustomDimension != null)
+            fQueryCustomDimension.close();
+        if (fQueryCustomDimensionName != null)
+            fQueryCustomDimensionName.close();
+        if (fInsertCustomDimension != null)
+            fInsertCustomDimension.close();
+        if (fInsertSampleData != null)
+            fInsertSampleData.close();
+        if (fQuerySampleData != null)
+            fQuerySampleData.close();
+        if (fInsertCalibration != null)
+            fInsertCalibration.close();
+        if (fQueryCalibration != null)
+            fQueryCalibration.close();
+        if (fQueryAllScalars != null)
+            fQueryAllScalars.close();
+        if (fQuerySampleStamps != null)
+            fQuerySampleStamps.close();
+        if (fQueryFailureStamps != null)
+            fQueryFailureStamps.close();
     }
 
     private void initialize() throws SQLException {
@@ -179,6 +222,7 @@ public class SQL {
                     "TEXT varchar(400) not null" + //$NON-NLS-1$
                     ")" //$NON-NLS-1$
             );
+            createCustomDimensionTable(stmt);
 
             // Primary/unique
             stmt.executeUpdate("alter table VARIATION add constraint VA_KVP primary key (KEYVALPAIRS)"); //$NON-NLS-1$
@@ -186,6 +230,10 @@ public class SQL {
             stmt.executeUpdate("alter table SAMPLE add constraint SA_ID primary key (ID)"); //$NON-NLS-1$
             stmt.executeUpdate("alter table DATAPOINT add constraint DP_ID primary key (ID)"); //$NON-NLS-1$
 
+            // these reference the primary key of SAMPLE
+            createSampleDataTable(stmt);
+            createCalibrationTable(stmt);
+
             // Foreign
             stmt.executeUpdate("alter table SAMPLE add constraint SAMPLE_CONSTRAINT " + //$NON-NLS-1$
                     "foreign key (VARIATION_ID) references VARIATION (ID)"); //$NON-NLS-1$
@@ -249,6 +297,69 @@ public class SQL {
         }
     }
 
+    private void addCustomDimensionTable() throws SQLException {
+        try (Statement stmt = fConnection.createStatement()) {
+            createCustomDimensionTable(stmt);
+
+            fConnection.commit();
+
+        }
+    }
+
+    private void createCustomDimensionTable(Statement stmt) throws SQLException {
+        // the ids continue where the ids of the dimensions in InternalDimensions end
+        stmt.executeUpdate("create table CUSTOMDIM (" + //$NON-NLS-1$
+                "ID int unique not null GENERATED ALWAYS AS IDENTITY (START WITH " + Dim.FIRST_CUSTOM_ID + ")," + //$NON-NLS-1$ //$NON-NLS-2$
+                "NAME varchar(256) not null," + //$NON-NLS-1$
+                "UNIT varchar(20) not null," + //$NON-NLS-1$
+                "MULTIPLIER int not null" + //$NON-NLS-1$
+                ")" //$NON-NLS-1$
+        );
+        stmt.executeUpdate("alter table CUSTOMDIM add constraint CD_NAME primary key (NAME)"); //$NON-NLS-1$
+    }
+
+    private void addSampleDataTable() throws SQLException {
+        try (Statement stmt = fConnection.createStatement()) {
+            createSampleDataTable(stmt);
+
+            fConnection.commit();
+
+        }
+    }
+
+    private void createSampleDataTable(Statement stmt) throws SQLException {
+        // the measured values of a dimension of a sample, see RawDeltas, or its latency histogram
+        stmt.executeUpdate("create table SAMPLEDATA (" + //$NON-NLS-1$
+                "SAMPLE_ID int not null," + //$NON-NLS-1$
+                "DIM_ID int not null," + //$NON-NLS-1$
+                "DELTAS blob(16M) not null" + //$NON-NLS-1$
+                ")" //$NON-NLS-1$
+        );
+        stmt.executeUpdate("alter table SAMPLEDATA add constraint SD_CONSTRAINT " + //$NON-NLS-1$
+                "foreign key (SAMPLE_ID) references SAMPLE (ID)"); //$NON-NLS-1$
+    }
+
+    private void addCalibrationTable() throws SQLException {
+        try (Statement stmt = fConnection.createStatement()) {
+            createCalibrationTable(stmt);
+
+            fConnection.commit();
+
+        }
+    }
+
+    private void createCalibrationTable(Statement stmt) throws SQLException {
+        // the scores of the machine that measured a sample, see MachineCalibration
+        stmt.executeUpdate("create table CALIBRATION (" + //$NON-NLS-1$
+                "SAMPLE_ID int not null," + //$NON-NLS-1$
+                "NAME varchar(32) not null," + //$NON-NLS-1$
+                "SCORE double not null" + //$NON-NLS-1$
+                ")" //$NON-NLS-1$
+        );
+        stmt.executeUpdate("alter table CALIBRATION add constraint CA_CONSTRAINT " + //$NON-NLS-1$
+                "foreign key (SAMPLE_ID) references SAMPLE (ID)"); //$NON-NLS-1$
+    }
+
     private void addFailureTable() throws SQLException {
         try (Statement stmt = fConnection.createStatement();){
             stmt.executeUpdate("create table FAILURE (" + //$NON-NLS-1$
@@ -296,6 +407,36 @@ public class SQL {
         return create(fInsertScenario);
     }
 
+    /*
+     * Returns the id of the custom dimension, creating it if needed.
+     */
+    int getCustomDimension(String name, String unit, int multiplier) throws SQLException {
+        if (fQueryCustomDimension == null)
+            fQueryCustomDimension = fConnection.prepareStatement("select ID from CUSTOMDIM where NAME = ?"); //$NON-NLS-1$
+        fQueryCustomDimension.setString(1, name);
+        try (ResultSet result = fQueryCustomDimension.executeQuery()) {
+            while (result.next())
+                return result.getInt(1);
+        }
+        if (fInsertCustomDimension == null)
+            fInsertCustomDimension = fConnection.prepareStatement(
+                    "insert into CUSTOMDIM (NAME, UNIT, MULTIPLIER) values (?, ?, ?)", Statement.RETURN_GENERATED_KEYS); //$NON-NLS-1$
+        fInsertCustomDimension.setString(1, name);
+        fInsertCustomDimension.setString(2, unit);
+        fInsertCustomDimension.setInt(3, multiplier);
+        return create(fInsertCustomDimension);
+    }
+
+    /*
+     * Returns CUSTOMDIM.NAME, CUSTOMDIM.UNIT, CUSTOMDIM.MULTIPLIER
+     */
+    ResultSet queryCustomDimension(int id) throws SQLException {
+        if (fQueryCustomDimensionName == null)
+            fQueryCustomDimensionName = fConnection.prepareStatement("select NAME, UNIT, MULTIPLIER from CUSTOMDIM where ID = ?"); //$NON-NLS-1$
+        fQueryCustomDimensionName.setInt(1, id);
+        return fQueryCustomDimensionName.executeQuery();
+    }
+
     int getVariations(Variations variations) throws SQLException {
         if (fQueryVariation == null)
             fQueryVariation = fConnection.prepareStatement("select ID from VARIATION where KEYVALPAIRS = ?"); //$NON-NLS-1$
@@ -351,6 +492,59 @@ public class SQL {
         fInsertScalar.executeUpdate();
     }
 
+    void insertSampleData(int sample_id, int dim_id, byte[] deltas) throws SQLException {
+        if (fInsertSampleData == null)
+            fInsertSampleData = fConnection.prepareStatement("insert into SAMPLEDATA values (?, ?, ?)"); //$NON-NLS-1$
+        fInsertSampleData.setInt(1, sample_id);
+        fInsertSampleData.setInt(2, dim_id);
+        fInsertSampleData.setBytes(3, deltas);
+        fInsertSampleData.executeUpdate();
+    }
+
+    void insertCalibration(int sample_id, String name, double score) throws SQLException {
+        if (fInsertCalibration == null)
+            fInsertCalibration = fConnection.prepareStatement("insert into CALIBRATION values (?, ?, ?)"); //$NON-NLS-1$
+        fInsertCalibration.setInt(1, sample_id);
+        fInsertCalibration.setString(2, name);
+        fInsertCalibration.setDouble(3, score);
+        fInsertCalibration.executeUpdate();
+    }
+
+    /*
+     * Returns CALIBRATION.NAME, CALIBRATION.SCORE
+     */
+    ResultSet queryCalibration(Variations variations, String scenarioName) throws SQLException {
+        if (fQueryCalibration == null)
+            fQueryCalibration = fConnection
+                    .prepareStatement("select CALIBRATION.NAME, CALIBRATION.SCORE from VARIATION, SCENARIO, SAMPLE, CALIBRATION " + //$NON-NLS-1$
+                            "where " + //$NON-NLS-1$
+                            "SAMPLE.VARIATION_ID = VARIATION.ID and VARIATION.KEYVALPAIRS = ? and " + //$NON-NLS-1$
+                            "SAMPLE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME LIKE ? and " + //$NON-NLS-1$
+                            "CALIBRATION.SAMPLE_ID = SAMPLE.ID" //$NON-NLS-1$
+                    );
+        fQueryCalibration.setString(1, variations.toExactMatchString());
+        fQueryCalibration.setString(2, scenarioName);
+        return fQueryCalibration.executeQuery();
+    }
+
+    /*
+     * Returns SAMPLEDATA.DELTAS
+     */
+    ResultSet querySampleData(Variations variations, String scenarioName, int dim_id) throws SQLException {
+        if (fQuerySampleData == null)
+            fQuerySampleData = fConnection
+                    .prepareStatement("select SAMPLEDATA.DELTAS from VARIATION, SCENARIO, SAMPLE, SAMPLEDATA " + //$NON-NLS-1$
+                            "where " + //$NON-NLS-1$
+                            "SAMPLE.VARIATION_ID = VARIATION.ID and VARIATION.KEYVALPAIRS = ? and " + //$NON-NLS-1$
+                            "SAMPLE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME LIKE ? and " + //$NON-NLS-1$
+                            "SAMPLEDATA.SAMPLE_ID = SAMPLE.ID and SAMPLEDATA.DIM_ID = ?" //$NON-NLS-1$
+                    );
+        fQuerySampleData.setString(1, variations.toExactMatchString());
+        fQuerySampleData.setString(2, scenarioName);
+        fQuerySampleData.setInt(3, dim_id);
+        return fQuerySampleData.executeQuery();
+    }
+
     ResultSet queryDataPoints(Variations variations, String scenarioName) throws SQLException {
         if (fQueryDatapoints == null)
             fQueryDatapoints = fConnection
@@ -365,6 +559,25 @@ public class SQL {
         return fQueryDatapoints.executeQuery();
     }
 
+    /*
+     * Returns SCENARIO.NAME, DATAPOINT.ID, DATAPOINT.STEP, SCALAR.DIM_ID, SCALAR.VALUE of all scenarios, ordered by
+     * scenario and data point
+     */
+    ResultSet queryAllScalars(Variations variations, String scenarioPattern) throws SQLException {
+        if (fQueryAllScalars == null)
+            fQueryAllScalars = fConnection.prepareStatement(
+                    "select SCENARIO.NAME, DATAPOINT.ID, DATAPOINT.STEP, SCALAR.DIM_ID, SCALAR.VALUE from VARIATION, SCENARIO, SAMPLE, DATAPOINT, SCALAR " + //$NON-NLS-1$
+                            "where " + //$NON-NLS-1$
+                            "SAMPLE.VARIATION_ID = VARIATION.ID and VARIATION.KEYVALPAIRS = ? and " + //$NON-NLS-1$
+                            "SAMPLE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME LIKE ? and " + //$NON-NLS-1$
+                            "DATAPOINT.SAMPLE_ID = SAMPLE.ID and SCALAR.DATAPOINT_ID = DATAPOINT.ID " + //$NON-NLS-1$
+                            "order by SCENARIO.NAME, DATAPOINT.ID" //$NON-NLS-1$
+                    );
+        fQueryAllScalars.setString(1, variations.toExactMatchString());
+        fQueryAllScalars.setString(2, scenarioPattern);
+        return fQueryAllScalars.executeQuery();
+    }
+
     ResultSet queryScalars(int datapointId) throws SQLException {
         if (fQueryScalars == null)
             fQueryScalars = fConnection
@@ -388,6 +601,38 @@ public class SQL {
         return fQueryAllScenarios.executeQuery();
     }
 
+    /*
+     * Returns VARIATION.KEYVALPAIRS, SCENARIO.NAME, the number of samples and the largest SAMPLE.ID of each pair
+     */
+    ResultSet querySampleStamps(Variations variations, String scenarioPattern) throws SQLException {
+        if (fQuerySampleStamps == null)
+            fQuerySampleStamps = fConnection
+                    .prepareStatement("select VARIATION.KEYVALPAIRS, SCENARIO.NAME, count(SAMPLE.ID), max(SAMPLE.ID) from VARIATION, SCENARIO, SAMPLE where " + //$NON-NLS-1$
+                            "SAMPLE.VARIATION_ID = VARIATION.ID and VARIATION.KEYVALPAIRS LIKE ? and " + //$NON-NLS-1$
+                            "SAMPLE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME LIKE ? " + //$NON-NLS-1$
+                            "group by VARIATION.KEYVALPAIRS, SCENARIO.NAME" //$NON-NLS-1$
+                    );
+        fQuerySampleStamps.setString(1, variations.toQueryPattern());
+        fQuerySampleStamps.setString(2, scenarioPattern);
+        return fQuerySampleStamps.executeQuery();
+    }
+
+    /*
+     * Returns VARIATION.KEYVALPAIRS, SCENARIO.NAME and the number of failures of each pair
+     */
+    ResultSet queryFailureStamps(Variations variations, String scenarioPattern) throws SQLException {
+        if (fQueryFailureStamps == null)
+            fQueryFailureStamps = fConnection
+                    .prepareStatement("select VARIATION.KEYVALPAIRS, SCENARIO.NAME, count(*) from VARIATION, SCENARIO, FAILURE where " + //$NON-NLS-1$
+                            "FAILURE.VARIATION_ID = VARIATION.ID and VARIATION.KEYVALPAIRS LIKE ? and " + //$NON-NLS-1$
+                            "FAILURE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME LIKE ? " + //$NON-NLS-1$
+                            "group by VARIATION.KEYVALPAIRS, SCENARIO.NAME" //$NON-NLS-1$
+                    );
+        fQueryFailureStamps.setString(1, variations.toQueryPattern());
+        fQueryFailureStamps.setString(2, scenarioPattern);
+        return fQueryFailureStamps.executeQuery();
+    }
+
     /*
      * Returns VARIATION.KEYVALPAIRS
      */
@@ -477,6 +722,18 @@ public class SQL {
         fInsertFailure.executeUpdate();
     }
 
+    boolean hasFailure(int variation_id, int scenario_id, String message) throws SQLException {
+        if (fCountFailure == null)
+            fCountFailure = fConnection.prepareStatement(
+                    "select count(*) from FAILURE where VARIATION_ID = ? and SCENARIO_ID = ? and MESSAGE = ?"); //$NON-NLS-1$
+        fCountFailure.setInt(1, variation_id);
+        fCountFailure.setInt(2, scenario_id);
+        fCountFailure.setString(3, message);
+        try (ResultSet result = fCountFailure.executeQuery()) {
+            return result.next() && result.getInt(1) > 0;
+        }
+    }
+
     public ResultSet queryFailure(Variations variations, String scenarioPattern) throws SQLException {
         if (fQueryFailure == null)
             fQueryFailure = fConnection
@@ -0,0 +1,308 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.db;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.LatencyHistogram;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
+import org.eclipse.test.internal.performance.data.Unit;
+import org.eclipse.test.performance.Dimension;
+
+/**
+ * The binary encoding of samples that a process sends to another one, e.g. a forked test JVM to the JVM that stores its
+ * samples. A stream is a sequence of records, each starting with a tag: a sample with its histogram, if any, or the end
+ * of the stream with an exit status. Custom dimensions are sent by name, since their ids are only valid in the database
+ * of the receiver. Reading a sample does not access the database, so samples can be read on any thread; the thread that
+ * stores them has to {@link #resolveCustomDimensions(Sample) resolve} the custom dimensions that were not yet defined.
+ *
+ * @since 3.14
+ */
+public final class SampleCodec {
+
+    private static final int MAGIC      = 0x45505331; // "EPS1"
+    private static final int TAG_SAMPLE = 1;
+    private static final int TAG_END    = 2;
+
+    /**
+     * Writes the sample.
+     *
+     * @param out
+     *            the stream
+     * @param sample
+     *            the sample
+     * @throws IOException
+     *             if writing fails
+     */
+    public static void write(DataOutputStream out, Sample sample) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(TAG_SAMPLE);
+        out.writeUTF(sample.getScenarioID());
+        out.writeLong(sample.getStartTime());
+
+        String[] keys = sample.getPropertyKeys();
+        out.writeInt(keys.length);
+        for (String key : keys) {
+            out.writeUTF(key);
+            writeString(out, sample.getProperty(key));
+        }
+
+        out.writeBoolean(sample.isSummary());
+        out.writeBoolean(sample.isGlobal());
+        writeString(out, sample.getShortname());
+        Dimension[] summaryDimensions = sample.getSummaryDimensions();
+        out.writeInt(summaryDimensions != null ? summaryDimensions.length : -1);
+        if (summaryDimensions != null) {
+            for (Dimension dimension : summaryDimensions)
+                writeDimension(out, (Dim) dimension);
+        }
+        out.writeInt(sample.getCommentType());
+        writeString(out, sample.getComment());
+
+        DataPoint[] dataPoints = sample.getDataPoints();
+        out.writeInt(dataPoints.length);
+        for (DataPoint dataPoint : dataPoints) {
+            out.writeInt(dataPoint.getStep());
+            Scalar[] scalars = dataPoint.getScalars();
+            out.writeInt(scalars.length);
+            for (Scalar scalar : scalars) {
+                writeDimension(out, scalar.getDimension());
+                out.writeLong(scalar.getMagnitude());
+            }
+        }
+
+        LatencyHistogram histogram = sample.getHistogram();
+        out.writeBoolean(histogram != null);
+        if (histogram != null) {
+            long[] array = histogram.toArray();
+            out.writeInt(array.length);
+            for (long value : array)
+                out.writeLong(value);
+        }
+    }
+
+    /**
+     * Writes the end of the stream.
+     *
+     * @param out
+     *            the stream
+     * @param status
+     *            the exit status, 0 for success
+     * @throws IOException
+     *             if writing fails
+     */
+    public static void writeEnd(DataOutputStream out, int status) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(TAG_END);
+        out.writeInt(status);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @param in
+     *            the stream
+     * @param status
+     *            receives the exit status in its first element when the end of the stream is read
+     * @return the sample, or <code>null</code> at the end of the stream
+     * @throws IOException
+     *             if reading fails, the stream ends without an end record, or is not a stream of samples
+     */
+    public static Sample read(DataInputStream in, int[] status) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("not a stream of samples"); //$NON-NLS-1$
+        int tag = in.readByte();
+        if (tag == TAG_END) {
+            status[0] = in.readInt();
+            return null;
+        }
+        if (tag != TAG_SAMPLE)
+            throw new IOException("unknown record " + tag); //$NON-NLS-1$
+
+        String scenarioID = in.readUTF();
+        long startTime = in.readLong();
+
+        int count = in.readInt();
+        Map<String, String> properties = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            properties.put(key, readString(in));
+        }
+
+        boolean isSummary = in.readBoolean();
+        boolean isGlobal = in.readBoolean();
+        String shortName = readString(in);
+        count = in.readInt();
+        Map<String, Dim> customDimensions = new HashMap<>();
+        Dimension[] summaryDimensions = null;
+        if (count >= 0) {
+            summaryDimensions = new Dimension[count];
+            for (int i = 0; i < count; i++)
+                summaryDimensions[i] = readDimension(in, customDimensions);
+        } else if (count != -1) {
+            throw new IOException("bad summary dimension count " + count); //$NON-NLS-1$
+        }
+        int commentType = in.readInt();
+        String comment = readString(in);
+
+        DataPoint[] dataPoints = new DataPoint[in.readInt()];
+        for (int i = 0; i < dataPoints.length; i++) {
+            int step = in.readInt();
+            count = in.readInt();
+            Map<Dim, Scalar> scalars = new HashMap<>();
+            for (int j = 0; j < count; j++) {
+                Dim dimension = readDimension(in, customDimensions);
+                long magnitude = in.readLong();
+                if (dimension != null)
+                    scalars.put(dimension, new Scalar(dimension, magnitude));
+            }
+            dataPoints[i] = new DataPoint(step, scalars);
+        }
+
+        LatencyHistogram histogram = null;
+        if (in.readBoolean()) {
+            long[] array = new long[in.readInt()];
+            for (int i = 0; i < array.length; i++)
+                array[i] = in.readLong();
+            try {
+                histogram = LatencyHistogram.fromArray(array);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(e.getMessage());
+            }
+        }
+
+        Sample sample = new Sample(scenarioID, startTime, properties, dataPoints);
+        sample.setHistogram(histogram);
+        if (isSummary)
+            sample.tagAsSummary(isGlobal, shortName, summaryDimensions, commentType, comment);
+        else if (comment != null)
+            sample.setComment(commentType, comment);
+        return sample;
+    }
+
+    /**
+     * Replaces the unresolved custom dimensions of a sample that has been read by the dimensions of the database, which
+     * defines them if necessary. Since the database connection is shared, this has to be called on the thread that stores
+     * the sample.
+     *
+     * @param sample
+     *            the sample that has been read
+     * @return the sample, or a copy with resolved dimensions
+     * @see Dim#isResolved()
+     */
+    public static Sample resolveCustomDimensions(Sample sample) {
+        Map<Dim, Dim> resolved = new HashMap<>();
+        DataPoint[] dataPoints = sample.getDataPoints();
+        DataPoint[] resolvedDataPoints = null;
+        for (int i = 0; i < dataPoints.length; i++) {
+            Scalar[] scalars = dataPoints[i].getScalars();
+            Map<Dim, Scalar> resolvedScalars = null;
+            for (Scalar scalar : scalars) {
+                if (!scalar.getDimension().isResolved()) {
+                    resolvedScalars = new HashMap<>();
+                    break;
+                }
+            }
+            if (resolvedScalars == null)
+                continue;
+            for (Scalar scalar : scalars) {
+                Dim dimension = resolveDimension(scalar.getDimension(), resolved);
+                resolvedScalars.put(dimension, new Scalar(dimension, scalar.getMagnitude()));
+            }
+            if (resolvedDataPoints == null)
+                resolvedDataPoints = dataPoints.clone();
+            resolvedDataPoints[i] = new DataPoint(dataPoints[i].getStep(), resolvedScalars);
+        }
+
+        Dimension[] summaryDimensions = sample.getSummaryDimensions();
+        Dimension[] resolvedSummaryDimensions = null;
+        if (summaryDimensions != null) {
+            for (int i = 0; i < summaryDimensions.length; i++) {
+                Dim dimension = (Dim) summaryDimensions[i];
+                if (!dimension.isResolved()) {
+                    if (resolvedSummaryDimensions == null)
+                        resolvedSummaryDimensions = summaryDimensions.clone();
+                    resolvedSummaryDimensions[i] = resolveDimension(dimension, resolved);
+                }
+            }
+        }
+
+        if (resolvedDataPoints == null && resolvedSummaryDimensions == null)
+            return sample;
+        Sample copy = new Sample(sample, resolvedDataPoints != null ? resolvedDataPoints : dataPoints);
+        if (resolvedSummaryDimensions != null)
+            copy.tagAsSummary(sample.isGlobal(), sample.getShortname(), resolvedSummaryDimensions, sample.getCommentType(),
+                    sample.getComment());
+        return copy;
+    }
+
+    private static Dim resolveDimension(Dim dimension, Map<Dim, Dim> resolved) {
+        if (dimension.isResolved())
+            return dimension;
+        Dim resolvedDimension = resolved.get(dimension);
+        if (resolvedDimension == null) {
+            resolvedDimension = DB.getCustomDimension(dimension.getName(), dimension.getUnit(), dimension.getMultiplier());
+            resolved.put(dimension, resolvedDimension);
+        }
+        return resolvedDimension;
+    }
+
+    private static void writeDimension(DataOutputStream out, Dim dimension) throws IOException {
+        out.writeInt(dimension.getId());
+        out.writeBoolean(dimension.isCustom());
+        if (dimension.isCustom()) {
+            out.writeUTF(dimension.getName());
+            out.writeUTF(dimension.getUnit().getShortName());
+            out.writeInt(dimension.getMultiplier());
+        }
+    }
+
+    private static Dim readDimension(DataInputStream in, Map<String, Dim> customDimensions) throws IOException {
+        int id = in.readInt();
+        if (!in.readBoolean())
+            return Dim.getDimension(id);
+        String name = in.readUTF();
+        Unit unit = Unit.getUnit(in.readUTF());
+        int multiplier = in.readInt();
+        // the ids are assigned by the database, which is only accessed when the sample is resolved
+        Dim dimension = Dim.getCustomDimension(name);
+        if (dimension == null)
+            dimension = customDimensions.get(name);
+        if (dimension == null) {
+            dimension = Dim.createUnresolvedCustomDimension(name, unit, multiplier);
+            customDimensions.put(name, dimension);
+        }
+        return dimension;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null)
+            out.writeUTF(s);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private SampleCodec() {
+        // don't instantiate
+    }
+}
@@ -17,11 +17,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.test.internal.performance.MachineCalibration;
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Unit;
 import org.eclipse.test.internal.performance.eval.StatisticsSession;
 import org.junit.Assert;
 
@@ -80,6 +83,8 @@ public class Scenario {
     private String[]            fSeriesNames;
     private StatisticsSession[] fSessions;
     private Map<Dim, TimeSeries>                 fSeries = new HashMap<>();
+    private Map<Dim, TimeSeries>                 fNormalizedSeries = new HashMap<>();
+    private List<Map<String, Double>> fCalibrations;
     private Dim[]               fDimensions;
 
     /**
@@ -147,6 +152,49 @@ public class Scenario {
         return ts;
     }
 
+    /**
+     * Returns the time series of a dimension in normalized units, so that samples measured on machines of different
+     * speed can be compared: the values of time dimensions are divided by the
+     * {@link MachineCalibration#getSpeedFactor(Map, Map) speed factor} of the machine that measured each value relative to
+     * the machine that measured the first calibrated value. Other dimensions, and values whose calibration has no score in
+     * common with the reference, are not scaled.
+     *
+     * @param dim
+     *            the dimension
+     * @return the normalized time series
+     * @since 3.14
+     */
+    public TimeSeries getNormalizedTimeSeries(Dim dim) {
+        if (dim.getUnit() != Unit.SECOND)
+            return getTimeSeries(dim);
+        TimeSeries ts = fNormalizedSeries.get(dim);
+        if (ts == null) {
+            loadCalibrations();
+            TimeSeries raw = getTimeSeries(dim);
+            Map<String, Double> reference = null;
+            for (int i = 0; i < fCalibrations.size() && reference == null; i++) {
+                if (!fCalibrations.get(i).isEmpty())
+                    reference = fCalibrations.get(i);
+            }
+            int n = raw.getLength();
+            String[] labels = new String[n];
+            double[] ds = new double[n];
+            double[] sd = new double[n];
+            long[] sizes = new long[n];
+            for (int i = 0; i < n; i++) {
+                double speedFactor = MachineCalibration.getSpeedFactor(fCalibrations.get(i), reference);
+                double scale = Double.isNaN(speedFactor) ? 1 : 1 / speedFactor;
+                labels[i] = raw.getLabel(i);
+                ds[i] = raw.getValue(i) * scale;
+                sd[i] = raw.getStddev(i) * scale;
+                sizes[i] = raw.getCount(i);
+            }
+            ts = new TimeSeries(labels, ds, sd, sizes);
+            fNormalizedSeries.put(dim, ts);
+        }
+        return ts;
+    }
+
     public void dump(PrintStream ps, String key) {
         ps.println("Scenario: " + getScenarioName()); //$NON-NLS-1$
         Report r = new Report(2);
@@ -189,6 +237,18 @@ public class Scenario {
         }
     }
 
+    private void loadCalibrations() {
+        if (fCalibrations != null)
+            return;
+        loadSessions();
+        Variations v = (Variations) fSharedState.fVariations.clone();
+        fCalibrations = new ArrayList<>();
+        for (String seriesName : fSeriesNames) {
+            v.put(fSharedState.fSeriesKey, seriesName);
+            fCalibrations.add(DB.queryCalibration(v, fScenarioName));
+        }
+    }
+
     private void loadSessions() {
         if (fSessions != null)
             return;
@@ -43,6 +43,29 @@ public abstract class AssertChecker {
         return getDimensions()[0];
     }
 
+    /**
+     * Returns whether the checker compares the measured values of the sessions, see
+     * {@link StatisticsSession#getValues(Dim)}, rather than only their statistics. The values of aggregated data are
+     * then loaded for it.
+     * 
+     * @return <code>true</code> if the checker needs the measured values
+     * @since 3.14
+     */
+    public boolean needsValues() {
+        return false;
+    }
+
+    /**
+     * Returns whether the checker compares the latency histograms of the sessions, see
+     * {@link StatisticsSession#getHistogram()}. The histograms stored with the samples are then loaded for it.
+     * 
+     * @return <code>true</code> if the checker needs the histograms
+     * @since 3.14
+     */
+    public boolean needsHistograms() {
+        return false;
+    }
+
     /**
      * Evaluates the predicate.
      * 
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.db.Variations;
+
+/**
+ * Evaluates all scenarios of a finished build against a reference build, like {@link Evaluator} does for a single
+ * scenario in a running test, so that a build can be checked against another baseline without running the tests again.
+ * <p>
+ * The data points of all scenarios of both builds are loaded with one query each, and the raw deltas that checkers may
+ * need scenario by scenario, all on the calling thread since the database connection is shared. The checkers then run
+ * in parallel on a fork-join pool, and the failures are recorded in the database like {@link Evaluator} records them.
+ * A failure that is already recorded with the same message is not recorded again, so a build can be evaluated again.
+ * </p>
+ * <p>
+ * As an application:
+ * </p>
+ *
+ * <pre>
+ * BatchEvaluator -config "config=perf1;jvm=sun" -build I20260101 -reference R4_30 [-scenarios pattern] [-output summary.json]
+ * </pre>
+ *
+ * writes a JSON summary of the evaluation; the checkers are selected by
+ * {@link PerformanceTestPlugin#ECLIPSE_PERF_ASSERT_STRATEGY}.
+ *
+ * @since 3.14
+ */
+public class BatchEvaluator {
+
+    /**
+     * The evaluation of one scenario.
+     */
+    public static final class Result {
+
+        private final String fScenario;
+        private final String fMessage;
+
+        Result(String scenario, String message) {
+            fScenario = scenario;
+            fMessage = message;
+        }
+
+        /**
+         * @return the name of the scenario
+         */
+        public String getScenario() {
+            return fScenario;
+        }
+
+        /**
+         * @return whether the scenario passed all checkers
+         */
+        public boolean isPassed() {
+            return fMessage == null;
+        }
+
+        /**
+         * @return the failure message, or <code>null</code> if the scenario passed
+         */
+        public String getMessage() {
+            return fMessage;
+        }
+    }
+
+    private final AssertChecker[] fCheckers;
+    private final ForkJoinPool    fPool;
+    private int                   fMissing;
+
+    /**
+     * @param checkers
+     *            the checkers
+     * @param pool
+     *            the pool that runs the checkers
+     */
+    public BatchEvaluator(AssertChecker[] checkers, ForkJoinPool pool) {
+        fCheckers = checkers;
+        fPool = pool;
+    }
+
+    /**
+     * Evaluates all scenarios measured with the given variations against the reference, and records the failures.
+     *
+     * @param variations
+     *            the variations of the build to evaluate
+     * @param reference
+     *            the variations of the reference build
+     * @param scenarioPattern
+     *            the pattern of the scenarios to evaluate
+     * @return the results of the scenarios that have data for both builds, in the order of the scenario names
+     */
+    public List<Result> evaluate(Variations variations, Variations reference, String scenarioPattern) {
+        Set<Dim> allDimensions = new HashSet<>();
+        boolean needsValues = false;
+        for (AssertChecker chk : fCheckers) {
+            for (Dim dim : chk.getDimensions())
+                allDimensions.add(dim);
+            needsValues |= chk.needsValues();
+        }
+
+        List<Result> results = new ArrayList<>();
+        fMissing = 0;
+        Map<String, DataPoint[]> measuredData = DB.queryAllDataPoints(variations, scenarioPattern, allDimensions);
+        Map<String, DataPoint[]> referenceData = DB.queryAllDataPoints(reference, scenarioPattern, allDimensions);
+        if (measuredData == null || referenceData == null)
+            return results;
+
+        String header = "Performance criteria not met when compared to '" + reference + "':"; //$NON-NLS-1$ //$NON-NLS-2$
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>();
+        for (Map.Entry<String, DataPoint[]> entry : measuredData.entrySet()) {
+            String scenario = entry.getKey();
+            DataPoint[] referencePoints = referenceData.get(scenario);
+            if (referencePoints == null) {
+                fMissing++;
+                continue;
+            }
+            StatisticsSession referenceStats = new StatisticsSession(referencePoints);
+            StatisticsSession measuredStats = new StatisticsSession(entry.getValue());
+            if (needsValues)
+                setValues(referenceStats, reference, measuredStats, variations, scenario);
+            tasks.add(fPool.submit(() -> {
+                StringBuffer failMesg = new StringBuffer(header);
+                boolean pass = true;
+                for (AssertChecker chk : fCheckers)
+                    pass &= chk.test(referenceStats, measuredStats, failMesg);
+                return new Result(scenario, pass ? null : failMesg.toString());
+            }));
+        }
+
+        for (ForkJoinTask<Result> task : tasks) {
+            Result result = task.join();
+            results.add(result);
+            if (!result.isPassed())
+                DB.markAsFailedOnce(variations, new Sample(result.getScenario(), 0, null, new DataPoint[0]), result.getMessage());
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of scenarios of the last evaluation without reference data
+     */
+    public int getMissingReferences() {
+        return fMissing;
+    }
+
+    private void setValues(StatisticsSession referenceStats, Variations reference, StatisticsSession measuredStats,
+            Variations variations, String scenario) {
+        for (AssertChecker chk : fCheckers) {
+            if (!chk.needsValues())
+                continue;
+            for (Dim dim : chk.getDimensions()) {
+                setValues(referenceStats, reference, scenario, dim);
+                setValues(measuredStats, variations, scenario, dim);
+            }
+        }
+    }
+
+    private static void setValues(StatisticsSession stats, Variations variations, String scenario, Dim dim) {
+        long[] values = DB.queryRawDeltas(variations, scenario, dim);
+        if (values != null)
+            stats.setValues(dim, values);
+        // the stored elapsed times include the GC pauses
+        long[] pauses = StatisticsSession.excludesGcPauses(dim)
+                ? DB.queryRawDeltas(variations, scenario, InternalDimensions.GC_PAUSE_TIME) : null;
+        if (pauses != null)
+            stats.setValues(InternalDimensions.GC_PAUSE_TIME, pauses);
+    }
+
+    /**
+     * Writes the results as a JSON object.
+     *
+     * @param ps
+     *            the stream to write to
+     * @param variations
+     *            the variations of the evaluated build
+     * @param reference
+     *            the variations of the reference build
+     * @param results
+     *            the results
+     * @param millis
+     *            the duration of the evaluation
+     */
+    public void writeSummary(PrintStream ps, Variations variations, Variations reference, List<Result> results, long millis) {
+        int failed = 0;
+        for (Result result : results) {
+            if (!result.isPassed())
+                failed++;
+        }
+        ps.println('{');
+        ps.println("  \"variations\": " + quote(variations.toExactMatchString()) + ','); //$NON-NLS-1$
+        ps.println("  \"reference\": " + quote(reference.toExactMatchString()) + ','); //$NON-NLS-1$
+        ps.println("  \"evaluated\": " + results.size() + ','); //$NON-NLS-1$
+        ps.println("  \"failed\": " + failed + ','); //$NON-NLS-1$
+        ps.println("  \"missingReference\": " + fMissing + ','); //$NON-NLS-1$
+        ps.println("  \"millis\": " + millis + ','); //$NON-NLS-1$
+        ps.print("  \"failures\": ["); //$NON-NLS-1$
+        String separator = "\n"; //$NON-NLS-1$
+        for (Result result : results) {
+            if (result.isPassed())
+                continue;
+            ps.print(separator + "    { \"scenario\": " + quote(result.getScenario()) + ", \"message\": " //$NON-NLS-1$ //$NON-NLS-2$
+                    + quote(result.getMessage()) + " }"); //$NON-NLS-1$
+            separator = ",\n"; //$NON-NLS-1$
+        }
+        ps.println(failed > 0 ? "\n  ]" : "]"); //$NON-NLS-1$ //$NON-NLS-2$
+        ps.println('}');
+        ps.flush();
+    }
+
+    static String quote(String s) {
+        StringBuffer buffer = new StringBuffer(s.length() + 2);
+        buffer.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                case '\\':
+                    buffer.append('\\').append(c);
+                    break;
+                case '\n':
+                    buffer.append("\\n"); //$NON-NLS-1$
+                    break;
+                case '\r':
+                    buffer.append("\\r"); //$NON-NLS-1$
+                    break;
+                case '\t':
+                    buffer.append("\\t"); //$NON-NLS-1$
+                    break;
+                default:
+                    if (c < 0x20)
+                        buffer.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+                    else
+                        buffer.append(c);
+            }
+        }
+        return buffer.append('"').toString();
+    }
+
+    public static void main(String[] args) {
+        String config = null, build = null, referenceBuild = null, output = null;
+        String scenarioPattern = "%"; //$NON-NLS-1$
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String arg = args[i];
+            String value = args[i + 1];
+            if ("-config".equals(arg)) //$NON-NLS-1$
+                config = value;
+            else if ("-build".equals(arg)) //$NON-NLS-1$
+                build = value;
+            else if ("-reference".equals(arg)) //$NON-NLS-1$
+                referenceBuild = value;
+            else if ("-scenarios".equals(arg)) //$NON-NLS-1$
+                scenarioPattern = value;
+            else if ("-output".equals(arg)) //$NON-NLS-1$
+                output = value;
+            else
+                System.err.println("ignoring unknown argument " + arg); //$NON-NLS-1$
+        }
+        if (build == null || referenceBuild == null) {
+            System.err.println("usage: BatchEvaluator [-config <key=value;...>] -build <build> -reference <build> [-scenarios <pattern>] [-output <file>]"); //$NON-NLS-1$
+            return;
+        }
+
+        Variations variations = config != null ? new Variations(config) : PerformanceTestPlugin.getVariations();
+        Variations reference = (Variations) variations.clone();
+        variations.put(PerformanceTestPlugin.BUILD, build);
+        reference.put(PerformanceTestPlugin.BUILD, referenceBuild);
+
+        long start = System.currentTimeMillis();
+        BatchEvaluator evaluator = new BatchEvaluator(Evaluator.getDefaultCheckers(), ForkJoinPool.commonPool());
+        List<Result> results = evaluator.evaluate(variations, reference, scenarioPattern);
+        long millis = System.currentTimeMillis() - start;
+
+        if (output == null) {
+            evaluator.writeSummary(System.out, variations, reference, results, millis);
+            return;
+        }
+        try (PrintStream ps = new PrintStream(new FileOutputStream(output), false, "UTF-8")) { //$NON-NLS-1$
+            evaluator.writeSummary(ps, variations, reference, results, millis);
+        } catch (IOException e) {
+            PerformanceTestPlugin.log(e);
+        }
+    }
+}
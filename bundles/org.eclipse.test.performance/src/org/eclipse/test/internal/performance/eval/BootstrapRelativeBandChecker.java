@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Dim;
+
+/**
+ * Like {@link RelativeBandChecker}, but only fails if the whole 95% bootstrap confidence interval of the ratio of the
+ * measured to the reference mean is outside of the band, and a permutation test confirms that the means differ. Neither
+ * assumes normally distributed values.
+ * <p>
+ * Both reference and measured data must have measured values, see {@link StatisticsSession#getValues(Dim)}; otherwise
+ * the averages are compared like {@link RelativeBandChecker} does.
+ * </p>
+ *
+ * @since 3.14
+ */
+public class BootstrapRelativeBandChecker extends AssertChecker {
+
+    /** The highest p-value of the permutation test that counts as a difference. */
+    public static final double SIGNIFICANCE = 0.05;
+
+    private final double       fLowerBand;
+    private final double       fUpperBand;
+    private final Resampler    fResampler;
+
+    public BootstrapRelativeBandChecker(Dim dimension, double lowerBand, double upperBand) {
+        this(dimension, lowerBand, upperBand, new Resampler());
+    }
+
+    /**
+     * @param dimension
+     *            the dimension to check
+     * @param lowerBand
+     *            the lowest allowed ratio of the measured to the reference mean
+     * @param upperBand
+     *            the highest allowed ratio of the measured to the reference mean
+     * @param resampler
+     *            the resampler
+     */
+    public BootstrapRelativeBandChecker(Dim dimension, double lowerBand, double upperBand, Resampler resampler) {
+        super(dimension);
+        fLowerBand = lowerBand;
+        fUpperBand = upperBand;
+        fResampler = resampler;
+    }
+
+    @Override
+    public boolean needsValues() {
+        return true;
+    }
+
+    @Override
+    public boolean test(StatisticsSession reference, StatisticsSession measured, StringBuffer message) {
+        Dim dimension = getDimension();
+
+        if (!measured.contains(dimension)) {
+            PerformanceTestPlugin.logWarning("collected data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+            return true;
+        }
+        if (!reference.contains(dimension)) {
+            PerformanceTestPlugin.logWarning("reference data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+            return true;
+        }
+
+        long[] referenceValues = reference.getValues(dimension);
+        long[] measuredValues = measured.getValues(dimension);
+        if (referenceValues == null || measuredValues == null || referenceValues.length == 0 || measuredValues.length == 0)
+            return new RelativeBandChecker(dimension, fLowerBand, fUpperBand).test(reference, measured, message);
+
+        double actual = measured.getAverage(dimension);
+        double test = reference.getAverage(dimension);
+        if (test < 0.001) {
+            // we don't fail for reference value of zero; negative averages have no meaningful ratio
+            PerformanceTestPlugin.logWarning("ref value for '" + dimension.getName() + "' is too small"); //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        }
+        if (actual < 0) {
+            // we don't fail for negative values
+            PerformanceTestPlugin.logWarning("actual value for '" + dimension.getName() + "' is negative"); //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        }
+
+        double[] ratio = fResampler.getRatioOfMeansConfidenceInterval(referenceValues, measuredValues, StatisticsUtil.T95);
+        if (ratio[0] > fUpperBand || ratio[1] < fLowerBand) {
+            double p = fResampler.getPermutationPValue(referenceValues, measuredValues);
+            if (p <= SIGNIFICANCE) {
+                message.append('\n' + dimension.getName() + ": " + dimension.getDisplayValue(actual) + " is not within [" //$NON-NLS-1$ //$NON-NLS-2$
+                        + Math.round(fLowerBand * 100) + "%, " + Math.round(fUpperBand * 100) + "%] of " //$NON-NLS-1$ //$NON-NLS-2$
+                        + dimension.getDisplayValue(test) + " (95% of the ratio in [" + Math.round(ratio[0] * 100) + "%, " //$NON-NLS-1$ //$NON-NLS-2$
+                        + Math.round(ratio[1] * 100) + "%], p=" + p + ')'); //$NON-NLS-1$
+                return false;
+            }
+        }
+        return true;
+    }
+}
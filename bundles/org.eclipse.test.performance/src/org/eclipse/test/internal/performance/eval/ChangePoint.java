@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import java.util.Comparator;
+
+import org.eclipse.test.internal.performance.data.Dim;
+
+/**
+ * A shift of the mean of a time series, found by the {@link ChangePointDetector}.
+ *
+ * @since 3.14
+ */
+public final class ChangePoint {
+
+    /**
+     * Orders change points by decreasing magnitude of the relative change, and equal ones by increasing p-value.
+     */
+    public static final Comparator<ChangePoint> BY_RANK = (p1, p2) -> {
+        int result = Double.compare(Math.abs(p2.fRelativeChange), Math.abs(p1.fRelativeChange));
+        return result != 0 ? result : Double.compare(p1.fPValue, p2.fPValue);
+    };
+
+    private final String                        fScenario;
+    private final Dim                           fDimension;
+    private final int                           fIndex;
+    private final String                        fLabel;
+    private final double                        fBefore;
+    private final double                        fAfter;
+    private final double                        fRelativeChange;
+    private final double                        fPValue;
+
+    ChangePoint(String scenario, Dim dimension, int index, String label, double before, double after, double pValue) {
+        fScenario = scenario;
+        fDimension = dimension;
+        fIndex = index;
+        fLabel = label;
+        fBefore = before;
+        fAfter = after;
+        fRelativeChange = before != 0 ? (after - before) / Math.abs(before) : 0;
+        fPValue = pValue;
+    }
+
+    /**
+     * @return the name of the scenario, or <code>null</code> if the time series was given directly
+     */
+    public String getScenario() {
+        return fScenario;
+    }
+
+    /**
+     * @return the dimension, or <code>null</code> if the time series was given directly
+     */
+    public Dim getDimension() {
+        return fDimension;
+    }
+
+    /**
+     * @return the index of the first data point after the shift
+     */
+    public int getIndex() {
+        return fIndex;
+    }
+
+    /**
+     * @return the label of the first data point after the shift, usually the build that introduced it
+     */
+    public String getLabel() {
+        return fLabel;
+    }
+
+    /**
+     * @return the mean of the segment before the shift
+     */
+    public double getBefore() {
+        return fBefore;
+    }
+
+    /**
+     * @return the mean of the segment after the shift
+     */
+    public double getAfter() {
+        return fAfter;
+    }
+
+    /**
+     * @return the change of the mean relative to the mean before the shift; positive for an increase
+     */
+    public double getRelativeChange() {
+        return fRelativeChange;
+    }
+
+    /**
+     * @return the p-value of the permutation test of the shift
+     */
+    public double getPValue() {
+        return fPValue;
+    }
+
+    @Override
+    public String toString() {
+        StringBuffer buffer = new StringBuffer();
+        if (fScenario != null)
+            buffer.append(fScenario).append(": "); //$NON-NLS-1$
+        if (fDimension != null)
+            buffer.append(fDimension.getName()).append(' ');
+        buffer.append(fDimension != null ? fDimension.getDisplayValue(fBefore) : String.valueOf(fBefore));
+        buffer.append(" -> "); //$NON-NLS-1$
+        buffer.append(fDimension != null ? fDimension.getDisplayValue(fAfter) : String.valueOf(fAfter));
+        buffer.append(" (").append(Math.round(fRelativeChange * 1000) / 10.0).append("%, p=").append(fPValue); //$NON-NLS-1$ //$NON-NLS-2$
+        buffer.append(") at ").append(fLabel != null ? fLabel : String.valueOf(fIndex)); //$NON-NLS-1$
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.db.Scenario;
+import org.eclipse.test.internal.performance.db.TimeSeries;
+import org.eclipse.test.internal.performance.db.Variations;
+
+/**
+ * Finds the data points of time series where the mean shifts, e.g. the builds that introduced a regression, including
+ * gradual or intermittent ones that a comparison against a single reference misses.
+ * <p>
+ * The series is split by binary segmentation: the split with the largest weighted difference of the segment means (a
+ * CUSUM like statistic) is accepted if a permutation test finds it significant and the shift is large enough, and both
+ * segments are searched again. Each data point is weighted by the inverse variance of its mean, from its stored
+ * standard deviation and count, but at least the noise between builds, which is estimated robustly from the differences
+ * of successive data points.
+ * </p>
+ * <p>
+ * {@link #sweep(Scenario[], Dim[])} loads the time series of all scenarios on the calling thread, since the database
+ * connection is shared, and detects the change points on a fork-join pool while the next scenarios are loaded.
+ * </p>
+ *
+ * @since 3.14
+ */
+public class ChangePointDetector {
+
+    /** The highest p-value of a shift that is reported, default 0.01. */
+    public static final String SIGNIFICANCE_PROPERTY = "eclipse.perf.changepoint.significance"; //$NON-NLS-1$
+    /** The smallest relative shift of the mean that is reported, default 0.03. */
+    public static final String MIN_SHIFT_PROPERTY    = "eclipse.perf.changepoint.minShift";     //$NON-NLS-1$
+
+    /** The smallest number of data points on either side of a change point. */
+    public static final int    MIN_SEGMENT           = 3;
+
+    private static final double DEFAULT_SIGNIFICANCE = 0.01;
+    private static final double DEFAULT_MIN_SHIFT    = 0.03;
+    private static final int    PERMUTATIONS         = 199;
+    private static final long   SEED                 = 0x5DEECE66DL;
+
+    private final double       fSignificance;
+    private final double       fMinShift;
+    private final ForkJoinPool fPool;
+
+    /**
+     * Creates a detector configured by the system properties, running on the common fork-join pool.
+     */
+    public ChangePointDetector() {
+        this(getDouble(SIGNIFICANCE_PROPERTY, DEFAULT_SIGNIFICANCE), getDouble(MIN_SHIFT_PROPERTY, DEFAULT_MIN_SHIFT),
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param significance
+     *            the highest p-value of a shift that is reported
+     * @param minShift
+     *            the smallest relative shift of the mean that is reported
+     * @param pool
+     *            the pool that runs the detection for {@link #sweep(Scenario[], Dim[])}
+     */
+    public ChangePointDetector(double significance, double minShift, ForkJoinPool pool) {
+        fSignificance = significance;
+        fMinShift = minShift;
+        fPool = pool;
+    }
+
+    private static double getDouble(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                PerformanceTestPlugin.logWarning("ignoring " + property + "=" + value + ", not a number"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Detects the change points of all given dimensions of all scenarios, in parallel.
+     *
+     * @param scenarios
+     *            the scenarios
+     * @param dimensions
+     *            the dimensions, or <code>null</code> for all dimensions of each scenario
+     * @return the change points, ranked by {@link ChangePoint#BY_RANK}
+     */
+    public List<ChangePoint> sweep(Scenario[] scenarios, Dim[] dimensions) {
+        List<ForkJoinTask<List<ChangePoint>>> tasks = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            String name = scenario.getScenarioName();
+            Dim[] dims = dimensions != null ? dimensions : scenario.getDimensions();
+            for (Dim dim : dims) {
+                TimeSeries series = scenario.getTimeSeries(dim);
+                tasks.add(fPool.submit(() -> detect(series, name, dim)));
+            }
+        }
+        List<ChangePoint> result = new ArrayList<>();
+        for (ForkJoinTask<List<ChangePoint>> task : tasks)
+            result.addAll(task.join());
+        result.sort(ChangePoint.BY_RANK);
+        return result;
+    }
+
+    /**
+     * Detects the change points of a time series.
+     *
+     * @param series
+     *            the time series
+     * @return the change points, ranked by {@link ChangePoint#BY_RANK}
+     */
+    public List<ChangePoint> detect(TimeSeries series) {
+        return detect(series, null, null);
+    }
+
+    private List<ChangePoint> detect(TimeSeries series, String scenario, Dim dimension) {
+        int n = series.getLength();
+        double[] values = new double[n];
+        double[] stddevs = new double[n];
+        long[] counts = new long[n];
+        String[] labels = new String[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = series.getValue(i);
+            stddevs[i] = series.getStddev(i);
+            counts[i] = series.getCount(i);
+            labels[i] = series.getLabel(i);
+        }
+        return detect(values, stddevs, counts, labels, scenario, dimension);
+    }
+
+    /**
+     * Detects the change points of a series of means.
+     *
+     * @param values
+     *            the means, in order
+     * @param stddevs
+     *            the standard deviations of the values the means are computed from
+     * @param counts
+     *            the number of values the means are computed from
+     * @param labels
+     *            the labels of the means, or <code>null</code>
+     * @return the change points, ranked by {@link ChangePoint#BY_RANK}
+     */
+    public List<ChangePoint> detect(double[] values, double[] stddevs, long[] counts, String[] labels) {
+        return detect(values, stddevs, counts, labels, null, null);
+    }
+
+    private List<ChangePoint> detect(double[] values, double[] stddevs, long[] counts, String[] labels, String scenario,
+            Dim dimension) {
+        List<ChangePoint> result = new ArrayList<>();
+        int n = values.length;
+        if (n < 2 * MIN_SEGMENT)
+            return result;
+
+        double[] weights = getWeights(values, stddevs, counts);
+        // seeded per series, so that a sweep gives the same results in any order
+        long seed = SEED;
+        if (scenario != null)
+            seed = 31 * seed + scenario.hashCode();
+        if (dimension != null)
+            seed = 31 * seed + dimension.getId();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // binary segmentation; segments are [from, to) pairs
+        int[] segments = new int[2 * n];
+        int size = 0;
+        segments[size++] = 0;
+        segments[size++] = n;
+        double[] scratchValues = new double[n];
+        double[] scratchWeights = new double[n];
+        while (size > 0) {
+            int to = segments[--size];
+            int from = segments[--size];
+            if (to - from < 2 * MIN_SEGMENT)
+                continue;
+            int split = getBestSplit(values, weights, from, to);
+            double before = getMean(values, weights, from, split);
+            double after = getMean(values, weights, split, to);
+            if (before == 0 || Math.abs(after - before) / Math.abs(before) < fMinShift)
+                continue;
+            double p = getPValue(values, weights, from, to, getScore(values, weights, from, to, split), random, scratchValues,
+                    scratchWeights);
+            if (p > fSignificance)
+                continue;
+            result.add(new ChangePoint(scenario, dimension, split, labels != null ? labels[split] : null, before, after, p));
+            segments[size++] = from;
+            segments[size++] = split;
+            segments[size++] = split;
+            segments[size++] = to;
+        }
+        result.sort(ChangePoint.BY_RANK);
+        return result;
+    }
+
+    /*
+     * Answers the inverse variances of the means: the variance of a mean is its standard error, but at least the
+     * variance between builds, estimated from the median absolute difference of successive means.
+     */
+    private static double[] getWeights(double[] values, double[] stddevs, long[] counts) {
+        int n = values.length;
+        long[] differences = new long[n - 1];
+        double scale = 0;
+        for (double value : values)
+            scale = Math.max(scale, Math.abs(value));
+        // the differences are scaled to longs for RobustStatistics.quantile
+        double unit = scale > 0 ? scale / (1L << 40) : 1;
+        for (int i = 1; i < n; i++)
+            differences[i - 1] = Math.round(Math.abs(values[i] - values[i - 1]) / unit);
+        double noise = 1.4826 * RobustStatistics.quantile(differences, 0, n - 1, 0.5) * unit / Math.sqrt(2);
+        // a perfectly constant series still must not divide by zero
+        double floor = Math.max(noise * noise, Math.pow(1e-6 * scale, 2) + Double.MIN_NORMAL);
+
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            double variance = counts[i] > 0 && !Double.isNaN(stddevs[i]) ? stddevs[i] * stddevs[i] / counts[i] : 0;
+            weights[i] = 1 / Math.max(variance, floor);
+        }
+        return weights;
+    }
+
+    private static int getBestSplit(double[] values, double[] weights, int from, int to) {
+        double totalWeight = 0, total = 0;
+        for (int i = from; i < to; i++) {
+            totalWeight += weights[i];
+            total += weights[i] * values[i];
+        }
+        double leftWeight = 0, left = 0, best = -1;
+        int split = from + MIN_SEGMENT;
+        for (int i = from; i < to - MIN_SEGMENT; i++) {
+            leftWeight += weights[i];
+            left += weights[i] * values[i];
+            if (i + 1 < from + MIN_SEGMENT)
+                continue;
+            double score = getScore(leftWeight, left, totalWeight, total);
+            if (score > best) {
+                best = score;
+                split = i + 1;
+            }
+        }
+        return split;
+    }
+
+    private static double getScore(double[] values, double[] weights, int from, int to, int split) {
+        double totalWeight = 0, total = 0, leftWeight = 0, left = 0;
+        for (int i = from; i < to; i++) {
+            totalWeight += weights[i];
+            total += weights[i] * values[i];
+            if (i < split) {
+                leftWeight = totalWeight;
+                left = total;
+            }
+        }
+        return getScore(leftWeight, left, totalWeight, total);
+    }
+
+    /*
+     * Answers the difference of the weighted means of the left and the right segment, in standard errors.
+     */
+    private static double getScore(double leftWeight, double left, double totalWeight, double total) {
+        double rightWeight = totalWeight - leftWeight;
+        double difference = (total - left) / rightWeight - left / leftWeight;
+        return Math.abs(difference) / Math.sqrt(1 / leftWeight + 1 / rightWeight);
+    }
+
+    /*
+     * Answers the probability that the best split of a random permutation of the segment scores at least as high.
+     */
+    private static double getPValue(double[] values, double[] weights, int from, int to, double observed, SplittableRandom random,
+            double[] scratchValues, double[] scratchWeights) {
+        int length = to - from;
+        System.arraycopy(values, from, scratchValues, 0, length);
+        System.arraycopy(weights, from, scratchWeights, 0, length);
+        int extreme = 0;
+        for (int r = 0; r < PERMUTATIONS; r++) {
+            for (int i = length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                double value = scratchValues[i];
+                scratchValues[i] = scratchValues[j];
+                scratchValues[j] = value;
+                double weight = scratchWeights[i];
+                scratchWeights[i] = scratchWeights[j];
+                scratchWeights[j] = weight;
+            }
+            int split = getBestSplit(scratchValues, scratchWeights, 0, length);
+            if (getScore(scratchValues, scratchWeights, 0, length, split) >= observed)
+                extreme++;
+        }
+        return (extreme + 1.0) / (PERMUTATIONS + 1.0);
+    }
+
+    private static double getMean(double[] values, double[] weights, int from, int to) {
+        double weight = 0, sum = 0;
+        for (int i = from; i < to; i++) {
+            weight += weights[i];
+            sum += weights[i] * values[i];
+        }
+        return sum / weight;
+    }
+
+    /**
+     * Prints the change points of all scenarios matching the pattern, for the variations given by
+     * <code>-Declipse.perf.config</code>.
+     *
+     * @param args
+     *            the scenario pattern, default all scenarios, and a build pattern
+     */
+    public static void main(String[] args) {
+        Variations variations = PerformanceTestPlugin.getVariations();
+        if (args.length > 1)
+            variations.put(PerformanceTestPlugin.BUILD, args[1]);
+        String scenarioPattern = args.length > 0 ? args[0] : "%"; //$NON-NLS-1$
+
+        Scenario[] scenarios = DB.queryScenarios(variations, scenarioPattern, PerformanceTestPlugin.BUILD, null);
+        List<ChangePoint> changePoints = new ChangePointDetector().sweep(scenarios, null);
+        System.out.println(changePoints.size() + " change points in " + scenarios.length + " scenarios"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (ChangePoint changePoint : changePoints)
+            System.out.println(changePoint);
+    }
+}
@@ -14,6 +14,7 @@ package org.eclipse.test.internal.performance.eval;
 
 import java.util.HashSet;
 
+import org.eclipse.test.internal.performance.InternalDimensions;
 import org.eclipse.test.internal.performance.InternalPerformanceMeter;
 import org.eclipse.test.internal.performance.PerformanceTestPlugin;
 import org.eclipse.test.internal.performance.data.DataPoint;
@@ -33,6 +34,36 @@ public class Evaluator extends EmptyEvaluator {
 
     private AssertChecker[] fCheckers;
 
+    /**
+     * Returns the checkers of <code>Performance.assertPerformance</code>, as selected by
+     * {@link PerformanceTestPlugin#ECLIPSE_PERF_ASSERT_STRATEGY}.
+     * 
+     * @return the checkers
+     * @since 3.14
+     */
+    public static AssertChecker[] getDefaultCheckers() {
+        String strategy = System.getProperty(PerformanceTestPlugin.ECLIPSE_PERF_ASSERT_STRATEGY, "band"); //$NON-NLS-1$
+        switch (strategy) {
+            case "robust": //$NON-NLS-1$
+                return new AssertChecker[] {
+                        new RobustRelativeBandChecker(InternalDimensions.ELAPSED_PROCESS, 0.0f, 1.10f, OutlierPolicy.TUKEY) };
+            case "bootstrap": //$NON-NLS-1$
+                return new AssertChecker[] { new BootstrapRelativeBandChecker(InternalDimensions.ELAPSED_PROCESS, 0.0f, 1.10f) };
+            case "mannWhitney": //$NON-NLS-1$
+                return new AssertChecker[] { new MannWhitneyChecker(InternalDimensions.ELAPSED_PROCESS) };
+            default:
+                if (!"band".equals(strategy)) //$NON-NLS-1$
+                    PerformanceTestPlugin.logWarning("unknown " + PerformanceTestPlugin.ECLIPSE_PERF_ASSERT_STRATEGY + " '" + strategy //$NON-NLS-1$ //$NON-NLS-2$
+                            + "', using band"); //$NON-NLS-1$
+                return new AssertChecker[] { new RelativeBandChecker(InternalDimensions.ELAPSED_PROCESS, 0.0f, 1.10f),
+                // new RelativeBandChecker(InternalDimensions.CPU_TIME, 0.0f, 1.10f),
+                // new RelativeBandChecker(InternalDimensions.WORKING_SET, 0.0f, 3.00f),
+                // new RelativeBandChecker(InternalDimensions.USED_JAVA_HEAP, 0.0f, 2.00f),
+                // new RelativeBandChecker(InternalDimensions.SYSTEM_TIME, 0.0f, 1.10f)
+                };
+        }
+    }
+
     @Override
     public void setAssertCheckers(AssertChecker[] asserts) {
         fCheckers = asserts;
@@ -63,6 +94,25 @@ public class Evaluator extends EmptyEvaluator {
         Assert.assertTrue("metering session is null", session != null); //$NON-NLS-1$
         String scenarioName = session.getScenarioID();
 
+        Variations config = PerformanceTestPlugin.getVariations();
+
+        // a CPU throttled iteration says more about the container than about the code under test
+        DataPoint[] measuredDatapoints = session.getDataPoints();
+        int throttled = InternalPerformanceMeter.getThrottledIterations(measuredDatapoints);
+        if (throttled > 0) {
+            measuredDatapoints = InternalPerformanceMeter.removeThrottledIterations(measuredDatapoints);
+            if (!new StatisticsSession(measuredDatapoints).hasMeasurements()) {
+                String message = "scenario '" + scenarioName + "' was throttled by the cgroup CPU limit in all " + throttled //$NON-NLS-1$ //$NON-NLS-2$
+                        + " iterations and cannot be evaluated"; //$NON-NLS-1$
+                PerformanceTestPlugin.logError(message);
+                if (config != null)
+                    DB.markAsFailed(config, session, message);
+                return;
+            }
+            PerformanceTestPlugin.logWarning("scenario '" + scenarioName + "' was throttled by the cgroup CPU limit in " + throttled //$NON-NLS-1$ //$NON-NLS-2$
+                    + " iterations; evaluating the others"); //$NON-NLS-1$
+        }
+
         // determine all dimensions we need
         HashSet<Dim> allDimensions = new HashSet<>();
         for (int i = 0; i < fCheckers.length; i++) {
@@ -72,13 +122,12 @@ public class Evaluator extends EmptyEvaluator {
                 allDimensions.add(dims[j]);
         }
 
-        // get data for this session
+        // get data for this session; the stored aggregates include the throttled iterations
         DataPoint[] sessionDatapoints;
-        Variations config = PerformanceTestPlugin.getVariations();
-        if (config != null)
+        if (config != null && throttled == 0)
             sessionDatapoints = DB.queryDataPoints(config, scenarioName, allDimensions);
         else
-            sessionDatapoints = session.getDataPoints();
+            sessionDatapoints = measuredDatapoints;
         if (sessionDatapoints == null || sessionDatapoints.length == 0) {
             PerformanceTestPlugin.logWarning("no session data named '" + config + "' found"); //$NON-NLS-1$ //$NON-NLS-2$
             return;
@@ -94,6 +143,8 @@ public class Evaluator extends EmptyEvaluator {
         // calculate the average
         StatisticsSession referenceStats = new StatisticsSession(datapoints);
         StatisticsSession measuredStats = new StatisticsSession(sessionDatapoints);
+        setValues(referenceStats, refKeys, measuredStats, measuredDatapoints, scenarioName);
+        setHistograms(referenceStats, refKeys, measuredStats, session, scenarioName);
 
         StringBuffer failMesg = new StringBuffer("Performance criteria not met when compared to '" + refKeys + "':"); //$NON-NLS-1$ //$NON-NLS-2$ 
         boolean pass = true;
@@ -109,4 +160,50 @@ public class Evaluator extends EmptyEvaluator {
             // Assert.assertTrue(failMesg.toString(), false);
         }
     }
+
+    /*
+     * Provides the measured values to the checkers that compare them: the values of the reference as far as they are
+     * stored, and the values of this run from the sample, since the database only has aggregates.
+     */
+    private void setValues(StatisticsSession referenceStats, Variations refKeys, StatisticsSession measuredStats,
+            DataPoint[] measuredDatapoints, String scenarioName) {
+        StatisticsSession sampleStats = null;
+        for (AssertChecker chk : fCheckers) {
+            if (!chk.needsValues())
+                continue;
+            for (Dim dim : chk.getDimensions()) {
+                if (!referenceStats.hasMeasurements()) {
+                    long[] values = DB.queryRawDeltas(refKeys, scenarioName, dim);
+                    if (values != null)
+                        referenceStats.setValues(dim, values);
+                    // the stored elapsed times include the GC pauses
+                    long[] pauses = StatisticsSession.excludesGcPauses(dim)
+                            ? DB.queryRawDeltas(refKeys, scenarioName, InternalDimensions.GC_PAUSE_TIME) : null;
+                    if (pauses != null)
+                        referenceStats.setValues(InternalDimensions.GC_PAUSE_TIME, pauses);
+                }
+                if (!measuredStats.hasMeasurements()) {
+                    if (sampleStats == null)
+                        sampleStats = new StatisticsSession(measuredDatapoints);
+                    if (sampleStats.hasMeasurements() && sampleStats.contains(dim))
+                        measuredStats.setValues(dim, sampleStats.getValues(dim));
+                }
+            }
+        }
+    }
+
+    /*
+     * Provides the latency histograms to the checkers that compare them: the merged histograms of the reference
+     * samples, and the histogram of this run from the sample.
+     */
+    private void setHistograms(StatisticsSession referenceStats, Variations refKeys, StatisticsSession measuredStats,
+            Sample session, String scenarioName) {
+        for (AssertChecker chk : fCheckers) {
+            if (chk.needsHistograms()) {
+                referenceStats.setHistogram(DB.queryHistogram(refKeys, scenarioName));
+                measuredStats.setHistogram(session.getHistogram());
+                return;
+            }
+        }
+    }
 }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import java.util.Arrays;
+
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.db.DB;
+
+/**
+ * Fails if the measured values are stochastically larger than the reference values: the one sided Mann-Whitney U test
+ * is significant, and the probability that a measured value is larger than a reference value (the Vargha-Delaney A
+ * effect size, ties counting half) is at least the minimum effect size. Unlike the band checkers it compares whole
+ * distributions, not averages, and assumes no particular distribution.
+ * <p>
+ * The checker needs the measured values of both sessions. Reference data from the database only has them if it was
+ * stored with {@link DB#RAW_DELTAS_PROPERTY}; without them the check is skipped with a warning.
+ * </p>
+ *
+ * @since 3.14
+ */
+public class MannWhitneyChecker extends AssertChecker {
+
+    /** The default significance level. */
+    public static final double DEFAULT_ALPHA      = 0.05;
+    /** The default minimum effect size, a medium effect. */
+    public static final double DEFAULT_MIN_EFFECT = 0.64;
+
+    private final double       fAlpha;
+    private final double       fMinEffect;
+
+    public MannWhitneyChecker(Dim dimension) {
+        this(dimension, DEFAULT_ALPHA, DEFAULT_MIN_EFFECT);
+    }
+
+    /**
+     * @param dimension
+     *            the dimension to check
+     * @param alpha
+     *            the significance level of the test
+     * @param minEffect
+     *            the smallest probability that a measured value is larger than a reference value that fails, in
+     *            <code>[0.5, 1]</code>
+     */
+    public MannWhitneyChecker(Dim dimension, double alpha, double minEffect) {
+        super(dimension);
+        fAlpha = alpha;
+        fMinEffect = minEffect;
+    }
+
+    @Override
+    public boolean needsValues() {
+        return true;
+    }
+
+    @Override
+    public boolean test(StatisticsSession reference, StatisticsSession measured, StringBuffer message) {
+        Dim dimension = getDimension();
+
+        if (!measured.contains(dimension)) {
+            PerformanceTestPlugin.logWarning("collected data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+            return true;
+        }
+        if (!reference.contains(dimension)) {
+            PerformanceTestPlugin.logWarning("reference data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+            return true;
+        }
+
+        long[] referenceValues = reference.getValues(dimension);
+        long[] measuredValues = measured.getValues(dimension);
+        if (referenceValues == null || referenceValues.length == 0 || measuredValues == null || measuredValues.length == 0) {
+            PerformanceTestPlugin.logWarning("no measured values of '" + dimension.getName() + "' to compare, see " //$NON-NLS-1$ //$NON-NLS-2$
+                    + DB.RAW_DELTAS_PROPERTY);
+            return true;
+        }
+
+        double[] result = test(referenceValues, measuredValues);
+        double p = result[0];
+        double effect = result[1];
+        if (p < fAlpha && effect >= fMinEffect) {
+            message.append('\n' + dimension.getName() + ": " + dimension.getDisplayValue(measured.getAverage(dimension)) //$NON-NLS-1$
+                    + " is larger than " + dimension.getDisplayValue(reference.getAverage(dimension)) + " in " //$NON-NLS-1$ //$NON-NLS-2$
+                    + Math.round(effect * 100) + "% of the pairs (Mann-Whitney p=" + p + ')'); //$NON-NLS-1$
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs the one sided Mann-Whitney U test for measured values that are larger than the reference values, with the
+     * normal approximation corrected for ties and continuity.
+     *
+     * @param reference
+     *            the reference values
+     * @param measured
+     *            the measured values
+     * @return the p-value and the probability that a measured value is larger than a reference value
+     */
+    public static double[] test(long[] reference, long[] measured) {
+        long[] x = reference.clone();
+        long[] y = measured.clone();
+        Arrays.sort(x);
+        Arrays.sort(y);
+        int n1 = x.length, n2 = y.length;
+
+        // walk the merged order; each run of equal values gets its average rank
+        double measuredRanks = 0, ties = 0;
+        int i = 0, j = 0, rank = 0;
+        while (i < n1 || j < n2) {
+            long value = j >= n2 || (i < n1 && x[i] <= y[j]) ? x[i] : y[j];
+            int inX = 0, inY = 0;
+            while (i < n1 && x[i] == value) {
+                i++;
+                inX++;
+            }
+            while (j < n2 && y[j] == value) {
+                j++;
+                inY++;
+            }
+            int t = inX + inY;
+            measuredRanks += inY * (rank + (t + 1) / 2.0);
+            rank += t;
+            ties += (double) t * t * t - t;
+        }
+
+        double u = measuredRanks - n2 * (n2 + 1) / 2.0;
+        double mean = (double) n1 * n2 / 2;
+        long n = n1 + n2;
+        double variance = (double) n1 * n2 / 12 * (n + 1 - ties / ((double) n * (n - 1)));
+        double p;
+        if (variance <= 0)
+            p = u > mean ? 0 : 1; // all values are equal
+        else
+            p = 1 - getNormalDistribution((u - mean - 0.5) / Math.sqrt(variance));
+        return new double[] { p, u / ((double) n1 * n2) };
+    }
+
+    /*
+     * Answers the standard normal distribution function, with an error below 1.5e-7.
+     */
+    private static double getNormalDistribution(double z) {
+        // Abramowitz and Stegun 7.1.26 for erf(|z| / sqrt(2))
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+                * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+/**
+ * Decides which measured values are outliers, like a single run disturbed by a GC pause or a busy build machine.
+ * Outliers are dropped before {@link RobustStatistics} are computed.
+ *
+ * @since 3.14
+ */
+public final class OutlierPolicy {
+
+    private static final int          KIND_NONE  = 0;
+    private static final int          KIND_TUKEY = 1;
+    private static final int          KIND_MAD   = 2;
+
+    /** Keeps all values. */
+    public static final OutlierPolicy NONE       = new OutlierPolicy(KIND_NONE, 0);
+
+    /** Drops values outside of Tukey's fences with the usual factor of 1.5, see {@link #tukey(double)}. */
+    public static final OutlierPolicy TUKEY      = tukey(1.5);
+
+    /** Drops values with a modified z-score above the usual 3.5, see {@link #mad(double)}. */
+    public static final OutlierPolicy MAD        = mad(3.5);
+
+    /**
+     * Returns a policy that drops the values below <code>Q1 - factor * IQR</code> and above <code>Q3 + factor * IQR</code>.
+     *
+     * @param factor
+     *            the factor of the inter quartile range
+     * @return the policy
+     */
+    public static OutlierPolicy tukey(double factor) {
+        return new OutlierPolicy(KIND_TUKEY, factor);
+    }
+
+    /**
+     * Returns a policy that drops the values whose modified z-score, <code>0.6745 * |value - median| / MAD</code>, is above
+     * the threshold.
+     *
+     * @param threshold
+     *            the highest modified z-score that is kept
+     * @return the policy
+     */
+    public static OutlierPolicy mad(double threshold) {
+        return new OutlierPolicy(KIND_MAD, threshold);
+    }
+
+    private final int    fKind;
+    private final double fLimit;
+
+    private OutlierPolicy(int kind, double limit) {
+        fKind = kind;
+        fLimit = limit;
+    }
+
+    /**
+     * Moves the values that are kept to the front of the array.
+     *
+     * @param values
+     *            the values, reordered in place
+     * @param length
+     *            the number of values
+     * @param median
+     *            the median of the values
+     * @param q1
+     *            the first quartile of the values
+     * @param q3
+     *            the third quartile of the values
+     * @param mad
+     *            the median absolute deviation of the values
+     * @return the number of values kept
+     */
+    int filter(long[] values, int length, double median, double q1, double q3, double mad) {
+        double low, high;
+        switch (fKind) {
+            case KIND_TUKEY:
+                low = q1 - fLimit * (q3 - q1);
+                high = q3 + fLimit * (q3 - q1);
+                break;
+            case KIND_MAD:
+                if (mad == 0)
+                    return length; // more than half of the values are equal, nothing stands out
+                low = median - fLimit * mad / 0.6745;
+                high = median + fLimit * mad / 0.6745;
+                break;
+            default:
+                return length;
+        }
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[i] >= low && values[i] <= high)
+                values[kept++] = values[i];
+        }
+        return kept;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof OutlierPolicy))
+            return false;
+        OutlierPolicy other = (OutlierPolicy) obj;
+        return fKind == other.fKind && fLimit == other.fLimit;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * fKind + Double.valueOf(fLimit).hashCode();
+    }
+
+    @Override
+    public String toString() {
+        switch (fKind) {
+            case KIND_TUKEY:
+                return "Tukey's fences, " + fLimit + " * IQR"; //$NON-NLS-1$ //$NON-NLS-2$
+            case KIND_MAD:
+                return "modified z-score > " + fLimit; //$NON-NLS-1$
+            default:
+                return "none"; //$NON-NLS-1$
+        }
+    }
+}
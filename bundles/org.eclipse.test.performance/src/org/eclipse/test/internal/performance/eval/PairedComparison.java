@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.eval.StatisticsUtil.Percentile;
+
+/**
+ * Compares a baseline and a candidate that were measured in pairs, e.g. by the
+ * {@link org.eclipse.test.internal.performance.InterleavedRunner}: the i-th measurement of the candidate is compared to
+ * the i-th measurement of the baseline. Drift of the machine affects both measurements of a pair alike and cancels in
+ * their difference, so the confidence interval of the mean difference is much narrower than that of two independent
+ * samples.
+ *
+ * @since 3.14
+ */
+public final class PairedComparison {
+
+    private final Dim    fDimension;
+    private final int    fPairs;
+    private final double fBaselineMean;
+    private final double fMeanDifference;
+    private final double fHalfWidth;
+
+    /**
+     * @param dimension
+     *            the compared dimension
+     * @param baseline
+     *            the measured values of the baseline
+     * @param candidate
+     *            the measured values of the candidate, in the same order
+     * @param percentile
+     *            the confidence level of the interval
+     * @throws IllegalArgumentException
+     *             if the numbers of values differ or there are fewer than two pairs
+     */
+    public PairedComparison(Dim dimension, long[] baseline, long[] candidate, Percentile percentile) {
+        if (baseline.length != candidate.length || baseline.length < 2)
+            throw new IllegalArgumentException("need at least two pairs, got " + baseline.length + " and " + candidate.length //$NON-NLS-1$ //$NON-NLS-2$
+                    + " values"); //$NON-NLS-1$
+        fDimension = dimension;
+        fPairs = baseline.length;
+
+        // Welford's online mean and variance of the differences
+        double baselineSum = 0, mean = 0, m2 = 0;
+        for (int i = 0; i < fPairs; i++) {
+            baselineSum += baseline[i];
+            double difference = candidate[i] - baseline[i];
+            double delta = difference - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (difference - mean);
+        }
+        fBaselineMean = baselineSum / fPairs;
+        fMeanDifference = mean;
+        fHalfWidth = StatisticsUtil.getStudentsT(fPairs - 1, percentile) * Math.sqrt(m2 / (fPairs - 1) / fPairs);
+    }
+
+    /**
+     * Compares the measurements of a dimension in two samples.
+     *
+     * @param dimension
+     *            the dimension
+     * @param baseline
+     *            the sample of the baseline
+     * @param candidate
+     *            the sample of the candidate, with as many measurements as the baseline
+     * @param percentile
+     *            the confidence level of the interval
+     * @return the comparison, or <code>null</code> if a sample has no measurements of the dimension
+     * @throws IllegalArgumentException
+     *             if the numbers of measurements differ or there are fewer than two
+     */
+    public static PairedComparison compare(Dim dimension, Sample baseline, Sample candidate, Percentile percentile) {
+        StatisticsSession baselineStats = new StatisticsSession(baseline.getDataPoints());
+        StatisticsSession candidateStats = new StatisticsSession(candidate.getDataPoints());
+        if (!baselineStats.contains(dimension) || !candidateStats.contains(dimension))
+            return null;
+        long[] baselineValues = baselineStats.getValues(dimension);
+        long[] candidateValues = candidateStats.getValues(dimension);
+        if (baselineValues == null || candidateValues == null)
+            return null;
+        return new PairedComparison(dimension, baselineValues, candidateValues, percentile);
+    }
+
+    /**
+     * @return the compared dimension
+     */
+    public Dim getDimension() {
+        return fDimension;
+    }
+
+    /**
+     * @return the number of pairs
+     */
+    public int getPairs() {
+        return fPairs;
+    }
+
+    /**
+     * @return the mean of the baseline
+     */
+    public double getBaselineMean() {
+        return fBaselineMean;
+    }
+
+    /**
+     * @return the mean of the differences candidate - baseline; positive if the candidate is larger
+     */
+    public double getMeanDifference() {
+        return fMeanDifference;
+    }
+
+    /**
+     * @return the confidence interval of the mean difference, <code>{lower, upper}</code>
+     */
+    public double[] getConfidenceInterval() {
+        return new double[] { fMeanDifference - fHalfWidth, fMeanDifference + fHalfWidth };
+    }
+
+    /**
+     * @return the confidence interval of the mean difference relative to the mean of the baseline,
+     *         <code>{lower, upper}</code>, or <code>null</code> if the mean of the baseline is 0
+     */
+    public double[] getRelativeConfidenceInterval() {
+        if (fBaselineMean == 0)
+            return null;
+        double scale = Math.abs(fBaselineMean);
+        return new double[] { (fMeanDifference - fHalfWidth) / scale, (fMeanDifference + fHalfWidth) / scale };
+    }
+
+    /**
+     * Answers whether the candidate is larger than the baseline by more than the given fraction, i.e. whether even the
+     * lower bound of the relative confidence interval exceeds it.
+     *
+     * @param fraction
+     *            the tolerated increase relative to the baseline, e.g. 0.05 for 5%
+     * @return <code>true</code> if the candidate is significantly larger by more than the fraction
+     */
+    public boolean isRegression(double fraction) {
+        double[] interval = getRelativeConfidenceInterval();
+        return interval != null && interval[0] > fraction;
+    }
+
+    @Override
+    public String toString() {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append(fDimension.getName()).append(": ").append(fDimension.getDisplayValue(fBaselineMean + fMeanDifference)); //$NON-NLS-1$
+        buffer.append(" vs. ").append(fDimension.getDisplayValue(fBaselineMean)); //$NON-NLS-1$
+        double[] interval = getRelativeConfidenceInterval();
+        if (interval != null)
+            buffer.append(" [").append(Math.round(interval[0] * 1000) / 10.0).append("%, ") //$NON-NLS-1$ //$NON-NLS-2$
+                    .append(Math.round(interval[1] * 1000) / 10.0).append("%]"); //$NON-NLS-1$
+        buffer.append(" over ").append(fPairs).append(" interleaved pairs"); //$NON-NLS-1$ //$NON-NLS-2$
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import org.eclipse.test.internal.performance.HistogramPerformanceMeter;
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.LatencyHistogram;
+
+/**
+ * Checks that a percentile of the latencies, e.g. {@link org.eclipse.test.internal.performance.InternalDimensions#LATENCY_P99},
+ * is within a band relative to the reference. The percentile is taken from the latency histograms: the histogram of the
+ * measurement, and the histograms of all reference samples merged into one, so that the reference percentile is that
+ * of all reference latencies rather than an average of percentiles. Without histograms, e.g. for samples stored before
+ * histograms were, the averages of the percentile dimension are compared like {@link RelativeBandChecker} does.
+ *
+ * @see HistogramPerformanceMeter
+ * @since 3.14
+ */
+public class PercentileBandChecker extends AssertChecker {
+
+    private final double fPercentile;
+    private final double fLowerBand;
+    private final double fUpperBand;
+
+    /**
+     * @param dimension
+     *            the percentile dimension to check, one recorded by {@link HistogramPerformanceMeter}
+     * @param lowerBand
+     *            the lowest allowed ratio of the measured to the reference percentile
+     * @param upperBand
+     *            the highest allowed ratio of the measured to the reference percentile
+     * @throws IllegalArgumentException
+     *             if the dimension is no percentile of the latencies
+     */
+    public PercentileBandChecker(Dim dimension, double lowerBand, double upperBand) {
+        super(dimension);
+        fPercentile = HistogramPerformanceMeter.getPercentile(dimension);
+        if (Double.isNaN(fPercentile))
+            throw new IllegalArgumentException("no latency percentile: " + dimension.getName()); //$NON-NLS-1$
+        fLowerBand = lowerBand;
+        fUpperBand = upperBand;
+    }
+
+    @Override
+    public boolean needsHistograms() {
+        return true;
+    }
+
+    @Override
+    public boolean test(StatisticsSession reference, StatisticsSession measured, StringBuffer message) {
+        Dim dimension = getDimension();
+
+        double actual;
+        double test;
+        LatencyHistogram measuredHistogram = measured.getHistogram();
+        LatencyHistogram referenceHistogram = reference.getHistogram();
+        if (measuredHistogram != null && measuredHistogram.getCount() > 0 && referenceHistogram != null
+                && referenceHistogram.getCount() > 0) {
+            actual = measuredHistogram.getValueAtPercentile(fPercentile);
+            test = referenceHistogram.getValueAtPercentile(fPercentile);
+        } else {
+            if (!measured.contains(dimension)) {
+                PerformanceTestPlugin.logWarning("collected data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+                return true;
+            }
+            if (!reference.contains(dimension)) {
+                PerformanceTestPlugin.logWarning("reference data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+                return true;
+            }
+            actual = measured.getAverage(dimension);
+            test = reference.getAverage(dimension);
+        }
+
+        if (test <= 0) {
+            // we don't fail for reference value of zero
+            PerformanceTestPlugin.logWarning("ref value for '" + dimension.getName() + "' is too small"); //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        }
+
+        if (actual > fUpperBand * test || actual < fLowerBand * test) {
+            message.append('\n'
+                    + dimension.getName()
+                    + ": " + dimension.getDisplayValue(actual) + " is not within [" + Math.round(fLowerBand * 100) + "%, " + Math.round(fUpperBand * 100) + "%] of " + dimension.getDisplayValue(test)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            return false;
+        }
+        return true;
+    }
+}
@@ -19,13 +19,31 @@ import org.eclipse.test.internal.performance.data.Dim;
  */
 public class RelativeBandChecker extends AssertChecker {
 
-    private final double fLowerBand;
-    private final double fUpperBand;
+    private final double        fLowerBand;
+    private final double        fUpperBand;
+    private final OutlierPolicy fPolicy;
 
     public RelativeBandChecker(Dim dimension, double lowerBand, double upperBand) {
+        this(dimension, lowerBand, upperBand, OutlierPolicy.NONE);
+    }
+
+    /**
+     * @param dimension
+     *            the dimension to check
+     * @param lowerBand
+     *            the lowest allowed ratio of the measured to the reference average
+     * @param upperBand
+     *            the highest allowed ratio of the measured to the reference average
+     * @param policy
+     *            the outliers to drop from measurements before their average is computed; aggregates from the database
+     *            are used as they are
+     * @since 3.14
+     */
+    public RelativeBandChecker(Dim dimension, double lowerBand, double upperBand, OutlierPolicy policy) {
         super(dimension);
         fLowerBand = lowerBand;
         fUpperBand = upperBand;
+        fPolicy = policy;
     }
 
     @Override
@@ -41,8 +59,8 @@ public class RelativeBandChecker extends AssertChecker {
             return true;
         }
 
-        double actual = measured.getAverage(dimension);
-        double test = reference.getAverage(dimension);
+        double actual = getAverage(measured, dimension);
+        double test = getAverage(reference, dimension);
 
         if (test < 0.001 && test > -0.001) {
             // we don't fail for reference value of zero
@@ -63,4 +81,10 @@ public class RelativeBandChecker extends AssertChecker {
         }
         return true;
     }
+
+    private double getAverage(StatisticsSession session, Dim dimension) {
+        if (fPolicy != OutlierPolicy.NONE && session.hasMeasurements())
+            return session.getRobustStatistics(dimension, fPolicy).getMean();
+        return session.getAverage(dimension);
+    }
 }
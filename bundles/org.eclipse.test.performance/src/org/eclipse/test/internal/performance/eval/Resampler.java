@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.eclipse.test.internal.performance.eval.StatisticsUtil.Percentile;
+
+/**
+ * Distribution free statistics by resampling the measured values, for timings that are skewed and far from normally
+ * distributed:
+ * <ul>
+ * <li>percentile bootstrap confidence intervals of the mean, the median and the ratio of two means, and</li>
+ * <li>permutation test p-values for the difference of two means.</li>
+ * </ul>
+ * The resamples are computed in parallel on a fork-join pool. Each task draws from its own {@link SplittableRandom},
+ * split off in a fixed order from one seeded generator, so the results only depend on the seed, not on the scheduling of
+ * the tasks.
+ *
+ * @since 3.14
+ */
+public final class Resampler {
+
+    /** The number of resamples, default 10000. */
+    public static final String RESAMPLES_PROPERTY = "eclipse.perf.resamples";      //$NON-NLS-1$
+    /** The seed of the random generator, default a fixed value, so that repeated evaluations agree. */
+    public static final String SEED_PROPERTY      = "eclipse.perf.resamples.seed"; //$NON-NLS-1$
+
+    private static final int   DEFAULT_RESAMPLES  = 10000;
+    private static final long  DEFAULT_SEED       = 0x5DEECE66DL;
+
+    /** The number of resamples a task computes without forking. */
+    private static final int   LEAF_SIZE          = 256;
+
+    private static final int   MEAN               = 0;
+    private static final int   MEDIAN             = 1;
+    private static final int   RATIO_OF_MEANS     = 2;
+    private static final int   PERMUTATION        = 3;
+
+    private static final class ResampleTask extends RecursiveAction {
+
+        private static final long      serialVersionUID = 1L;
+
+        private final int              fKind;
+        private final long[]           fFirst;
+        private final long[]           fSecond;
+        private final double[]         fResults;
+        private final int              fFrom;
+        private final int              fTo;
+        private final SplittableRandom fRandom;
+
+        ResampleTask(int kind, long[] first, long[] second, double[] results, int from, int to, SplittableRandom random) {
+            fKind = kind;
+            fFirst = first;
+            fSecond = second;
+            fResults = results;
+            fFrom = from;
+            fTo = to;
+            fRandom = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (fTo - fFrom > LEAF_SIZE) {
+                int middle = (fFrom + fTo) >>> 1;
+                // split before forking, so the generators do not depend on the scheduling
+                ResampleTask left = new ResampleTask(fKind, fFirst, fSecond, fResults, fFrom, middle, fRandom.split());
+                ResampleTask right = new ResampleTask(fKind, fFirst, fSecond, fResults, middle, fTo, fRandom);
+                invokeAll(left, right);
+                return;
+            }
+            switch (fKind) {
+                case MEAN:
+                    for (int i = fFrom; i < fTo; i++)
+                        fResults[i] = resampleSum(fFirst) / fFirst.length;
+                    break;
+                case MEDIAN:
+                    long[] resample = new long[fFirst.length];
+                    for (int i = fFrom; i < fTo; i++) {
+                        for (int j = 0; j < resample.length; j++)
+                            resample[j] = fFirst[fRandom.nextInt(fFirst.length)];
+                        fResults[i] = RobustStatistics.quantile(resample, 0, resample.length, 0.5);
+                    }
+                    break;
+                case RATIO_OF_MEANS:
+                    for (int i = fFrom; i < fTo; i++) {
+                        double reference = resampleSum(fFirst) / fFirst.length;
+                        fResults[i] = resampleSum(fSecond) / fSecond.length / reference;
+                    }
+                    break;
+                case PERMUTATION:
+                    // fFirst is the pooled values, the first fSecond[0] of them are the reference
+                    long[] pooled = fFirst.clone();
+                    int n = (int) fSecond[0];
+                    double total = sum(pooled);
+                    for (int i = fFrom; i < fTo; i++) {
+                        // a random choice of the reference values suffices, that is a partial shuffle
+                        double referenceSum = 0;
+                        for (int j = 0; j < n; j++) {
+                            int k = j + fRandom.nextInt(pooled.length - j);
+                            long value = pooled[k];
+                            pooled[k] = pooled[j];
+                            pooled[j] = value;
+                            referenceSum += value;
+                        }
+                        fResults[i] = Math.abs((total - referenceSum) / (pooled.length - n) - referenceSum / n);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        private double resampleSum(long[] values) {
+            double sum = 0;
+            for (int j = 0; j < values.length; j++)
+                sum += values[fRandom.nextInt(values.length)];
+            return sum;
+        }
+    }
+
+    private final int          fResamples;
+    private final long         fSeed;
+    private final ForkJoinPool fPool;
+
+    /**
+     * Creates a resampler configured by the system properties, running on the common fork-join pool.
+     */
+    public Resampler() {
+        this(Integer.getInteger(RESAMPLES_PROPERTY, DEFAULT_RESAMPLES).intValue(),
+                Long.getLong(SEED_PROPERTY, DEFAULT_SEED).longValue(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param resamples
+     *            the number of resamples
+     * @param seed
+     *            the seed of the random generator
+     * @param pool
+     *            the pool that computes the resamples
+     */
+    public Resampler(int resamples, long seed, ForkJoinPool pool) {
+        if (resamples < 1)
+            throw new IllegalArgumentException("resamples must be positive: " + resamples); //$NON-NLS-1$
+        fResamples = resamples;
+        fSeed = seed;
+        fPool = pool;
+    }
+
+    /**
+     * Returns the bootstrap confidence interval of the mean of the values.
+     *
+     * @param values
+     *            the values, not empty
+     * @param percentile
+     *            the confidence level
+     * @return an array of length two, with the lower and upper bounds of the confidence interval
+     */
+    public double[] getMeanConfidenceInterval(long[] values, Percentile percentile) {
+        checkNotEmpty(values);
+        return getInterval(resample(MEAN, values, null), percentile);
+    }
+
+    /**
+     * Returns the bootstrap confidence interval of the median of the values.
+     *
+     * @param values
+     *            the values, not empty
+     * @param percentile
+     *            the confidence level
+     * @return an array of length two, with the lower and upper bounds of the confidence interval
+     */
+    public double[] getMedianConfidenceInterval(long[] values, Percentile percentile) {
+        checkNotEmpty(values);
+        return getInterval(resample(MEDIAN, values, null), percentile);
+    }
+
+    /**
+     * Returns the bootstrap confidence interval of the ratio of the mean of the measured values to the mean of the
+     * reference values. Reference and measured values are resampled independently.
+     *
+     * @param reference
+     *            the reference values, not empty, with a positive mean
+     * @param measured
+     *            the measured values, not empty
+     * @param percentile
+     *            the confidence level
+     * @return an array of length two, with the lower and upper bounds of the confidence interval
+     */
+    public double[] getRatioOfMeansConfidenceInterval(long[] reference, long[] measured, Percentile percentile) {
+        checkNotEmpty(reference);
+        checkNotEmpty(measured);
+        double[] ratios = resample(RATIO_OF_MEANS, reference, measured);
+        // a resample of only zeros as reference has no ratio, those sort last
+        Arrays.sort(ratios);
+        int valid = ratios.length;
+        while (valid > 0 && Double.isNaN(ratios[valid - 1]))
+            valid--;
+        if (valid == 0)
+            return new double[] { Double.NaN, Double.NaN };
+        return getSortedInterval(ratios, valid, percentile);
+    }
+
+    /**
+     * Returns the p-value of the two sided permutation test for a difference of the means of the reference and the
+     * measured values: the probability that a random split of all values into groups of the same sizes has a difference
+     * of the means at least as large as the observed one.
+     *
+     * @param reference
+     *            the reference values, not empty
+     * @param measured
+     *            the measured values, not empty
+     * @return the p-value, in <code>(0, 1]</code>
+     */
+    public double getPermutationPValue(long[] reference, long[] measured) {
+        checkNotEmpty(reference);
+        checkNotEmpty(measured);
+        long[] pooled = Arrays.copyOf(reference, reference.length + measured.length);
+        System.arraycopy(measured, 0, pooled, reference.length, measured.length);
+        double observed = Math.abs(sum(measured) / measured.length - sum(reference) / reference.length);
+        double[] differences = resample(PERMUTATION, pooled, new long[] { reference.length });
+        // tolerate rounding, equal differences must count
+        double limit = observed * (1 - 1e-9);
+        int extreme = 0;
+        for (double difference : differences) {
+            if (difference >= limit)
+                extreme++;
+        }
+        return (extreme + 1.0) / (differences.length + 1.0);
+    }
+
+    private double[] resample(int kind, long[] first, long[] second) {
+        double[] results = new double[fResamples];
+        fPool.invoke(new ResampleTask(kind, first, second, results, 0, fResamples, new SplittableRandom(fSeed)));
+        return results;
+    }
+
+    private static double[] getInterval(double[] results, Percentile percentile) {
+        Arrays.sort(results);
+        return getSortedInterval(results, results.length, percentile);
+    }
+
+    private static double[] getSortedInterval(double[] sorted, int length, Percentile percentile) {
+        double alpha = 1 - percentile.inside();
+        return new double[] { quantile(sorted, length, alpha / 2), quantile(sorted, length, 1 - alpha / 2) };
+    }
+
+    private static double quantile(double[] sorted, int length, double p) {
+        double h = (length - 1) * p;
+        int rank = (int) Math.floor(h);
+        if (rank + 1 >= length)
+            return sorted[length - 1];
+        return sorted[rank] + (h - rank) * (sorted[rank + 1] - sorted[rank]);
+    }
+
+    private static double sum(long[] values) {
+        double sum = 0;
+        for (long value : values)
+            sum += value;
+        return sum;
+    }
+
+    private static void checkNotEmpty(long[] values) {
+        if (values.length == 0)
+            throw new IllegalArgumentException("no values to resample"); //$NON-NLS-1$
+    }
+}
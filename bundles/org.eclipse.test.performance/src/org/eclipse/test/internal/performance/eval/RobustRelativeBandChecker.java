@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.Dim;
+
+/**
+ * Like {@link RelativeBandChecker}, but compares medians instead of averages, and only fails if the whole 95%
+ * confidence interval of the measured median is outside of the band. A single run disturbed by a GC pause or a busy
+ * machine moves neither much, so this checker reports far fewer false regressions.
+ * <p>
+ * Aggregated data from the database has no median, so its raw values are loaded for this checker, see
+ * {@link org.eclipse.test.internal.performance.db.DB#RAW_DELTAS_PROPERTY}. If they were not stored, it is compared by its
+ * average, which is logged as a warning.
+ * </p>
+ *
+ * @since 3.14
+ */
+public class RobustRelativeBandChecker extends AssertChecker {
+
+    private final double        fLowerBand;
+    private final double        fUpperBand;
+    private final OutlierPolicy fPolicy;
+
+    /**
+     * @param dimension
+     *            the dimension to check
+     * @param lowerBand
+     *            the lowest allowed ratio of the measured to the reference median
+     * @param upperBand
+     *            the highest allowed ratio of the measured to the reference median
+     * @param policy
+     *            the outliers to drop before the medians are computed
+     */
+    public RobustRelativeBandChecker(Dim dimension, double lowerBand, double upperBand, OutlierPolicy policy) {
+        super(dimension);
+        fLowerBand = lowerBand;
+        fUpperBand = upperBand;
+        fPolicy = policy;
+    }
+
+    @Override
+    public boolean needsValues() {
+        return true;
+    }
+
+    @Override
+    public boolean test(StatisticsSession reference, StatisticsSession measured, StringBuffer message) {
+        Dim dimension = getDimension();
+
+        if (!measured.contains(dimension)) {
+            PerformanceTestPlugin.logWarning("collected data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+            return true;
+        }
+        if (!reference.contains(dimension)) {
+            PerformanceTestPlugin.logWarning("reference data provides no dimension '" + dimension.getName() + '\''); //$NON-NLS-1$
+            return true;
+        }
+
+        double actual, actualLower, actualUpper;
+        RobustStatistics measuredStats = measured.getRobustStatistics(dimension, fPolicy);
+        if (measuredStats != null && measuredStats.getCount() > 0) {
+            actual = measuredStats.getMedian();
+            double[] interval = measuredStats.getMedianConfidenceInterval();
+            actualLower = interval[0];
+            actualUpper = interval[1];
+        } else {
+            logNoValues("measured", dimension); //$NON-NLS-1$
+            actual = actualLower = actualUpper = measured.getAverage(dimension);
+        }
+        RobustStatistics referenceStats = reference.getRobustStatistics(dimension, fPolicy);
+        double test;
+        if (referenceStats != null && referenceStats.getCount() > 0)
+            test = referenceStats.getMedian();
+        else {
+            logNoValues("reference", dimension); //$NON-NLS-1$
+            test = reference.getAverage(dimension);
+        }
+
+        if (test < 0.001 && test > -0.001) {
+            // we don't fail for reference value of zero
+            PerformanceTestPlugin.logWarning("ref value for '" + dimension.getName() + "' is too small"); //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        }
+        if (actual < 0) {
+            // we don't fail for negative values
+            PerformanceTestPlugin.logWarning("actual value for '" + dimension.getName() + "' is negative"); //$NON-NLS-1$ //$NON-NLS-2$
+            return true;
+        }
+
+        if (actualLower > fUpperBand * test || actualUpper < fLowerBand * test) {
+            message.append('\n' + dimension.getName() + ": median " + dimension.getDisplayValue(actual) //$NON-NLS-1$
+                    + " (95% in [" + dimension.getDisplayValue(actualLower) + ", " + dimension.getDisplayValue(actualUpper) //$NON-NLS-1$ //$NON-NLS-2$
+                    + "]) is not within [" + Math.round(fLowerBand * 100) + "%, " + Math.round(fUpperBand * 100) + "%] of " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    + dimension.getDisplayValue(test));
+            if (measuredStats != null && measuredStats.getOutliers() > 0)
+                message.append(", " + measuredStats.getOutliers() + " outliers dropped (" + fPolicy + ')'); //$NON-NLS-1$ //$NON-NLS-2$
+            return false;
+        }
+        return true;
+    }
+
+    private static void logNoValues(String data, Dim dimension) {
+        PerformanceTestPlugin.logWarning(data + " data provides no values of '" + dimension.getName() //$NON-NLS-1$
+                + "', comparing its average instead of its median"); //$NON-NLS-1$
+    }
+}
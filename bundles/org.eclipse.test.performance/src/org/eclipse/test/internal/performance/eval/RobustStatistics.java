@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.eval;
+
+/**
+ * Order based statistics of the measured values of one dimension, which unlike the mean and the standard deviation are
+ * hardly affected by a few extreme values. The statistics are computed on the values kept by an {@link OutlierPolicy}.
+ * <p>
+ * Quantiles are found by selection (quickselect) on a primitive copy of the values, so no statistic needs a full sort.
+ * Quantiles interpolate linearly between the closest ranks.
+ * </p>
+ *
+ * @since 3.14
+ */
+public final class RobustStatistics {
+
+    /** The fraction of the values dropped at each end for the trimmed mean. */
+    public static final double TRIM = 0.1;
+
+    private final int          fCount;
+    private final int          fOutliers;
+    private final double       fMean;
+    private final double       fMedian;
+    private final double       fQ1;
+    private final double       fQ3;
+    private final double       fMad;
+    private final double       fTrimmedMean;
+    private final double       fMedianLower;
+    private final double       fMedianUpper;
+
+    /**
+     * @param values
+     *            the measured values; the array is reordered
+     * @param policy
+     *            the outlier policy
+     */
+    RobustStatistics(long[] values, OutlierPolicy policy) {
+        int n = values.length;
+        long[] deviations = new long[n];
+        if (policy != OutlierPolicy.NONE && n > 0) {
+            double median = quantile(values, 0, n, 0.5);
+            double mad = getMad(values, n, median, deviations);
+            n = policy.filter(values, n, median, quantile(values, 0, n, 0.25), quantile(values, 0, n, 0.75), mad);
+        }
+        fCount = n;
+        fOutliers = values.length - n;
+        if (n == 0) {
+            fMean = fMedian = fQ1 = fQ3 = fMad = fTrimmedMean = fMedianLower = fMedianUpper = 0;
+            return;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < n; i++)
+            sum += values[i];
+        fMean = sum / n;
+        fMedian = quantile(values, 0, n, 0.5);
+        fQ1 = quantile(values, 0, n, 0.25);
+        fQ3 = quantile(values, 0, n, 0.75);
+        fMad = getMad(values, n, fMedian, deviations);
+
+        // distribution free 95% confidence interval of the median: the order statistics around n / 2 that are
+        // within 1.96 standard deviations of the binomial(n, 0.5) distribution
+        double spread = 1.96 * Math.sqrt(n) / 2;
+        int lower = Math.max(0, (int) Math.floor(n / 2.0 - spread) - 1);
+        int upper = Math.min(n - 1, (int) Math.ceil(n / 2.0 + spread));
+        fMedianLower = select(values, 0, n, lower);
+        fMedianUpper = select(values, 0, n, upper);
+
+        // after selecting rank k, the values from k on are not smaller; selecting in that range keeps the invariant
+        int trim = (int) (TRIM * n);
+        select(values, 0, n, trim);
+        select(values, trim, n, n - trim - 1);
+        double trimmedSum = 0;
+        for (int i = trim; i < n - trim; i++)
+            trimmedSum += values[i];
+        fTrimmedMean = trimmedSum / (n - 2 * trim);
+    }
+
+    /*
+     * Answers the median absolute deviation from the median. The median of longs is a multiple of 1/2, so twice the
+     * deviations are exact longs, and so is twice their median.
+     */
+    private static double getMad(long[] values, int n, double median, long[] deviations) {
+        long twiceMedian = Math.round(2 * median);
+        for (int i = 0; i < n; i++)
+            deviations[i] = Math.abs(2 * values[i] - twiceMedian);
+        return quantile(deviations, 0, n, 0.5) / 2;
+    }
+
+    /**
+     * Answers the quantile of the values in <code>[from, to)</code>, interpolating between the closest ranks.
+     *
+     * @param values
+     *            the values; the range is reordered
+     * @param from
+     *            the first index of the range
+     * @param to
+     *            the index after the range
+     * @param p
+     *            the quantile, between 0 and 1
+     * @return the quantile
+     */
+    static double quantile(long[] values, int from, int to, double p) {
+        double h = (to - from - 1) * p;
+        int rank = from + (int) Math.floor(h);
+        long value = select(values, from, to, rank);
+        if (rank + 1 >= to || h == Math.floor(h))
+            return value;
+        // the next order statistic is the smallest value right of the selected one
+        long next = values[rank + 1];
+        for (int i = rank + 2; i < to; i++) {
+            if (values[i] < next)
+                next = values[i];
+        }
+        return value + (h - Math.floor(h)) * (next - value);
+    }
+
+    /**
+     * Reorders the values in <code>[from, to)</code> so that the value at <code>rank</code> is the one a sort would put
+     * there, with no larger values before and no smaller values after it, and answers that value.
+     *
+     * @param values
+     *            the values
+     * @param from
+     *            the first index of the range
+     * @param to
+     *            the index after the range
+     * @param rank
+     *            the index of the value to select, in the range
+     * @return the value at <code>rank</code>
+     */
+    static long select(long[] values, int from, int to, int rank) {
+        int left = from, right = to - 1;
+        while (right > left) {
+            // median of three pivot, so that sorted input is not the worst case
+            int middle = (left + right) >>> 1;
+            if (values[middle] < values[left])
+                swap(values, left, middle);
+            if (values[right] < values[left])
+                swap(values, left, right);
+            if (values[right] < values[middle])
+                swap(values, middle, right);
+            long pivot = values[middle];
+            int i = left, j = right;
+            while (i <= j) {
+                while (values[i] < pivot)
+                    i++;
+                while (values[j] > pivot)
+                    j--;
+                if (i <= j)
+                    swap(values, i++, j--);
+            }
+            if (rank <= j)
+                right = j;
+            else if (rank >= i)
+                left = i;
+            else
+                break;
+        }
+        return values[rank];
+    }
+
+    private static void swap(long[] values, int i, int j) {
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    /**
+     * @return the number of values the statistics are computed on, after dropping outliers
+     */
+    public int getCount() {
+        return fCount;
+    }
+
+    /**
+     * @return the number of values dropped as outliers
+     */
+    public int getOutliers() {
+        return fOutliers;
+    }
+
+    /**
+     * @return the mean of the values kept
+     */
+    public double getMean() {
+        return fMean;
+    }
+
+    /**
+     * @return the median
+     */
+    public double getMedian() {
+        return fMedian;
+    }
+
+    /**
+     * @return the first quartile
+     */
+    public double getQ1() {
+        return fQ1;
+    }
+
+    /**
+     * @return the third quartile
+     */
+    public double getQ3() {
+        return fQ3;
+    }
+
+    /**
+     * @return the inter quartile range
+     */
+    public double getIQR() {
+        return fQ3 - fQ1;
+    }
+
+    /**
+     * @return the median absolute deviation from the median
+     */
+    public double getMAD() {
+        return fMad;
+    }
+
+    /**
+     * @return the mean of the values without the lowest and highest {@link #TRIM} of them
+     */
+    public double getTrimmedMean() {
+        return fTrimmedMean;
+    }
+
+    /**
+     * Returns the distribution free 95% confidence interval of the median.
+     *
+     * @return an array of length two, with the lower and upper bounds of the confidence interval
+     */
+    public double[] getMedianConfidenceInterval() {
+        return new double[] { fMedianLower, fMedianUpper };
+    }
+}
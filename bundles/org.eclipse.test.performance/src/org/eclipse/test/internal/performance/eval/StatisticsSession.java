@@ -11,14 +11,17 @@
 
 package org.eclipse.test.internal.performance.eval;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.test.internal.performance.InternalDimensions;
 import org.eclipse.test.internal.performance.InternalPerformanceMeter;
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.LatencyHistogram;
 import org.eclipse.test.internal.performance.data.Scalar;
 import org.eclipse.test.internal.performance.eval.StatisticsUtil.Percentile;
 import org.junit.Assert;
@@ -36,11 +39,150 @@ public class StatisticsSession {
         public double stddev;
     }
 
+    /**
+     * Accumulators for all dimensions of the data points, in primitive arrays indexed by a slot per dimension. Values
+     * are accumulated shifted by the first value of their dimension, so that the variance does not suffer from
+     * cancellation when the values are large compared to their spread (e.g. time stamps).
+     */
+    private static final class Accumulators {
+
+        /** dimensions with larger ids are left to the computation per dimension */
+        private static final int MAX_ID    = 1 << 16;
+
+        int[]                    slotById  = new int[128];
+        Dim[]                    dims      = new Dim[32];
+        int                      size;
+        long[]                   count     = new long[32];
+        long[]                   sum       = new long[32];
+        long[]                   shift     = new long[32];
+        double[]                 shiftedSum = new double[32];
+        double[]                 shiftedSquares = new double[32];
+        double[]                 doubleSum = new double[32];
+        long[]                   otherCount = new long[32];
+        long[]                   otherSum  = new long[32];
+
+        Accumulators() {
+            Arrays.fill(slotById, -1);
+        }
+
+        /*
+         * Answer the slot of the dimension, adding one if needed, or -1 if the dimension cannot have a slot.
+         */
+        int slot(Dim dimension) {
+            int id = dimension.getId();
+            if (id < 0 || id >= MAX_ID)
+                return -1;
+            if (id >= slotById.length) {
+                int length = slotById.length;
+                slotById = Arrays.copyOf(slotById, Math.max(2 * length, id + 1));
+                Arrays.fill(slotById, length, slotById.length, -1);
+            }
+            int slot = slotById[id];
+            if (slot < 0) {
+                slot = size++;
+                if (slot == dims.length) {
+                    int length = 2 * slot;
+                    dims = Arrays.copyOf(dims, length);
+                    count = Arrays.copyOf(count, length);
+                    sum = Arrays.copyOf(sum, length);
+                    shift = Arrays.copyOf(shift, length);
+                    shiftedSum = Arrays.copyOf(shiftedSum, length);
+                    shiftedSquares = Arrays.copyOf(shiftedSquares, length);
+                    doubleSum = Arrays.copyOf(doubleSum, length);
+                    otherCount = Arrays.copyOf(otherCount, length);
+                    otherSum = Arrays.copyOf(otherSum, length);
+                }
+                dims[slot] = dimension;
+                slotById[id] = slot;
+            }
+            return slot;
+        }
+
+        void add(int slot, long value) {
+            if (count[slot] == 0)
+                shift[slot] = value;
+            double shifted = value - shift[slot];
+            count[slot]++;
+            sum[slot] += value;
+            shiftedSum[slot] += shifted;
+            shiftedSquares[slot] += shifted * shifted;
+        }
+
+        /*
+         * Answer the statistics of the values added to the slot, plus <code>zeros</code> values of 0.
+         */
+        Statistics getStatistics(int slot, long zeros) {
+            if (zeros > 0) {
+                if (count[slot] == 0)
+                    shift[slot] = 0;
+                double shifted = -shift[slot];
+                count[slot] += zeros;
+                shiftedSum[slot] += zeros * shifted;
+                shiftedSquares[slot] += zeros * shifted * shifted;
+            }
+            Statistics stats = new Statistics();
+            long n = count[slot];
+            stats.count = n;
+            stats.sum = sum[slot];
+            if (n > 0) {
+                stats.average = (double) stats.sum / n;
+                if (n > 1) {
+                    double squaredDeviations = shiftedSquares[slot] - shiftedSum[slot] * shiftedSum[slot] / n;
+                    stats.stddev = Math.sqrt(Math.max(0, squaredDeviations / (n - 1))); // unbiased sample stdev
+                }
+            }
+            return stats;
+        }
+    }
+
+    /** the value of {@link InternalDimensions#GC_POLICY} for the "subtract" policy */
+    private static final long GC_POLICY_SUBTRACT = 2;
+
     private final DataPoint[] fDataPoints;
+    private final boolean     fSubtractGcPauses;
     private final Map<Dim, Statistics>         fStatistics = new HashMap<>();
+    private final Map<Dim, Map<OutlierPolicy, RobustStatistics>> fRobustStatistics = new HashMap<>();
+    private final Map<Dim, long[]>             fValues = new HashMap<>();
+    private Set<Integer>                       fSteps;
+    private LatencyHistogram                   fHistogram;
+    private boolean                            fComputedAll;
 
     public StatisticsSession(DataPoint[] datapoints) {
+        this(datapoints, true);
+    }
+
+    /**
+     * Creates a session that computes the statistics of the data points.
+     * 
+     * @param datapoints
+     *            the data points
+     * @param subtractGcPauses
+     *            whether to subtract the GC pauses from the {@link #excludesGcPauses(Dim) elapsed times} of measurements
+     *            recorded with the "subtract" GC policy; <code>false</code> to compute the statistics of the values as
+     *            they were measured, e.g. for storing them
+     * @see InternalPerformanceMeter#GC_POLICY_PROPERTY
+     * @since 3.14
+     */
+    public StatisticsSession(DataPoint[] datapoints, boolean subtractGcPauses) {
         fDataPoints = datapoints;
+        fSubtractGcPauses = subtractGcPauses;
+    }
+
+    /**
+     * Answer whether the GC pauses that overlap a measurement are subtracted from the values of a dimension when the
+     * measurement was recorded with the "subtract" GC policy. The pauses are recorded as
+     * {@link InternalDimensions#GC_PAUSE_TIME} and subtracted when the statistics are computed, so that the stored
+     * values remain those measured. Only the wall clock times are affected; the CPU times include the work of the
+     * collector threads.
+     * 
+     * @param dimension
+     *            the dimension
+     * @return <code>true</code> for the elapsed time dimensions
+     * @see InternalPerformanceMeter#GC_POLICY_PROPERTY
+     * @since 3.14
+     */
+    public static boolean excludesGcPauses(Dim dimension) {
+        return dimension == InternalDimensions.ELAPSED_PROCESS || dimension == InternalDimensions.SYSTEM_TIME;
     }
 
     public double getAverage(Dim dimension) {
@@ -88,24 +230,263 @@ public class StatisticsSession {
         return interval;
     }
 
+    /**
+     * Returns the bootstrap confidence interval of the mean for the given dimension and the percentile. Unlike
+     * {@link #getConfidenceInterval(Dim, Percentile)} it does not assume normally distributed values; it is the same for
+     * aggregates, which have no values to resample.
+     * 
+     * @param dimension
+     *            the dimension
+     * @param percentile
+     *            the percentile
+     * @param resampler
+     *            the resampler
+     * @return an array of length two, with the lower and upper bounds of the confidence interval
+     * @since 3.14
+     */
+    public double[] getBootstrapConfidenceInterval(Dim dimension, Percentile percentile, Resampler resampler) {
+        long[] values = getValues(dimension);
+        if (values == null || values.length == 0)
+            return getConfidenceInterval(dimension, percentile);
+        return resampler.getMeanConfidenceInterval(values, percentile);
+    }
+
+    /**
+     * Returns the measured values of the given dimension, e.g. for {@link Resampler resampling}. If values were set for
+     * {@link InternalDimensions#GC_PAUSE_TIME} too, the pauses are subtracted from the set values of the elapsed times as
+     * from the data points.
+     * 
+     * @param dimension
+     *            the dimension
+     * @return a new array with the measured values, or <code>null</code> if the data points are not measurements and no
+     *         values were {@link #setValues(Dim, long[]) set}
+     * @since 3.14
+     */
+    public long[] getValues(Dim dimension) {
+        long[] values = fValues.get(dimension);
+        if (values != null) {
+            values = values.clone();
+            long[] pauses = fValues.get(InternalDimensions.GC_PAUSE_TIME);
+            if (pauses != null && pauses.length == values.length && excludesGcPauses(dimension) && isGcPauseSubtracted()) {
+                for (int i = 0; i < values.length; i++)
+                    values[i] -= pauses[i];
+            }
+            return values;
+        }
+        return hasMeasurements() ? getMagnitudes(dimension, getSteps()) : null;
+    }
+
+    /**
+     * Sets the measured values of the given dimension, for aggregates whose values are stored separately, see
+     * {@link org.eclipse.test.internal.performance.db.DB#queryRawDeltas}. The statistics remain those of the data points.
+     * 
+     * @param dimension
+     *            the dimension
+     * @param values
+     *            the measured values
+     * @since 3.14
+     */
+    public void setValues(Dim dimension, long[] values) {
+        fValues.put(dimension, values.clone());
+    }
+
+    /**
+     * Returns the histogram of the latencies the data points summarize, see
+     * {@link org.eclipse.test.internal.performance.HistogramPerformanceMeter}.
+     * 
+     * @return the histogram, or <code>null</code> if none was {@link #setHistogram(LatencyHistogram) set}
+     * @since 3.14
+     */
+    public LatencyHistogram getHistogram() {
+        return fHistogram;
+    }
+
+    /**
+     * Sets the histogram of the latencies the data points summarize, e.g. as stored with the samples, see
+     * {@link org.eclipse.test.internal.performance.db.DB#queryHistogram}.
+     * 
+     * @param histogram
+     *            the histogram
+     * @since 3.14
+     */
+    public void setHistogram(LatencyHistogram histogram) {
+        fHistogram = histogram;
+    }
+
+    /**
+     * Returns whether the data points are measurements, as opposed to aggregates like the data points stored in the
+     * database. Only measurements, and aggregates whose values were {@link #setValues(Dim, long[]) set}, have
+     * {@link #getRobustStatistics(Dim, OutlierPolicy) robust statistics}.
+     * 
+     * @return <code>true</code> if the data points are measurements
+     */
+    public boolean hasMeasurements() {
+        Set<Integer> steps = getSteps();
+        return !steps.contains(Integer.valueOf(InternalPerformanceMeter.AVERAGE))
+                && steps.contains(Integer.valueOf(InternalPerformanceMeter.AFTER));
+    }
+
+    /**
+     * Returns the median, the quartiles and related statistics of the measured values of the given dimension.
+     * 
+     * @param dimension
+     *            the dimension
+     * @param policy
+     *            the policy for dropping outliers before the statistics are computed
+     * @return the statistics, or <code>null</code> if the data points are not measurements and no values were
+     *         {@link #setValues(Dim, long[]) set}
+     * @see #hasMeasurements()
+     */
+    public RobustStatistics getRobustStatistics(Dim dimension, OutlierPolicy policy) {
+        if (!hasMeasurements() && !fValues.containsKey(dimension))
+            return null;
+        Map<OutlierPolicy, RobustStatistics> byPolicy = fRobustStatistics.get(dimension);
+        if (byPolicy == null) {
+            byPolicy = new HashMap<>();
+            fRobustStatistics.put(dimension, byPolicy);
+        }
+        RobustStatistics stats = byPolicy.get(policy);
+        if (stats == null) {
+            stats = new RobustStatistics(getValues(dimension), policy);
+            byPolicy.put(policy, stats);
+        }
+        return stats;
+    }
+
+    private Set<Integer> getSteps() {
+        if (fSteps == null) {
+            Set<Integer> steps = new HashSet<>();
+            for (int j = 0; j < fDataPoints.length; j++) {
+                DataPoint dp = fDataPoints[j];
+                steps.add(Integer.valueOf(dp.getStep()));
+            }
+            fSteps = steps;
+        }
+        return fSteps;
+    }
+
     private Statistics getStats(Dim dimension) {
         Statistics stats = fStatistics.get(dimension);
+        if (stats == null && !fComputedAll) {
+            // reports usually ask for many dimensions, compute them all in one pass
+            fComputedAll = true;
+            computeAllStats();
+            stats = fStatistics.get(dimension);
+        }
         if (stats == null) {
+            // not covered by the single pass, e.g. missing in some data points; fails as appropriate
             stats = computeStats(dimension);
             fStatistics.put(dimension, stats);
         }
         return stats;
     }
 
+    /**
+     * Computes the statistics of all dimensions in one pass over the data points. Dimensions whose data is not
+     * consistent are left out, so that {@link #computeStats(Dim)} reports them when they are asked for.
+     */
+    private void computeAllStats() {
+        Set<Integer> steps = getSteps();
+        if (steps.contains(Integer.valueOf(InternalPerformanceMeter.AVERAGE)))
+            computeAllStatsFromAggregates();
+        else if (steps.contains(Integer.valueOf(InternalPerformanceMeter.AFTER))) {
+            if (steps.size() == 1)
+                computeAllStatsFromValues();
+            else if (steps.size() == 2)
+                computeAllStatsFromDeltas();
+        }
+    }
+
+    private void computeAllStatsFromAggregates() {
+        Accumulators acc = new Accumulators();
+        // count: the number of averages, doubleSum: the sum of the averages, otherSum: the sum of the sizes,
+        // shiftedSum: the sum of the standard deviations
+        for (DataPoint point : fDataPoints) {
+            int step = point.getStep();
+            if (step != InternalPerformanceMeter.AVERAGE && step != InternalPerformanceMeter.STDEV
+                    && step != InternalPerformanceMeter.SIZE)
+                return;
+            for (Scalar scalar : point.getScalars()) {
+                int slot = acc.slot(scalar.getDimension());
+                if (slot < 0)
+                    continue;
+                long magnitude = scalar.getMagnitude();
+                if (step == InternalPerformanceMeter.AVERAGE) {
+                    if (excludesGcPauses(scalar.getDimension()))
+                        magnitude -= getGcPause(null, point);
+                    acc.doubleSum[slot] += magnitude;
+                    acc.count[slot]++;
+                } else if (step == InternalPerformanceMeter.STDEV)
+                    acc.shiftedSum[slot] += Double.longBitsToDouble(magnitude); // see DB.internalStore
+                else
+                    acc.otherSum[slot] += magnitude;
+            }
+        }
+        for (int slot = 0; slot < acc.size; slot++) {
+            // as in computeStatsFromAggregates
+            Statistics stats = new Statistics();
+            stats.average = acc.doubleSum[slot] / acc.count[slot];
+            stats.stddev = acc.shiftedSum[slot] / acc.count[slot];
+            stats.count = acc.otherSum[slot];
+            stats.sum = Math.round(stats.count * stats.average);
+            fStatistics.put(acc.dims[slot], stats);
+        }
+    }
+
+    private void computeAllStatsFromValues() {
+        // if there is only one Step, we don't calculate the delta. happens for startup tests
+        Accumulators acc = new Accumulators();
+        for (DataPoint point : fDataPoints) {
+            for (Scalar scalar : point.getScalars()) {
+                int slot = acc.slot(scalar.getDimension());
+                if (slot >= 0)
+                    acc.add(slot, scalar.getMagnitude());
+            }
+        }
+        for (int slot = 0; slot < acc.size; slot++) {
+            // a missing value counts as 0
+            fStatistics.put(acc.dims[slot], acc.getStatistics(slot, fDataPoints.length - acc.count[slot]));
+        }
+    }
+
+    private void computeAllStatsFromDeltas() {
+        Accumulators acc = new Accumulators();
+        // otherSum: the before value of the current pair, otherCount: the index of the pair + 1 if there is one
+        int pairs = fDataPoints.length / 2;
+        for (int i = 0; i < pairs; i++) {
+            DataPoint before = fDataPoints[2 * i];
+            DataPoint after = fDataPoints[2 * i + 1];
+            if (before.getStep() != InternalPerformanceMeter.BEFORE || after.getStep() != InternalPerformanceMeter.AFTER)
+                return; // wrong order of steps
+            long pause = getGcPause(before, after);
+            for (Scalar scalar : before.getScalars()) {
+                int slot = acc.slot(scalar.getDimension());
+                if (slot >= 0) {
+                    acc.otherSum[slot] = scalar.getMagnitude();
+                    acc.otherCount[slot] = i + 1;
+                }
+            }
+            for (Scalar scalar : after.getScalars()) {
+                int slot = acc.slot(scalar.getDimension());
+                if (slot >= 0 && acc.otherCount[slot] == i + 1) {
+                    long delta = scalar.getMagnitude() - acc.otherSum[slot];
+                    if (pause != 0 && excludesGcPauses(scalar.getDimension()))
+                        delta -= pause;
+                    acc.add(slot, delta);
+                }
+            }
+        }
+        for (int slot = 0; slot < acc.size; slot++) {
+            if (pairs > 0 && acc.count[slot] == pairs)
+                fStatistics.put(acc.dims[slot], acc.getStatistics(slot, 0));
+        }
+    }
+
     private Statistics computeStats(Dim dimension) {
 
         Statistics stats;
 
-        Set<Integer> steps = new HashSet<>();
-        for (int j = 0; j < fDataPoints.length; j++) {
-            DataPoint dp = fDataPoints[j];
-            steps.add(Integer.valueOf(dp.getStep()));
-        }
+        Set<Integer> steps = getSteps();
 
         if (steps.contains(Integer.valueOf(InternalPerformanceMeter.AVERAGE))) {
             // an already aggregated set of data points from the DB
@@ -143,6 +524,8 @@ public class StatisticsSession {
             long magnitude = scalar.getMagnitude();
             switch (aggregate.intValue()) {
                 case InternalPerformanceMeter.AVERAGE:
+                    if (excludesGcPauses(dimension))
+                        magnitude -= getGcPause(null, point);
                     averageSum += magnitude;
                     aggregateCount++;
                     break;
@@ -170,6 +553,37 @@ public class StatisticsSession {
 
     private Statistics computeStatsFromMeasurements(Dim dimension, Set<Integer> steps) {
         Statistics stats = new Statistics();
+        long mags[] = getMagnitudes(dimension, steps);
+
+        for (int i = 0; i < mags.length; i++) {
+            stats.sum += mags[i];
+            stats.count++;
+        }
+
+        if (stats.count > 0) {
+            stats.average = (double) stats.sum / stats.count;
+            if (stats.count == 1) {
+                stats.stddev = 0;
+            } else {
+                double squaredDeviations = 0;
+                for (int i = 0; i < mags.length; i++) {
+                    double deviation = stats.average - mags[i];
+                    squaredDeviations += deviation * deviation;
+                }
+                stats.stddev = Math.sqrt(squaredDeviations / (stats.count - 1)); // unbiased sample stdev
+            }
+        } else {
+            stats.average = 0;
+            stats.stddev = 0;
+        }
+
+        return stats;
+    }
+
+    /*
+     * Answer the measured values of the dimension, the after - before deltas if there are two steps.
+     */
+    private long[] getMagnitudes(Dim dimension, Set<Integer> steps) {
         long mags[];
         switch (steps.size()) {
             case 1:
@@ -198,30 +612,7 @@ public class StatisticsSession {
                 Assert.fail("cannot handle more than two steps in measurement mode"); //$NON-NLS-1$
                 return null; // dummy
         }
-
-        for (int i = 0; i < mags.length; i++) {
-            stats.sum += mags[i];
-            stats.count++;
-        }
-
-        if (stats.count > 0) {
-            stats.average = (double) stats.sum / stats.count;
-            if (stats.count == 1) {
-                stats.stddev = 0;
-            } else {
-                double squaredDeviations = 0;
-                for (int i = 0; i < mags.length; i++) {
-                    double deviation = stats.average - mags[i];
-                    squaredDeviations += deviation * deviation;
-                }
-                stats.stddev = Math.sqrt(squaredDeviations / (stats.count - 1)); // unbiased sample stdev
-            }
-        } else {
-            stats.average = 0;
-            stats.stddev = 0;
-        }
-
-        return stats;
+        return mags;
     }
 
     private Scalar getDelta(DataPoint before, DataPoint after, Dim dimension) {
@@ -231,7 +622,45 @@ public class StatisticsSession {
         Scalar two = after.getScalar(dimension);
         Assert.assertTrue("reference has no value for dimension " + dimension, two != null); //$NON-NLS-1$
 
-        return new Scalar(one.getDimension(), two.getMagnitude() - one.getMagnitude());
+        long delta = two.getMagnitude() - one.getMagnitude();
+        if (excludesGcPauses(dimension))
+            delta -= getGcPause(before, after);
+        return new Scalar(one.getDimension(), delta);
+    }
+
+    /*
+     * Answer the GC pause time to subtract from the elapsed times of a measurement, or of the average of measurements if
+     * there is no before data point: 0 unless the GC pauses are subtracted and the measurement was recorded with the
+     * "subtract" policy.
+     */
+    private long getGcPause(DataPoint before, DataPoint after) {
+        if (!fSubtractGcPauses)
+            return 0;
+        Scalar policy = after.getScalar(InternalDimensions.GC_POLICY);
+        Scalar pause = after.getScalar(InternalDimensions.GC_PAUSE_TIME);
+        if (policy == null || policy.getMagnitude() != GC_POLICY_SUBTRACT || pause == null)
+            return 0;
+        Scalar pauseBefore = before != null ? before.getScalar(InternalDimensions.GC_PAUSE_TIME) : null;
+        return pause.getMagnitude() - (pauseBefore != null ? pauseBefore.getMagnitude() : 0);
+    }
+
+    /*
+     * Answer whether the GC pauses are subtracted from the values set for aggregates, i.e. whether all samples were
+     * recorded with the "subtract" policy.
+     */
+    private boolean isGcPauseSubtracted() {
+        if (!fSubtractGcPauses)
+            return false;
+        boolean subtracted = false;
+        for (DataPoint point : fDataPoints) {
+            if (point.getStep() == InternalPerformanceMeter.AVERAGE) {
+                Scalar policy = point.getScalar(InternalDimensions.GC_POLICY);
+                if (policy == null || policy.getMagnitude() != GC_POLICY_SUBTRACT)
+                    return false;
+                subtracted = true;
+            }
+        }
+        return subtracted;
     }
 
     public boolean contains(Dim dimension) {
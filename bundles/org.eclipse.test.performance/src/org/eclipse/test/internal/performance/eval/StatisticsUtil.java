@@ -110,6 +110,37 @@ public final class StatisticsUtil {
                 standardError(values, stddevs, counts), deviation(values), };
     }
 
+    /**
+     * Compares the measured values of two data sets without assuming normally distributed values, by resampling. This is
+     * the counterpart of {@link #statisticsForTimeSeries(TimeSeries, int, TimeSeries, int, Percentile)} for raw values; a
+     * time series only has the average, standard deviation and count of each build.
+     * 
+     * @param reference
+     *            the reference values, not empty
+     * @param measured
+     *            the measured values, not empty
+     * @param percentile
+     *            the confidence level of the interval
+     * @param resampler
+     *            the resampler
+     * @return the lower and upper bounds of the bootstrap confidence interval of the ratio of the measured to the
+     *         reference mean, the permutation test p-value for a difference of the means, and the relative deviation of
+     *         the means
+     * @since 3.14
+     */
+    public static double[] statisticsForSamples(long[] reference, long[] measured, Percentile percentile, Resampler resampler) {
+        double[] interval = resampler.getRatioOfMeansConfidenceInterval(reference, measured, percentile);
+        double[] means = new double[] { mean(reference), mean(measured) };
+        return new double[] { interval[0], interval[1], resampler.getPermutationPValue(reference, measured), deviation(means) };
+    }
+
+    private static double mean(long[] values) {
+        double sum = 0;
+        for (long value : values)
+            sum += value;
+        return sum / values.length;
+    }
+
     public static double studentTtest(double[] values, double[] stddevs, long[] counts, Percentile percentile) {
 
         double ref = values[0];
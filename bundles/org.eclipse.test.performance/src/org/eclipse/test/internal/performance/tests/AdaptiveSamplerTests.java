@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import org.eclipse.test.internal.performance.AdaptiveSampler;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import junit.framework.TestCase;
+
+public class AdaptiveSamplerTests extends TestCase {
+
+    /**
+     * Counts the measurements and checks that they are balanced.
+     */
+    private static class CountingMeter extends PerformanceMeter {
+
+        int     fMeasurements;
+        boolean fRunning;
+
+        @Override
+        public void start() {
+            assertFalse(fRunning);
+            fRunning = true;
+        }
+
+        @Override
+        public void stop() {
+            assertTrue(fRunning);
+            fRunning = false;
+            fMeasurements++;
+        }
+
+        @Override
+        public void commit() {
+            // nothing to commit
+        }
+
+        @Override
+        public void dispose() {
+            // nothing to dispose
+        }
+    }
+
+    /**
+     * Runs slowly the first few times, then takes a constant time.
+     */
+    private static class ColdOperation implements Runnable {
+
+        private final int fColdRuns;
+        int               fRuns;
+
+        ColdOperation(int coldRuns) {
+            fColdRuns = coldRuns;
+        }
+
+        @Override
+        public void run() {
+            spin(fRuns++ < fColdRuns ? 10 : 1);
+        }
+    }
+
+    private static void spin(long millis) {
+        long end = System.nanoTime() + millis * 1000000;
+        while (System.nanoTime() < end) {
+            // busy wait, which is more regular than sleeping
+        }
+    }
+
+    public void testWarmupUntilSteadyState() {
+        CountingMeter meter = new CountingMeter();
+        ColdOperation operation = new ColdOperation(3);
+        AdaptiveSampler sampler = new AdaptiveSampler(5, 0.2, 0.5, 10000);
+        int samples = sampler.run(meter, operation);
+
+        assertTrue(sampler.isSteady());
+        // the window has to be free of cold runs
+        assertTrue(sampler.getWarmupRuns() >= 3 + 5);
+        assertEquals(samples, sampler.getSamples());
+        assertEquals(samples, meter.fMeasurements);
+        assertEquals(sampler.getWarmupRuns() + samples, operation.fRuns);
+        assertTrue(samples >= AdaptiveSampler.MIN_SAMPLES);
+        assertTrue(sampler.getRelativeHalfWidth() <= 0.5);
+    }
+
+    public void testNoSteadyState() {
+        CountingMeter meter = new CountingMeter();
+        Runnable operation = new Runnable() {
+            int fRuns;
+
+            @Override
+            public void run() {
+                spin(fRuns++ % 2 == 0 ? 1 : 5);
+            }
+        };
+        AdaptiveSampler sampler = new AdaptiveSampler(4, 0.01, 0.001, 100);
+        int samples = sampler.run(meter, operation);
+
+        // the warmup gives up after half of the budget, and the budget does not cut the minimum of measurements
+        assertFalse(sampler.isSteady());
+        assertTrue(sampler.getWarmupRuns() > 0);
+        assertTrue(samples >= AdaptiveSampler.MIN_SAMPLES);
+        assertEquals(samples, meter.fMeasurements);
+        assertTrue(sampler.getRelativeHalfWidth() > 0.001);
+    }
+
+    public void testBudgetExhaustedByWarmup() {
+        CountingMeter meter = new CountingMeter();
+        ColdOperation operation = new ColdOperation(Integer.MAX_VALUE);
+        AdaptiveSampler sampler = new AdaptiveSampler(5, 0.0, 0.0, 0);
+        int samples = sampler.run(meter, operation);
+
+        assertFalse(sampler.isSteady());
+        assertEquals(1, sampler.getWarmupRuns());
+        assertEquals(AdaptiveSampler.MIN_SAMPLES, samples);
+        assertEquals(AdaptiveSampler.MIN_SAMPLES, meter.fMeasurements);
+    }
+}
@@ -23,6 +23,22 @@ public class AllTests {
         suite.addTestSuite(VariationsTests.class);
         suite.addTestSuite(DBTests.class);
         suite.addTestSuite(PerformanceMeterFactoryTest.class);
+        suite.addTestSuite(ProcFilesTests.class);
+        suite.addTestSuite(StatisticsTests.class);
+        suite.addTestSuite(SampleCodecTests.class);
+        suite.addTestSuite(ForkedScenarioRunnerTests.class);
+        suite.addTestSuite(SamplingPerformanceMeterTests.class);
+        suite.addTestSuite(PhaseTests.class);
+        suite.addTestSuite(ConcurrentPerformanceMeterTests.class);
+        suite.addTestSuite(ThroughputPerformanceMeterTests.class);
+        suite.addTestSuite(AdaptiveSamplerTests.class);
+        suite.addTestSuite(InterleavedRunnerTests.class);
+        suite.addTestSuite(PerformanceCounterTests.class);
+        suite.addTestSuite(MachineCalibrationTests.class);
+        suite.addTestSuite(GcPauseTests.class);
+        suite.addTestSuite(MetricsExporterTests.class);
+        suite.addTestSuite(HtmlReportTests.class);
+        suite.addTestSuite(IngestServerTests.class);
 
         return suite;
     }
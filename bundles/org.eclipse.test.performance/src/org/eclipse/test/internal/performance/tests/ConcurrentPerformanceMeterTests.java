@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.test.internal.performance.ConcurrentPerformanceMeter;
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+
+import junit.framework.TestCase;
+
+public class ConcurrentPerformanceMeterTests extends TestCase {
+
+    private static final int THREADS = 4;
+    private static final int UNITS   = 50;
+
+    private static long getValue(DataPoint dataPoint, Dim dimension) {
+        return dataPoint.getScalar(dimension).getMagnitude();
+    }
+
+    public void testConcurrentUnitsOfWork() throws InterruptedException {
+        final ConcurrentPerformanceMeter meter = new ConcurrentPerformanceMeter("testConcurrentUnitsOfWork"); //$NON-NLS-1$
+        try {
+            final CountDownLatch go = new CountDownLatch(1);
+            final Throwable[] failure = new Throwable[1];
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                threads[t] = new Thread("Worker " + t) { //$NON-NLS-1$
+                    @Override
+                    public void run() {
+                        try {
+                            go.await();
+                            for (int unit = 0; unit < UNITS; unit++) {
+                                meter.start();
+                                Thread.sleep(1);
+                                meter.stop();
+                            }
+                        } catch (Throwable e) {
+                            failure[0] = e;
+                        }
+                    }
+                };
+                threads[t].start();
+            }
+            go.countDown();
+            for (Thread thread : threads)
+                thread.join();
+            assertNull(failure[0]);
+
+            DataPoint[] dataPoints = meter.getSample().getDataPoints();
+            assertEquals(2 * THREADS * UNITS, dataPoints.length);
+            long throughput = getValue(dataPoints[1], InternalDimensions.THROUGHPUT);
+            assertTrue(throughput > 0);
+            // every unit of work of 1ms on 4 threads, so at most 4000 per second
+            assertTrue(throughput <= 1000 * THREADS);
+            for (int i = 0; i < dataPoints.length; i += 2) {
+                assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[i].getStep());
+                assertEquals(InternalPerformanceMeter.AFTER, dataPoints[i + 1].getStep());
+                assertEquals(0, getValue(dataPoints[i], InternalDimensions.LATENCY));
+                assertTrue(getValue(dataPoints[i + 1], InternalDimensions.LATENCY) >= 1000000);
+                assertEquals(throughput, getValue(dataPoints[i + 1], InternalDimensions.THROUGHPUT));
+                assertEquals(THREADS, getValue(dataPoints[i + 1], InternalDimensions.WORKER_THREADS));
+                if (dataPoints[i + 1].getScalar(InternalDimensions.THREAD_CPU_TIME) != null)
+                    assertTrue(getValue(dataPoints[i + 1], InternalDimensions.THREAD_CPU_TIME) >= 0);
+            }
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testThreadsWithoutUnitsOfWork() throws InterruptedException {
+        final ConcurrentPerformanceMeter meter = new ConcurrentPerformanceMeter("testThreadsWithoutUnitsOfWork"); //$NON-NLS-1$
+        try {
+            assertNull(meter.getSample());
+            Thread idle = new Thread() {
+                @Override
+                public void run() {
+                    meter.start(); // never stopped
+                }
+            };
+            idle.start();
+            idle.join();
+            assertNull(meter.getSample());
+
+            meter.start();
+            meter.stop();
+            DataPoint[] dataPoints = meter.getSample().getDataPoints();
+            assertEquals(2, dataPoints.length);
+            assertEquals(1, getValue(dataPoints[1], InternalDimensions.WORKER_THREADS));
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testUnbalancedCalls() {
+        ConcurrentPerformanceMeter meter = new ConcurrentPerformanceMeter("testUnbalancedCalls"); //$NON-NLS-1$
+        try {
+            try {
+                meter.stop();
+                fail("stop() without start()"); //$NON-NLS-1$
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            meter.start();
+            try {
+                meter.start();
+                fail("start() twice"); //$NON-NLS-1$
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            meter.stop();
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testManyUnitsOfWork() {
+        ConcurrentPerformanceMeter meter = new ConcurrentPerformanceMeter("testManyUnitsOfWork"); //$NON-NLS-1$
+        try {
+            for (int unit = 0; unit < 1000; unit++) { // grows the recorder
+                meter.start();
+                meter.stop();
+            }
+            assertEquals(2000, meter.getSample().getDataPoints().length);
+        } finally {
+            meter.dispose();
+        }
+    }
+}
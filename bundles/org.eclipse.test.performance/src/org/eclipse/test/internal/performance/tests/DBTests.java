@@ -11,22 +11,38 @@
 
 package org.eclipse.test.internal.performance.tests;
 
+import java.io.File;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.MachineCalibration;
 import org.eclipse.test.internal.performance.PerformanceTestPlugin;
 import org.eclipse.test.internal.performance.data.DataPoint;
 import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
 import org.eclipse.test.internal.performance.data.Scalar;
+import org.eclipse.test.internal.performance.data.Unit;
 import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.db.DBHelpers;
+import org.eclipse.test.internal.performance.db.HtmlReport;
 import org.eclipse.test.internal.performance.db.Scenario;
 import org.eclipse.test.internal.performance.db.SummaryEntry;
+import org.eclipse.test.internal.performance.db.TimeSeries;
 import org.eclipse.test.internal.performance.db.Variations;
+import org.eclipse.test.internal.performance.eval.AssertChecker;
+import org.eclipse.test.internal.performance.eval.BatchEvaluator;
+import org.eclipse.test.internal.performance.eval.RelativeBandChecker;
 import org.eclipse.test.performance.Dimension;
 import org.eclipse.test.performance.Performance;
 
@@ -43,6 +59,14 @@ public class DBTests extends TestCase {
     private static final String SCENARIO_NAME_2 = "bar.testScenario2"; //$NON-NLS-1$
     private static final String SCENARIO_NAME_3 = "foo.testScenario3"; //$NON-NLS-1$
     private static final String SCENARIO_NAME_4 = "foo.testScenario4"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_5 = "baz.testScenario5"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_6 = "qux.testScenario6"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_7 = "qux.testScenario7"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_8 = "baz.testScenario8"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_9 = "norm.testScenario9"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_10 = "report.testScenario10"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_11 = "report.testScenario11"; //$NON-NLS-1$
+    private static final String SCENARIO_NAME_12 = "remove.testScenario12"; //$NON-NLS-1$
     private static final String SHORT_NAME_2    = "ShortName2";       //$NON-NLS-1$
     private static final String SHORT_NAME_3    = "ShortName3";       //$NON-NLS-1$
     private static final String SHORT_NAME_4    = "ShortName4";       //$NON-NLS-1$
@@ -249,4 +273,235 @@ public class DBTests extends TestCase {
         assertEquals(Dimension.USED_JAVA_HEAP, fps2[1].dimension);
     }
 
+    public void testCustomDimension() {
+        Dim nodes = DB.getCustomDimension("AST Nodes", Unit.CARDINAL, 1); //$NON-NLS-1$
+        assertTrue(nodes.getId() >= Dim.FIRST_CUSTOM_ID);
+        assertTrue(nodes.isCustom());
+        assertEquals("AST Nodes", nodes.getName()); //$NON-NLS-1$
+        assertSame(nodes, DB.getCustomDimension("AST Nodes", Unit.CARDINAL, 1)); //$NON-NLS-1$
+        assertSame(nodes, Dim.getDimension(nodes.getId()));
+
+        TestPerformanceMeter pm = new TestPerformanceMeter(SCENARIO_NAME_5);
+        pm.addPair(InternalDimensions.CPU_TIME, 100, 1000);
+        pm.addPair(nodes, 10, 110);
+        pm.start();
+        pm.stop();
+        pm.commit();
+        pm.dispose();
+
+        DataPoint[] points = DB.queryDataPoints(PerformanceTestPlugin.getVariations(), SCENARIO_NAME_5, null);
+        assertEquals(1, points.length);
+        Scalar s = points[0].getScalar(nodes);
+        assertNotNull(s);
+        assertEquals(100, s.getMagnitude());
+    }
+
+    private static void store(String scenario, long cpuTime, long workingSet) {
+        TestPerformanceMeter pm = new TestPerformanceMeter(scenario);
+        pm.addPair(InternalDimensions.CPU_TIME, 100, 100 + cpuTime);
+        pm.addPair(InternalDimensions.WORKING_SET, 1000, 1000 + workingSet);
+        pm.start();
+        pm.stop();
+        pm.commit();
+        pm.dispose();
+    }
+
+    private static void assertEquals(DataPoint[] expected, DataPoint[] actual) {
+        assertNotNull(actual);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getStep(), actual[i].getStep());
+            Dim[] dimensions = expected[i].getDimensions();
+            assertEquals(dimensions.length, actual[i].getDimensions().length);
+            for (Dim dimension : dimensions)
+                assertEquals(expected[i].getScalar(dimension).getMagnitude(), actual[i].getScalar(dimension).getMagnitude());
+        }
+    }
+
+    public void testQueryAllDataPoints() {
+        store(SCENARIO_NAME_6, 900, 1000);
+        store(SCENARIO_NAME_6, 1100, 3000);
+        store(SCENARIO_NAME_7, 500, 2000);
+
+        Variations v = PerformanceTestPlugin.getVariations();
+        Map<String, DataPoint[]> all = DB.queryAllDataPoints(v, "qux.%", null); //$NON-NLS-1$
+        assertEquals(Arrays.asList(SCENARIO_NAME_6, SCENARIO_NAME_7), new ArrayList<>(all.keySet()));
+        assertEquals(DB.queryDataPoints(v, SCENARIO_NAME_6, null), all.get(SCENARIO_NAME_6));
+        assertEquals(DB.queryDataPoints(v, SCENARIO_NAME_7, null), all.get(SCENARIO_NAME_7));
+
+        Set<Dim> dims = new HashSet<>();
+        dims.add(InternalDimensions.CPU_TIME);
+        all = DB.queryAllDataPoints(v, "qux.%", dims); //$NON-NLS-1$
+        assertEquals(DB.queryDataPoints(v, SCENARIO_NAME_6, dims), all.get(SCENARIO_NAME_6));
+        assertEquals(1, all.get(SCENARIO_NAME_6)[0].getDimensions().length);
+    }
+
+    public void testBatchEvaluatorRecordsFailuresOnce() throws SQLException {
+        System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=ref"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Variations reference = PerformanceTestPlugin.getVariations();
+        store(SCENARIO_NAME_8, 1000, 1000);
+        System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=slow"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Variations variations = PerformanceTestPlugin.getVariations();
+        store(SCENARIO_NAME_8, 2000, 1000);
+
+        BatchEvaluator evaluator = new BatchEvaluator(
+                new AssertChecker[] { new RelativeBandChecker(InternalDimensions.CPU_TIME, 0.0, 1.1) }, ForkJoinPool.commonPool());
+        for (int i = 0; i < 2; i++) {
+            List<BatchEvaluator.Result> results = evaluator.evaluate(variations, reference, SCENARIO_NAME_8);
+            assertEquals(1, results.size());
+            assertFalse(results.get(0).isPassed());
+        }
+        try (PreparedStatement stmt = DB.getConnection().prepareStatement(
+                "select count(*) from FAILURE, SCENARIO where FAILURE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME = ?")) { //$NON-NLS-1$
+            stmt.setString(1, SCENARIO_NAME_8);
+            try (ResultSet result = stmt.executeQuery()) {
+                assertTrue(result.next());
+                assertEquals(1, result.getInt(1));
+            }
+        }
+    }
+
+    public void testNormalizedTimeSeries() throws SQLException {
+        System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=fast"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        store(SCENARIO_NAME_9, 1000, 1000);
+        System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=slow"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        store(SCENARIO_NAME_9, 3000, 1000);
+
+        // replace the calibration of this machine by that of a fast and a three times slower machine
+        try (PreparedStatement query = DB.getConnection().prepareStatement(
+                "select SAMPLE.ID, VARIATION.KEYVALPAIRS from SAMPLE, SCENARIO, VARIATION where SAMPLE.SCENARIO_ID = SCENARIO.ID " //$NON-NLS-1$
+                        + "and SAMPLE.VARIATION_ID = VARIATION.ID and SCENARIO.NAME = ?"); //$NON-NLS-1$
+                PreparedStatement delete = DB.getConnection().prepareStatement("delete from CALIBRATION where SAMPLE_ID = ?"); //$NON-NLS-1$
+                PreparedStatement insert = DB.getConnection().prepareStatement("insert into CALIBRATION values (?, ?, ?)")) { //$NON-NLS-1$
+            query.setString(1, SCENARIO_NAME_9);
+            try (ResultSet result = query.executeQuery()) {
+                while (result.next()) {
+                    int sampleId = result.getInt(1);
+                    double factor = result.getString(2).indexOf(BUILD + "=slow") >= 0 ? 3 : 1; //$NON-NLS-1$
+                    delete.setInt(1, sampleId);
+                    delete.executeUpdate();
+                    insert.setInt(1, sampleId);
+                    insert.setString(2, MachineCalibration.CPU);
+                    insert.setDouble(3, 100 * factor);
+                    insert.executeUpdate();
+                    insert.setString(2, MachineCalibration.MEMORY);
+                    insert.setDouble(3, 200 * factor);
+                    insert.executeUpdate();
+                    if (factor > 1) {
+                        // a score of the slow machine only, which is not compared
+                        insert.setString(2, MachineCalibration.IO);
+                        insert.setDouble(3, 1e9);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            DB.getConnection().commit();
+        }
+
+        Variations v = new Variations();
+        v.put(CONFIG, "test"); //$NON-NLS-1$
+        v.put(BUILD, "%"); //$NON-NLS-1$
+        Scenario[] scenarios = DB.queryScenarios(v, SCENARIO_NAME_9, BUILD, null);
+        assertEquals(1, scenarios.length);
+        TimeSeries raw = scenarios[0].getTimeSeries(InternalDimensions.CPU_TIME);
+        assertEquals(2, raw.getLength());
+        assertEquals(3 * Math.min(raw.getValue(0), raw.getValue(1)), Math.max(raw.getValue(0), raw.getValue(1)), 1e-9);
+
+        // both are scaled to the speed of the machine that measured the first series
+        TimeSeries normalized = scenarios[0].getNormalizedTimeSeries(InternalDimensions.CPU_TIME);
+        assertEquals(raw.getValue(0), normalized.getValue(0), 1e-9);
+        assertEquals(normalized.getValue(0), normalized.getValue(1), 1e-9);
+        assertEquals(raw.getLabel(1), normalized.getLabel(1));
+
+        // other dimensions are not scaled
+        assertSame(scenarios[0].getTimeSeries(InternalDimensions.WORKING_SET),
+                scenarios[0].getNormalizedTimeSeries(InternalDimensions.WORKING_SET));
+    }
+
+    public void testHtmlReport() throws IOException {
+        System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=r1"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Variations first = PerformanceTestPlugin.getVariations();
+        store(SCENARIO_NAME_10, 1000, 1000);
+        store(SCENARIO_NAME_11, 2000, 1000);
+
+        File directory = new File(System.getProperty("java.io.tmpdir"), "report_" + DBNAME); //$NON-NLS-1$ //$NON-NLS-2$
+        HtmlReport report = new HtmlReport(directory, ForkJoinPool.commonPool());
+        Variations v = new Variations();
+        v.put(CONFIG, "test"); //$NON-NLS-1$
+        try {
+            assertEquals(2, report.generate(v, BUILD, "report.%", false)); //$NON-NLS-1$
+            assertTrue(new File(directory, HtmlReport.INDEX_FILE).isFile());
+            assertTrue(new File(directory, HtmlReport.STATE_FILE).isFile());
+            assertEquals(0, report.generate(v, BUILD, "report.%", false)); //$NON-NLS-1$
+
+            // a new sample changes its scenario only
+            System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=r2"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            store(SCENARIO_NAME_10, 1100, 1000);
+            assertEquals(1, report.generate(v, BUILD, "report.%", false)); //$NON-NLS-1$
+
+            // as does a failure recorded after the samples
+            DB.markAsFailed(first, new Sample(SCENARIO_NAME_11, 0, null, new DataPoint[0]), "slower"); //$NON-NLS-1$
+            assertEquals(1, report.generate(v, BUILD, "report.%", false)); //$NON-NLS-1$
+            assertEquals(0, report.generate(v, BUILD, "report.%", false)); //$NON-NLS-1$
+
+            assertEquals(2, report.generate(v, BUILD, "report.%", true)); //$NON-NLS-1$
+            // the pages, the index and the state
+            assertEquals(4, directory.list().length);
+        } finally {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files)
+                    file.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    private static int querySampleId(String scenario) throws SQLException {
+        try (PreparedStatement query = DB.getConnection().prepareStatement(
+                "select SAMPLE.ID from SAMPLE, SCENARIO where SAMPLE.SCENARIO_ID = SCENARIO.ID and SCENARIO.NAME = ?")) { //$NON-NLS-1$
+            query.setString(1, scenario);
+            try (ResultSet result = query.executeQuery()) {
+                return result.next() ? result.getInt(1) : -1;
+            }
+        }
+    }
+
+    private static int countRows(String table, int sampleId) throws SQLException {
+        try (PreparedStatement query = DB.getConnection().prepareStatement("select count(*) from " + table + " where SAMPLE_ID = ?")) { //$NON-NLS-1$ //$NON-NLS-2$
+            query.setInt(1, sampleId);
+            try (ResultSet result = query.executeQuery()) {
+                assertTrue(result.next());
+                return result.getInt(1);
+            }
+        }
+    }
+
+    public void testRemoveSamples() throws SQLException {
+        System.setProperty("eclipse.perf.config", CONFIG + "=test;" + BUILD + "=removed"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        System.setProperty(DB.RAW_DELTAS_PROPERTY, Boolean.TRUE.toString());
+        try {
+            store(SCENARIO_NAME_12, 1000, 1000);
+        } finally {
+            System.clearProperty(DB.RAW_DELTAS_PROPERTY);
+        }
+        int sampleId = querySampleId(SCENARIO_NAME_12);
+        assertTrue(sampleId >= 0);
+
+        // the sample of a calibrated machine
+        try (PreparedStatement insert = DB.getConnection().prepareStatement("insert into CALIBRATION values (?, ?, ?)")) { //$NON-NLS-1$
+            insert.setInt(1, sampleId);
+            insert.setString(2, MachineCalibration.CPU);
+            insert.setDouble(3, 100);
+            insert.executeUpdate();
+        }
+        DB.getConnection().commit();
+        assertTrue(countRows("CALIBRATION", sampleId) > 0); //$NON-NLS-1$
+        assertTrue(countRows("SAMPLEDATA", sampleId) > 0); //$NON-NLS-1$
+
+        new DBHelpers().removeSamples(PerformanceTestPlugin.getVariations());
+        assertEquals(-1, querySampleId(SCENARIO_NAME_12));
+        assertEquals(0, countRows("CALIBRATION", sampleId)); //$NON-NLS-1$
+        assertEquals(0, countRows("SAMPLEDATA", sampleId)); //$NON-NLS-1$
+    }
 }
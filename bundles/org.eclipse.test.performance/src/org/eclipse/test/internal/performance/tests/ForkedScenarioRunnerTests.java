@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.test.internal.performance.ForkedScenarioRunner;
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.db.Variations;
+
+import junit.framework.TestCase;
+
+public class ForkedScenarioRunnerTests extends TestCase {
+
+    private static final String SCENARIO = "ForkedScenarioRunnerTests#testScenario"; //$NON-NLS-1$
+
+    /**
+     * The tests run in the forks.
+     */
+    public static class Scenario extends TestCase {
+
+        public void testScenario() {
+            // only a fork has somewhere to send the sample to
+            assertTrue(ForkedScenarioRunner.isForked());
+            TestPerformanceMeter meter = new TestPerformanceMeter(SCENARIO);
+            meter.addPair(InternalDimensions.CPU_TIME, 10, 25);
+            try {
+                meter.start();
+                meter.stop();
+                meter.commit();
+            } finally {
+                meter.dispose();
+            }
+        }
+
+        public void testFailure() {
+            fail("expected"); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Stores nothing, but remembers what it was given.
+     */
+    private static class Runner extends ForkedScenarioRunner {
+
+        final List<Sample> fStored = new ArrayList<>();
+
+        Runner() {
+            super(null);
+        }
+
+        @Override
+        protected void store(Variations variations, Sample sample) {
+            fStored.add(sample);
+        }
+    }
+
+    public void testSamplesAreSentBack() {
+        Runner runner = new Runner();
+        String scenario = Scenario.class.getName() + "#testScenario"; //$NON-NLS-1$
+        String failure = Scenario.class.getName() + "#testFailure"; //$NON-NLS-1$
+        assertEquals(1, runner.run(new String[] { scenario, failure }));
+        assertFalse(ForkedScenarioRunner.isForked());
+
+        assertEquals(1, runner.fStored.size());
+        Sample sample = runner.fStored.get(0);
+        assertEquals(SCENARIO, sample.getScenarioID());
+        DataPoint[] dataPoints = sample.getDataPoints();
+        assertEquals(2, dataPoints.length);
+        assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[0].getStep());
+        assertEquals(InternalPerformanceMeter.AFTER, dataPoints[1].getStep());
+        assertEquals(10, dataPoints[0].getScalar(InternalDimensions.CPU_TIME).getMagnitude());
+        assertEquals(25, dataPoints[1].getScalar(InternalDimensions.CPU_TIME).getMagnitude());
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Scalar;
+import org.eclipse.test.internal.performance.eval.StatisticsSession;
+
+import junit.framework.TestCase;
+
+public class GcPauseTests extends TestCase {
+
+    private static DataPoint createDataPoint(int step, long elapsed, long pause, long policy) {
+        Map<Dim, Scalar> scalars = new HashMap<>();
+        scalars.put(InternalDimensions.ELAPSED_PROCESS, new Scalar(InternalDimensions.ELAPSED_PROCESS, elapsed));
+        scalars.put(InternalDimensions.CPU_TIME, new Scalar(InternalDimensions.CPU_TIME, elapsed));
+        scalars.put(InternalDimensions.GC_PAUSE_TIME, new Scalar(InternalDimensions.GC_PAUSE_TIME, pause));
+        scalars.put(InternalDimensions.GC_POLICY, new Scalar(InternalDimensions.GC_POLICY, policy));
+        return new DataPoint(step, scalars);
+    }
+
+    private static long getValue(DataPoint dataPoint, Dim dimension) {
+        return dataPoint.getScalar(dimension).getMagnitude();
+    }
+
+    public void testSubtractWhenEvaluating() {
+        DataPoint[] dataPoints = { createDataPoint(InternalPerformanceMeter.BEFORE, 1000, 0, 0),
+                createDataPoint(InternalPerformanceMeter.AFTER, 1100, 30, 2),
+                createDataPoint(InternalPerformanceMeter.BEFORE, 2000, 0, 0),
+                createDataPoint(InternalPerformanceMeter.AFTER, 2200, 0, 2) };
+
+        StatisticsSession session = new StatisticsSession(dataPoints);
+        assertEquals(135.0, session.getAverage(InternalDimensions.ELAPSED_PROCESS), 0.0);
+        assertEquals(Arrays.toString(new long[] { 70, 200 }), Arrays.toString(session.getValues(InternalDimensions.ELAPSED_PROCESS)));
+        // the CPU time includes the collector threads
+        assertEquals(150.0, session.getAverage(InternalDimensions.CPU_TIME), 0.0);
+
+        // the values as measured, e.g. for storing them
+        StatisticsSession measured = new StatisticsSession(dataPoints, false);
+        assertEquals(150.0, measured.getAverage(InternalDimensions.ELAPSED_PROCESS), 0.0);
+        assertEquals(Arrays.toString(new long[] { 100, 200 }), Arrays.toString(measured.getValues(InternalDimensions.ELAPSED_PROCESS)));
+    }
+
+    public void testSubtractFromAggregates() {
+        // as stored, with the pauses included in the elapsed times
+        Map<Dim, Scalar> average = new HashMap<>();
+        average.put(InternalDimensions.ELAPSED_PROCESS, new Scalar(InternalDimensions.ELAPSED_PROCESS, 150));
+        average.put(InternalDimensions.GC_PAUSE_TIME, new Scalar(InternalDimensions.GC_PAUSE_TIME, 15));
+        average.put(InternalDimensions.GC_POLICY, new Scalar(InternalDimensions.GC_POLICY, 2));
+        Map<Dim, Scalar> size = new HashMap<>();
+        size.put(InternalDimensions.ELAPSED_PROCESS, new Scalar(InternalDimensions.ELAPSED_PROCESS, 2));
+        DataPoint[] dataPoints = { new DataPoint(InternalPerformanceMeter.AVERAGE, average),
+                new DataPoint(InternalPerformanceMeter.SIZE, size) };
+
+        StatisticsSession session = new StatisticsSession(dataPoints);
+        assertEquals(135.0, session.getAverage(InternalDimensions.ELAPSED_PROCESS), 0.0);
+        session.setValues(InternalDimensions.ELAPSED_PROCESS, new long[] { 100, 200 });
+        assertEquals(Arrays.toString(new long[] { 100, 200 }), Arrays.toString(session.getValues(InternalDimensions.ELAPSED_PROCESS)));
+        session.setValues(InternalDimensions.GC_PAUSE_TIME, new long[] { 30, 0 });
+        assertEquals(Arrays.toString(new long[] { 70, 200 }), Arrays.toString(session.getValues(InternalDimensions.ELAPSED_PROCESS)));
+
+        assertEquals(150.0, new StatisticsSession(dataPoints, false).getAverage(InternalDimensions.ELAPSED_PROCESS), 0.0);
+    }
+
+    public void testPausesAttributedToMeasurements() {
+        System.setProperty(InternalPerformanceMeter.GC_POLICY_PROPERTY, "subtract"); //$NON-NLS-1$
+        TestPerformanceMeter meter = new TestPerformanceMeter("testPausesAttributedToMeasurements"); //$NON-NLS-1$
+        meter.addPair(InternalDimensions.ELAPSED_PROCESS, 0, 100);
+        try {
+            meter.start();
+            System.gc();
+            meter.stop();
+            // a collection between the measurements belongs to neither
+            System.gc();
+            meter.start();
+            meter.stop();
+
+            DataPoint[] dataPoints = meter.commitSample().getDataPoints();
+            if (dataPoints[1].getScalar(InternalDimensions.GC_POLICY) == null)
+                return; // no GC notifications in this VM
+            assertEquals(4, dataPoints.length);
+            assertEquals(2, getValue(dataPoints[1], InternalDimensions.GC_POLICY));
+            assertTrue(getValue(dataPoints[1], InternalDimensions.GC_PAUSE_COUNT) >= 1);
+            assertEquals(0, getValue(dataPoints[3], InternalDimensions.GC_PAUSE_COUNT));
+            assertEquals(0, getValue(dataPoints[3], InternalDimensions.GC_PAUSE_TIME));
+
+            // the elapsed times are kept as measured
+            assertEquals(100, getValue(dataPoints[1], InternalDimensions.ELAPSED_PROCESS));
+            long pause = getValue(dataPoints[1], InternalDimensions.GC_PAUSE_TIME);
+            assertEquals(Arrays.toString(new long[] { 100 - pause, 100 }),
+                    Arrays.toString(new StatisticsSession(dataPoints).getValues(InternalDimensions.ELAPSED_PROCESS)));
+        } finally {
+            meter.dispose();
+            System.clearProperty(InternalPerformanceMeter.GC_POLICY_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.db.HtmlReport;
+import org.eclipse.test.internal.performance.db.TimeSeries;
+
+import junit.framework.TestCase;
+
+public class HtmlReportTests extends TestCase {
+
+    private static String escape(String text) {
+        return HtmlReport.escape(new StringBuilder(), text).toString();
+    }
+
+    public void testEscape() {
+        assertEquals("a &lt;b&gt; &amp; &quot;c&quot; 'd'", escape("a <b> & \"c\" 'd'")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("", escape(null)); //$NON-NLS-1$
+        assertEquals("&amp;amp;", escape("&amp;")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    public void testFileName() {
+        Set<String> used = new HashSet<>();
+        String name = HtmlReport.getFileName("org.eclipse.Foo#testBar()", used); //$NON-NLS-1$
+        assertTrue(name, name.matches("org\\.eclipse\\.Foo_testBar__-[0-9a-f]+\\.html")); //$NON-NLS-1$
+        assertEquals(name, HtmlReport.getFileName("org.eclipse.Foo#testBar()", used)); //$NON-NLS-1$
+
+        // the same once made safe, but with different hashes
+        assertFalse(HtmlReport.getFileName("a b", used).equals(HtmlReport.getFileName("a?b", used))); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // the same once made safe, and with the same hash: ' ' * 31 + '?' == '!' * 31 + ' '
+        String first = "x ?"; //$NON-NLS-1$
+        String second = "x! "; //$NON-NLS-1$
+        assertEquals(first.hashCode(), second.hashCode());
+        String firstName = HtmlReport.getFileName(first, used);
+        used.add(firstName.toLowerCase(Locale.ROOT));
+        String secondName = HtmlReport.getFileName(second, used);
+        assertFalse(firstName.equals(secondName));
+        assertEquals(firstName.replace(".html", "-2.html"), secondName); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // long names are cut
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 300; i++)
+            longName.append('a');
+        assertTrue(HtmlReport.getFileName(longName.toString(), used).length() < 120);
+    }
+
+    public void testRenderPage() {
+        String page = HtmlReport.renderPage("Foo<T>#test", "|build=I&1|", "build", new String[] { "I1", "I2" }, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+                new Dim[0], new TimeSeries[0], new String[] { null, "slower <than> before" }); //$NON-NLS-1$
+        assertTrue(page, page.startsWith("<!DOCTYPE html>")); //$NON-NLS-1$
+        assertTrue(page, page.indexOf("Foo&lt;T&gt;#test") >= 0); //$NON-NLS-1$
+        assertTrue(page, page.indexOf("|build=I&amp;1|") >= 0); //$NON-NLS-1$
+        assertTrue(page, page.indexOf("<pre class=\"failed\">I2: slower &lt;than&gt; before</pre>") >= 0); //$NON-NLS-1$
+        assertTrue(page, page.indexOf("I1:") < 0); //$NON-NLS-1$
+        assertTrue(page, page.endsWith("</html>\n")); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.db.DB;
+import org.eclipse.test.internal.performance.db.IngestServer;
+import org.eclipse.test.internal.performance.db.Variations;
+
+import junit.framework.TestCase;
+
+public class IngestServerTests extends TestCase {
+
+    private static final int CLIENTS = 4;
+    private static final int SAMPLES = 25;
+
+    /**
+     * Stores nothing, but remembers what it was given; rejects the scenarios and failures that end with "bad".
+     */
+    private static class Server extends IngestServer {
+
+        final List<String> fStored   = Collections.synchronizedList(new ArrayList<String>());
+        final List<String> fFailures = Collections.synchronizedList(new ArrayList<String>());
+
+        Server() throws IOException {
+            super(null, 0, 8);
+        }
+
+        Thread startServing() {
+            Thread serving = new Thread("IngestServerTests server") { //$NON-NLS-1$
+
+                @Override
+                public void run() {
+                    serve();
+                }
+            };
+            serving.start();
+            return serving;
+        }
+
+        @Override
+        protected boolean[] store(List<Variations> variations, List<Sample> samples, List<Map<String, Double>> calibrations) {
+            boolean[] stored = new boolean[samples.size()];
+            for (int i = 0; i < stored.length; i++) {
+                Sample sample = samples.get(i);
+                assertEquals(2, sample.getDataPoints().length);
+                assertEquals(Double.valueOf(1.5), calibrations.get(i).get("cpu")); //$NON-NLS-1$
+                fStored.add(variations.get(i).toExactMatchString() + sample.getScenarioID());
+                stored[i] = !sample.getScenarioID().endsWith("bad"); //$NON-NLS-1$
+            }
+            return stored;
+        }
+
+        @Override
+        protected boolean markAsFailed(Variations variations, Sample sample, String failMesg, boolean once) {
+            fFailures.add(sample.getScenarioID() + ": " + failMesg + (once ? " (once)" : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            return !failMesg.endsWith("bad"); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Sends records as a test JVM does, and reads the acknowledgements.
+     */
+    private static class Client extends Thread {
+
+        private final int   fPort;
+        private final int   fClient;
+        final List<Long>    fSequences = new ArrayList<>();
+        final List<Boolean> fResults   = new ArrayList<>();
+        Throwable           fFailure;
+
+        Client(int port, int client) {
+            fPort = port;
+            fClient = client;
+        }
+
+        @Override
+        public void run() {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), fPort)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                out.writeInt(IngestServer.MAGIC);
+                Variations variations = new Variations("config=c" + fClient + ";build=b1"); //$NON-NLS-1$ //$NON-NLS-2$
+                for (int i = 0; i < SAMPLES; i++) {
+                    String scenario = "c" + fClient + "s" + i + (fClient == 0 && i == 3 ? "bad" : ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                    DataPoint[] dataPoints = { new DataPoint(0, InternalDimensions.SYSTEM_TIME, 1),
+                            new DataPoint(1, InternalDimensions.SYSTEM_TIME, 5 + i) };
+                    ByteArrayOutputStream record = new ByteArrayOutputStream();
+                    IngestServer.writeStore(new DataOutputStream(record), variations,
+                            new Sample(scenario, 0, new HashMap<String, String>(), dataPoints),
+                            Collections.singletonMap("cpu", Double.valueOf(1.5))); //$NON-NLS-1$
+                    send(out, record.toByteArray());
+                }
+                ByteArrayOutputStream record = new ByteArrayOutputStream();
+                IngestServer.writeFailure(new DataOutputStream(record), variations, "c" + fClient + "failed", //$NON-NLS-1$ //$NON-NLS-2$
+                        fClient == 1 ? "bad" : "slower", fClient == 2); //$NON-NLS-1$ //$NON-NLS-2$
+                send(out, record.toByteArray());
+                // a record the server cannot decode
+                send(out, new byte[] { 9 });
+                out.flush();
+                socket.shutdownOutput();
+
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                while (true) {
+                    long sequence;
+                    try {
+                        sequence = in.readLong();
+                    } catch (EOFException e) {
+                        break; // the server closes the connection after the last acknowledgement
+                    }
+                    fSequences.add(Long.valueOf(sequence));
+                    fResults.add(Boolean.valueOf(in.readBoolean()));
+                }
+            } catch (Throwable e) {
+                fFailure = e;
+            }
+        }
+
+        private static void send(DataOutputStream out, byte[] record) throws IOException {
+            out.writeInt(record.length);
+            out.write(record);
+        }
+    }
+
+    public void testAcknowledgements() throws Exception {
+        Client[] clients = new Client[CLIENTS];
+        try (Server server = new Server()) {
+            Thread serving = server.startServing();
+            for (int c = 0; c < CLIENTS; c++) {
+                clients[c] = new Client(server.getPort(), c);
+                clients[c].start();
+            }
+            // a client ends once the server has processed all its records and closed the connection, or if it failed
+            for (Client client : clients) {
+                client.join();
+                if (client.fFailure != null)
+                    throw new AssertionError(client.fFailure);
+            }
+            // serving returns once the records received are processed
+            server.close();
+            serving.join();
+
+            assertEquals(CLIENTS * SAMPLES, server.fStored.size());
+            assertEquals(CLIENTS, server.fFailures.size());
+            assertTrue(server.fStored.contains("|build=b1||config=c2|c2s7")); //$NON-NLS-1$
+            assertTrue(server.fFailures.contains("c1failed: bad")); //$NON-NLS-1$
+            assertTrue(server.fFailures.contains("c2failed: slower (once)")); //$NON-NLS-1$
+        }
+        for (int c = 0; c < CLIENTS; c++) {
+            Client client = clients[c];
+            // the samples, the failure and the undecodable record, in order
+            assertEquals(SAMPLES + 2, client.fSequences.size());
+            for (int i = 0; i < SAMPLES + 2; i++) {
+                assertEquals(i + 1, client.fSequences.get(i).longValue());
+                boolean expected;
+                if (i < SAMPLES)
+                    expected = c != 0 || i != 3;
+                else if (i == SAMPLES)
+                    expected = c != 1;
+                else
+                    expected = false;
+                assertEquals("record " + (i + 1) + " of client " + c, expected, client.fResults.get(i).booleanValue()); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+    }
+
+    public void testFailuresThroughDB() throws Exception {
+        String dbloc = System.getProperty(PerformanceTestPlugin.ECLIPSE_PERF_DBLOC);
+        try (Server server = new Server()) {
+            Thread serving = server.startServing();
+            DB.shutdown();
+            System.setProperty(PerformanceTestPlugin.ECLIPSE_PERF_DBLOC, IngestServer.SCHEME + "localhost:" + server.getPort()); //$NON-NLS-1$
+            try {
+                Variations variations = new Variations("config=c;build=b1"); //$NON-NLS-1$
+                DB.markAsFailedOnce(variations, new Sample("evaluated", 0, null, new DataPoint[0]), "slower"); //$NON-NLS-1$ //$NON-NLS-2$
+                DB.markAsFailed(variations, new Sample("measured", 0, null, new DataPoint[0]), "slower"); //$NON-NLS-1$ //$NON-NLS-2$
+            } finally {
+                // waits until the server has acknowledged the failures
+                DB.shutdown();
+                if (dbloc != null)
+                    System.setProperty(PerformanceTestPlugin.ECLIPSE_PERF_DBLOC, dbloc);
+                else
+                    System.clearProperty(PerformanceTestPlugin.ECLIPSE_PERF_DBLOC);
+            }
+            server.close();
+            serving.join();
+            assertEquals(Arrays.asList("evaluated: slower (once)", "measured: slower"), server.fFailures); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.InterleavedRunner;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.performance.Performance;
+
+import junit.framework.TestCase;
+
+public class InterleavedRunnerTests extends TestCase {
+
+    private static final int  PAIRS  = 12;
+    private static final int  WARMUP = 3;
+    private static final long SEED   = 42;
+
+    private final List<String> fLog = new ArrayList<>();
+    private TestPerformanceMeter fBaselineMeter;
+    private TestPerformanceMeter fCandidateMeter;
+
+    @Override
+    protected void setUp() throws Exception {
+        fBaselineMeter = new TestPerformanceMeter("InterleavedRunnerTests#baseline"); //$NON-NLS-1$
+        fBaselineMeter.addPair(InternalDimensions.CPU_TIME, 0, 100);
+        fCandidateMeter = new TestPerformanceMeter("InterleavedRunnerTests#candidate"); //$NON-NLS-1$
+        fCandidateMeter.addPair(InternalDimensions.CPU_TIME, 0, 90);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        fBaselineMeter.dispose();
+        fCandidateMeter.dispose();
+    }
+
+    private Runnable log(final String name) {
+        return () -> fLog.add(name);
+    }
+
+    private int run(InterleavedRunner runner) {
+        return runner.run(fBaselineMeter, log("b"), fCandidateMeter, log("c")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /*
+     * Answers the operations in the order the runner with the seed runs them.
+     */
+    private static List<String> getExpectedOrder(long seed) {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < WARMUP; i++) {
+            expected.add("b"); //$NON-NLS-1$
+            expected.add("c"); //$NON-NLS-1$
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < PAIRS; i++) {
+            boolean candidateFirst = random.nextBoolean();
+            expected.add(candidateFirst ? "c" : "b"); //$NON-NLS-1$ //$NON-NLS-2$
+            expected.add(candidateFirst ? "b" : "c"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return expected;
+    }
+
+    private void assertSeries(TestPerformanceMeter meter, long after) {
+        DataPoint[] dataPoints = meter.getSample().getDataPoints();
+        assertEquals(2 * PAIRS, dataPoints.length);
+        for (int i = 0; i < dataPoints.length; i += 2) {
+            assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[i].getStep());
+            assertEquals(InternalPerformanceMeter.AFTER, dataPoints[i + 1].getStep());
+            assertEquals(after, dataPoints[i + 1].getScalar(InternalDimensions.CPU_TIME).getMagnitude());
+        }
+    }
+
+    public void testAlternatesInSeededOrder() {
+        InterleavedRunner runner = new InterleavedRunner(PAIRS, WARMUP, SEED);
+        assertEquals(PAIRS, run(runner));
+
+        List<String> expected = getExpectedOrder(SEED);
+        assertEquals(expected, fLog);
+        int candidateFirst = 0;
+        for (int i = 2 * WARMUP; i < expected.size(); i += 2) {
+            if ("c".equals(expected.get(i))) //$NON-NLS-1$
+                candidateFirst++;
+        }
+        assertEquals(candidateFirst, runner.getCandidateFirst());
+        // a seed that runs the candidate first in some pairs and second in others
+        assertTrue(candidateFirst > 0 && candidateFirst < PAIRS);
+
+        // one measurement of each operation per pair
+        assertSeries(fBaselineMeter, 100);
+        assertSeries(fCandidateMeter, 90);
+    }
+
+    public void testSameSeedSameOrder() {
+        run(new InterleavedRunner(PAIRS, WARMUP, SEED));
+        List<String> first = new ArrayList<>(fLog);
+        fLog.clear();
+        run(new InterleavedRunner(PAIRS, WARMUP, SEED));
+        assertEquals(first, fLog);
+    }
+
+    public void testRunInterleaved() {
+        String[] properties = { InterleavedRunner.PAIRS_PROPERTY, InterleavedRunner.WARMUP_PROPERTY, InterleavedRunner.SEED_PROPERTY };
+        String[] values = { String.valueOf(PAIRS), String.valueOf(WARMUP), String.valueOf(SEED) };
+        String[] saved = new String[properties.length];
+        for (int i = 0; i < properties.length; i++)
+            saved[i] = System.setProperty(properties[i], values[i]);
+        try {
+            assertEquals(PAIRS, Performance.getDefault().runInterleaved(fBaselineMeter, log("b"), fCandidateMeter, log("c"))); //$NON-NLS-1$ //$NON-NLS-2$
+        } finally {
+            for (int i = 0; i < properties.length; i++) {
+                if (saved[i] != null)
+                    System.setProperty(properties[i], saved[i]);
+                else
+                    System.clearProperty(properties[i]);
+            }
+        }
+        assertEquals(getExpectedOrder(SEED), fLog);
+        assertSeries(fBaselineMeter, 100);
+        assertSeries(fCandidateMeter, 90);
+    }
+}
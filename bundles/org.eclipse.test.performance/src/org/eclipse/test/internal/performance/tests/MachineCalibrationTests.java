@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.MachineCalibration;
+
+import junit.framework.TestCase;
+
+public class MachineCalibrationTests extends TestCase {
+
+    private static Map<String, Double> scores(double cpu, double memory, double io) {
+        Map<String, Double> scores = new HashMap<>();
+        scores.put(MachineCalibration.CPU, Double.valueOf(cpu));
+        scores.put(MachineCalibration.MEMORY, Double.valueOf(memory));
+        if (io > 0)
+            scores.put(MachineCalibration.IO, Double.valueOf(io));
+        return scores;
+    }
+
+    public void testSpeedFactor() {
+        Map<String, Double> reference = scores(100, 200, 300);
+        assertEquals(1.0, MachineCalibration.getSpeedFactor(reference, reference), 1e-9);
+        assertEquals(2.0, MachineCalibration.getSpeedFactor(scores(200, 400, 600), reference), 1e-9);
+        assertEquals(0.5, MachineCalibration.getSpeedFactor(reference, scores(200, 400, 600)), 1e-9);
+        // the geometric mean of the ratios 2 and 8
+        assertEquals(4.0, MachineCalibration.getSpeedFactor(scores(200, 1600, 300), scores(100, 200, 0)), 1e-9);
+    }
+
+    public void testSpeedFactorOfDifferentScores() {
+        // a score that only one machine has must not count, however large it is
+        Map<String, Double> withoutIO = scores(100, 200, 0);
+        assertEquals(1.0, MachineCalibration.getSpeedFactor(scores(100, 200, 1e9), withoutIO), 1e-9);
+        assertEquals(1.0, MachineCalibration.getSpeedFactor(withoutIO, scores(100, 200, 1e9)), 1e-9);
+
+        Map<String, Double> other = Collections.singletonMap("gpu", Double.valueOf(100)); //$NON-NLS-1$
+        assertTrue(Double.isNaN(MachineCalibration.getSpeedFactor(withoutIO, other)));
+        assertTrue(Double.isNaN(MachineCalibration.getSpeedFactor(withoutIO, Collections.<String, Double> emptyMap())));
+        assertTrue(Double.isNaN(MachineCalibration.getSpeedFactor(null, withoutIO)));
+        assertTrue(Double.isNaN(MachineCalibration.getSpeedFactor(scores(0, 0, 0), withoutIO)));
+    }
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.MetricsExporter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Sample;
+
+import junit.framework.TestCase;
+
+public class MetricsExporterTests extends TestCase {
+
+    private static final String SCENARIO = "MetricsExporterTests \"quoted\" \\ and\nnewline"; //$NON-NLS-1$
+
+    private File fFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        fFile = File.createTempFile("metrics", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+        System.setProperty(MetricsExporter.FILE_PROPERTY, fFile.getPath());
+        System.setProperty(MetricsExporter.INTERVAL_PROPERTY, "3600"); //$NON-NLS-1$
+        MetricsExporter.shutdown(); // reads the properties again
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        MetricsExporter.shutdown();
+        System.clearProperty(MetricsExporter.FILE_PROPERTY);
+        System.clearProperty(MetricsExporter.INTERVAL_PROPERTY);
+        fFile.delete();
+        super.tearDown();
+    }
+
+    private static String render() {
+        DataPoint[] dataPoints = { new DataPoint(InternalPerformanceMeter.BEFORE, InternalDimensions.CPU_TIME, 0),
+                new DataPoint(InternalPerformanceMeter.AFTER, InternalDimensions.CPU_TIME, 1500) };
+        MetricsExporter.sampleCommitted(new Sample(SCENARIO, 0, new HashMap<>(), dataPoints));
+        MetricsExporter.sampleStored(500000000, true);
+        MetricsExporter.sampleStored(250000000, false);
+        MetricsExporter exporter = MetricsExporter.getDefault();
+        assertNotNull(exporter);
+        assertSame(exporter, MetricsExporter.getDefault());
+        return exporter.render();
+    }
+
+    public void testLabelEscaping() {
+        String metrics = render();
+        String labels = "{scenario=\"MetricsExporterTests \\\"quoted\\\" \\\\ and\\nnewline\"}"; //$NON-NLS-1$
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_current_scenario" + labels + " 1\n") >= 0); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_scenario_value{scenario=\"MetricsExporterTests \\\"quoted\\\" \\\\ and\\nnewline\"," //$NON-NLS-1$
+                + "dimension=\"CPU Time\"} 1.5\n") >= 0); //$NON-NLS-1$
+    }
+
+    public void testCounters() {
+        String family = null;
+        boolean counter = false;
+        int counters = 0;
+        for (String line : render().split("\n")) { //$NON-NLS-1$
+            if (line.startsWith("# TYPE ")) { //$NON-NLS-1$
+                String[] parts = line.split(" "); //$NON-NLS-1$
+                family = parts[2];
+                counter = "counter".equals(parts[3]); //$NON-NLS-1$
+                // the suffix belongs to the samples only
+                assertFalse(line, family.endsWith("_total")); //$NON-NLS-1$
+                if (counter)
+                    counters++;
+            } else if (!line.startsWith("#")) { //$NON-NLS-1$
+                String name = line.substring(0, line.indexOf(line.indexOf('{') >= 0 ? '{' : ' '));
+                assertEquals(line, counter ? family + "_total" : family, name); //$NON-NLS-1$
+            }
+        }
+        assertTrue(counters > 0);
+    }
+
+    public void testEndOfFile() {
+        String metrics = render();
+        assertTrue(metrics.endsWith("\n# EOF\n")); //$NON-NLS-1$
+        assertEquals(metrics.indexOf("# EOF"), metrics.lastIndexOf("# EOF")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    public void testNumbers() {
+        String metrics = render();
+        // integral values without a fraction, times in seconds
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_stores_total 2\n") >= 0); //$NON-NLS-1$
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_store_failures_total 1\n") >= 0); //$NON-NLS-1$
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_store_seconds_total 0.75\n") >= 0); //$NON-NLS-1$
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_last_store_seconds 0.25\n") >= 0); //$NON-NLS-1$
+        for (String line : metrics.split("\n")) { //$NON-NLS-1$
+            if (!line.startsWith("#")) { //$NON-NLS-1$
+                String value = line.substring(line.lastIndexOf(' ') + 1);
+                assertTrue(line, value.matches("-?[0-9]+(\\.[0-9]+)?(E-?[0-9]+)?|NaN|[+-]Inf")); //$NON-NLS-1$
+            }
+        }
+    }
+
+    public void testFile() throws IOException {
+        render();
+        MetricsExporter.shutdown(); // writes the file a last time
+        String metrics = new String(Files.readAllBytes(fFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(metrics, metrics.indexOf("eclipse_perf_samples_committed_total 1\n") >= 0); //$NON-NLS-1$
+        assertTrue(metrics.endsWith("# EOF\n")); //$NON-NLS-1$
+    }
+}
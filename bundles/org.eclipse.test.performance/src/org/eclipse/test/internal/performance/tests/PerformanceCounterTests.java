@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import org.eclipse.test.internal.performance.OSPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceCounter;
+
+import junit.framework.TestCase;
+
+public class PerformanceCounterTests extends TestCase {
+
+    public void testCounter() {
+        OSPerformanceMeter meter = new OSPerformanceMeter("testCounter"); //$NON-NLS-1$
+        try {
+            PerformanceCounter nodes = Performance.getDefault().counter(meter, "testCounter nodes"); //$NON-NLS-1$
+            // the dimension is resolved when the counter is created, not while measuring
+            Dim dimension = Dim.getCustomDimension("testCounter nodes"); //$NON-NLS-1$
+            assertNotNull(dimension);
+            assertSame(dimension, nodes.getDimension());
+            assertSame(nodes, Performance.getDefault().counter(meter, "testCounter nodes")); //$NON-NLS-1$
+
+            nodes.add(5);
+            meter.start();
+            nodes.increment();
+            nodes.add(6);
+            meter.stop();
+            DataPoint[] dataPoints = meter.getSample().getDataPoints();
+            assertEquals(5, dataPoints[0].getScalar(dimension).getMagnitude());
+            assertEquals(12, dataPoints[1].getScalar(dimension).getMagnitude());
+
+            try {
+                Performance.getDefault().counter(meter, "testCounter late"); //$NON-NLS-1$
+                fail("counter created after the first measurement"); //$NON-NLS-1$
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        } finally {
+            meter.dispose();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+
+import junit.framework.TestCase;
+
+public class PhaseTests extends TestCase {
+
+    private static final Dim DIM = InternalDimensions.CPU_TIME;
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    private static long getPhaseTime(DataPoint[] dataPoints, int measurement, String path) {
+        Dim dimension = Dim.getCustomDimension("Phase " + path); //$NON-NLS-1$
+        assertNotNull(path, dimension);
+        assertEquals(0, dataPoints[2 * measurement].getScalar(dimension).getMagnitude());
+        return dataPoints[2 * measurement + 1].getScalar(dimension).getMagnitude();
+    }
+
+    public void testNestedPhases() {
+        TestPerformanceMeter meter = new TestPerformanceMeter("testNestedPhases"); //$NON-NLS-1$
+        meter.addPair(DIM, 0, 100);
+        try {
+            meter.start();
+            meter.beginPhase("load"); //$NON-NLS-1$
+            meter.beginPhase("parse"); //$NON-NLS-1$
+            sleep(10);
+            meter.endPhase();
+            sleep(10);
+            meter.endPhase();
+            meter.beginPhase("save"); //$NON-NLS-1$
+            sleep(10);
+            meter.endPhase();
+            meter.stop();
+
+            // a phase with the same name in another parent is a different phase, and phases may be missing
+            meter.start();
+            meter.beginPhase("save"); //$NON-NLS-1$
+            meter.beginPhase("parse"); //$NON-NLS-1$
+            sleep(10);
+            meter.endPhase();
+            meter.endPhase();
+            meter.stop();
+
+            Sample sample = meter.commitSample();
+            DataPoint[] dataPoints = sample.getDataPoints();
+            assertEquals(4, dataPoints.length);
+            assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[0].getStep());
+            assertEquals(InternalPerformanceMeter.AFTER, dataPoints[1].getStep());
+            // the measured dimensions are kept
+            assertEquals(100, dataPoints[1].getScalar(DIM).getMagnitude());
+
+            long load = getPhaseTime(dataPoints, 0, "load"); //$NON-NLS-1$
+            long parse = getPhaseTime(dataPoints, 0, "load/parse"); //$NON-NLS-1$
+            assertTrue(parse >= 10000000);
+            assertTrue(load >= parse + 10000000);
+            assertTrue(getPhaseTime(dataPoints, 0, "save") >= 10000000); //$NON-NLS-1$
+            assertEquals(0, getPhaseTime(dataPoints, 0, "save/parse")); //$NON-NLS-1$
+
+            assertEquals(0, getPhaseTime(dataPoints, 1, "load")); //$NON-NLS-1$
+            assertEquals(0, getPhaseTime(dataPoints, 1, "load/parse")); //$NON-NLS-1$
+            long save = getPhaseTime(dataPoints, 1, "save"); //$NON-NLS-1$
+            long saveParse = getPhaseTime(dataPoints, 1, "save/parse"); //$NON-NLS-1$
+            assertTrue(saveParse >= 10000000);
+            assertTrue(save >= saveParse);
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testPhaseNotEnded() {
+        TestPerformanceMeter meter = new TestPerformanceMeter("testPhaseNotEnded"); //$NON-NLS-1$
+        meter.addPair(DIM, 0, 100);
+        try {
+            meter.start();
+            meter.beginPhase("outer"); //$NON-NLS-1$
+            meter.beginPhase("inner"); //$NON-NLS-1$
+            sleep(10);
+            meter.stop(); // ends both phases
+
+            DataPoint[] dataPoints = meter.commitSample().getDataPoints();
+            assertTrue(getPhaseTime(dataPoints, 0, "outer/inner") >= 10000000); //$NON-NLS-1$
+            assertTrue(getPhaseTime(dataPoints, 0, "outer") >= 10000000); //$NON-NLS-1$
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testUnbalancedPhases() {
+        TestPerformanceMeter meter = new TestPerformanceMeter("testUnbalancedPhases"); //$NON-NLS-1$
+        try {
+            try {
+                meter.beginPhase("phase"); //$NON-NLS-1$
+                fail("phase begun outside of a measurement"); //$NON-NLS-1$
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            meter.start();
+            try {
+                meter.endPhase();
+                fail("phase ended without beginning"); //$NON-NLS-1$
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            meter.stop();
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testNoPhases() {
+        TestPerformanceMeter meter = new TestPerformanceMeter("testNoPhases"); //$NON-NLS-1$
+        meter.addPair(DIM, 0, 100);
+        try {
+            meter.start();
+            meter.stop();
+            DataPoint[] dataPoints = meter.commitSample().getDataPoints();
+            assertEquals(1, dataPoints[1].getDimensions().length);
+        } finally {
+            meter.dispose();
+        }
+    }
+}
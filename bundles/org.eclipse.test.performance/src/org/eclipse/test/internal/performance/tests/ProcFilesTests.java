@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.test.internal.performance.ProcFiles;
+
+import junit.framework.TestCase;
+
+public class ProcFilesTests extends TestCase {
+
+    private static final String[] KEYS = { "syscr", "syscw", "read_bytes" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    private File fFixture;
+
+    @Override
+    protected void setUp() throws Exception {
+        fFixture = File.createTempFile("ProcFilesTests", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        fFixture.delete();
+    }
+
+    private String write(String content) throws IOException {
+        Files.write(fFixture.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+        return fFixture.getPath();
+    }
+
+    public void testAllKeys() throws IOException {
+        long[] values = new long[KEYS.length];
+        // the keys in another order, with a prefix of a key and an unknown key in between
+        String path = write("read_bytes: 4096\nsyscr_total: 1\nsyscr: 12\nrchar: 7\nsyscw 3\n"); //$NON-NLS-1$
+        assertEquals(3, ProcFiles.readKeyValues(path, KEYS, values));
+        assertEquals(12, values[0]);
+        assertEquals(3, values[1]);
+        assertEquals(4096, values[2]);
+    }
+
+    public void testMissingFile() throws IOException {
+        long[] values = { 1, 2, 3 };
+        String path = write(""); // the empty file has no key //$NON-NLS-1$
+        assertEquals(0, ProcFiles.readKeyValues(path, KEYS, values));
+        fFixture.delete();
+        assertEquals(0, ProcFiles.readKeyValues(path, KEYS, values));
+        assertEquals(-1, values[0]);
+        assertEquals(-1, values[1]);
+        assertEquals(-1, values[2]);
+        assertEquals(-1, ProcFiles.readLong(path));
+    }
+
+    public void testMalformedLine() throws IOException {
+        long[] values = new long[KEYS.length];
+        String path = write("syscr: many\nsyscw:\nread_bytes: 4096\n"); //$NON-NLS-1$
+        assertEquals(1, ProcFiles.readKeyValues(path, KEYS, values));
+        assertEquals(-1, values[0]);
+        assertEquals(-1, values[1]);
+        assertEquals(4096, values[2]);
+    }
+
+    public void testPartialKeys() throws IOException {
+        // e.g. a cpu.stat without the throttling keys, when the cpu controller is not enabled
+        long[] values = new long[KEYS.length];
+        String path = write("syscw: 5\n"); //$NON-NLS-1$
+        assertEquals(1, ProcFiles.readKeyValues(path, KEYS, values));
+        assertEquals(-1, values[0]);
+        assertEquals(5, values[1]);
+        assertEquals(-1, values[2]);
+    }
+
+    public void testReadLong() throws IOException {
+        assertEquals(123456789, ProcFiles.readLong(write("123456789\n"))); //$NON-NLS-1$
+        assertEquals(-1, ProcFiles.readLong(write("max\n"))); //$NON-NLS-1$
+        assertEquals(-1, ProcFiles.readLong(write(""))); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
+import org.eclipse.test.internal.performance.data.Unit;
+import org.eclipse.test.internal.performance.db.SampleCodec;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+
+import junit.framework.TestCase;
+
+public class SampleCodecTests extends TestCase {
+
+    private static DataPoint createDataPoint(int step, Dim dimension, long value) {
+        Map<Dim, Scalar> scalars = new HashMap<>();
+        scalars.put(dimension, new Scalar(dimension, value));
+        scalars.put(InternalDimensions.CPU_TIME, new Scalar(InternalDimensions.CPU_TIME, 2 * value));
+        return new DataPoint(step, scalars);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testRoundTrip() throws IOException {
+        Dim custom = Dim.defineCustomDimension(-1, "SampleCodecTests.counter", Unit.BYTE, 1); //$NON-NLS-1$
+        Map<String, String> properties = new HashMap<>();
+        properties.put("build", "I20260101"); //$NON-NLS-1$ //$NON-NLS-2$
+        // the OS performance meters put their global scalars into the properties through a raw map
+        ((Map) properties).put(InternalDimensions.PHYSICAL_TOTAL, new Scalar(InternalDimensions.PHYSICAL_TOTAL, 42));
+        DataPoint[] dataPoints = { createDataPoint(InternalPerformanceMeter.BEFORE, custom, 10),
+                createDataPoint(InternalPerformanceMeter.AFTER, custom, 25) };
+        Sample sample = new Sample("SampleCodecTests#testRoundTrip", 1234, properties, dataPoints); //$NON-NLS-1$
+        sample.tagAsSummary(true, "round trip", new Dimension[] { InternalDimensions.CPU_TIME, custom }, //$NON-NLS-1$
+                Performance.EXPLAINS_DEGRADATION_COMMENT, "expected"); //$NON-NLS-1$
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            SampleCodec.write(out, sample);
+            SampleCodec.writeEnd(out, 3);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        int[] status = new int[1];
+        Sample copy = SampleCodec.read(in, status);
+        assertNull(SampleCodec.read(in, status));
+        assertEquals(3, status[0]);
+
+        assertEquals(sample.getScenarioID(), copy.getScenarioID());
+        assertEquals(1234, copy.getStartTime());
+        assertEquals(Arrays.asList("build"), Arrays.asList(copy.getPropertyKeys())); //$NON-NLS-1$
+        assertEquals("I20260101", copy.getProperty("build")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue(copy.isSummary());
+        assertTrue(copy.isGlobal());
+        assertEquals("round trip", copy.getShortname()); //$NON-NLS-1$
+        assertEquals(Arrays.asList(sample.getSummaryDimensions()), Arrays.asList(copy.getSummaryDimensions()));
+        assertEquals(Performance.EXPLAINS_DEGRADATION_COMMENT, copy.getCommentType());
+        assertEquals("expected", copy.getComment()); //$NON-NLS-1$
+
+        DataPoint[] copied = copy.getDataPoints();
+        assertEquals(2, copied.length);
+        for (int i = 0; i < copied.length; i++) {
+            assertEquals(dataPoints[i].getStep(), copied[i].getStep());
+            assertEquals(2, copied[i].getDimensions().length);
+            assertEquals(dataPoints[i].getScalar(custom).getMagnitude(), copied[i].getScalar(custom).getMagnitude());
+            assertEquals(dataPoints[i].getScalar(InternalDimensions.CPU_TIME).getMagnitude(),
+                    copied[i].getScalar(InternalDimensions.CPU_TIME).getMagnitude());
+        }
+    }
+
+    public void testUnresolvedCustomDimension() throws IOException {
+        // a dimension that is only defined by the writer, e.g. in a forked JVM
+        Dim custom = Dim.createUnresolvedCustomDimension("SampleCodecTests.unresolved", Unit.CARDINAL, 1); //$NON-NLS-1$
+        DataPoint[] dataPoints = { createDataPoint(InternalPerformanceMeter.BEFORE, custom, 1),
+                createDataPoint(InternalPerformanceMeter.AFTER, custom, 4) };
+        Sample sample = new Sample("SampleCodecTests#testUnresolvedCustomDimension", 0, new HashMap<>(), dataPoints); //$NON-NLS-1$
+        sample.tagAsSummary(false, "unresolved", new Dimension[] { custom }, 0, null); //$NON-NLS-1$
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            SampleCodec.write(out, sample);
+        }
+        Sample copy = SampleCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), new int[1]);
+
+        // reading does not define the dimension, and the data points share the one read
+        assertNull(Dim.getCustomDimension("SampleCodecTests.unresolved")); //$NON-NLS-1$
+        Dim read = (Dim) copy.getSummaryDimensions()[0];
+        assertFalse(read.isResolved());
+        assertEquals(1, copy.getDataPoints()[0].getScalar(read).getMagnitude());
+        assertEquals(4, copy.getDataPoints()[1].getScalar(read).getMagnitude());
+
+        Sample resolved = SampleCodec.resolveCustomDimensions(copy);
+        Dim defined = Dim.getCustomDimension("SampleCodecTests.unresolved"); //$NON-NLS-1$
+        assertNotNull(defined);
+        assertTrue(defined.isResolved());
+        assertSame(defined, resolved.getSummaryDimensions()[0]);
+        assertTrue(resolved.isSummary());
+        assertEquals("unresolved", resolved.getShortname()); //$NON-NLS-1$
+        assertEquals(4, resolved.getDataPoints()[1].getScalar(defined).getMagnitude());
+        assertEquals(8, resolved.getDataPoints()[1].getScalar(InternalDimensions.CPU_TIME).getMagnitude());
+        assertNull(resolved.getDataPoints()[1].getScalar(read));
+        // a sample without unresolved dimensions is not copied
+        assertSame(resolved, SampleCodec.resolveCustomDimensions(resolved));
+    }
+
+    public void testNotASampleStream() {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 }));
+        try {
+            SampleCodec.read(in, new int[1]);
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.SamplingPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+
+import junit.framework.TestCase;
+
+public class SamplingPerformanceMeterTests extends TestCase {
+
+    private static final Dim[] JAVA_HEAP = { InternalDimensions.PEAK_JAVA_HEAP, InternalDimensions.MEAN_JAVA_HEAP,
+            InternalDimensions.P90_JAVA_HEAP };
+
+    private String             fInterval;
+    private String             fCapacity;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        fInterval = System.getProperty(SamplingPerformanceMeter.INTERVAL_PROPERTY);
+        fCapacity = System.getProperty(SamplingPerformanceMeter.CAPACITY_PROPERTY);
+        System.setProperty(SamplingPerformanceMeter.INTERVAL_PROPERTY, "1"); //$NON-NLS-1$
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        restore(SamplingPerformanceMeter.INTERVAL_PROPERTY, fInterval);
+        restore(SamplingPerformanceMeter.CAPACITY_PROPERTY, fCapacity);
+        super.tearDown();
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null)
+            System.clearProperty(key);
+        else
+            System.setProperty(key, value);
+    }
+
+    private static void work(long millis) {
+        long end = System.nanoTime() + millis * 1000000;
+        long[][] garbage = new long[64][];
+        for (int i = 0; System.nanoTime() < end; i++)
+            garbage[i % garbage.length] = new long[1024];
+    }
+
+    private static long getValue(DataPoint dataPoint, Dim dimension) {
+        assertNotNull(dimension.getName(), dataPoint.getScalar(dimension));
+        return dataPoint.getScalar(dimension).getMagnitude();
+    }
+
+    public void testSampledDimensions() {
+        SamplingPerformanceMeter meter = new SamplingPerformanceMeter("testSampledDimensions"); //$NON-NLS-1$
+        try {
+            for (int i = 0; i < 2; i++) {
+                meter.start();
+                work(50);
+                meter.stop();
+            }
+            DataPoint[] dataPoints = meter.getSample().getDataPoints();
+            assertEquals(4, dataPoints.length);
+            for (int i = 0; i < dataPoints.length; i += 2) {
+                assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[i].getStep());
+                assertEquals(InternalPerformanceMeter.AFTER, dataPoints[i + 1].getStep());
+                // the before snapshot is 0, so that the delta is the statistic
+                for (Dim dimension : JAVA_HEAP)
+                    assertEquals(0, getValue(dataPoints[i], dimension));
+                long peak = getValue(dataPoints[i + 1], InternalDimensions.PEAK_JAVA_HEAP);
+                long mean = getValue(dataPoints[i + 1], InternalDimensions.MEAN_JAVA_HEAP);
+                long p90 = getValue(dataPoints[i + 1], InternalDimensions.P90_JAVA_HEAP);
+                assertTrue(mean > 0);
+                assertTrue(mean <= peak);
+                assertTrue(p90 <= peak);
+            }
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testRingBufferOverflow() {
+        System.setProperty(SamplingPerformanceMeter.CAPACITY_PROPERTY, "2"); //$NON-NLS-1$
+        SamplingPerformanceMeter meter = new SamplingPerformanceMeter("testRingBufferOverflow"); //$NON-NLS-1$
+        try {
+            meter.start();
+            work(50); // many more samples than fit
+            meter.stop();
+            DataPoint after = meter.getSample().getDataPoints()[1];
+            long peak = getValue(after, InternalDimensions.PEAK_JAVA_HEAP);
+            assertTrue(getValue(after, InternalDimensions.MEAN_JAVA_HEAP) <= peak);
+            assertTrue(getValue(after, InternalDimensions.P90_JAVA_HEAP) <= peak);
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testNoSamplesAfterStop() throws InterruptedException {
+        SamplingPerformanceMeter meter = new SamplingPerformanceMeter("testNoSamplesAfterStop"); //$NON-NLS-1$
+        try {
+            meter.start();
+            meter.stop();
+            DataPoint after = meter.getSample().getDataPoints()[1];
+            Thread.sleep(20); // the sampler idles between measurements
+            assertEquals(getValue(after, InternalDimensions.PEAK_JAVA_HEAP),
+                    getValue(meter.getSample().getDataPoints()[1], InternalDimensions.PEAK_JAVA_HEAP));
+        } finally {
+            meter.dispose();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.SystemTimePerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.LatencyHistogram;
+import org.eclipse.test.internal.performance.data.Sample;
+import org.eclipse.test.internal.performance.data.Scalar;
+import org.eclipse.test.internal.performance.db.RawDeltas;
+import org.eclipse.test.internal.performance.eval.BootstrapRelativeBandChecker;
+import org.eclipse.test.internal.performance.eval.ChangePoint;
+import org.eclipse.test.internal.performance.eval.ChangePointDetector;
+import org.eclipse.test.internal.performance.eval.MannWhitneyChecker;
+import org.eclipse.test.internal.performance.eval.OutlierPolicy;
+import org.eclipse.test.internal.performance.eval.PairedComparison;
+import org.eclipse.test.internal.performance.eval.PercentileBandChecker;
+import org.eclipse.test.internal.performance.eval.RelativeBandChecker;
+import org.eclipse.test.internal.performance.eval.Resampler;
+import org.eclipse.test.internal.performance.eval.RobustRelativeBandChecker;
+import org.eclipse.test.internal.performance.eval.RobustStatistics;
+import org.eclipse.test.internal.performance.eval.StatisticsSession;
+import org.eclipse.test.internal.performance.eval.StatisticsUtil;
+
+import junit.framework.TestCase;
+
+public class StatisticsTests extends TestCase {
+
+    private static final Dim DIM = InternalDimensions.CPU_TIME;
+
+    private static StatisticsSession createSession(long[] deltas) {
+        DataPoint[] dataPoints = new DataPoint[2 * deltas.length];
+        for (int i = 0; i < deltas.length; i++) {
+            dataPoints[2 * i] = createDataPoint(InternalPerformanceMeter.BEFORE, 1000);
+            dataPoints[2 * i + 1] = createDataPoint(InternalPerformanceMeter.AFTER, 1000 + deltas[i]);
+        }
+        return new StatisticsSession(dataPoints);
+    }
+
+    private static DataPoint createDataPoint(int step, long value) {
+        Map<Dim, Scalar> scalars = new HashMap<>();
+        scalars.put(DIM, new Scalar(DIM, value));
+        return new DataPoint(step, scalars);
+    }
+
+    public void testRobustStatistics() {
+        StatisticsSession session = createSession(new long[] { 7, 1, 5, 3, 9, 2, 8, 4, 6, 10 });
+        assertTrue(session.hasMeasurements());
+        RobustStatistics stats = session.getRobustStatistics(DIM, OutlierPolicy.NONE);
+        assertEquals(10, stats.getCount());
+        assertEquals(5.5, stats.getMean(), 0.0);
+        assertEquals(5.5, stats.getMedian(), 0.0);
+        assertEquals(3.25, stats.getQ1(), 0.0);
+        assertEquals(7.75, stats.getQ3(), 0.0);
+        assertEquals(4.5, stats.getIQR(), 0.0);
+        assertEquals(2.5, stats.getMAD(), 0.0);
+        assertEquals(5.5, stats.getTrimmedMean(), 0.0); // 2..9
+
+        // the deviations from the median 2.5 are 1.5, 0.5, 0.5 and 1.5
+        stats = createSession(new long[] { 1, 2, 3, 4 }).getRobustStatistics(DIM, OutlierPolicy.NONE);
+        assertEquals(1.0, stats.getMAD(), 0.0);
+    }
+
+    public void testOutliers() {
+        long[] deltas = new long[20];
+        for (int i = 0; i < deltas.length; i++)
+            deltas[i] = 100 + i % 5;
+        deltas[7] = 5000; // a GC pause
+        StatisticsSession session = createSession(deltas);
+
+        RobustStatistics all = session.getRobustStatistics(DIM, OutlierPolicy.NONE);
+        assertEquals(0, all.getOutliers());
+        assertTrue(all.getMean() > 300);
+
+        RobustStatistics tukey = session.getRobustStatistics(DIM, OutlierPolicy.TUKEY);
+        assertEquals(1, tukey.getOutliers());
+        assertTrue(tukey.getMean() < 105);
+
+        RobustStatistics mad = session.getRobustStatistics(DIM, OutlierPolicy.MAD);
+        assertEquals(1, mad.getOutliers());
+        assertEquals(tukey.getMedian(), mad.getMedian(), 0.0);
+    }
+
+    public void testRobustRelativeBandChecker() {
+        long[] reference = new long[30];
+        long[] measured = new long[30];
+        for (int i = 0; i < reference.length; i++) {
+            reference[i] = 100 + i % 7;
+            measured[i] = 100 + i % 7;
+        }
+        measured[3] = 900;
+        measured[17] = 1200;
+        StatisticsSession referenceSession = createSession(reference);
+        StatisticsSession measuredSession = createSession(measured);
+
+        StringBuffer message = new StringBuffer();
+        assertFalse(new RelativeBandChecker(DIM, 0.9, 1.1).test(referenceSession, measuredSession, message));
+        assertTrue(new RelativeBandChecker(DIM, 0.9, 1.1, OutlierPolicy.TUKEY).test(referenceSession, measuredSession, message));
+        assertTrue(new RobustRelativeBandChecker(DIM, 0.9, 1.1, OutlierPolicy.NONE).test(referenceSession, measuredSession, message));
+
+        for (int i = 0; i < measured.length; i++)
+            measured[i] = 2 * (100 + i % 7);
+        message = new StringBuffer();
+        assertFalse(new RobustRelativeBandChecker(DIM, 0.9, 1.1, OutlierPolicy.TUKEY).test(referenceSession, createSession(measured),
+                message));
+        assertTrue(message.indexOf("median") >= 0); //$NON-NLS-1$
+
+        // aggregated reference data, as stored in the database, whose average is skewed by one slow run
+        long[] raw = new long[30];
+        Arrays.fill(raw, 100);
+        raw[0] = 10000;
+        StatisticsSession aggregate = new StatisticsSession(new DataPoint[] { createDataPoint(InternalPerformanceMeter.AVERAGE, 430) });
+        assertNull(aggregate.getRobustStatistics(DIM, OutlierPolicy.NONE));
+        Arrays.fill(measured, 130);
+        RobustRelativeBandChecker checker = new RobustRelativeBandChecker(DIM, 0.0, 1.1, OutlierPolicy.NONE);
+        assertTrue(checker.needsValues());
+        assertTrue(checker.test(aggregate, createSession(measured), new StringBuffer()));
+        aggregate.setValues(DIM, raw);
+        assertEquals(100, aggregate.getRobustStatistics(DIM, OutlierPolicy.NONE).getMedian(), 0.0);
+        assertFalse(checker.test(aggregate, createSession(measured), new StringBuffer()));
+    }
+
+    public void testAllDimensions() {
+        Dim elapsed = InternalDimensions.ELAPSED_PROCESS;
+        long[] deltas = { 12, 15, 11, 14, 13, 15 };
+        DataPoint[] dataPoints = new DataPoint[2 * deltas.length];
+        long time = 1700000000000L; // time stamps must not spoil the variance
+        for (int i = 0; i < deltas.length; i++) {
+            Map<Dim, Scalar> before = new HashMap<>();
+            before.put(DIM, new Scalar(DIM, 1000));
+            before.put(elapsed, new Scalar(elapsed, time));
+            Map<Dim, Scalar> after = new HashMap<>();
+            after.put(DIM, new Scalar(DIM, 1000 + 10 * deltas[i]));
+            after.put(elapsed, new Scalar(elapsed, time += deltas[i]));
+            dataPoints[2 * i] = new DataPoint(InternalPerformanceMeter.BEFORE, before);
+            dataPoints[2 * i + 1] = new DataPoint(InternalPerformanceMeter.AFTER, after);
+            time += 1000;
+        }
+        StatisticsSession session = new StatisticsSession(dataPoints);
+
+        double average = 80 / 6.0;
+        double squares = 0;
+        for (long delta : deltas)
+            squares += (delta - average) * (delta - average);
+        double stddev = Math.sqrt(squares / 5);
+        assertEquals(6, session.getCount(elapsed));
+        assertEquals(80, session.getSum(elapsed));
+        assertEquals(average, session.getAverage(elapsed), 1e-9);
+        assertEquals(stddev, session.getStddev(elapsed), 1e-9);
+        assertEquals(800, session.getSum(DIM));
+        assertEquals(10 * stddev, session.getStddev(DIM), 1e-9);
+    }
+
+    public void testResampler() {
+        long[] reference = new long[40];
+        long[] same = new long[40];
+        long[] slower = new long[40];
+        for (int i = 0; i < reference.length; i++) {
+            reference[i] = 100 + (i * 7) % 13;
+            same[i] = 100 + (i * 5) % 13;
+            slower[i] = 130 + (i * 3) % 13;
+        }
+        slower[5] = 2000; // skewed
+
+        Resampler resampler = new Resampler(2000, 42, ForkJoinPool.commonPool());
+        double[] mean = resampler.getMeanConfidenceInterval(reference, StatisticsUtil.T95);
+        assertTrue(mean[0] < 106 && mean[1] > 106);
+        assertTrue(Arrays.equals(mean, resampler.getMeanConfidenceInterval(reference, StatisticsUtil.T95)));
+        double[] median = resampler.getMedianConfidenceInterval(reference, StatisticsUtil.T95);
+        assertTrue(median[0] <= 106 && median[1] >= 106);
+
+        double[] ratio = resampler.getRatioOfMeansConfidenceInterval(reference, slower, StatisticsUtil.T95);
+        assertTrue(ratio[0] > 1.2);
+        assertTrue(resampler.getPermutationPValue(reference, slower) < 0.01);
+        assertTrue(resampler.getPermutationPValue(reference, same) > 0.1);
+
+        StringBuffer message = new StringBuffer();
+        assertTrue(new BootstrapRelativeBandChecker(DIM, 0.9, 1.1, resampler).test(createSession(reference), createSession(same),
+                message));
+        assertFalse(new BootstrapRelativeBandChecker(DIM, 0.9, 1.1, resampler).test(createSession(reference), createSession(slower),
+                message));
+    }
+
+    public void testChangePoints() {
+        double[] values = new double[40];
+        double[] stddevs = new double[40];
+        long[] counts = new long[40];
+        String[] labels = new String[40];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i < 25 ? 100 : 110) + (i * 7) % 5 - 2;
+            stddevs[i] = 5;
+            counts[i] = 10;
+            labels[i] = "I" + i; //$NON-NLS-1$
+        }
+        ChangePointDetector detector = new ChangePointDetector(0.01, 0.03, ForkJoinPool.commonPool());
+        List<ChangePoint> changePoints = detector.detect(values, stddevs, counts, labels);
+        assertEquals(1, changePoints.size());
+        ChangePoint changePoint = changePoints.get(0);
+        assertEquals("I25", changePoint.getLabel()); //$NON-NLS-1$
+        assertEquals(0.1, changePoint.getRelativeChange(), 0.01);
+        assertTrue(changePoint.getPValue() <= 0.01);
+
+        for (int i = 25; i < values.length; i++)
+            values[i] -= 10;
+        assertTrue(detector.detect(values, stddevs, counts, labels).isEmpty());
+    }
+
+    public void testMannWhitney() {
+        double[] result = MannWhitneyChecker.test(new long[] { 1, 2, 3, 4, 5 }, new long[] { 6, 7, 8, 9, 10 });
+        assertEquals(0.0061, result[0], 0.0001); // z = 2.507
+        assertEquals(1.0, result[1], 0.0);
+        result = MannWhitneyChecker.test(new long[] { 1, 2, 2, 3 }, new long[] { 1, 2, 2, 3 });
+        assertEquals(0.5, result[1], 0.0);
+        assertTrue(result[0] > 0.5);
+
+        long[] reference = new long[30];
+        long[] measured = new long[30];
+        for (int i = 0; i < reference.length; i++) {
+            reference[i] = 100 + (i * 7) % 13;
+            measured[i] = 100 + (i * 5) % 13;
+        }
+        StringBuffer message = new StringBuffer();
+        MannWhitneyChecker checker = new MannWhitneyChecker(DIM);
+        assertTrue(checker.test(createSession(reference), createSession(measured), message));
+        for (int i = 0; i < measured.length; i += 2)
+            measured[i] += 20; // every other run is slow
+        assertFalse(checker.test(createSession(reference), createSession(measured), message));
+    }
+
+    public void testRawDeltas() {
+        long[] values = { 0, 1234567, 1234500, -5, Long.MAX_VALUE, Long.MIN_VALUE, 42 };
+        byte[] bytes = RawDeltas.encode(values);
+        assertTrue(Arrays.equals(values, RawDeltas.decode(bytes)));
+        assertEquals(0, RawDeltas.decode(RawDeltas.encode(new long[0])).length);
+        try {
+            RawDeltas.decode(Arrays.copyOf(bytes, bytes.length - 1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testPairedComparison() {
+        // the machine drifts by 30% during the run, the candidate is 3% slower than the baseline
+        long[] baseline = new long[20];
+        long[] candidate = new long[20];
+        for (int i = 0; i < baseline.length; i++) {
+            long drift = 1000 + 15 * i + (i * 37) % 11;
+            baseline[i] = drift;
+            candidate[i] = drift + 30 + (i * 7) % 5;
+        }
+        PairedComparison comparison = new PairedComparison(DIM, baseline, candidate, StatisticsUtil.T95);
+        assertEquals(32, comparison.getMeanDifference(), 0.5);
+        double[] interval = comparison.getRelativeConfidenceInterval();
+        assertTrue(interval[0] > 0.02 && interval[1] < 0.04);
+        assertTrue(comparison.isRegression(0.02));
+        assertFalse(comparison.isRegression(0.05));
+        try {
+            new PairedComparison(DIM, baseline, new long[19], StatisticsUtil.T95);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testThrottledIterations() {
+        DataPoint[] dataPoints = new DataPoint[8];
+        long[] throttledPeriods = { 0, 0, 0, 2, 2, 2, 2, 5 }; // the 2nd and 4th iterations are throttled
+        for (int i = 0; i < dataPoints.length; i++) {
+            Map<Dim, Scalar> scalars = new HashMap<>();
+            scalars.put(DIM, new Scalar(DIM, 100 * i));
+            scalars.put(InternalDimensions.CGROUP_THROTTLED_PERIODS,
+                    new Scalar(InternalDimensions.CGROUP_THROTTLED_PERIODS, throttledPeriods[i]));
+            dataPoints[i] = new DataPoint(i % 2 == 0 ? InternalPerformanceMeter.BEFORE : InternalPerformanceMeter.AFTER, scalars);
+        }
+        assertEquals(2, InternalPerformanceMeter.getThrottledIterations(dataPoints));
+        DataPoint[] kept = InternalPerformanceMeter.removeThrottledIterations(dataPoints);
+        assertEquals(4, kept.length);
+        assertSame(dataPoints[0], kept[0]);
+        assertSame(dataPoints[5], kept[3]);
+        assertEquals(0, InternalPerformanceMeter.getThrottledIterations(kept));
+        assertEquals(2, new StatisticsSession(kept).getCount(DIM));
+    }
+
+    public void testSystemTimePerformanceMeter() {
+        SystemTimePerformanceMeter meter = new SystemTimePerformanceMeter("testSystemTime", 1, true); //$NON-NLS-1$
+        try {
+            for (int i = 0; i < 5; i++) {
+                meter.start();
+                meter.stop();
+            }
+            Sample sample = meter.getSample();
+            assertSame(sample, meter.getSample());
+            DataPoint[] dataPoints = sample.getDataPoints();
+            assertEquals(10, dataPoints.length);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[2 * i].getStep());
+                assertEquals(InternalPerformanceMeter.AFTER, dataPoints[2 * i + 1].getStep());
+                assertEquals(1, dataPoints[2 * i].getDimensions().length);
+                long elapsed = dataPoints[2 * i + 1].getScalar(InternalDimensions.NANO_TIME).getMagnitude()
+                        - dataPoints[2 * i].getScalar(InternalDimensions.NANO_TIME).getMagnitude();
+                assertTrue(elapsed >= 0);
+            }
+            meter.start();
+            meter.stop();
+            assertEquals(12, meter.getSample().getDataPoints().length);
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++)
+            histogram.record(i * 1000); // 1us to 1ms
+        histogram.record(1000000000); // one outlier of a second
+        assertEquals(1001, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(1000000000, histogram.getMax());
+        assertEquals(1000000000, histogram.getValueAtPercentile(100));
+        long p0 = histogram.getValueAtPercentile(0);
+        assertTrue(p0 >= 1000 && p0 <= 1000 * 65 / 64);
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(p50 >= 501000 && p50 <= 501000 * 65 / 64);
+        assertTrue(p99 >= 991000 && p99 <= 991000 * 65 / 64);
+
+        LatencyHistogram copy = LatencyHistogram.fromArray(RawDeltas.decode(RawDeltas.encode(histogram.toArray())));
+        assertEquals(histogram.getCount(), copy.getCount());
+        assertEquals(histogram.getMean(), copy.getMean(), 0.0);
+        assertEquals(p99, copy.getValueAtPercentile(99));
+        copy.add(histogram);
+        assertEquals(2002, copy.getCount());
+        assertEquals(p50, copy.getValueAtPercentile(50));
+
+        StatisticsSession reference = createSession(new long[] { p99 });
+        reference.setHistogram(histogram);
+        LatencyHistogram slower = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++)
+            slower.record(i * (i > 980 ? 2000 : 1000)); // only the tail is slower
+        StatisticsSession measured = createSession(new long[] { slower.getValueAtPercentile(99) });
+        measured.setHistogram(slower);
+        PercentileBandChecker p50Checker = new PercentileBandChecker(InternalDimensions.LATENCY_P50, 0, 1.1);
+        PercentileBandChecker p99Checker = new PercentileBandChecker(InternalDimensions.LATENCY_P99, 0, 1.1);
+        StringBuffer message = new StringBuffer();
+        assertTrue(p50Checker.test(reference, measured, message));
+        assertFalse(p99Checker.test(reference, measured, message));
+    }
+}
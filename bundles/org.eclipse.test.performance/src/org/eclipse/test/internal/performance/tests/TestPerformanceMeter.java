@@ -63,11 +63,17 @@ class TestPerformanceMeter extends InternalPerformanceMeter {
 
     @Override
     public void start() {
+        measurementStarted();
         fDataPoints.add(new DataPoint(BEFORE, fStart));
     }
 
     @Override
     public void stop() {
         fDataPoints.add(new DataPoint(AFTER, fStop));
+        measurementStopped();
+    }
+
+    Sample commitSample() {
+        return getCommittedSample();
     }
 }
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.internal.performance.tests;
+
+import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.InternalPerformanceMeter;
+import org.eclipse.test.internal.performance.ThroughputPerformanceMeter;
+import org.eclipse.test.internal.performance.data.DataPoint;
+import org.eclipse.test.internal.performance.data.Dim;
+
+import junit.framework.TestCase;
+
+public class ThroughputPerformanceMeterTests extends TestCase {
+
+    /**
+     * Counts its runs and allocates 1K each time.
+     */
+    private static class Operation implements Runnable {
+
+        long   fRuns;
+        byte[] fGarbage;
+
+        @Override
+        public void run() {
+            fRuns++;
+            fGarbage = new byte[1024];
+        }
+    }
+
+    private static long getValue(DataPoint dataPoint, Dim dimension) {
+        return dataPoint.getScalar(dimension).getMagnitude();
+    }
+
+    public void testWarmupAndMeasurements() {
+        Operation operation = new Operation();
+        ThroughputPerformanceMeter meter = new ThroughputPerformanceMeter("testWarmupAndMeasurements", operation, 20, 50); //$NON-NLS-1$
+        try {
+            meter.start();
+            meter.stop();
+            long afterFirst = operation.fRuns;
+            meter.start();
+            meter.stop();
+
+            DataPoint[] dataPoints = meter.getSample().getDataPoints();
+            assertEquals(4, dataPoints.length);
+            assertEquals(InternalPerformanceMeter.BEFORE, dataPoints[0].getStep());
+            assertEquals(0, getValue(dataPoints[0], InternalDimensions.INVOCATION_COUNT));
+            assertEquals(0, getValue(dataPoints[0], InternalDimensions.THROUGHPUT));
+            long first = getValue(dataPoints[1], InternalDimensions.INVOCATION_COUNT);
+            long second = getValue(dataPoints[3], InternalDimensions.INVOCATION_COUNT);
+            assertTrue(first > 0);
+            assertEquals(1024, operation.fGarbage.length);
+            // the warmup runs before the first measurement only
+            assertTrue(afterFirst > first);
+            assertEquals(operation.fRuns - afterFirst, second);
+
+            // each measurement takes at least the duration
+            long throughput = getValue(dataPoints[1], InternalDimensions.THROUGHPUT);
+            assertTrue(throughput > 0);
+            assertTrue(throughput <= first * 20);
+
+            if (dataPoints[1].getScalar(InternalDimensions.ALLOCATION_PER_OPERATION) != null)
+                assertTrue(getValue(dataPoints[1], InternalDimensions.ALLOCATION_PER_OPERATION) >= 1024);
+            if (dataPoints[1].getScalar(InternalDimensions.OPERATIONS_PER_CPU_SECOND) != null)
+                assertTrue(getValue(dataPoints[1], InternalDimensions.OPERATIONS_PER_CPU_SECOND) > 0);
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testSlowOperation() {
+        Runnable operation = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(30);
+                } catch (InterruptedException e) {
+                    fail();
+                }
+            }
+        };
+        ThroughputPerformanceMeter meter = new ThroughputPerformanceMeter("testSlowOperation", operation, 0, 10); //$NON-NLS-1$
+        try {
+            meter.start();
+            meter.stop();
+            DataPoint after = meter.getSample().getDataPoints()[1];
+            // an operation that takes longer than the duration runs once
+            assertEquals(1, getValue(after, InternalDimensions.INVOCATION_COUNT));
+            assertTrue(getValue(after, InternalDimensions.THROUGHPUT) <= 34);
+        } finally {
+            meter.dispose();
+        }
+    }
+
+    public void testInvalidArguments() {
+        try {
+            new ThroughputPerformanceMeter("testInvalidArguments", null, 0, 10); //$NON-NLS-1$
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new ThroughputPerformanceMeter("testInvalidArguments", new Operation(), 0, 0); //$NON-NLS-1$
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -76,4 +76,72 @@ public interface Dimension {
      * count, not an average over the time interval. Currently this dimension is only available on Windows.
      */
     public Dimension COMITTED         = InternalDimensions.COMITTED;
+
+    // Dimensions of throughput measurements, see Performance#createPerformanceMeter(String, Runnable, long, long):
+
+    /**
+     * The number of operations completed per second. Unlike time, larger values are better.
+     *
+     * @since 3.14
+     */
+    public Dimension THROUGHPUT       = InternalDimensions.THROUGHPUT;
+
+    /**
+     * The number of operations completed per second of CPU time used by the measuring thread. Unlike time, larger values are
+     * better.
+     *
+     * @since 3.14
+     */
+    public Dimension OPERATIONS_PER_CPU_SECOND = InternalDimensions.OPERATIONS_PER_CPU_SECOND;
+
+    /**
+     * The number of bytes allocated by the measuring thread per operation. Not available on all VMs.
+     *
+     * @since 3.14
+     */
+    public Dimension ALLOCATION_PER_OPERATION = InternalDimensions.ALLOCATION_PER_OPERATION;
+
+    // Dimensions of latency histograms, see Performance#createHistogramPerformanceMeter(String):
+
+    /**
+     * The median of the latencies of the operations.
+     *
+     * @since 3.14
+     */
+    public Dimension LATENCY_P50              = InternalDimensions.LATENCY_P50;
+
+    /**
+     * The latency that 90% of the operations do not exceed.
+     *
+     * @since 3.14
+     */
+    public Dimension LATENCY_P90              = InternalDimensions.LATENCY_P90;
+
+    /**
+     * The latency that 99% of the operations do not exceed.
+     *
+     * @since 3.14
+     */
+    public Dimension LATENCY_P99              = InternalDimensions.LATENCY_P99;
+
+    /**
+     * The latency that 99.9% of the operations do not exceed.
+     *
+     * @since 3.14
+     */
+    public Dimension LATENCY_P999             = InternalDimensions.LATENCY_P999;
+
+    /**
+     * The largest latency of the operations.
+     *
+     * @since 3.14
+     */
+    public Dimension LATENCY_MAX              = InternalDimensions.LATENCY_MAX;
+
+    /**
+     * The elapsed time in nanoseconds, as measured by the nanosecond variant of the system time performance meter.
+     *
+     * @since 3.14
+     */
+    public Dimension NANO_TIME                = InternalDimensions.NANO_TIME;
 }
@@ -14,20 +14,30 @@ package org.eclipse.test.performance;
 import java.lang.reflect.InvocationTargetException;
 
 import org.eclipse.core.runtime.Platform;
-import org.eclipse.test.internal.performance.InternalDimensions;
+import org.eclipse.test.internal.performance.AdaptiveSampler;
+import org.eclipse.test.internal.performance.ConcurrentPerformanceMeterFactory;
+import org.eclipse.test.internal.performance.HistogramPerformanceMeter;
+import org.eclipse.test.internal.performance.InterleavedRunner;
 import org.eclipse.test.internal.performance.InternalPerformanceMeter;
 import org.eclipse.test.internal.performance.NullPerformanceMeter;
 import org.eclipse.test.internal.performance.OSPerformanceMeterFactory;
 import org.eclipse.test.internal.performance.PerformanceMeterFactory;
 import org.eclipse.test.internal.performance.PerformanceTestPlugin;
+import org.eclipse.test.internal.performance.ThroughputPerformanceMeter;
 import org.eclipse.test.internal.performance.data.Dim;
+import org.eclipse.test.internal.performance.data.Sample;
 import org.eclipse.test.internal.performance.eval.AbsoluteBandChecker;
 import org.eclipse.test.internal.performance.eval.AssertChecker;
 import org.eclipse.test.internal.performance.eval.Evaluator;
 import org.eclipse.test.internal.performance.eval.IEvaluator;
+import org.eclipse.test.internal.performance.eval.PairedComparison;
+import org.eclipse.test.internal.performance.eval.PercentileBandChecker;
 import org.eclipse.test.internal.performance.eval.RelativeBandChecker;
+import org.eclipse.test.internal.performance.eval.StatisticsUtil;
 import org.osgi.framework.Bundle;
 
+import junit.framework.Assert;
+import junit.framework.AssertionFailedError;
 import junit.framework.TestCase;
 
 /**
@@ -75,6 +85,19 @@ public class Performance {
 
     /**
      * Asserts default properties of the measurements captured by the given performance meter.
+     * <p>
+     * By default the average elapsed time must not exceed the reference by more than 10%. The system property
+     * <code>eclipse.perf.assertStrategy</code> selects another check of the elapsed time:
+     * </p>
+     * <ul>
+     * <li><code>robust</code>: the median, without outliers, must not exceed the reference median by more than 10%; the
+     * reference median needs reference data stored with <code>-Declipse.perf.rawDeltas=true</code>, otherwise the
+     * reference average is used</li>
+     * <li><code>bootstrap</code>: the bootstrap confidence interval of the ratio of the averages must not be above
+     * 110%</li>
+     * <li><code>mannWhitney</code>: the measured values must not be stochastically larger than the reference values;
+     * this needs reference data stored with <code>-Declipse.perf.rawDeltas=true</code></li>
+     * </ul>
      * 
      * @param performanceMeter
      *            the performance meter
@@ -84,13 +107,7 @@ public class Performance {
     public void assertPerformance(PerformanceMeter performanceMeter) {
         if (fDefaultEvaluator == null) {
             fDefaultEvaluator = new Evaluator();
-            fDefaultEvaluator.setAssertCheckers(new AssertChecker[] { new RelativeBandChecker(InternalDimensions.ELAPSED_PROCESS,
-                    0.0f, 1.10f),
-            // new RelativeBandChecker(InternalDimensions.CPU_TIME, 0.0f, 1.10f),
-            // new RelativeBandChecker(InternalDimensions.WORKING_SET, 0.0f, 3.00f),
-            // new RelativeBandChecker(InternalDimensions.USED_JAVA_HEAP, 0.0f, 2.00f),
-            // new RelativeBandChecker(InternalDimensions.SYSTEM_TIME, 0.0f, 1.10f)
-                    });
+            fDefaultEvaluator.setAssertCheckers(Evaluator.getDefaultCheckers());
         }
         fDefaultEvaluator.evaluate(performanceMeter);
     }
@@ -98,7 +115,8 @@ public class Performance {
     /**
      * Asserts that the measurement specified by the dimension captured in the given performance meter is within a certain range
      * with respect to some reference value. If the performance meter doesn't provide the specified dimension, the call has no
-     * effect.
+     * effect. The latency percentiles of a {@link #createHistogramPerformanceMeter(String) histogram performance meter}, e.g.
+     * {@link Dimension#LATENCY_P99}, are compared as percentiles of all reference latencies.
      * 
      * @param performanceMeter
      *            the performance meter
@@ -114,8 +132,12 @@ public class Performance {
     public void assertPerformanceInRelativeBand(PerformanceMeter performanceMeter, Dimension dim, int lowerPercentage,
             int upperPercentage) {
         Evaluator e = new Evaluator();
-        e.setAssertCheckers(new AssertChecker[] { new RelativeBandChecker((Dim) dim, 1.0 + (lowerPercentage / 100.0),
-                1.0 + (upperPercentage / 100.0)), });
+        double lowerBand = 1.0 + (lowerPercentage / 100.0);
+        double upperBand = 1.0 + (upperPercentage / 100.0);
+        if (Double.isNaN(HistogramPerformanceMeter.getPercentile((Dim) dim)))
+            e.setAssertCheckers(new AssertChecker[] { new RelativeBandChecker((Dim) dim, lowerBand, upperBand), });
+        else
+            e.setAssertCheckers(new AssertChecker[] { new PercentileBandChecker((Dim) dim, lowerBand, upperBand), });
         e.evaluate(performanceMeter);
     }
 
@@ -156,6 +178,181 @@ public class Performance {
         return getPeformanceMeterFactory().createPerformanceMeter(scenarioId);
     }
 
+    /**
+     * Creates a performance meter that measures the sustained throughput of the given operation. Each call of
+     * <code>start()</code> runs the operation repeatedly on the calling thread for the given duration, the first one after
+     * running it for the warmup period; <code>stop()</code> ends the measurement. Besides the usual dimensions, the meter
+     * records {@link Dimension#THROUGHPUT}, {@link Dimension#OPERATIONS_PER_CPU_SECOND} and
+     * {@link Dimension#ALLOCATION_PER_OPERATION}, which can be asserted like any other dimension. Note that larger values are
+     * better for the throughput, e.g. <code>assertPerformanceInRelativeBand(performanceMeter, Dimension.THROUGHPUT, -10, 1000)</code>
+     * fails if the throughput drops by more than 10%.
+     *
+     * @param scenarioId
+     *            the scenario id
+     * @param operation
+     *            the operation to measure
+     * @param warmupMillis
+     *            the time to run the operation before the first measurement, in milliseconds
+     * @param durationMillis
+     *            the time to run the operation in each measurement, in milliseconds
+     * @return a throughput performance meter for the given scenario id
+     * @throws IllegalArgumentException
+     *             if a performance meter for the given scenario id has already been created
+     * @since 3.14
+     */
+    public PerformanceMeter createPerformanceMeter(String scenarioId, final Runnable operation, final long warmupMillis,
+            final long durationMillis) {
+        PerformanceMeterFactory factory = new PerformanceMeterFactory() {
+
+            @Override
+            protected PerformanceMeter doCreatePerformanceMeter(String scenario) {
+                return new ThroughputPerformanceMeter(scenario, operation, warmupMillis, durationMillis);
+            }
+        };
+        return factory.createPerformanceMeter(scenarioId);
+    }
+
+    /**
+     * Creates a performance meter for the latency distribution of many short operations. Each pair of
+     * <code>start()</code> and <code>stop()</code> records the latency of one operation into a histogram of fixed size,
+     * without allocating. The meter records the percentiles {@link Dimension#LATENCY_P50}, {@link Dimension#LATENCY_P90},
+     * {@link Dimension#LATENCY_P99}, {@link Dimension#LATENCY_P999} and {@link Dimension#LATENCY_MAX}; the histogram is
+     * stored with the sample. Assert a percentile with
+     * {@link #assertPerformanceInRelativeBand(PerformanceMeter, Dimension, int, int)}, e.g.
+     * <code>assertPerformanceInRelativeBand(performanceMeter, Dimension.LATENCY_P99, -100, 20)</code>.
+     *
+     * @param scenarioId
+     *            the scenario id
+     * @return a histogram performance meter for the given scenario id
+     * @throws IllegalArgumentException
+     *             if a performance meter for the given scenario id has already been created
+     * @since 3.14
+     */
+    public PerformanceMeter createHistogramPerformanceMeter(String scenarioId) {
+        PerformanceMeterFactory factory = new PerformanceMeterFactory() {
+
+            @Override
+            protected PerformanceMeter doCreatePerformanceMeter(String scenario) {
+                return new HistogramPerformanceMeter(scenario);
+            }
+        };
+        return factory.createPerformanceMeter(scenarioId);
+    }
+
+    /**
+     * Measures the given operation with the performance meter as often as needed for a precise result, instead of a fixed
+     * number of times. The operation is first run without measuring until its run times are steady, so that cold runs do
+     * not distort the statistics. Then it is measured until the 95% confidence interval of its mean run time is narrow
+     * enough or the time budget is used up. The thresholds and the budget are configured by the
+     * <code>eclipse.perf.adaptive.*</code> system properties. The performance meter still has to be committed and disposed
+     * by the caller.
+     *
+     * @param performanceMeter
+     *            the performance meter
+     * @param operation
+     *            the operation to measure
+     * @return the number of measurements taken
+     * @since 3.14
+     */
+    public int runAdaptively(PerformanceMeter performanceMeter, Runnable operation) {
+        return new AdaptiveSampler().run(performanceMeter, operation);
+    }
+
+    /**
+     * Measures a baseline and a candidate implementation of a scenario alternately in this JVM, in randomized order, so
+     * that each measurement of the candidate has a measurement of the baseline taken under the same conditions. Compare
+     * them with {@link #assertInterleavedPerformance(PerformanceMeter, PerformanceMeter, Dimension, int)}, which needs no
+     * reference data in the database. The number of pairs and warmup runs are configured by the
+     * <code>eclipse.perf.interleaved.*</code> system properties. The performance meters still have to be committed and
+     * disposed by the caller.
+     *
+     * @param baselineMeter
+     *            the performance meter of the baseline
+     * @param baseline
+     *            the baseline operation
+     * @param candidateMeter
+     *            the performance meter of the candidate
+     * @param candidate
+     *            the candidate operation
+     * @return the number of measured pairs
+     * @since 3.14
+     */
+    public int runInterleaved(PerformanceMeter baselineMeter, Runnable baseline, PerformanceMeter candidateMeter,
+            Runnable candidate) {
+        return new InterleavedRunner().run(baselineMeter, baseline, candidateMeter, candidate);
+    }
+
+    /**
+     * Asserts that the candidate measured by
+     * {@link #runInterleaved(PerformanceMeter, Runnable, PerformanceMeter, Runnable)} is not slower than the baseline by
+     * more than the given percentage: fails if even the lower bound of the 95% confidence interval of the mean paired
+     * difference exceeds it. If a performance meter doesn't provide the specified dimension, the call has no effect.
+     *
+     * @param baselineMeter
+     *            the performance meter of the baseline
+     * @param candidateMeter
+     *            the performance meter of the candidate
+     * @param dim
+     *            the Dimension to check
+     * @param upperPercentage
+     *            a positive number indicating the percentage the candidate is allowed to be greater than the baseline
+     * @throws AssertionFailedError
+     *             if the candidate is significantly greater
+     * @since 3.14
+     */
+    public void assertInterleavedPerformance(PerformanceMeter baselineMeter, PerformanceMeter candidateMeter, Dimension dim,
+            int upperPercentage) {
+        if (!(baselineMeter instanceof InternalPerformanceMeter) || !(candidateMeter instanceof InternalPerformanceMeter))
+            return; // no samples, e.g. null performance meters
+        Sample baseline = ((InternalPerformanceMeter) baselineMeter).getSample();
+        Sample candidate = ((InternalPerformanceMeter) candidateMeter).getSample();
+        PairedComparison comparison = PairedComparison.compare((Dim) dim, baseline, candidate, StatisticsUtil.T95);
+        if (comparison == null) {
+            PerformanceTestPlugin.logWarning("no paired measurements of '" + ((Dim) dim).getName() + "' to compare"); //$NON-NLS-1$ //$NON-NLS-2$
+            return;
+        }
+        if (comparison.isRegression(upperPercentage / 100.0))
+            Assert.fail("Performance criteria not met when compared to '" + baseline.getScenarioID() + "':\n" + comparison); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Creates a performance meter for units of work done concurrently by many threads. Each thread calls
+     * <code>start()</code> and <code>stop()</code> around each of its units of work; the meter records the latency of every
+     * unit and the aggregate throughput. <code>commit()</code> must only be called after all threads are done and the
+     * caller has synchronized with them, e.g. by joining them.
+     *
+     * @param scenarioId
+     *            the scenario id
+     * @return a thread-safe performance meter for the given scenario id
+     * @throws IllegalArgumentException
+     *             if a performance meter for the given scenario id has already been created
+     * @since 3.14
+     */
+    public PerformanceMeter createConcurrentPerformanceMeter(String scenarioId) {
+        return new ConcurrentPerformanceMeterFactory().createPerformanceMeter(scenarioId);
+    }
+
+    /**
+     * Returns the counter with the given name for the given performance meter, creating it if needed. The counter is
+     * recorded like the built-in dimensions of the meter: the change of its value between <code>start()</code> and
+     * <code>stop()</code> is stored with every measurement. Counters must be created before the first measurement.
+     * 
+     * @param performanceMeter
+     *            the performance meter
+     * @param name
+     *            the name of the counter, e.g. "AST nodes created"
+     * @return the counter
+     * @throws IllegalStateException
+     *             if a new counter is created after the performance meter has started measuring
+     * @since 3.14
+     */
+    public PerformanceCounter counter(PerformanceMeter performanceMeter, String name) {
+        PerformanceCounter counter = new PerformanceCounter(name);
+        if (performanceMeter instanceof InternalPerformanceMeter)
+            return ((InternalPerformanceMeter) performanceMeter).addCounter(counter);
+        return counter; // counts, but is not recorded
+    }
+
     /**
      * Returns the null performance meter singleton.
      * 
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.test.performance;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.test.internal.performance.data.Unit;
+import org.eclipse.test.internal.performance.db.DB;
+
+/**
+ * A counter for a domain specific metric of a scenario, like the number of AST nodes created or the number of index lookups.
+ * The counter is recorded by its performance meter like the built-in dimensions: the change of its value between
+ * {@link PerformanceMeter#start()} and {@link PerformanceMeter#stop()} is stored and can be asserted.
+ *
+ * A <code>PerformanceCounter</code> is created using {@link Performance#counter(PerformanceMeter, String)}, before the first
+ * measurement of the performance meter. Counting is cheap and may happen concurrently on any thread:
+ *
+ * <pre>
+ * PerformanceCounter nodes = Performance.getDefault().counter(performanceMeter, &quot;AST nodes created&quot;);
+ * ...
+ * nodes.increment();
+ * </pre>
+ *
+ * This class is not intended to be subclassed or instantiated by clients.
+ *
+ * @since 3.14
+ */
+public final class PerformanceCounter {
+
+    private final String    fName;
+    private final LongAdder fValue = new LongAdder();
+    private Dimension       fDimension;
+
+    PerformanceCounter(String name) {
+        fName = name;
+    }
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment() {
+        fValue.increment();
+    }
+
+    /**
+     * Adds the given amount to the counter.
+     *
+     * @param amount
+     *            the amount to add
+     */
+    public void add(long amount) {
+        fValue.add(amount);
+    }
+
+    /**
+     * Returns the current value of the counter.
+     *
+     * @return the sum of everything counted so far
+     */
+    public long getValue() {
+        return fValue.sum();
+    }
+
+    /**
+     * Returns the name of the counter.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return fName;
+    }
+
+    /**
+     * Returns the dimension the counter is recorded as. It can be used with the assert methods of {@link Performance}.
+     *
+     * @return the dimension
+     */
+    public synchronized Dimension getDimension() {
+        if (fDimension == null)
+            fDimension = DB.getCustomDimension(fName, Unit.CARDINAL, 1);
+        return fDimension;
+    }
+}
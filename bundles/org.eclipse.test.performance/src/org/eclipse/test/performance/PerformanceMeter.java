@@ -76,4 +76,34 @@ public abstract class PerformanceMeter {
      * performance meter.
      */
     public abstract void dispose();
+
+    /**
+     * Called at the beginning of a phase of the operation to measure, between {@link PerformanceMeter#start()} and
+     * {@link PerformanceMeter#stop()}. Must be followed by a call to {@link PerformanceMeter#endPhase()}. Phases can be nested;
+     * a phase begun while another one is open is a sub-phase of it. The time spent in each phase is recorded as an additional
+     * dimension named <code>"Phase "</code> followed by the names of the enclosing phases and the phase, separated by
+     * <code>'/'</code>.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     *
+     * @param name
+     *            the name of the phase, unique among the phases with the same parent
+     * @since 3.14
+     */
+    public void beginPhase(String name) {
+        // no phases by default
+    }
+
+    /**
+     * Called at the end of the phase begun last by {@link PerformanceMeter#beginPhase(String)}.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     *
+     * @since 3.14
+     */
+    public void endPhase() {
+        // no phases by default
+    }
 }